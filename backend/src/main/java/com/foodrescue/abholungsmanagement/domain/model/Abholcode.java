@@ -2,12 +2,19 @@ package com.foodrescue.abholungsmanagement.domain.model;
 
 import com.foodrescue.shared.exception.DomainException;
 import java.security.SecureRandom;
+import java.util.regex.Pattern;
 
 public final class Abholcode {
+
+  /** Threadsicher; eine Instanz pro Aufruf neu zu seeden kostet mehr als der Code selbst. */
+  private static final SecureRandom ZUFALL = new SecureRandom();
+
+  private static final Pattern FORMAT = Pattern.compile("[A-Z0-9]{4,8}");
+
   private final String value;
 
   private Abholcode(String value) {
-    if (value == null || !value.matches("[A-Z0-9]{4,8}"))
+    if (value == null || !FORMAT.matcher(value).matches())
       throw new DomainException("Abholcode muss 4-8 Zeichen [A-Z0-9] sein");
     this.value = value;
   }
@@ -17,7 +24,7 @@ public final class Abholcode {
   }
 
   public static Abholcode random() {
-    var r = new SecureRandom();
+    var r = ZUFALL;
     var alphabet = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
     var sb = new StringBuilder();
     for (int i = 0; i < 6; i++) sb.append(alphabet.charAt(r.nextInt(alphabet.length())));
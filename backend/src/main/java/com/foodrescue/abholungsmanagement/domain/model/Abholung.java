@@ -30,13 +30,32 @@ public class Abholung {
   private Instant abgeschlossenAm;
 
   public Abholung(String id, String reservierungsId, Abholcode abholcode) {
+    this(id, reservierungsId, abholcode, Instant.now());
+  }
+
+  private Abholung(String id, String reservierungsId, Abholcode abholcode, Instant angelegtAm) {
     if (id == null || reservierungsId == null || abholcode == null)
       throw new DomainException("Abholung unvollständig");
     this.id = id;
     this.reservierungsId = reservierungsId;
     this.abholcode = abholcode;
     this.status = Status.ANGELEGT;
-    this.angelegtAm = Instant.now();
+    this.angelegtAm = angelegtAm;
+  }
+
+  /** Stellt einen gespeicherten Stand wieder her, z.B. aus einem Snapshot. */
+  public static Abholung wiederherstellen(
+      String id,
+      String reservierungsId,
+      Abholcode abholcode,
+      Status status,
+      Instant angelegtAm,
+      Instant abgeschlossenAm) {
+    if (status == null || angelegtAm == null) throw new DomainException("Abholung unvollständig");
+    Abholung abholung = new Abholung(id, reservierungsId, abholcode, angelegtAm);
+    abholung.status = status;
+    abholung.abgeschlossenAm = abgeschlossenAm;
+    return abholung;
   }
 
   /** Bestätigt die Abholung, falls der Code korrekt ist. Gibt das ausgelöste DomainEvent zurück. */
@@ -1,14 +1,22 @@
 package com.foodrescue.abholungsmanagement.infrastructure.persistence;
 
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.abholungsmanagement.domain.model.Abholung;
 import com.foodrescue.abholungsmanagement.infrastructure.repositories.AbholungRepository;
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import com.foodrescue.shared.persistence.SnapshotFaehig;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public class InMemoryAbholungRepository implements AbholungRepository {
+@Profile("!jdbc")
+public class InMemoryAbholungRepository implements AbholungRepository, SnapshotFaehig {
+
+  private static final Abholung.Status[] STATUS = Abholung.Status.values();
 
   private final Map<String, Abholung> store = new ConcurrentHashMap<>();
 
@@ -22,4 +30,44 @@ public class InMemoryAbholungRepository implements AbholungRepository {
   public Optional<Abholung> findeMitId(String id) {
     return Optional.ofNullable(store.get(id));
   }
+
+  @Override
+  public String snapshotName() {
+    return "abholungen";
+  }
+
+  @Override
+  public int schreibeSnapshot(BinaerAusgabe out) {
+    int anzahl = 0;
+    for (Abholung abholung : store.values()) {
+      out.weiter()
+          .text(abholung.getId())
+          .text(abholung.getReservierungsId())
+          .text(abholung.getAbholcode().value())
+          .aufzaehlung(abholung.getStatus())
+          .zeitpunkt(abholung.getAngelegtAm())
+          .zeitpunkt(abholung.getAbgeschlossenAm());
+      anzahl++;
+    }
+    out.ende();
+    return anzahl;
+  }
+
+  @Override
+  public int ladeSnapshot(BinaerEingabe in) {
+    int anzahl = 0;
+    while (in.weiter()) {
+      Abholung abholung =
+          Abholung.wiederherstellen(
+              in.text(),
+              in.text(),
+              Abholcode.of(in.text()),
+              in.aufzaehlung(STATUS),
+              in.zeitpunkt(),
+              in.zeitpunkt());
+      store.put(abholung.getId(), abholung);
+      anzahl++;
+    }
+    return anzahl;
+  }
 }
@@ -0,0 +1,62 @@
+package com.foodrescue.abholungsmanagement.infrastructure.persistence;
+
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.abholungsmanagement.domain.model.Abholung;
+import com.foodrescue.abholungsmanagement.infrastructure.repositories.AbholungRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** JDBC-Implementierung des AbholungRepository (Profil {@code jdbc}). */
+@Repository
+@Profile("jdbc")
+public class JdbcAbholungRepository implements AbholungRepository {
+
+  private static final String SPALTEN =
+      "id, reservierungs_id, abholcode, status, angelegt_am, abgeschlossen_am";
+
+  private static final String MERGE =
+      "MERGE INTO abholung (" + SPALTEN + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private static final String SELECT_MIT_ID = "SELECT " + SPALTEN + " FROM abholung WHERE id = ?";
+
+  private final JdbcTemplate jdbc;
+
+  public JdbcAbholungRepository(JdbcTemplate jdbc) {
+    this.jdbc = Objects.requireNonNull(jdbc, "JdbcTemplate darf nicht null sein");
+  }
+
+  @Override
+  public Abholung speichern(Abholung abholung) {
+    Objects.requireNonNull(abholung, "Abholung darf nicht null sein");
+    jdbc.update(
+        MERGE,
+        abholung.getId(),
+        abholung.getReservierungsId(),
+        abholung.getAbholcode().value(),
+        abholung.getStatus().name(),
+        abholung.getAngelegtAm(),
+        abholung.getAbgeschlossenAm());
+    return abholung;
+  }
+
+  @Override
+  public Optional<Abholung> findeMitId(String id) {
+    return jdbc.query(SELECT_MIT_ID, JdbcAbholungRepository::lese, id).stream().findFirst();
+  }
+
+  private static Abholung lese(ResultSet rs, int zeile) throws SQLException {
+    return Abholung.wiederherstellen(
+        rs.getString("id"),
+        rs.getString("reservierungs_id"),
+        Abholcode.of(rs.getString("abholcode")),
+        Abholung.Status.valueOf(rs.getString("status")),
+        rs.getObject("angelegt_am", Instant.class),
+        rs.getObject("abgeschlossen_am", Instant.class));
+  }
+}
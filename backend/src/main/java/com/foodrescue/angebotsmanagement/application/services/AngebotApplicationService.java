@@ -3,22 +3,39 @@ package com.foodrescue.angebotsmanagement.application.services;
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
 import com.foodrescue.angebotsmanagement.application.commands.ErstelleAngebotCommand;
 import com.foodrescue.angebotsmanagement.application.commands.VeroeffentlicheAngebotCommand;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicate;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
-import com.foodrescue.shared.domain.DomainEvent;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.shared.exception.DomainException;
 import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import jakarta.transaction.Transactional;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Service;
 
 @Service
 @Transactional
 public class AngebotApplicationService {
 
+  /** Versuche pro Angebot, bevor ein wiederholt gescheitertes Compare-and-Set als Konflikt gilt. */
+  static final int MAX_VERSUCHE = 3;
+
   private final AngebotRepository repository;
   private final AngebotDomainService domainService;
 
@@ -28,7 +45,79 @@ public class AngebotApplicationService {
     this.domainService = domainService;
   }
 
+  /** Ergebnis eines Elements beim Anlegen im Stapel: entweder die neue ID oder der Fehler. */
+  public record ErstellErgebnis(int index, AngebotsId id, String fehler) {
+
+    static ErstellErgebnis erstellt(int index, AngebotsId id) {
+      return new ErstellErgebnis(index, id, null);
+    }
+
+    static ErstellErgebnis fehlerhaft(int index, RuntimeException e) {
+      String meldung = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      return new ErstellErgebnis(index, null, meldung);
+    }
+
+    public boolean erfolgreich() {
+      return id != null;
+    }
+  }
+
+  /**
+   * Ergebnis einer Sammeloperation über die Angebote eines Anbieters.
+   *
+   * @param geaendert Angebote, deren Statusübergang gespeichert wurde
+   * @param konflikte Angebote, die zwischen Auswahl und Speichern von jemand anderem geändert
+   *     wurden und nicht mehr passen (z.B. inzwischen reserviert); sie bleiben unverändert
+   */
+  public record MassenErgebnis(List<AngebotsId> geaendert, List<AngebotsId> konflikte) {
+
+    public MassenErgebnis {
+      geaendert = List.copyOf(geaendert);
+      konflikte = List.copyOf(konflikte);
+    }
+  }
+
   public AngebotsId erstelleAngebot(ErstelleAngebotCommand cmd) {
+    Angebot angebot = baueAngebot(cmd);
+    repository.speichern(angebot);
+    return angebot.getAngebotsId();
+  }
+
+  /**
+   * Legt mehrere Angebote an (z.B. Ladenschluss einer Filialkette).
+   *
+   * <p>Alle Commands werden zuerst geprüft; ungültige liefern ihren Fehler im Ergebnis und halten
+   * die übrigen nicht auf. Die gültigen werden anschließend gemeinsam über {@link
+   * AngebotRepository#speichernAlle(List)} gespeichert.
+   *
+   * @return Ein Ergebnis pro Command, in der Reihenfolge der Eingabe
+   */
+  public List<ErstellErgebnis> erstelleAngebote(List<ErstelleAngebotCommand> commands) {
+    Objects.requireNonNull(commands, "Commands dürfen nicht null sein");
+
+    List<ErstellErgebnis> ergebnisse = new ArrayList<>(commands.size());
+    List<Angebot> gueltig = new ArrayList<>(commands.size());
+    for (int i = 0; i < commands.size(); i++) {
+      try {
+        Angebot angebot = baueAngebot(commands.get(i));
+        gueltig.add(angebot);
+        ergebnisse.add(ErstellErgebnis.erstellt(i, angebot.getAngebotsId()));
+      } catch (IllegalArgumentException
+          | NullPointerException
+          | DateTimeException
+          | DomainException e) {
+        ergebnisse.add(ErstellErgebnis.fehlerhaft(i, e));
+      }
+    }
+
+    if (!gueltig.isEmpty()) {
+      repository.speichernAlle(gueltig);
+    }
+    return List.copyOf(ergebnisse);
+  }
+
+  private Angebot baueAngebot(ErstelleAngebotCommand cmd) {
+    Objects.requireNonNull(cmd, "Command darf nicht null sein");
 
     // UserId aus UUID-String
     UserId anbieterId =
@@ -43,27 +132,136 @@ public class AngebotApplicationService {
 
     AngebotsId id =
         AngebotsId.of(UUID.randomUUID().toString()); // oder Ihre bestehende Id-Erzeugung
-    Angebot angebot =
-        domainService.erstelleAngebot(
-            id, anbieterId, cmd.getTitel(), cmd.getBeschreibung(), cmd.getTags(), zeitfenster);
-
-    repository.speichern(angebot);
-    return id;
+    return domainService.erstelleAngebot(
+        id, anbieterId, cmd.getTitel(), cmd.getBeschreibung(), cmd.getTags(), zeitfenster);
   }
 
+  /**
+   * Veröffentlicht einen Entwurf. Optimistisch wie {@link #veroeffentlicheAlle}: geändert wird eine
+   * private Kopie, gespeichert nur, wenn seit dem Laden niemand anderes gespeichert hat.
+   *
+   * @throws IllegalArgumentException wenn das Angebot nicht existiert
+   * @throws DomainException wenn das Angebot kein Entwurf (mehr) ist oder wiederholt gleichzeitig
+   *     geändert wurde
+   */
   public void veroeffentlicheAngebot(VeroeffentlicheAngebotCommand command) {
-    Optional<Angebot> optionalAngebot = repository.findeMitId(command.getAngebotId());
-    Angebot angebot =
-        optionalAngebot.orElseThrow(() -> new IllegalArgumentException("Angebot nicht gefunden"));
-    List<DomainEvent> events = angebot.veroeffentlichen();
-    repository.speichern(angebot);
-    // Publish events
+    for (int versuch = 0; versuch < MAX_VERSUCHE; versuch++) {
+      AngebotStand stand =
+          repository
+              .ladeZumAendern(command.getAngebotId())
+              .orElseThrow(() -> new IllegalArgumentException("Angebot nicht gefunden"));
+      stand.angebot().veroeffentlichen();
+      if (repository.speichernWennUnveraendert(stand.angebot(), stand.version())) {
+        return;
+      }
+    }
+    throw new DomainException("Angebot wurde gleichzeitig geändert");
+  }
+
+  /**
+   * Veröffentlicht alle Entwürfe eines Anbieters, auf die der Filter passt.
+   *
+   * @param filter Zusätzliche Einschränkung, oder null für alle Entwürfe
+   * @return Die veröffentlichten Angebote und die Konflikte
+   */
+  public MassenErgebnis veroeffentlicheAlle(UserId anbieterId, AngebotPredicate filter) {
+    return wendeAufAnbieterAn(
+        anbieterId, filter, EnumSet.of(Angebot.Status.ENTWURF), Angebot::veroeffentlichen);
+  }
+
+  /**
+   * Entfernt alle Entwürfe und verfügbaren Angebote eines Anbieters, auf die der Filter passt.
+   * Reservierte Angebote bleiben stehen, sonst ginge eine laufende Abholung verloren.
+   *
+   * @param filter Zusätzliche Einschränkung, oder null für alle Entwürfe und verfügbaren Angebote
+   * @return Die entfernten Angebote und die Konflikte
+   */
+  public MassenErgebnis entferneAlle(UserId anbieterId, AngebotPredicate filter) {
+    return wendeAufAnbieterAn(
+        anbieterId,
+        filter,
+        EnumSet.of(Angebot.Status.ENTWURF, Angebot.Status.VERFUEGBAR),
+        Angebot::entfernen);
+  }
+
+  /**
+   * Ein Durchgang über die aktiven Angebote des Anbieters (Anbieterindex, ohne Archiv) wählt die
+   * passenden aus – die Ausgangsstatus der Sammeloperationen sind nie Endzustände. Ihre Kopien
+   * werden geändert und mit einem einzigen {@link AngebotRepository#speichernAlleWennUnveraendert
+   * bedingten Stapel} gespeichert: Indizes und Journal einmal, Events nach dem ganzen Stapel. Ein
+   * Angebot, das inzwischen jemand anderes geändert hat, wird nie überschrieben; nur diese werden
+   * neu geladen und, solange sie noch passen, bis zu {@value #MAX_VERSUCHE}-mal in einem weiteren
+   * Stapel versucht, danach als Konflikt gemeldet.
+   */
+  private MassenErgebnis wendeAufAnbieterAn(
+      UserId anbieterId,
+      AngebotPredicate filter,
+      Set<Angebot.Status> ausStatus,
+      Consumer<Angebot> uebergang) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+
+    Predicate<Angebot> passt =
+        angebot ->
+            ausStatus.contains(angebot.getStatus()) && (filter == null || filter.test(angebot));
+    List<AngebotsId> kandidaten;
+    try (Stream<Angebot> angebote = repository.streameAktiveFuerAnbieter(anbieterId)) {
+      kandidaten = angebote.filter(passt).map(Angebot::getAngebotsId).toList();
+    }
+
+    Set<AngebotsId> gespeichert = new HashSet<>();
+    List<AngebotsId> offen = kandidaten;
+    for (int versuch = 0; versuch < MAX_VERSUCHE && !offen.isEmpty(); versuch++) {
+      List<AngebotStand> staende = ladeUndAendere(offen, passt, uebergang);
+      if (staende.isEmpty()) {
+        break;
+      }
+      Set<AngebotsId> konflikte = new HashSet<>(repository.speichernAlleWennUnveraendert(staende));
+      List<AngebotsId> erneut = new ArrayList<>(konflikte.size());
+      for (AngebotStand stand : staende) {
+        AngebotsId id = stand.angebot().getAngebotsId();
+        if (konflikte.contains(id)) {
+          erneut.add(id);
+        } else {
+          gespeichert.add(id);
+        }
+      }
+      offen = erneut;
+    }
+
+    List<AngebotsId> geaendert = new ArrayList<>(gespeichert.size());
+    List<AngebotsId> konflikte = new ArrayList<>(kandidaten.size() - gespeichert.size());
+    for (AngebotsId id : kandidaten) {
+      (gespeichert.contains(id) ? geaendert : konflikte).add(id);
+    }
+    return new MassenErgebnis(geaendert, konflikte);
   }
 
-  public List<Angebot> findeAngeboteFuerAnbieter(String anbieterId) {
+  /**
+   * Lädt private Kopien samt Version und ändert die, die noch passen. Ein Angebot, das nicht mehr
+   * existiert oder nicht mehr passt, fällt heraus und zählt als Konflikt.
+   */
+  private List<AngebotStand> ladeUndAendere(
+      List<AngebotsId> ids, Predicate<Angebot> passt, Consumer<Angebot> aenderung) {
+    List<AngebotStand> staende = new ArrayList<>(ids.size());
+    for (AngebotsId id : ids) {
+      Optional<AngebotStand> stand = repository.ladeZumAendern(id);
+      if (stand.isPresent() && passt.test(stand.get().angebot())) {
+        aenderung.accept(stand.get().angebot());
+        staende.add(stand.get());
+      }
+    }
+    return staende;
+  }
+
+  public List<Angebot> findeAngeboteFuerAnbieter(UserId anbieterId) {
     return repository.findeFuerAnbieter(anbieterId);
   }
 
+  /** Angebote eines Anbieters als lazy Stream für Streaming-Antworten. */
+  public Stream<Angebot> streameAngeboteFuerAnbieter(UserId anbieterId) {
+    return repository.streameFuerAnbieter(anbieterId);
+  }
+
   public Angebot findeAngebotMitId(AngebotsId id) {
     return repository
         .findeMitId(id)
@@ -73,4 +271,39 @@ public class AngebotApplicationService {
   public List<Angebot> findeVerfuegbareAngebote() {
     return repository.findeAlleVerfuegbar();
   }
+
+  /** Verfügbare Angebote als lazy Stream für Streaming-Antworten. */
+  public Stream<Angebot> streameVerfuegbareAngebote() {
+    return repository.streameVerfuegbar();
+  }
+
+  /**
+   * Eine Seite verfügbarer Angebote (Keyset-Paginierung).
+   *
+   * @param nach Position aus der vorherigen Seite, oder null für die erste Seite
+   */
+  public AngebotSeite findeVerfuegbareAngeboteSeite(
+      AngebotSeite.Sortierung sortierung, AngebotSeite.Position nach, int limit) {
+    return repository.findeVerfuegbarSeite(sortierung, nach, limit);
+  }
+
+  /** Freitextsuche (Titel, Beschreibung, Tags; case-insensitive) über verfügbare Angebote. */
+  public List<Angebot> sucheVerfuegbareAngebote(String suchbegriff) {
+    return repository.sucheVerfuegbar(suchbegriff);
+  }
+
+  /** Versionsstempel eines Angebots für ETags; leer, wenn unbekannt. */
+  public OptionalLong versionVon(AngebotsId id) {
+    return repository.versionVon(id);
+  }
+
+  /** Versionsquelle für das gecachte Mappen ganzer Listen (siehe AngebotMapper). */
+  public Function<Angebot, OptionalLong> versionen() {
+    return repository.versionen();
+  }
+
+  /** Version des gesamten Katalogs für ETags auf Listen. */
+  public OptionalLong katalogVersion() {
+    return repository.katalogVersion();
+  }
 }
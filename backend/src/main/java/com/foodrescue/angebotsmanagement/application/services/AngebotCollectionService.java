@@ -2,6 +2,7 @@ package com.foodrescue.angebotsmanagement.application.services;
 
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStatistik;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,9 +19,10 @@ import org.springframework.stereotype.Service;
  *   <li>Transformation/Mapping (toSummaryDTOs, extractAllTags)
  *   <li>Filtering mit mehreren Kriterien (findeMitKomplexenKriterien)
  * </ol>
+ *
+ * <p>Zählungen (Statistiken, Anbieter, Tags) kommen aus der {@link AngebotStatistik} des
+ * Repositories statt aus einem Durchlauf über alle Angebote.
  */
-
-// wird nicht verwendet
 @Service
 public class AngebotCollectionService {
 
@@ -61,19 +63,15 @@ public class AngebotCollectionService {
   }
 
   /**
-   * Gruppiert Angebote nach Anbieter mit Counting.
+   * Zählt verfügbare Angebote pro Anbieter.
    *
-   * <p>Funktionales Konzept: groupingBy() + counting() (Nested Collectors)
+   * <p>Früher groupingBy() + counting() über alle verfügbaren Angebote; jetzt ein Abzug der
+   * laufenden Zähler, O(Anzahl Anbieter).
    *
    * @return Map mit AnbieterId als Key, Anzahl Angebote als Value
    */
   public Map<String, Long> groupByAnbieterMitCounting() {
-    return repository.findeAlleVerfuegbar().stream()
-        .collect(
-            Collectors.groupingBy(
-                angebot -> angebot.getAnbieterId().getValue().toString(),
-                Collectors.counting() // Nested Collector!
-                ));
+    return repository.statistik().verfuegbarProAnbieter();
   }
 
   /**
@@ -97,34 +95,18 @@ public class AngebotCollectionService {
   // ========== 2. AGGREGATION / REDUKTION ==========
 
   /**
-   * Berechnet Statistiken über alle Angebote.
-   *
-   * <p>Funktionales Konzept: Multiple Aggregations in einem Stream-Durchlauf
+   * Statistiken über alle Angebote, in O(1) aus den laufenden Zählern.
    *
-   * <p><strong>Funktionale Konzepte:</strong>
-   *
-   * <ul>
-   *   <li>Collectors.teeing(): Zwei Collectors parallel ausführen
-   *   <li>Collectors.summarizingInt(): Aggregierte Statistiken
-   *   <li>Record Pattern: AngebotStatistiken ist ein Java Record
-   * </ul>
+   * <p>Zählt alle Status – bis hierher wurden nur verfügbare Angebote betrachtet, reservierte und
+   * abgeschlossene waren dadurch immer 0.
    */
   public AngebotStatistiken berechneStatistiken() {
-    List<Angebot> alle = repository.findeAlleVerfuegbar();
-
-    // Mehrere Aggregationen parallel
-    return alle.stream()
-        .collect(
-            Collectors.teeing(
-                Collectors.counting(), // 1. Zähle Angebote
-                Collectors.groupingBy(
-                    Angebot::getStatus, Collectors.counting()), // 2. Zähle pro Status
-                (total, byStatus) ->
-                    new AngebotStatistiken(
-                        total,
-                        byStatus.getOrDefault(Angebot.Status.VERFUEGBAR, 0L),
-                        byStatus.getOrDefault(Angebot.Status.RESERVIERT, 0L),
-                        byStatus.getOrDefault(Angebot.Status.ABGEHOLT, 0L))));
+    AngebotStatistik statistik = repository.statistik();
+    return new AngebotStatistiken(
+        statistik.gesamt(),
+        statistik.anzahl(Angebot.Status.VERFUEGBAR),
+        statistik.anzahl(Angebot.Status.RESERVIERT),
+        statistik.anzahl(Angebot.Status.ABGEHOLT));
   }
 
   /**
@@ -136,20 +118,38 @@ public class AngebotCollectionService {
       long total, long verfuegbar, long reserviert, long abgeschlossen) {}
 
   /**
-   * Reduziert alle Tags zu einer eindeutigen Liste.
+   * Alle Tags verfügbarer Angebote, eindeutig und sortiert.
    *
-   * <p>Funktionales Konzept: flatMap() + distinct() + reduce()
+   * <p>Die Schlüssel des Tag-Zählers sind bereits eindeutig; es bleibt O(k log k) für k Tags.
    *
    * @return Sortierte Liste aller eindeutigen Tags
    */
   public List<String> extractAllTags() {
-    return repository.findeAlleVerfuegbar().stream()
-        .flatMap(angebot -> angebot.getTags().stream()) // Flatten
-        .distinct() // Eindeutig
-        .sorted() // Sortiert
+    return repository.statistik().verfuegbarProTag().keySet().stream()
+        .sorted()
         .collect(Collectors.toUnmodifiableList());
   }
 
+  /**
+   * Kennzahlen für das Dashboard: alle Status sowie verfügbare Angebote pro Anbieter und Tag.
+   *
+   * @return Abzug der laufenden Zähler
+   */
+  public AngebotKennzahlen kennzahlen() {
+    AngebotStatistik statistik = repository.statistik();
+    return new AngebotKennzahlen(
+        statistik.gesamt(),
+        statistik.proStatus(),
+        statistik.verfuegbarProAnbieter(),
+        statistik.verfuegbarProTag());
+  }
+
+  public record AngebotKennzahlen(
+      long gesamt,
+      Map<Angebot.Status, Long> proStatus,
+      Map<String, Long> verfuegbarProAnbieter,
+      Map<String, Long> verfuegbarProTag) {}
+
   /**
    * Findet das älteste und neueste Angebot.
    *
@@ -241,30 +241,25 @@ public class AngebotCollectionService {
    * @param suchTags Liste von gewünschten Tags (mindestens eins muss matchen)
    * @param fruehestesDatum Frühester Start-Zeitpunkt
    * @param titelSuche Suchbegriff im Titel (optional)
+   *     <p>Status, Zeitfenster und Sortierung nach Beginn übernimmt das Repository (Zeitindex); die
+   *     Filter bewahren die Reihenfolge, ein Nachsortieren entfällt.
    * @return Gefilterte und sortierte Liste von Angeboten
    */
   public List<Angebot> findeMitKomplexenKriterien(
       List<String> suchTags, LocalDateTime fruehestesDatum, Optional<String> titelSuche) {
 
-    return repository.findeAlleVerfuegbar().stream()
-        // Filter 1: Status
-        .filter(a -> a.getStatus() == Angebot.Status.VERFUEGBAR)
+    // Filter 1 + 3 und Sortierung: verfügbar, Beginn nach fruehestesDatum, sortiert nach Beginn
+    return repository.findeVerfuegbarMitBeginnNach(fruehestesDatum).stream()
 
         // Filter 2: Tags (mindestens eines muss matchen)
         .filter(a -> suchTags.stream().anyMatch(tag -> a.getTags().contains(tag)))
 
-        // Filter 3: Zeitfenster
-        .filter(a -> a.getZeitfenster().von().isAfter(fruehestesDatum))
-
         // Filter 4: Titel (optional)
         .filter(
             a ->
                 titelSuche
                     .map(suche -> a.getTitel().toLowerCase().contains(suche.toLowerCase()))
                     .orElse(true)) // Wenn kein Suchbegriff, dann true
-
-        // Sortierung
-        .sorted(Comparator.comparing(a -> a.getZeitfenster().von()))
         .collect(Collectors.toUnmodifiableList());
   }
 
@@ -281,24 +276,35 @@ public class AngebotCollectionService {
   }
 
   /**
-   * Findet Top-N Anbieter mit den meisten Angeboten.
+   * Findet Top-N Anbieter mit den meisten verfügbaren Angeboten.
    *
-   * <p>Funktionales Konzept: groupingBy + counting + sorted + limit
+   * <p>Wählt über einen Min-Heap der Größe n aus den Anbieter-Zählern aus, statt alle Anbieter zu
+   * sortieren: O(Anbieter · log n). Ranglisten nach Aktivität in Zeitfenstern liefert {@link
+   * com.foodrescue.angebotsmanagement.infrastructure.rangliste.AngebotRanglisten}.
    *
    * @param n Anzahl der Top-Anbieter
    * @return Liste von AnbieterId und Anzahl Angebote (sortiert absteigend)
    */
   public List<AnbieterStatistik> findeTopAnbieter(int n) {
-    return repository.findeAlleVerfuegbar().stream()
-        .collect(
-            Collectors.groupingBy(
-                a -> a.getAnbieterId().getValue().toString(), Collectors.counting()))
-        .entrySet()
-        .stream()
-        .map(entry -> new AnbieterStatistik(entry.getKey(), entry.getValue()))
-        .sorted(Comparator.comparing(AnbieterStatistik::anzahlAngebote).reversed())
-        .limit(n)
-        .collect(Collectors.toUnmodifiableList());
+    if (n <= 0) {
+      return List.of();
+    }
+    Comparator<AnbieterStatistik> nachAnzahl =
+        Comparator.comparingLong(AnbieterStatistik::anzahlAngebote);
+    PriorityQueue<AnbieterStatistik> top = new PriorityQueue<>(n, nachAnzahl);
+    repository
+        .statistik()
+        .verfuegbarProAnbieter()
+        .forEach(
+            (anbieterId, anzahl) -> {
+              if (top.size() < n) {
+                top.add(new AnbieterStatistik(anbieterId, anzahl));
+              } else if (anzahl > top.peek().anzahlAngebote()) {
+                top.poll();
+                top.add(new AnbieterStatistik(anbieterId, anzahl));
+              }
+            });
+    return top.stream().sorted(nachAnzahl.reversed()).collect(Collectors.toUnmodifiableList());
   }
 
   public record AnbieterStatistik(String anbieterId, long anzahlAngebote) {}
@@ -0,0 +1,52 @@
+package com.foodrescue.angebotsmanagement.domain.events;
+
+import com.foodrescue.shared.domain.DomainEvent;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Domain Event: Ein verfügbares Angebot ist abgelaufen.
+ *
+ * <p>Wird ausgelöst, wenn das Abholzeitfenster eines Angebots endet, ohne dass es reserviert wurde.
+ * Das Angebot ist ab diesem Zeitpunkt nicht mehr verfügbar.
+ */
+public class AngebotAbgelaufenEvent implements DomainEvent {
+
+  private final String angebotId;
+  private final LocalDateTime zeitfensterEnde;
+  private final Instant occurredOn;
+
+  public AngebotAbgelaufenEvent(String angebotId, LocalDateTime zeitfensterEnde) {
+    this.angebotId = Objects.requireNonNull(angebotId, "AngebotId darf nicht null sein");
+    this.zeitfensterEnde =
+        Objects.requireNonNull(zeitfensterEnde, "Zeitfenster-Ende darf nicht null sein");
+    this.occurredOn = Instant.now();
+  }
+
+  @Override
+  public Instant occurredOn() {
+    return occurredOn;
+  }
+
+  public String getAngebotId() {
+    return angebotId;
+  }
+
+  public LocalDateTime getZeitfensterEnde() {
+    return zeitfensterEnde;
+  }
+
+  @Override
+  public String toString() {
+    return "AngebotAbgelaufenEvent{"
+        + "angebotId='"
+        + angebotId
+        + '\''
+        + ", zeitfensterEnde="
+        + zeitfensterEnde
+        + ", occurredOn="
+        + occurredOn
+        + '}';
+  }
+}
@@ -0,0 +1,41 @@
+package com.foodrescue.angebotsmanagement.domain.events;
+
+import com.foodrescue.shared.domain.DomainEvent;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain Event: Ein Angebot wurde entfernt (Soft Delete).
+ *
+ * <p>Das Angebot ist danach weder verfügbar noch veränderbar.
+ */
+public class AngebotEntferntEvent implements DomainEvent {
+
+  private final String angebotId;
+  private final Instant occurredOn;
+
+  public AngebotEntferntEvent(String angebotId) {
+    this.angebotId = Objects.requireNonNull(angebotId, "AngebotId darf nicht null sein");
+    this.occurredOn = Instant.now();
+  }
+
+  @Override
+  public Instant occurredOn() {
+    return occurredOn;
+  }
+
+  public String getAngebotId() {
+    return angebotId;
+  }
+
+  @Override
+  public String toString() {
+    return "AngebotEntferntEvent{"
+        + "angebotId='"
+        + angebotId
+        + '\''
+        + ", occurredOn="
+        + occurredOn
+        + '}';
+  }
+}
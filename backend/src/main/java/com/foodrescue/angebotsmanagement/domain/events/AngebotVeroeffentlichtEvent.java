@@ -0,0 +1,41 @@
+package com.foodrescue.angebotsmanagement.domain.events;
+
+import com.foodrescue.shared.domain.DomainEvent;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Domain Event: Ein Angebotsentwurf wurde veröffentlicht.
+ *
+ * <p>Ab diesem Zeitpunkt ist das Angebot verfügbar und kann von Abholern reserviert werden.
+ */
+public class AngebotVeroeffentlichtEvent implements DomainEvent {
+
+  private final String angebotId;
+  private final Instant occurredOn;
+
+  public AngebotVeroeffentlichtEvent(String angebotId) {
+    this.angebotId = Objects.requireNonNull(angebotId, "AngebotId darf nicht null sein");
+    this.occurredOn = Instant.now();
+  }
+
+  @Override
+  public Instant occurredOn() {
+    return occurredOn;
+  }
+
+  public String getAngebotId() {
+    return angebotId;
+  }
+
+  @Override
+  public String toString() {
+    return "AngebotVeroeffentlichtEvent{"
+        + "angebotId='"
+        + angebotId
+        + '\''
+        + ", occurredOn="
+        + occurredOn
+        + '}';
+  }
+}
@@ -0,0 +1,27 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.util.Objects;
+
+/**
+ * Blatt im Predicate-Baum: Angebot gehört einem bestimmten Anbieter.
+ *
+ * @param anbieterId Die Anbieter-ID
+ */
+public record AnbieterPredicate(UserId anbieterId) implements AngebotPredicate {
+
+  public AnbieterPredicate {
+    Objects.requireNonNull(anbieterId, "anbieterId darf nicht null sein");
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    return anbieterId.equals(angebot.getAnbieterId());
+  }
+
+  @Override
+  public String toString() {
+    return "Anbieter=" + anbieterId.getValue();
+  }
+}
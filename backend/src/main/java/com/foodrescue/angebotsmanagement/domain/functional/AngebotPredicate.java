@@ -1,6 +1,7 @@
 package com.foodrescue.angebotsmanagement.domain.functional;
 
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.List;
 
 /**
  * Funktionales Interface für Angebot-Filter mit kombinierbaren Predicates.
@@ -16,6 +17,12 @@ import com.foodrescue.angebotsmanagement.domain.model.Angebot;
  *   <li>Immutability: Jede Kombination erstellt ein neues Predicate
  * </ul>
  *
+ * <p><strong>Predicate-Baum:</strong> and/or/negate erzeugen inspizierbare Knoten ({@link
+ * UndPredicate}, {@link OderPredicate}, {@link NichtPredicate}), die Factory-Methoden in {@link
+ * AngebotPredicates} liefern Blätter (Status, Anbieter, Tags, Zeitfenster, Titel). Ein Repository
+ * kann den Baum analysieren und passende Indizes nutzen; eigene Lambdas bleiben erlaubt und werden
+ * als Restfilter ausgewertet.
+ *
  * <p><strong>Usage Examples:</strong>
  *
  * <pre>{@code
@@ -52,7 +59,7 @@ public interface AngebotPredicate {
    * @return Neues Predicate das beide Bedingungen prüft
    */
   default AngebotPredicate and(AngebotPredicate other) {
-    return angebot -> this.test(angebot) && other.test(angebot);
+    return UndPredicate.von(this, other);
   }
 
   /**
@@ -64,7 +71,7 @@ public interface AngebotPredicate {
    * @return Neues Predicate das eine der Bedingungen prüft
    */
   default AngebotPredicate or(AngebotPredicate other) {
-    return angebot -> this.test(angebot) || other.test(angebot);
+    return OderPredicate.von(this, other);
   }
 
   /**
@@ -75,7 +82,7 @@ public interface AngebotPredicate {
    * @return Neues Predicate mit umgekehrter Logik
    */
   default AngebotPredicate negate() {
-    return angebot -> !this.test(angebot);
+    return new NichtPredicate(this);
   }
 
   /**
@@ -83,18 +90,31 @@ public interface AngebotPredicate {
    *
    * <p>Nützlich als Startpunkt für dynamische Filter-Kombinationen.
    *
-   * @return Always-true Predicate
+   * @return Always-true Predicate (leeres UND)
    */
   static AngebotPredicate alwaysTrue() {
-    return angebot -> true;
+    return new UndPredicate(List.of());
   }
 
   /**
    * Erstellt ein Predicate das immer false zurückgibt.
    *
-   * @return Always-false Predicate
+   * @return Always-false Predicate (leeres ODER)
    */
   static AngebotPredicate alwaysFalse() {
-    return angebot -> false;
+    return new OderPredicate(List.of());
+  }
+
+  /**
+   * Lesbare Beschreibung eines Predicates, z.B. für Abfragepläne.
+   *
+   * <p>Knoten und Blätter des Predicate-Baums beschreiben sich selbst, eigene Lambdas erscheinen
+   * als "Lambda".
+   *
+   * @param predicate Das Predicate
+   * @return Beschreibung
+   */
+  static String beschreibung(AngebotPredicate predicate) {
+    return predicate.getClass().isRecord() ? predicate.toString() : "Lambda";
   }
 }
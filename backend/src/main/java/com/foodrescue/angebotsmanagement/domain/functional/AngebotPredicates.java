@@ -1,8 +1,12 @@
 package com.foodrescue.angebotsmanagement.domain.functional;
 
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Factory-Klasse für vordefinierte Angebot-Predicates.
@@ -64,7 +68,7 @@ public final class AngebotPredicates {
    * @return Predicate das auf VERFUEGBAR-Status prüft
    */
   public static AngebotPredicate istVerfuegbar() {
-    return angebot -> angebot.getStatus() == Angebot.Status.VERFUEGBAR;
+    return new StatusPredicate(Angebot.Status.VERFUEGBAR);
   }
 
   /**
@@ -73,7 +77,7 @@ public final class AngebotPredicates {
    * @return Predicate das auf ENTWURF-Status prüft
    */
   public static AngebotPredicate istEntwurf() {
-    return angebot -> angebot.getStatus() == Angebot.Status.ENTWURF;
+    return new StatusPredicate(Angebot.Status.ENTWURF);
   }
 
   /**
@@ -82,7 +86,7 @@ public final class AngebotPredicates {
    * @return Predicate das auf RESERVIERT-Status prüft
    */
   public static AngebotPredicate istReserviert() {
-    return angebot -> angebot.getStatus() == Angebot.Status.RESERVIERT;
+    return new StatusPredicate(Angebot.Status.RESERVIERT);
   }
 
   /**
@@ -91,7 +95,7 @@ public final class AngebotPredicates {
    * @return Predicate das auf ABGESCHLOSSEN-Status prüft
    */
   public static AngebotPredicate istAbgeholt() {
-    return angebot -> angebot.getStatus() == Angebot.Status.ABGEHOLT;
+    return new StatusPredicate(Angebot.Status.ABGEHOLT);
   }
 
   // ========== Anbieter-basierte Predicates ==========
@@ -105,9 +109,28 @@ public final class AngebotPredicates {
    * @return Predicate das auf Anbieter-ID prüft
    * @throws NullPointerException wenn anbieterId null ist
    */
+  public static AngebotPredicate hatAnbieter(UserId anbieterId) {
+    Objects.requireNonNull(anbieterId, "anbieterId darf nicht null sein");
+    return new AnbieterPredicate(anbieterId);
+  }
+
+  /**
+   * Predicate für Angebote eines bestimmten Anbieters (ID als String).
+   *
+   * <p>Die ID wird einmalig beim Erzeugen des Predicates geparst statt pro Angebot die UUID in
+   * einen String umzuwandeln. Strings, die keine UUID sind, passen auf kein Angebot.
+   *
+   * @param anbieterId Die Anbieter-ID als UUID-String
+   * @return Predicate das auf Anbieter-ID prüft
+   * @throws NullPointerException wenn anbieterId null ist
+   */
   public static AngebotPredicate hatAnbieter(String anbieterId) {
     Objects.requireNonNull(anbieterId, "anbieterId darf nicht null sein");
-    return angebot -> angebot.getAnbieterId().getValue().toString().equals(anbieterId);
+    try {
+      return hatAnbieter(new UserId(UUID.fromString(anbieterId)));
+    } catch (IllegalArgumentException e) {
+      return AngebotPredicate.alwaysFalse();
+    }
   }
 
   // ========== Tag-basierte Predicates ==========
@@ -117,13 +140,15 @@ public final class AngebotPredicates {
    *
    * <p>Funktionales Konzept: Higher-Order Function
    *
+   * <p>Liefert ein {@link TagPredicate}, das Repositories über ihren Tag-Index auswerten können.
+   *
    * @param tag Der zu suchende Tag
    * @return Predicate das auf Tag-Existenz prüft
    * @throws NullPointerException wenn tag null ist
    */
   public static AngebotPredicate hatTag(String tag) {
     Objects.requireNonNull(tag, "tag darf nicht null sein");
-    return angebot -> angebot.getTags() != null && angebot.getTags().contains(tag);
+    return new TagPredicate(Set.of(tag), TagPredicate.Modus.ALLE);
   }
 
   /**
@@ -136,8 +161,7 @@ public final class AngebotPredicates {
    */
   public static AngebotPredicate hatAlleTags(String... tags) {
     Objects.requireNonNull(tags, "tags darf nicht null sein");
-    return angebot ->
-        angebot.getTags() != null && angebot.getTags().containsAll(java.util.Arrays.asList(tags));
+    return new TagPredicate(Set.copyOf(Arrays.asList(tags)), TagPredicate.Modus.ALLE);
   }
 
   /**
@@ -150,10 +174,7 @@ public final class AngebotPredicates {
    */
   public static AngebotPredicate hatEinesVonTags(String... tags) {
     Objects.requireNonNull(tags, "tags darf nicht null sein");
-    return angebot -> {
-      if (angebot.getTags() == null) return false;
-      return java.util.Arrays.stream(tags).anyMatch(tag -> angebot.getTags().contains(tag));
-    };
+    return new TagPredicate(Set.copyOf(Arrays.asList(tags)), TagPredicate.Modus.EINES);
   }
 
   // ========== Zeit-basierte Predicates ==========
@@ -169,8 +190,7 @@ public final class AngebotPredicates {
    */
   public static AngebotPredicate verfuegbarAb(LocalDateTime zeitpunkt) {
     Objects.requireNonNull(zeitpunkt, "zeitpunkt darf nicht null sein");
-    return angebot ->
-        angebot.getZeitfenster() != null && !angebot.getZeitfenster().von().isBefore(zeitpunkt);
+    return new ZeitfensterPredicate(zeitpunkt, null, null, null);
   }
 
   /**
@@ -182,8 +202,7 @@ public final class AngebotPredicates {
    */
   public static AngebotPredicate verfuegbarBis(LocalDateTime zeitpunkt) {
     Objects.requireNonNull(zeitpunkt, "zeitpunkt darf nicht null sein");
-    return angebot ->
-        angebot.getZeitfenster() != null && !angebot.getZeitfenster().bis().isAfter(zeitpunkt);
+    return new ZeitfensterPredicate(null, null, null, zeitpunkt);
   }
 
   /**
@@ -200,20 +219,33 @@ public final class AngebotPredicates {
     return verfuegbarAb(von).and(verfuegbarBis(bis));
   }
 
+  /**
+   * Predicate für Angebote deren Abholung in einem Zeitraum beginnt.
+   *
+   * <p>Beispiel "Abholungen in den nächsten zwei Stunden": {@code beginntZwischen(jetzt,
+   * jetzt.plusHours(2))}
+   *
+   * @param von Frühester Beginn (inklusiv)
+   * @param bis Spätester Beginn (inklusiv)
+   * @return Predicate das auf den Beginn des Zeitfensters prüft
+   * @throws NullPointerException wenn von oder bis null ist
+   */
+  public static AngebotPredicate beginntZwischen(LocalDateTime von, LocalDateTime bis) {
+    Objects.requireNonNull(von, "von darf nicht null sein");
+    Objects.requireNonNull(bis, "bis darf nicht null sein");
+    return new ZeitfensterPredicate(von, bis, null, null);
+  }
+
   /**
    * Predicate für Angebote die aktuell verfügbar sind.
    *
-   * <p>Dynamische Zeitprüfung basierend auf aktuellem Zeitpunkt.
+   * <p>Der aktuelle Zeitpunkt wird beim Erzeugen des Predicates festgehalten – das Predicate also
+   * pro Abfrage neu erzeugen.
    *
    * @return Predicate das auf aktuelle Verfügbarkeit prüft
    */
   public static AngebotPredicate istAktuellVerfuegbar() {
-    return angebot -> {
-      LocalDateTime now = LocalDateTime.now();
-      return angebot.getZeitfenster() != null
-          && !angebot.getZeitfenster().von().isAfter(now)
-          && !angebot.getZeitfenster().bis().isBefore(now);
-    };
+    return ZeitfensterPredicate.enthaelt(LocalDateTime.now());
   }
 
   // ========== Titel-basierte Predicates ==========
@@ -229,9 +261,22 @@ public final class AngebotPredicates {
    */
   public static AngebotPredicate titelEnthaelt(String suchbegriff) {
     Objects.requireNonNull(suchbegriff, "suchbegriff darf nicht null sein");
-    String lower = suchbegriff.toLowerCase();
-    return angebot ->
-        angebot.getTitel() != null && angebot.getTitel().toLowerCase().contains(lower);
+    return new TitelPredicate(suchbegriff);
+  }
+
+  /**
+   * Predicate für die Freitextsuche über Titel, Beschreibung und Tags (case-insensitive).
+   *
+   * <p>Entspricht {@link Angebot#passztZuSuchbegriff(String)}; ein leerer Suchbegriff passt auf
+   * alle Angebote.
+   *
+   * @param suchbegriff Der Suchbegriff
+   * @return Predicate das auf Volltext-Match prüft
+   * @throws NullPointerException wenn suchbegriff null ist
+   */
+  public static AngebotPredicate passtZuSuchbegriff(String suchbegriff) {
+    Objects.requireNonNull(suchbegriff, "suchbegriff darf nicht null sein");
+    return new SuchbegriffPredicate(suchbegriff);
   }
 
   // ========== Kombinierte Business Rules ==========
@@ -248,13 +293,15 @@ public final class AngebotPredicates {
   }
 
   /**
-   * Predicate für "abgelaufene" Angebote (Zeitfenster-Ende in Vergangenheit).
+   * Predicate für abgelaufene Angebote: verfügbar gewesen, aber das Zeitfenster endete ohne
+   * Reservierung.
+   *
+   * <p>Der Ablauf wird beim Ende des Zeitfensters im Repository als Status ABGELAUFEN festgehalten;
+   * das Predicate ist damit ein einfacher Statusfilter und braucht keine Uhrzeit.
    *
    * @return Predicate für abgelaufene Angebote
    */
   public static AngebotPredicate istAbgelaufen() {
-    return angebot ->
-        angebot.getZeitfenster() != null
-            && angebot.getZeitfenster().bis().isBefore(LocalDateTime.now());
+    return new StatusPredicate(Angebot.Status.ABGELAUFEN);
   }
 }
@@ -0,0 +1,32 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.Objects;
+
+/**
+ * Knoten im Predicate-Baum: Negation.
+ *
+ * @param predicate Das negierte Predicate
+ */
+public record NichtPredicate(AngebotPredicate predicate) implements AngebotPredicate {
+
+  public NichtPredicate {
+    Objects.requireNonNull(predicate, "predicate darf nicht null sein");
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    return !predicate.test(angebot);
+  }
+
+  /** Doppelte Negation hebt sich auf. */
+  @Override
+  public AngebotPredicate negate() {
+    return predicate;
+  }
+
+  @Override
+  public String toString() {
+    return "NICHT " + AngebotPredicate.beschreibung(predicate);
+  }
+}
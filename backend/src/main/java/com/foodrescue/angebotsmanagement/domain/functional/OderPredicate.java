@@ -0,0 +1,58 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Knoten im Predicate-Baum: mindestens ein Teil muss erfüllt sein.
+ *
+ * <p>Verschachtelte ODER-Knoten werden beim Erzeugen flachgezogen. Ohne Teile ist der Knoten nie
+ * erfüllt.
+ *
+ * @param teile Die verknüpften Predicates
+ */
+public record OderPredicate(List<AngebotPredicate> teile) implements AngebotPredicate {
+
+  public OderPredicate {
+    Objects.requireNonNull(teile, "teile darf nicht null sein");
+    teile = List.copyOf(teile);
+  }
+
+  /** Verknüpft zwei Predicates und zieht dabei verschachtelte ODER-Knoten flach. */
+  public static OderPredicate von(AngebotPredicate links, AngebotPredicate rechts) {
+    Objects.requireNonNull(links, "links darf nicht null sein");
+    Objects.requireNonNull(rechts, "rechts darf nicht null sein");
+
+    List<AngebotPredicate> teile = new ArrayList<>();
+    for (AngebotPredicate teil : List.of(links, rechts)) {
+      if (teil instanceof OderPredicate oder) {
+        teile.addAll(oder.teile);
+      } else {
+        teile.add(teil);
+      }
+    }
+    return new OderPredicate(teile);
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    for (AngebotPredicate teil : teile) {
+      if (teil.test(angebot)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return teile.isEmpty()
+        ? "FALSCH"
+        : teile.stream()
+            .map(AngebotPredicate::beschreibung)
+            .collect(Collectors.joining(" ODER ", "(", ")"));
+  }
+}
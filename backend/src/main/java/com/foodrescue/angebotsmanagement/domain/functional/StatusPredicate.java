@@ -0,0 +1,26 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.Objects;
+
+/**
+ * Blatt im Predicate-Baum: Angebot hat einen bestimmten Status.
+ *
+ * @param status Der gesuchte Status
+ */
+public record StatusPredicate(Angebot.Status status) implements AngebotPredicate {
+
+  public StatusPredicate {
+    Objects.requireNonNull(status, "status darf nicht null sein");
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    return angebot.getStatus() == status;
+  }
+
+  @Override
+  public String toString() {
+    return "Status=" + status;
+  }
+}
@@ -0,0 +1,29 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.Objects;
+
+/**
+ * Blatt im Predicate-Baum: Freitextsuche über Titel, Beschreibung und Tags.
+ *
+ * <p>Semantik wie {@link Angebot#passztZuSuchbegriff(String)}: case-insensitive Teilstring, ein
+ * leerer Suchbegriff passt auf alles.
+ *
+ * @param suchbegriff Der Suchbegriff
+ */
+public record SuchbegriffPredicate(String suchbegriff) implements AngebotPredicate {
+
+  public SuchbegriffPredicate {
+    Objects.requireNonNull(suchbegriff, "suchbegriff darf nicht null sein");
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    return angebot.passztZuSuchbegriff(suchbegriff);
+  }
+
+  @Override
+  public String toString() {
+    return "Volltext enthält \"" + suchbegriff.toLowerCase() + "\"";
+  }
+}
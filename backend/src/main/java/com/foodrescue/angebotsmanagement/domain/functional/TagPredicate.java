@@ -0,0 +1,86 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Tag-Filter als inspizierbares Predicate.
+ *
+ * <p>Im Gegensatz zu einem Lambda kann ein Repository hier erkennen, welche Tags gesucht werden,
+ * und die Kandidaten über einen invertierten Index bestimmen statt alle Angebote zu prüfen.
+ *
+ * <p>Kombinationen gleichartiger Tag-Filter bleiben inspizierbar:
+ *
+ * <pre>{@code
+ * hatTag("Bio").and(hatTag("Vegan"))   // == hatAlleTags("Bio", "Vegan")
+ * hatTag("Bio").or(hatTag("Vegan"))    // == hatEinesVonTags("Bio", "Vegan")
+ * }</pre>
+ *
+ * @param tags Die gesuchten Tags
+ * @param modus ALLE (AND) oder EINES (OR)
+ */
+public record TagPredicate(Set<String> tags, Modus modus) implements AngebotPredicate {
+
+  /** Verknüpfung der Tags. */
+  public enum Modus {
+    ALLE,
+    EINES
+  }
+
+  public TagPredicate {
+    Objects.requireNonNull(tags, "tags darf nicht null sein");
+    Objects.requireNonNull(modus, "modus darf nicht null sein");
+    tags = Set.copyOf(tags);
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    Set<String> angebotTags = angebot.getTags();
+    if (angebotTags == null) {
+      return false;
+    }
+    return modus == Modus.ALLE
+        ? angebotTags.containsAll(tags)
+        : tags.stream().anyMatch(angebotTags::contains);
+  }
+
+  /** AND zweier Tag-Filter mit ALLE-Semantik ergibt wieder einen Tag-Filter. */
+  @Override
+  public AngebotPredicate and(AngebotPredicate other) {
+    if (other instanceof TagPredicate andere
+        && verhaeltSichWie(Modus.ALLE)
+        && andere.verhaeltSichWie(Modus.ALLE)) {
+      return new TagPredicate(vereinigung(andere), Modus.ALLE);
+    }
+    return AngebotPredicate.super.and(other);
+  }
+
+  /** OR zweier Tag-Filter mit EINES-Semantik ergibt wieder einen Tag-Filter. */
+  @Override
+  public AngebotPredicate or(AngebotPredicate other) {
+    if (other instanceof TagPredicate andere
+        && verhaeltSichWie(Modus.EINES)
+        && andere.verhaeltSichWie(Modus.EINES)) {
+      return new TagPredicate(vereinigung(andere), Modus.EINES);
+    }
+    return AngebotPredicate.super.or(other);
+  }
+
+  @Override
+  public String toString() {
+    return "Tags " + modus + " " + tags.stream().sorted().toList();
+  }
+
+  /** Ein einzelner Tag ist sowohl ALLE als auch EINES. */
+  public boolean verhaeltSichWie(Modus gewuenscht) {
+    return modus == gewuenscht || tags.size() == 1;
+  }
+
+  private Set<String> vereinigung(TagPredicate andere) {
+    Set<String> alle = new HashSet<>(tags);
+    alle.addAll(andere.tags);
+    return alle;
+  }
+}
@@ -0,0 +1,27 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.Objects;
+
+/**
+ * Blatt im Predicate-Baum: Titel enthält einen Suchbegriff (case-insensitive).
+ *
+ * @param suchbegriff Der Suchbegriff, bereits kleingeschrieben
+ */
+public record TitelPredicate(String suchbegriff) implements AngebotPredicate {
+
+  public TitelPredicate {
+    Objects.requireNonNull(suchbegriff, "suchbegriff darf nicht null sein");
+    suchbegriff = suchbegriff.toLowerCase();
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    return angebot.getTitel() != null && angebot.getTitel().toLowerCase().contains(suchbegriff);
+  }
+
+  @Override
+  public String toString() {
+    return "Titel enthält \"" + suchbegriff + "\"";
+  }
+}
@@ -0,0 +1,58 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Knoten im Predicate-Baum: alle Teile müssen erfüllt sein.
+ *
+ * <p>Verschachtelte UND-Knoten werden beim Erzeugen flachgezogen, {@code a.and(b).and(c)} ergibt
+ * also einen Knoten mit drei Teilen. Ohne Teile ist der Knoten immer erfüllt.
+ *
+ * @param teile Die verknüpften Predicates
+ */
+public record UndPredicate(List<AngebotPredicate> teile) implements AngebotPredicate {
+
+  public UndPredicate {
+    Objects.requireNonNull(teile, "teile darf nicht null sein");
+    teile = List.copyOf(teile);
+  }
+
+  /** Verknüpft zwei Predicates und zieht dabei verschachtelte UND-Knoten flach. */
+  public static UndPredicate von(AngebotPredicate links, AngebotPredicate rechts) {
+    Objects.requireNonNull(links, "links darf nicht null sein");
+    Objects.requireNonNull(rechts, "rechts darf nicht null sein");
+
+    List<AngebotPredicate> teile = new ArrayList<>();
+    for (AngebotPredicate teil : List.of(links, rechts)) {
+      if (teil instanceof UndPredicate und) {
+        teile.addAll(und.teile);
+      } else {
+        teile.add(teil);
+      }
+    }
+    return new UndPredicate(teile);
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    for (AngebotPredicate teil : teile) {
+      if (!teil.test(angebot)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return teile.isEmpty()
+        ? "WAHR"
+        : teile.stream()
+            .map(AngebotPredicate::beschreibung)
+            .collect(Collectors.joining(" UND ", "(", ")"));
+  }
+}
@@ -0,0 +1,111 @@
+package com.foodrescue.angebotsmanagement.domain.functional;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+/**
+ * Zeitfenster-Filter als inspizierbares Predicate.
+ *
+ * <p>Beschreibt Bereiche für Beginn ({@code von}) und Ende ({@code bis}) des Abholzeitfensters.
+ * Alle Grenzen sind inklusiv, {@code null} bedeutet offen. Ein Repository kann die Grenzen über
+ * einen sortierten Zeitindex auswerten statt jedes Angebot zu vergleichen.
+ *
+ * <p>Ein AND zweier Zeitfenster-Filter ergibt wieder einen Zeitfenster-Filter:
+ *
+ * <pre>{@code
+ * verfuegbarAb(a).and(verfuegbarBis(b))   // == verfuegbarInZeitfenster(a, b)
+ * }</pre>
+ *
+ * @param vonFruehestens Beginn frühestens (von >= x)
+ * @param vonSpaetestens Beginn spätestens (von <= x)
+ * @param bisFruehestens Ende frühestens (bis >= x)
+ * @param bisSpaetestens Ende spätestens (bis <= x)
+ */
+public record ZeitfensterPredicate(
+    LocalDateTime vonFruehestens,
+    LocalDateTime vonSpaetestens,
+    LocalDateTime bisFruehestens,
+    LocalDateTime bisSpaetestens)
+    implements AngebotPredicate {
+
+  /** Zeitfenster, die den Zeitpunkt enthalten (von <= zeitpunkt <= bis). */
+  public static ZeitfensterPredicate enthaelt(LocalDateTime zeitpunkt) {
+    return new ZeitfensterPredicate(null, zeitpunkt, zeitpunkt, null);
+  }
+
+  @Override
+  public boolean test(Angebot angebot) {
+    return passt(angebot.getZeitfenster());
+  }
+
+  /** Prüft ein Zeitfenster direkt, z.B. ein im Index gespeichertes. */
+  public boolean passt(AbholZeitfenster zeitfenster) {
+    if (zeitfenster == null) {
+      return false;
+    }
+    LocalDateTime von = zeitfenster.von();
+    LocalDateTime bis = zeitfenster.bis();
+    return (vonFruehestens == null || !von.isBefore(vonFruehestens))
+        && (vonSpaetestens == null || !von.isAfter(vonSpaetestens))
+        && (bisFruehestens == null || !bis.isBefore(bisFruehestens))
+        && (bisSpaetestens == null || !bis.isAfter(bisSpaetestens));
+  }
+
+  /** AND zweier Zeitfenster-Filter: jeweils die engere Grenze gewinnt. */
+  @Override
+  public AngebotPredicate and(AngebotPredicate other) {
+    if (other instanceof ZeitfensterPredicate andere) {
+      return new ZeitfensterPredicate(
+          spaeter(vonFruehestens, andere.vonFruehestens),
+          frueher(vonSpaetestens, andere.vonSpaetestens),
+          spaeter(bisFruehestens, andere.bisFruehestens),
+          frueher(bisSpaetestens, andere.bisSpaetestens));
+    }
+    return AngebotPredicate.super.and(other);
+  }
+
+  /** Prüft, ob mindestens eine Grenze gesetzt ist. */
+  public boolean istBegrenzt() {
+    return vonFruehestens != null
+        || vonSpaetestens != null
+        || bisFruehestens != null
+        || bisSpaetestens != null;
+  }
+
+  @Override
+  public String toString() {
+    StringJoiner grenzen = new StringJoiner(", ", "Zeitfenster[", "]");
+    if (vonFruehestens != null) grenzen.add("von>=" + vonFruehestens);
+    if (vonSpaetestens != null) grenzen.add("von<=" + vonSpaetestens);
+    if (bisFruehestens != null) grenzen.add("bis>=" + bisFruehestens);
+    if (bisSpaetestens != null) grenzen.add("bis<=" + bisSpaetestens);
+    return grenzen.toString();
+  }
+
+  /**
+   * Engste Obergrenze für den Beginn. Da ein Zeitfenster immer vor seinem Ende beginnt, begrenzt
+   * auch {@code bisSpaetestens} den Beginn.
+   */
+  public LocalDateTime effektivVonSpaetestens() {
+    return frueher(vonSpaetestens, bisSpaetestens);
+  }
+
+  /** Engste Untergrenze für das Ende; analog begrenzt {@code vonFruehestens} auch das Ende. */
+  public LocalDateTime effektivBisFruehestens() {
+    return spaeter(bisFruehestens, vonFruehestens);
+  }
+
+  private static LocalDateTime spaeter(LocalDateTime a, LocalDateTime b) {
+    if (a == null) return b;
+    if (b == null) return a;
+    return a.isAfter(b) ? a : b;
+  }
+
+  private static LocalDateTime frueher(LocalDateTime a, LocalDateTime b) {
+    if (a == null) return b;
+    if (b == null) return a;
+    return a.isBefore(b) ? a : b;
+  }
+}
@@ -2,8 +2,11 @@ package com.foodrescue.angebotsmanagement.domain.model;
 
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
 import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotAbgelaufenEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotEntferntEvent;
 import com.foodrescue.angebotsmanagement.domain.events.AngebotErstelltEvent;
 import com.foodrescue.angebotsmanagement.domain.events.AngebotReserviertEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotVeroeffentlichtEvent;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.shared.domain.AggregateRoot;
 import com.foodrescue.shared.domain.DomainEvent;
@@ -21,7 +24,8 @@ public class Angebot implements AggregateRoot {
     VERFUEGBAR,
     RESERVIERT,
     ABGEHOLT,
-    ENTFERNT
+    ENTFERNT,
+    ABGELAUFEN
   }
 
   private final AngebotsId id;
@@ -31,15 +35,20 @@ public class Angebot implements AggregateRoot {
   private Set<String> tags;
   private AbholZeitfenster zeitfenster;
   private Status status = Status.ENTWURF;
+  private final LocalDateTime erstelltAm;
   private final List<DomainEvent> domainEvents = new ArrayList<>();
 
+  /** Unveränderlicher Schnappschuss (siehe {@link #schnappschuss()}); alle Änderungen scheitern. */
+  private final boolean schnappschuss;
+
   private Angebot(
       AngebotsId id,
       UserId anbieterId,
       String titel,
       String beschreibung,
       Set<String> tags,
-      AbholZeitfenster zeitfenster) {
+      AbholZeitfenster zeitfenster,
+      LocalDateTime erstelltAm) {
 
     // Invarianten-Schutz
     this.id = Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
@@ -56,6 +65,25 @@ public class Angebot implements AggregateRoot {
     this.titel = titel.trim();
     this.beschreibung = beschreibung == null ? "" : beschreibung.trim();
     this.tags = tags == null ? Set.of() : Set.copyOf(tags);
+    this.erstelltAm =
+        Objects.requireNonNull(erstelltAm, "Erstellungszeitpunkt darf nicht null sein");
+    this.schnappschuss = false;
+  }
+
+  /**
+   * Kopierkonstruktor für {@link #kopie()} und {@link #schnappschuss()}; ausstehende Events werden
+   * nicht übernommen.
+   */
+  private Angebot(Angebot original, boolean schnappschuss) {
+    this.id = original.id;
+    this.anbieterId = original.anbieterId;
+    this.titel = original.titel;
+    this.beschreibung = original.beschreibung;
+    this.tags = original.tags;
+    this.zeitfenster = original.zeitfenster;
+    this.status = original.status;
+    this.erstelltAm = original.erstelltAm;
+    this.schnappschuss = schnappschuss;
   }
 
   /**
@@ -70,17 +98,39 @@ public class Angebot implements AggregateRoot {
       Set<String> tags,
       AbholZeitfenster zeitfenster) {
 
-    var angebot = new Angebot(id, anbieterId, titel, beschreibung, tags, zeitfenster);
+    var angebot =
+        new Angebot(id, anbieterId, titel, beschreibung, tags, zeitfenster, LocalDateTime.now());
     angebot.domainEvents.add(new AngebotErstelltEvent(id.value()));
     return angebot;
   }
 
+  /**
+   * Stellt einen gespeicherten Stand wieder her, z.B. beim Einlesen eines Journals. Die Invarianten
+   * werden wie bei {@link #erstelle} geprüft, es entstehen aber keine Events; geliefert wird ein
+   * {@link #schnappschuss() Schnappschuss}.
+   */
+  public static Angebot wiederherstellen(
+      AngebotsId id,
+      UserId anbieterId,
+      String titel,
+      String beschreibung,
+      Set<String> tags,
+      AbholZeitfenster zeitfenster,
+      Status status,
+      LocalDateTime erstelltAm) {
+
+    var angebot = new Angebot(id, anbieterId, titel, beschreibung, tags, zeitfenster, erstelltAm);
+    angebot.status = Objects.requireNonNull(status, "Status darf nicht null sein");
+    return angebot.schnappschuss();
+  }
+
   /** Aktualisiert die Angebotsdetails. Nur möglich im Status ENTWURF oder VERFUEGBAR. */
   public void aktualisiere(
       String neuerTitel,
       String neueBeschreibung,
       Set<String> neueTags,
       AbholZeitfenster neuesFenster) {
+    pruefeVeraenderbar();
 
     // Invariante: Nur in bestimmten Status änderbar
     if (status != Status.ENTWURF && status != Status.VERFUEGBAR) {
@@ -110,13 +160,14 @@ public class Angebot implements AggregateRoot {
    * @throws DomainException wenn das Angebot nicht im Status ENTWURF ist
    */
   public List<DomainEvent> veroeffentlichen() {
+    pruefeVeraenderbar();
     if (status != Status.ENTWURF) {
       throw new DomainException("Angebot ist bereits veröffentlicht oder aktiv");
     }
     status = Status.VERFUEGBAR;
 
-    // Event wird NICHT erneut hinzugefügt, da es bereits bei erstelle() hinzugefügt wurde
-    // Alternativ: Eigenes "AngebotVeroeffentlichtEvent" wenn gewünscht
+    // Das AngebotErstelltEvent stammt aus erstelle(); hier kommt nur der Statuswechsel dazu
+    domainEvents.add(new AngebotVeroeffentlichtEvent(id.value()));
     return List.copyOf(domainEvents);
   }
 
@@ -134,6 +185,7 @@ public class Angebot implements AggregateRoot {
    * @throws DomainException wenn das Angebot nicht verfügbar ist
    */
   public AngebotReserviertEvent reservieren(String abholerId, Abholcode abholcode) {
+    pruefeVeraenderbar();
     // Invariante: Nur verfügbare Angebote können reserviert werden
     if (status != Status.VERFUEGBAR) {
       throw new DomainException("Angebot ist nicht verfügbar");
@@ -157,6 +209,7 @@ public class Angebot implements AggregateRoot {
    * wurde.
    */
   public void markiereAlsAbgeholt() {
+    pruefeVeraenderbar();
     if (status != Status.RESERVIERT) {
       throw new DomainException("Nur reservierte Angebote können als abgeholt markiert werden");
     }
@@ -164,20 +217,85 @@ public class Angebot implements AggregateRoot {
   }
 
   /**
-   * Entfernt das Angebot (Soft Delete). Ein entferntes Angebot kann nicht mehr verändert werden.
+   * Markiert ein verfügbares Angebot als abgelaufen, nachdem sein Abholzeitfenster geendet hat.
+   *
+   * @param jetzt Der aktuelle Zeitpunkt
+   * @return Das erzeugte Domain Event
+   * @throws DomainException wenn das Angebot nicht verfügbar ist oder das Zeitfenster noch läuft
+   */
+  public AngebotAbgelaufenEvent markiereAlsAbgelaufen(LocalDateTime jetzt) {
+    pruefeVeraenderbar();
+    Objects.requireNonNull(jetzt, "Zeitpunkt darf nicht null sein");
+    if (status != Status.VERFUEGBAR) {
+      throw new DomainException("Nur verfügbare Angebote können ablaufen");
+    }
+    if (zeitfenster.istNochAktuell(jetzt)) {
+      throw new DomainException("Abholzeitfenster ist noch nicht beendet");
+    }
+    status = Status.ABGELAUFEN;
+
+    var event = new AngebotAbgelaufenEvent(id.value(), zeitfenster.bis());
+    domainEvents.add(event);
+
+    return event;
+  }
+
+  /**
+   * Entfernt das Angebot (Soft Delete) und erzeugt ein AngebotEntferntEvent. Ein entferntes Angebot
+   * kann nicht mehr verändert werden; erneutes Entfernen ist wirkungslos.
    */
   public void entfernen() {
+    pruefeVeraenderbar();
     if (status == Status.ABGEHOLT) {
       throw new DomainException("Abgeholte Angebote können nicht entfernt werden");
     }
+    if (status == Status.ENTFERNT) {
+      return;
+    }
     status = Status.ENTFERNT;
+    domainEvents.add(new AngebotEntferntEvent(id.value()));
+  }
+
+  /**
+   * Unabhängige Kopie des aktuellen Zustands, ohne ausstehende Events. Grundlage für optimistische
+   * Änderungen: die Kopie wird geändert und nur zurückgeschrieben, wenn zwischenzeitlich niemand
+   * anderes gespeichert hat (siehe {@code AngebotRepository#speichernWennUnveraendert}).
+   */
+  public Angebot kopie() {
+    return new Angebot(this, false);
+  }
+
+  /**
+   * Unveränderlicher Schnappschuss des aktuellen Zustands, ohne ausstehende Events. Repositories
+   * speichern Schnappschüsse, damit Leser ein Angebot ohne Sperre und ohne Kopie lesen können: ein
+   * gespeicherter Stand ändert sich nie, jedes Speichern ersetzt ihn durch einen neuen. Ist das
+   * Angebot bereits ein Schnappschuss, wird es selbst geliefert.
+   */
+  public Angebot schnappschuss() {
+    return schnappschuss ? this : new Angebot(this, true);
+  }
+
+  /** true, wenn dies ein unveränderlicher Schnappschuss ist; zum Ändern {@link #kopie()} nehmen. */
+  public boolean istSchnappschuss() {
+    return schnappschuss;
+  }
+
+  private void pruefeVeraenderbar() {
+    if (schnappschuss) {
+      throw new IllegalStateException(
+          "Angebot " + id.value() + " ist ein unveränderlicher Schnappschuss; kopie() ändern");
+    }
   }
 
   // ========== Domain Logic (Rich Domain Model) ==========
 
-  /** Prüft, ob das Angebot aktuell verfügbar ist. */
+  /**
+   * Prüft, ob das Angebot verfügbar ist. Das Ende des Abholzeitfensters hält der Ablauf im Status
+   * nach ({@link #markiereAlsAbgelaufen}); wie {@link #reservieren} verlässt sich die Prüfung
+   * deshalb auf den Status, statt pro Aufruf die Uhr zu lesen.
+   */
   public boolean istVerfuegbar() {
-    return status == Status.VERFUEGBAR && zeitfenster.istNochAktuell(LocalDateTime.now());
+    return status == Status.VERFUEGBAR;
   }
 
   /** Prüft, ob das Angebot von einem bestimmten User reserviert werden kann. */
@@ -249,6 +367,28 @@ public class Angebot implements AggregateRoot {
     return status;
   }
 
+  /** Zeitpunkt der Erstellung; Sortierschlüssel für "neueste zuerst". */
+  public LocalDateTime getErstelltAm() {
+    return erstelltAm;
+  }
+
+  /**
+   * Gleichheit über die ID (Entität): eine Kopie oder ein Schnappschuss ist dasselbe Angebot in
+   * einem anderen Stand. Wer Stände unterscheiden will, vergleicht Identität oder Version.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof Angebot andere && id.equals(andere.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return id.hashCode();
+  }
+
   @Override
   public String toString() {
     return "Angebot{"
@@ -0,0 +1,11 @@
+package com.foodrescue.angebotsmanagement.infrastructure.geo;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+
+/**
+ * Ein verfügbares Angebot mit der Entfernung seines Anbieters zum Suchpunkt.
+ *
+ * @param angebot Das Angebot
+ * @param entfernungMeter Großkreisentfernung in Metern
+ */
+public record AngebotImUmkreis(Angebot angebot, double entfernungMeter) {}
@@ -0,0 +1,82 @@
+package com.foodrescue.angebotsmanagement.infrastructure.geo;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Umkreissuche über verfügbare Angebote („Angebote im Umkreis von 2 km“).
+ *
+ * <p>Angebote haben keinen eigenen Standort, sie liegen beim Anbieter. Indiziert werden deshalb die
+ * Anbieter-Standorte in einem {@link GeoRaster}; die Angebote kommen erst nach der Geo-Abfrage über
+ * den Anbieterindex des Repositories hinzu. Neue, reservierte oder entfernte Angebote brauchen so
+ * keine Pflege des Geo-Index, und ein umziehender Anbieter nimmt alle seine Angebote mit.
+ *
+ * <p>Der Index folgt den {@link AnbieterStandortGeaendertEvent}s aus dem Anbieterprofil-Repository.
+ */
+@Component
+public class AngebotUmkreisSuche {
+
+  /** Größter erlaubter Radius; darüber besucht die Abfrage zu viele Zellen. */
+  public static final double MAX_RADIUS_METER = 50_000;
+
+  /** Zellgröße des Gitters: rund 1,1 km × 0,7 km in Mitteleuropa. */
+  static final double ZELL_GRAD = 0.01;
+
+  private static final Comparator<AngebotImUmkreis> NACH_ENTFERNUNG =
+      Comparator.comparingDouble(AngebotImUmkreis::entfernungMeter)
+          .thenComparing(t -> t.angebot().getZeitfenster().von())
+          .thenComparing(t -> t.angebot().getId());
+
+  private final AngebotRepository repository;
+  private final GeoRaster raster = new GeoRaster(ZELL_GRAD);
+
+  public AngebotUmkreisSuche(AngebotRepository repository) {
+    this.repository = repository;
+  }
+
+  @EventListener
+  public void on(AnbieterStandortGeaendertEvent event) {
+    setzeStandort(event.getAnbieterId(), event.getStandort().orElse(null));
+  }
+
+  /** Setzt den Standort eines Anbieters; null entfernt ihn aus der Suche. */
+  void setzeStandort(UserId anbieterId, GeoStandort standort) {
+    raster.setze(anbieterId, standort);
+  }
+
+  /**
+   * Verfügbare Angebote aller Anbieter im Umkreis, nach Entfernung aufsteigend sortiert (bei
+   * gleicher Entfernung nach Beginn des Abholzeitfensters).
+   *
+   * @param mitte Suchpunkt
+   * @param radiusMeter Radius in Metern, größer 0 und höchstens {@link #MAX_RADIUS_METER}
+   */
+  public List<AngebotImUmkreis> findeVerfuegbarImUmkreis(GeoStandort mitte, double radiusMeter) {
+    Objects.requireNonNull(mitte, "Mittelpunkt darf nicht null sein");
+    if (!(radiusMeter > 0) || radiusMeter > MAX_RADIUS_METER) {
+      throw new IllegalArgumentException(
+          "Radius muss größer 0 und höchstens " + (long) MAX_RADIUS_METER + " m sein");
+    }
+
+    List<AngebotImUmkreis> treffer = new ArrayList<>();
+    raster.imUmkreis(
+        mitte,
+        radiusMeter,
+        (anbieterId, entfernung) ->
+            repository
+                .streameAktiveFuerAnbieter(anbieterId)
+                .filter(angebot -> angebot.getStatus() == Angebot.Status.VERFUEGBAR)
+                .forEach(angebot -> treffer.add(new AngebotImUmkreis(angebot, entfernung))));
+    treffer.sort(NACH_ENTFERNUNG);
+    return treffer;
+  }
+}
@@ -0,0 +1,145 @@
+package com.foodrescue.angebotsmanagement.infrastructure.geo;
+
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gleichmäßiges Gitter über Breiten- und Längengrad, in dem die Standorte der Anbieter liegen.
+ *
+ * <p>Eine Umkreisabfrage besucht nur die Zellen im umschließenden Rechteck des Kreises (bei 2 km
+ * rund 40 Zellen) und rechnet die Haversine-Entfernung nur für die Anbieter darin. Längengrade
+ * laufen über die Datumsgrenze hinweg; reicht der Kreis an einen Pol, werden alle Spalten des
+ * Breitenbands besucht.
+ *
+ * <p>Lesen ist parallel möglich (Concurrent-Maps); Änderungen eines Standorts sind über das Gitter
+ * synchronisiert, damit ein Anbieter nie in zwei Zellen oder in keiner steht.
+ */
+final class GeoRaster {
+
+  /** Mittlerer Erdradius (IUGG) in Metern. */
+  static final double ERDRADIUS_METER = 6_371_008.8;
+
+  private final double zellGrad;
+  private final int spalten;
+  private final int zeilen;
+  private final Map<Long, Set<UserId>> zellen = new ConcurrentHashMap<>();
+  private final Map<UserId, GeoStandort> standorte = new ConcurrentHashMap<>();
+
+  /**
+   * @param zellGrad Kantenlänge einer Zelle in Grad; 0,01° sind in Nord-Süd-Richtung rund 1,1 km
+   */
+  GeoRaster(double zellGrad) {
+    if (!(zellGrad > 0) || 360.0 / zellGrad > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Zellgröße muss positiv sein");
+    }
+    this.zellGrad = zellGrad;
+    this.spalten = (int) Math.ceil(360.0 / zellGrad);
+    this.zeilen = (int) Math.ceil(180.0 / zellGrad);
+  }
+
+  /** Treffer einer Umkreisabfrage. */
+  interface Treffer {
+    void anbieter(UserId anbieterId, double entfernungMeter);
+  }
+
+  /** Setzt oder verschiebt den Standort eines Anbieters; null entfernt ihn. */
+  synchronized void setze(UserId anbieterId, GeoStandort standort) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+    GeoStandort alt =
+        standort == null ? standorte.remove(anbieterId) : standorte.put(anbieterId, standort);
+    if (alt != null) {
+      long zelle = zelle(alt);
+      Set<UserId> inZelle = zellen.get(zelle);
+      if (inZelle != null) {
+        inZelle.remove(anbieterId);
+        if (inZelle.isEmpty()) {
+          zellen.remove(zelle);
+        }
+      }
+    }
+    if (standort != null) {
+      zellen.computeIfAbsent(zelle(standort), k -> ConcurrentHashMap.newKeySet()).add(anbieterId);
+    }
+  }
+
+  int anzahl() {
+    return standorte.size();
+  }
+
+  /** Meldet alle Anbieter, die höchstens {@code radiusMeter} von {@code mitte} entfernt sind. */
+  void imUmkreis(GeoStandort mitte, double radiusMeter, Treffer treffer) {
+    double lat = mitte.getBreitengrad();
+    double lon = mitte.getLaengengrad();
+    double deltaLat = Math.toDegrees(radiusMeter / ERDRADIUS_METER);
+
+    int zeileVon = Math.max(0, zeile(lat - deltaLat));
+    int zeileBis = Math.min(zeilen - 1, zeile(lat + deltaLat));
+
+    // Die Längengrade liegen dort am engsten, wo das Band dem Pol am nächsten ist
+    double polnaechsteBreite = Math.abs(lat) + deltaLat;
+    long spalteVon;
+    long spalteBis;
+    if (polnaechsteBreite >= 90.0) {
+      spalteVon = 0;
+      spalteBis = spalten - 1L;
+    } else {
+      double deltaLon = deltaLat / Math.cos(Math.toRadians(polnaechsteBreite));
+      spalteVon = (long) Math.floor((lon - deltaLon + 180.0) / zellGrad);
+      spalteBis = (long) Math.floor((lon + deltaLon + 180.0) / zellGrad);
+      if (spalteBis - spalteVon + 1 >= spalten) {
+        spalteVon = 0;
+        spalteBis = spalten - 1L;
+      }
+    }
+
+    for (int z = zeileVon; z <= zeileBis; z++) {
+      for (long s = spalteVon; s <= spalteBis; s++) {
+        Set<UserId> inZelle = zellen.get(schluessel(z, (int) Math.floorMod(s, (long) spalten)));
+        if (inZelle == null) {
+          continue;
+        }
+        for (UserId anbieterId : inZelle) {
+          GeoStandort standort = standorte.get(anbieterId);
+          if (standort == null) {
+            continue; // gerade verschoben oder entfernt
+          }
+          double entfernung = entfernungMeter(mitte, standort);
+          if (entfernung <= radiusMeter) {
+            treffer.anbieter(anbieterId, entfernung);
+          }
+        }
+      }
+    }
+  }
+
+  /** Großkreisentfernung nach der Haversine-Formel. */
+  static double entfernungMeter(GeoStandort a, GeoStandort b) {
+    double lat1 = Math.toRadians(a.getBreitengrad());
+    double lat2 = Math.toRadians(b.getBreitengrad());
+    double sinDLat = Math.sin((lat2 - lat1) / 2);
+    double sinDLon = Math.sin(Math.toRadians(b.getLaengengrad() - a.getLaengengrad()) / 2);
+    double h = sinDLat * sinDLat + Math.cos(lat1) * Math.cos(lat2) * sinDLon * sinDLon;
+    return 2 * ERDRADIUS_METER * Math.asin(Math.min(1.0, Math.sqrt(h)));
+  }
+
+  private long zelle(GeoStandort standort) {
+    int z = Math.min(zeilen - 1, zeile(standort.getBreitengrad()));
+    int s =
+        (int)
+            Math.floorMod(
+                (long) Math.floor((standort.getLaengengrad() + 180.0) / zellGrad), (long) spalten);
+    return schluessel(z, s);
+  }
+
+  private int zeile(double breitengrad) {
+    return (int) Math.floor((breitengrad + 90.0) / zellGrad);
+  }
+
+  private long schluessel(int zeile, int spalte) {
+    return (long) zeile * spalten + spalte;
+  }
+}
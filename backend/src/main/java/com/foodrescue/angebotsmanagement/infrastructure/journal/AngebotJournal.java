@@ -0,0 +1,511 @@
+package com.foodrescue.angebotsmanagement.infrastructure.journal;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Append-only Journal der gespeicherten Angebotsstände in memory-mapped Segmentdateien.
+ *
+ * <p>Jeder Satz ist {@code [Länge int][CRC32C int][Nutzdaten]}; die Nutzdaten beginnen mit Typ und
+ * Katalogversion, bei einem Angebot folgt dessen vollständiger Stand. Geschrieben wird per Kopie in
+ * den gemappten Puffer, ohne Systemaufruf pro Satz. Ist das Journal {@code synchron}, kehrt {@link
+ * #anhaengen(List)} erst zurück, wenn der Satz per {@code force()} auf dem Datenträger liegt – wer
+ * dabei die Sperre bekommt, sichert alles bis zum aktuellen Ende mit (Group Commit), die übrigen
+ * Schreiber finden ihren Satz danach bereits gesichert vor. Ohne {@code synchron} schreibt das
+ * Betriebssystem die Seiten selbst zurück: ein Absturz des Prozesses verliert nichts, ein Ausfall
+ * des Rechners die letzten Sätze.
+ *
+ * <p>Das erste Segment liegt unter {@code pfad}, jedes weitere unter {@code pfad.<nummer>}. Passt
+ * ein Stapel nicht mehr in die Segmentgröße, wird das Segment gesichert und geschlossen und ein
+ * neues begonnen; dasselbe macht {@link #rotieren()} auf Wunsch, z.B. vor einem Snapshot. {@link
+ * #kuerzen(long)} löscht danach die ältesten abgeschlossenen Segmente, deren Sätze alle im Snapshot
+ * enthalten sind. Pro Segment merkt sich das Journal dafür die höchste Katalogversion.
+ *
+ * <p>{@link #wiederherstellen()} liest die Segmente einmal sequenziell in Nummernfolge. Ein
+ * abgeschnittener oder beschädigter Satz beendet das Einlesen des Segments; im letzten wird das
+ * Journal dort abgeschnitten und danach weitergeschrieben. Da parallele Speicherungen ihre Sätze
+ * nicht zwingend in Versionsreihenfolge anhängen, gilt pro Angebot der Satz mit der höchsten
+ * Version.
+ *
+ * <p>Aktiv nur mit {@code foodrescue.angebote.journal.pfad}; die Segmentgröße setzt {@code
+ * foodrescue.angebote.journal.segment-groesse}.
+ */
+@Component
+@ConditionalOnProperty("foodrescue.angebote.journal.pfad")
+public class AngebotJournal implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(AngebotJournal.class);
+
+  /** "FRJ1" */
+  private static final int MAGIC = 0x46524A31;
+
+  private static final int KOPF = 8;
+  private static final int SATZKOPF = 8;
+
+  private static final byte TYP_ANGEBOT = 1;
+  private static final byte TYP_LEEREN = 2;
+
+  static final int START_GROESSE = 16 * 1024 * 1024;
+  static final long SEGMENT_GROESSE = 256L * 1024 * 1024;
+
+  /**
+   * Obergrenze eines Segments (ein {@link MappedByteBuffer}); nur ein einzelner Stapel reizt sie
+   * aus.
+   */
+  private static final long MAX_SEGMENT = Integer.MAX_VALUE;
+
+  /**
+   * Ergebnis des Einlesens: der letzte Stand pro Angebot, die höchste Katalogversion und die
+   * Version des letzten Leerens (0, wenn nie geleert wurde).
+   */
+  public record Wiederherstellung(
+      List<AngebotStand> staende, long katalogVersion, long geleertBei, int saetze) {}
+
+  /** Abgeschlossenes Segment mit der höchsten Katalogversion seiner Sätze. */
+  private record Segment(int nummer, Path datei, long bisVersion) {}
+
+  private final Path pfad;
+  private final boolean synchron;
+  private final int startGroesse;
+  private final long segmentGroesse;
+
+  // Schreibseite, über this synchronisiert
+  private final List<Segment> abgeschlossen = new ArrayList<>();
+  private int nummer;
+  private FileChannel kanal;
+  private MappedByteBuffer puffer;
+  private int position;
+  private long bisVersion;
+
+  /**
+   * Summe der Längen aller in diesem Prozess abgeschlossenen Segmente; {@code basis + position} ist
+   * das Ende über alle Segmente hinweg und damit das Maß für den Group Commit.
+   */
+  private long basis;
+
+  private final Object sicherungsSperre = new Object();
+  private volatile long gesichertBis;
+
+  @Autowired
+  public AngebotJournal(
+      @Value("${foodrescue.angebote.journal.pfad}") Path pfad,
+      @Value("${foodrescue.angebote.journal.synchron:true}") boolean synchron,
+      @Value("${foodrescue.angebote.journal.segment-groesse:256MB}") DataSize segmentGroesse) {
+    this(pfad, synchron, START_GROESSE, segmentGroesse.toBytes());
+  }
+
+  public AngebotJournal(Path pfad, boolean synchron) {
+    this(pfad, synchron, START_GROESSE, SEGMENT_GROESSE);
+  }
+
+  AngebotJournal(Path pfad, boolean synchron, int startGroesse, long segmentGroesse) {
+    this.pfad = Objects.requireNonNull(pfad, "Pfad darf nicht null sein");
+    if (segmentGroesse <= KOPF || segmentGroesse > MAX_SEGMENT) {
+      throw new IllegalArgumentException("Ungültige Segmentgröße " + segmentGroesse);
+    }
+    this.synchron = synchron;
+    this.startGroesse = (int) Math.min(startGroesse, segmentGroesse);
+    this.segmentGroesse = segmentGroesse;
+    List<Integer> nummern;
+    try {
+      Path verzeichnis = pfad.toAbsolutePath().getParent();
+      if (verzeichnis != null) {
+        Files.createDirectories(verzeichnis);
+      }
+      nummern = vorhandeneSegmente();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Journal " + pfad + " kann nicht geöffnet werden", e);
+    }
+    // Bis zum Einlesen ist die höchste Version eines Segments unbekannt: nichts darf gekürzt werden
+    for (int i = 0; i < nummern.size() - 1; i++) {
+      abgeschlossen.add(new Segment(nummern.get(i), datei(nummern.get(i)), Long.MAX_VALUE));
+    }
+    oeffne(nummern.isEmpty() ? 0 : nummern.get(nummern.size() - 1));
+    log.info(
+        "Angebotsjournal {} geöffnet (synchron={}, {} Segmente)",
+        pfad,
+        synchron,
+        abgeschlossen.size() + 1);
+  }
+
+  /**
+   * Liest alle Segmente von vorn und setzt die Schreibposition hinter den letzten gültigen Satz.
+   * Nur einmal direkt nach dem Öffnen aufrufen, bevor geschrieben wird.
+   */
+  public synchronized Wiederherstellung wiederherstellen() {
+    Einlesen ein = new Einlesen();
+    for (int i = 0; i < abgeschlossen.size(); i++) {
+      Segment segment = abgeschlossen.get(i);
+      try (FileChannel lesen = FileChannel.open(segment.datei(), StandardOpenOption.READ)) {
+        ByteBuffer inhalt = lesen.map(FileChannel.MapMode.READ_ONLY, 0, lesen.size());
+        pruefeKopf(inhalt, segment.datei());
+        int ende = ein.lies(inhalt);
+        if (ein.fehler != null) {
+          log.warn(
+              "Angebotsjournal {}: Satz bei Byte {} verworfen ({}), Rest des Segments wird ignoriert",
+              segment.datei(),
+              ende,
+              ein.fehler);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(
+            "Journal " + segment.datei() + " kann nicht gelesen werden", e);
+      }
+      abgeschlossen.set(i, new Segment(segment.nummer(), segment.datei(), ein.segmentVersion));
+    }
+
+    int pos = ein.lies(puffer);
+    if (ein.fehler != null) {
+      verwerfeAb(pos, ein.fehler);
+    }
+    position = pos;
+    bisVersion = ein.segmentVersion;
+    basis = 0;
+    gesichertBis = pos;
+    log.info("Angebotsjournal {}: {} Sätze, {} Angebote", pfad, ein.saetze, ein.staende.size());
+    return new Wiederherstellung(
+        List.copyOf(ein.staende.values()), ein.katalogVersion, ein.geleertBei, ein.saetze);
+  }
+
+  /** Hängt die Stände in dieser Reihenfolge an; bei {@code synchron} mit einem Group Commit. */
+  public void anhaengen(List<AngebotStand> staende) {
+    Objects.requireNonNull(staende, "Stände dürfen nicht null sein");
+    if (staende.isEmpty()) {
+      return;
+    }
+    List<byte[]> saetze = new ArrayList<>(staende.size());
+    long hoechste = 0;
+    for (AngebotStand stand : staende) {
+      saetze.add(kodiereAngebot(stand.angebot(), stand.version()));
+      hoechste = Math.max(hoechste, stand.version());
+    }
+    sichern(schreibe(saetze, hoechste));
+  }
+
+  /** Vermerkt, dass der Katalog geleert wurde; ältere Sätze zählen beim Einlesen nicht mehr. */
+  public void leeren(long katalogVersion) {
+    sichern(schreibe(List.of(kodiere(TYP_LEEREN, katalogVersion, out -> {})), katalogVersion));
+  }
+
+  /**
+   * Schließt das aktuelle Segment ab und beginnt ein neues, sofern das aktuelle Sätze enthält.
+   * Alles bis hierher liegt danach in abgeschlossenen Segmenten, die {@link #kuerzen(long)} löschen
+   * kann.
+   */
+  public synchronized void rotieren() {
+    if (position > KOPF) {
+      wechsleSegment();
+    }
+  }
+
+  /**
+   * Löscht die ältesten abgeschlossenen Segmente, solange keiner ihrer Sätze eine höhere
+   * Katalogversion als {@code bisVersion} hat; das aktuelle Segment bleibt immer stehen.
+   *
+   * @return Anzahl gelöschter Segmente
+   */
+  public synchronized int kuerzen(long bisVersion) {
+    int geloescht = 0;
+    while (!abgeschlossen.isEmpty() && abgeschlossen.get(0).bisVersion() <= bisVersion) {
+      Segment segment = abgeschlossen.get(0);
+      try {
+        Files.deleteIfExists(segment.datei());
+      } catch (IOException e) {
+        throw new UncheckedIOException(
+            "Journal " + segment.datei() + " kann nicht gelöscht werden", e);
+      }
+      abgeschlossen.remove(0);
+      geloescht++;
+    }
+    if (geloescht > 0) {
+      log.info(
+          "Angebotsjournal {}: {} Segmente bis Version {} gelöscht", pfad, geloescht, bisVersion);
+    }
+    return geloescht;
+  }
+
+  /** Aktuelle Schreibposition im aktuellen Segment in Bytes (Segmentkopf eingeschlossen). */
+  public synchronized long groesse() {
+    return position;
+  }
+
+  /** Anzahl der Segmentdateien, das aktuelle eingeschlossen. */
+  public synchronized int segmente() {
+    return abgeschlossen.size() + 1;
+  }
+
+  @Override
+  public void close() {
+    synchronized (sicherungsSperre) {
+      synchronized (this) {
+        puffer.force();
+        gesichertBis = basis + position;
+        try {
+          kanal.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException("Journal " + pfad + " kann nicht geschlossen werden", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Kopiert fertige Sätze in den Puffer; liefert das neue Ende über alle Segmente. Ein Stapel
+   * landet immer vollständig in einem Segment, notfalls in einem frisch begonnenen.
+   */
+  private synchronized long schreibe(List<byte[]> saetze, long hoechsteVersion) {
+    long benoetigt = 0;
+    for (byte[] satz : saetze) {
+      benoetigt += satz.length;
+    }
+    if (position > KOPF && position + benoetigt > segmentGroesse) {
+      wechsleSegment();
+    }
+    if (position + benoetigt > puffer.capacity()) {
+      vergroessern(position + benoetigt);
+    }
+    for (byte[] satz : saetze) {
+      puffer.put(position, satz);
+      position += satz.length;
+    }
+    bisVersion = Math.max(bisVersion, hoechsteVersion);
+    return basis + position;
+  }
+
+  /**
+   * Group Commit: wer die Sperre hat, sichert bis zum aktuellen Ende – also auch die Sätze, die
+   * andere Threads inzwischen angehängt haben. Abgeschlossene Segmente sind beim Wechsel bereits
+   * vollständig gesichert worden.
+   */
+  private void sichern(long bis) {
+    if (!synchron || gesichertBis >= bis) {
+      return;
+    }
+    synchronized (sicherungsSperre) {
+      if (gesichertBis >= bis) {
+        return;
+      }
+      MappedByteBuffer zuSichern;
+      long segmentBasis;
+      int ende;
+      synchronized (this) {
+        zuSichern = puffer;
+        segmentBasis = basis;
+        ende = position;
+      }
+      int ab = (int) Math.max(gesichertBis - segmentBasis, 0);
+      zuSichern.force(ab, ende - ab);
+      gesichertBis = segmentBasis + ende;
+    }
+  }
+
+  /** Sichert und schließt das aktuelle Segment und öffnet das nächste. Nur unter this. */
+  private void wechsleSegment() {
+    puffer.force();
+    abgeschlossen.add(new Segment(nummer, datei(nummer), bisVersion));
+    basis += position;
+    try {
+      kanal.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Journal " + datei(nummer) + " kann nicht geschlossen werden", e);
+    }
+    oeffne(nummer + 1);
+    bisVersion = 0;
+    log.info("Angebotsjournal {}: neues Segment {}", pfad, datei(nummer));
+  }
+
+  /** Öffnet oder legt das Segment an und setzt die Schreibposition hinter den Kopf. */
+  private void oeffne(int segment) {
+    Path datei = datei(segment);
+    try {
+      kanal =
+          FileChannel.open(
+              datei, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      long groesse = Math.max(kanal.size(), Math.max(startGroesse, KOPF));
+      puffer = kanal.map(FileChannel.MapMode.READ_WRITE, 0, groesse);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Journal " + datei + " kann nicht geöffnet werden", e);
+    }
+    if (puffer.getInt(0) == 0) {
+      puffer.putInt(0, MAGIC);
+      puffer.putInt(4, 1);
+    } else {
+      pruefeKopf(puffer, datei);
+    }
+    nummer = segment;
+    position = KOPF;
+  }
+
+  private void vergroessern(long mindestens) {
+    if (mindestens > MAX_SEGMENT) {
+      throw new IllegalStateException("Stapel passt nicht in ein Segment von Journal " + pfad);
+    }
+    long neu =
+        Math.min(
+            Math.max(segmentGroesse, mindestens), Math.max(mindestens, 2L * puffer.capacity()));
+    try {
+      puffer.force();
+      puffer = kanal.map(FileChannel.MapMode.READ_WRITE, 0, neu);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Journal " + pfad + " kann nicht vergrößert werden", e);
+    }
+    log.debug("Angebotsjournal {} auf {} Bytes vergrößert", datei(nummer), neu);
+  }
+
+  /** Schneidet das aktuelle Segment ab {@code pos} ab: der Rest wird genullt und überschrieben. */
+  private void verwerfeAb(int pos, String grund) {
+    log.warn(
+        "Angebotsjournal {}: Satz bei Byte {} verworfen ({}), Rest wird ignoriert",
+        datei(nummer),
+        pos,
+        grund);
+    for (int i = pos; i < puffer.capacity(); i++) {
+      puffer.put(i, (byte) 0);
+    }
+    puffer.force();
+  }
+
+  private Path datei(int segment) {
+    return segment == 0 ? pfad : pfad.resolveSibling(pfad.getFileName() + "." + segment);
+  }
+
+  /** Nummern der vorhandenen Segmentdateien, aufsteigend. */
+  private List<Integer> vorhandeneSegmente() throws IOException {
+    String name = pfad.getFileName().toString();
+    List<Integer> nummern = new ArrayList<>();
+    try (DirectoryStream<Path> dateien =
+        Files.newDirectoryStream(pfad.toAbsolutePath().getParent())) {
+      for (Path datei : dateien) {
+        String dateiname = datei.getFileName().toString();
+        if (dateiname.equals(name)) {
+          nummern.add(0);
+        } else if (dateiname.startsWith(name + ".")
+            && dateiname.substring(name.length() + 1).matches("[1-9][0-9]{0,8}")) {
+          nummern.add(Integer.parseInt(dateiname.substring(name.length() + 1)));
+        }
+      }
+    }
+    Collections.sort(nummern);
+    return nummern;
+  }
+
+  private static void pruefeKopf(ByteBuffer inhalt, Path datei) {
+    if (inhalt.capacity() < KOPF || inhalt.getInt(0) != MAGIC) {
+      throw new IllegalStateException(datei + " ist kein Angebotsjournal");
+    }
+  }
+
+  /** Zustand beim Einlesen über alle Segmente hinweg. */
+  private static final class Einlesen {
+    private final Map<String, AngebotStand> staende = new LinkedHashMap<>();
+    private long katalogVersion;
+    private long geleertBei;
+    private int saetze;
+
+    /** Höchste Version und Abbruchgrund des zuletzt gelesenen Segments. */
+    private long segmentVersion;
+
+    private String fehler;
+
+    /** Liest die Sätze eines Segments; liefert die Position hinter dem letzten gültigen. */
+    int lies(ByteBuffer puffer) {
+      segmentVersion = 0;
+      fehler = null;
+      int pos = KOPF;
+      while (pos + SATZKOPF <= puffer.capacity()) {
+        int laenge = puffer.getInt(pos);
+        if (laenge == 0) {
+          break;
+        }
+        if (laenge < 0 || pos + SATZKOPF + (long) laenge > puffer.capacity()) {
+          fehler = "ungültige Satzlänge " + laenge;
+          break;
+        }
+        ByteBuffer nutzdaten = puffer.slice(pos + SATZKOPF, laenge);
+        CRC32C crc = new CRC32C();
+        crc.update(nutzdaten.duplicate());
+        if ((int) crc.getValue() != puffer.getInt(pos + 4)) {
+          fehler = "Prüfsumme falsch";
+          break;
+        }
+
+        try {
+          BinaerEingabe in = new BinaerEingabe(nutzdaten);
+          int typ = in.bytewert();
+          long version = in.lang();
+          if (typ == TYP_ANGEBOT) {
+            Angebot angebot = AngebotKodierung.lese(in);
+            AngebotStand bisher = staende.get(angebot.getId());
+            if (bisher == null || bisher.version() < version) {
+              staende.put(angebot.getId(), new AngebotStand(angebot, version));
+            }
+          } else if (typ == TYP_LEEREN) {
+            staende.clear();
+            geleertBei = version;
+          } else {
+            throw new IllegalStateException("Unbekannter Satztyp " + typ);
+          }
+          katalogVersion = Math.max(katalogVersion, version);
+          segmentVersion = Math.max(segmentVersion, version);
+        } catch (RuntimeException e) {
+          fehler = e.toString();
+          break;
+        }
+        saetze++;
+        pos += SATZKOPF + laenge;
+      }
+      return pos;
+    }
+  }
+
+  // ========== Satzformat ==========
+
+  private static byte[] kodiereAngebot(Angebot angebot, long version) {
+    return kodiere(TYP_ANGEBOT, version, out -> AngebotKodierung.schreibe(out, angebot));
+  }
+
+  private static byte[] kodiere(byte typ, long version, Consumer<BinaerAusgabe> inhalt) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    BinaerAusgabe out = new BinaerAusgabe(bytes);
+    out.ganzzahl(0); // Länge, unten gesetzt
+    out.ganzzahl(0); // Prüfsumme, unten gesetzt
+    out.bytewert(typ).lang(version);
+    inhalt.accept(out);
+    out.flush();
+
+    ByteBuffer satz = ByteBuffer.wrap(bytes.toByteArray());
+    int laenge = satz.capacity() - SATZKOPF;
+    CRC32C crc = new CRC32C();
+    crc.update(satz.array(), SATZKOPF, laenge);
+    satz.putInt(0, laenge).putInt(4, (int) crc.getValue());
+    return satz.array();
+  }
+}
@@ -0,0 +1,53 @@
+package com.foodrescue.angebotsmanagement.infrastructure.journal;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.util.HashSet;
+import java.util.Set;
+
+/** Binärform eines Angebotsstands, gemeinsam für {@link AngebotJournal} und den Snapshot. */
+public final class AngebotKodierung {
+
+  private static final Angebot.Status[] STATUS = Angebot.Status.values();
+
+  private AngebotKodierung() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  public static void schreibe(BinaerAusgabe out, Angebot angebot) {
+    out.text(angebot.getId())
+        .uuid(angebot.getAnbieterId().getValue())
+        .text(angebot.getTitel())
+        .text(angebot.getBeschreibung());
+    Set<String> tags = angebot.getTags();
+    out.ganzzahl(tags.size());
+    for (String tag : tags) {
+      out.text(tag);
+    }
+    out.datumZeit(angebot.getZeitfenster().von())
+        .datumZeit(angebot.getZeitfenster().bis())
+        .aufzaehlung(angebot.getStatus())
+        .datumZeit(angebot.getErstelltAm());
+  }
+
+  /** Liest einen Stand als {@link Angebot#wiederherstellen Schnappschuss} ohne Events. */
+  public static Angebot lese(BinaerEingabe in) {
+    AngebotsId id = AngebotsId.of(in.text());
+    UserId anbieter = new UserId(in.uuid());
+    String titel = in.text();
+    String beschreibung = in.text();
+    int anzahlTags = in.ganzzahl();
+    Set<String> tags = new HashSet<>(Math.max(anzahlTags, 0));
+    for (int i = 0; i < anzahlTags; i++) {
+      tags.add(in.text());
+    }
+    AbholZeitfenster zeitfenster = new AbholZeitfenster(in.datumZeit(), in.datumZeit());
+    Angebot.Status status = in.aufzaehlung(STATUS);
+    return Angebot.wiederherstellen(
+        id, anbieter, titel, beschreibung, tags, zeitfenster, status, in.datumZeit());
+  }
+}
@@ -0,0 +1,479 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.angebotsmanagement.domain.functional.AnbieterPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.OderPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.StatusPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.SuchbegriffPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.TagPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.TitelPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.UndPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.ZeitfensterPredicate;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Abfrageplaner für den Predicate-Baum des {@link FunctionalAngebotRepository}.
+ *
+ * <p>Der Planer zerlegt ein {@link AngebotPredicate} in einen <em>Zugriff</em> (welche IDs über
+ * welche Indizes überhaupt in Frage kommen) und einen <em>Rest</em> (Teile, die kein Index
+ * beantworten kann und die auf den Kandidaten ausgewertet werden):
+ *
+ * <ul>
+ *   <li>Blätter mit Index (Status, Anbieter, Tags, Zeitfenster, Titel/Volltext ab drei Zeichen)
+ *       werden zu Index-Zugriffen
+ *   <li>UND: Der selektivste Zugriff liefert die Kandidaten, die übrigen werden per Probe
+ *       geschnitten; nicht indizierbare Teile bilden den Rest
+ *   <li>ODER: Vereinigung, sofern jeder Zweig einen Zugriff hat – sonst Scan
+ *   <li>NICHT und eigene Lambdas: immer Rest
+ * </ul>
+ *
+ * <p>Index-Zugriffe sind exakt bezogen auf den zuletzt indizierten Zustand. Leser sperren nicht;
+ * ein Index kann während eines Speicherns also noch auf den alten Stand zeigen, während die Map
+ * schon den neuen liefert. Jeder Zugriff prüft seine Kandidaten deshalb billig am Objekt nach
+ * ({@link Zugriff#passt}): Gleichheit bei Status und Anbieter, Mengen bei Tags, zwei Vergleiche
+ * beim Zeitfenster. Die Textsuche nicht – ein {@code toLowerCase} pro Treffer ist genau das, was
+ * der Trigramm-Index einspart; sie hinkt höchstens einem gleichzeitigen Speichern hinterher.
+ */
+class AngebotAbfragePlaner {
+
+  private final Map<Angebot.Status, Set<String>> statusIndex;
+  private final Map<UserId, Set<String>> anbieterIndex;
+  private final TagIndex tagIndex;
+  private final ZeitfensterIndex zeitfensterIndex;
+  private final TrigramIndex trigramIndex;
+
+  AngebotAbfragePlaner(
+      Map<Angebot.Status, Set<String>> statusIndex,
+      Map<UserId, Set<String>> anbieterIndex,
+      TagIndex tagIndex,
+      ZeitfensterIndex zeitfensterIndex,
+      TrigramIndex trigramIndex) {
+    this.statusIndex = statusIndex;
+    this.anbieterIndex = anbieterIndex;
+    this.tagIndex = tagIndex;
+    this.zeitfensterIndex = zeitfensterIndex;
+    this.trigramIndex = trigramIndex;
+  }
+
+  /**
+   * Erstellt den Plan für ein Predicate.
+   *
+   * @param predicate Das Predicate
+   * @return Plan mit Zugriff (null = Scan über alle Angebote) und Rest (null = kein Restfilter)
+   */
+  AbfragePlan planen(AngebotPredicate predicate) {
+    Teilplan plan = teilplan(predicate);
+    return new AbfragePlan(plan.zugriff(), plan.rest());
+  }
+
+  private Teilplan teilplan(AngebotPredicate predicate) {
+    return switch (predicate) {
+      case StatusPredicate status ->
+          new Teilplan(new MengenZugriff(status, statusIndex.get(status.status())), null);
+      case AnbieterPredicate anbieter ->
+          new Teilplan(
+              new MengenZugriff(
+                  anbieter, anbieterIndex.getOrDefault(anbieter.anbieterId(), Set.of())),
+              null);
+      case TagPredicate tags ->
+          tags.modus() == TagPredicate.Modus.ALLE && tags.tags().isEmpty()
+              ? Teilplan.scan(predicate)
+              : new Teilplan(new TagZugriff(tags), null);
+      case ZeitfensterPredicate zeitfenster ->
+          zeitfenster.istBegrenzt()
+              ? new Teilplan(new ZeitfensterZugriff(zeitfenster), null)
+              : Teilplan.scan(predicate);
+      case TitelPredicate titel ->
+          textZugriff(predicate, titel.suchbegriff(), TrigramIndex.Feld.TITEL);
+      case SuchbegriffPredicate suche ->
+          suche.suchbegriff().isBlank()
+              ? new Teilplan(null, null) // passt auf alles
+              : textZugriff(predicate, suche.suchbegriff(), TrigramIndex.Feld.VOLLTEXT);
+      case UndPredicate und -> planeUnd(und);
+      case OderPredicate oder -> planeOder(oder);
+      default -> Teilplan.scan(predicate);
+    };
+  }
+
+  private Teilplan textZugriff(
+      AngebotPredicate predicate, String suchbegriff, TrigramIndex.Feld feld) {
+    return suchbegriff.toLowerCase().length() < 3
+        ? Teilplan.scan(predicate)
+        : new Teilplan(new TextZugriff(suchbegriff, feld), null);
+  }
+
+  private Teilplan planeUnd(UndPredicate und) {
+    List<Zugriff> zugriffe = new ArrayList<>();
+    List<AngebotPredicate> rest = new ArrayList<>();
+    for (AngebotPredicate teil : zusammenfassen(und.teile())) {
+      Teilplan plan = teilplan(teil);
+      if (plan.zugriff() != null) {
+        zugriffe.add(plan.zugriff());
+      }
+      if (plan.rest() != null) {
+        rest.add(plan.rest());
+      }
+    }
+
+    AngebotPredicate restPredicate =
+        switch (rest.size()) {
+          case 0 -> null;
+          case 1 -> rest.get(0);
+          default -> new UndPredicate(rest);
+        };
+    if (zugriffe.isEmpty()) {
+      return new Teilplan(null, restPredicate);
+    }
+    return new Teilplan(schnitt(zugriffe), restPredicate);
+  }
+
+  private Teilplan planeOder(OderPredicate oder) {
+    List<Zugriff> zugriffe = new ArrayList<>();
+    boolean exakt = true;
+    for (AngebotPredicate teil : oder.teile()) {
+      Teilplan plan = teilplan(teil);
+      if (plan.zugriff() == null) {
+        return Teilplan.scan(oder);
+      }
+      zugriffe.add(plan.zugriff());
+      exakt &= plan.rest() == null;
+    }
+    // Ein Rest lässt sich nicht einem Zweig zuordnen – dann wird das ganze ODER nachgeprüft
+    return new Teilplan(new Vereinigung(zugriffe), exakt ? null : oder);
+  }
+
+  /**
+   * Fasst gleichartige Blätter eines UND zusammen: Tag-Filter mit ALLE-Semantik zu einer
+   * Bitmap-Schnittmenge, Zeitfenster-Filter zu einem Bereich.
+   */
+  private static List<AngebotPredicate> zusammenfassen(List<AngebotPredicate> teile) {
+    List<AngebotPredicate> ergebnis = new ArrayList<>(teile.size());
+    TagPredicate tags = null;
+    ZeitfensterPredicate zeitfenster = null;
+    for (AngebotPredicate teil : teile) {
+      if (teil instanceof TagPredicate tag && tag.verhaeltSichWie(TagPredicate.Modus.ALLE)) {
+        tags = tags == null ? tag : (TagPredicate) tags.and(tag);
+      } else if (teil instanceof ZeitfensterPredicate fenster) {
+        zeitfenster =
+            zeitfenster == null ? fenster : (ZeitfensterPredicate) zeitfenster.and(fenster);
+      } else {
+        ergebnis.add(teil);
+      }
+    }
+    if (tags != null) {
+      ergebnis.add(tags);
+    }
+    if (zeitfenster != null) {
+      ergebnis.add(zeitfenster);
+    }
+    return ergebnis;
+  }
+
+  /**
+   * Schnittmenge per Probe: Der Zugriff mit der kleinsten Schätzung liefert die Kandidaten, die
+   * übrigen prüfen nur noch die Zugehörigkeit einzelner IDs.
+   */
+  private static Zugriff schnitt(List<Zugriff> zugriffe) {
+    if (zugriffe.size() == 1) {
+      return zugriffe.get(0);
+    }
+    // Zeitbereiche zählen ihre Einträge ab – deshalb zuletzt, begrenzt durch die beste Schätzung
+    List<Zugriff> reihenfolge = new ArrayList<>(zugriffe);
+    reihenfolge.sort(Comparator.comparing(z -> z instanceof ZeitfensterZugriff));
+
+    long beste = Long.MAX_VALUE;
+    List<Geschaetzt> geschaetzt = new ArrayList<>(zugriffe.size());
+    for (Zugriff zugriff : reihenfolge) {
+      long schaetzung = zugriff.schaetzung(beste);
+      beste = Math.min(beste, schaetzung);
+      geschaetzt.add(new Geschaetzt(zugriff, schaetzung));
+    }
+    geschaetzt.sort(Comparator.comparingLong(Geschaetzt::schaetzung));
+    return new Schnitt(geschaetzt.stream().map(Geschaetzt::zugriff).toList());
+  }
+
+  // ========== Plan ==========
+
+  /**
+   * Ausführbarer Plan.
+   *
+   * @param zugriff Kandidatenquelle, null = Scan über alle Angebote
+   * @param rest Restfilter, null = keiner
+   */
+  record AbfragePlan(Zugriff zugriff, AngebotPredicate rest) {
+
+    /** IDs der Kandidaten; nur gültig, wenn ein Zugriff existiert. */
+    Stream<String> ids() {
+      return zugriff.ids();
+    }
+
+    /** Nachprüfung eines Kandidaten: Blätter des Zugriffs (billig) und Rest. */
+    boolean passt(Angebot angebot) {
+      return zugriff.passt(angebot) && (rest == null || rest.test(angebot));
+    }
+
+    /** Lesbare Darstellung des gewählten Plans. */
+    String explain() {
+      StringBuilder text = new StringBuilder();
+      if (zugriff == null) {
+        text.append("Scan über alle Angebote\n");
+      } else {
+        zugriff.beschreibe(text, "");
+      }
+      text.append("Rest: ")
+          .append(rest == null ? "keiner" : AngebotPredicate.beschreibung(rest))
+          .append('\n');
+      return text.toString();
+    }
+  }
+
+  private record Teilplan(Zugriff zugriff, AngebotPredicate rest) {
+    static Teilplan scan(AngebotPredicate predicate) {
+      return new Teilplan(null, predicate);
+    }
+  }
+
+  private record Geschaetzt(Zugriff zugriff, long schaetzung) {}
+
+  // ========== Zugriffe ==========
+
+  /** Kandidatenquelle über einen oder mehrere Indizes. */
+  interface Zugriff {
+
+    /** Kandidaten-IDs (exakt bezogen auf den gespeicherten Zustand). */
+    Stream<String> ids();
+
+    /** Zugehörigkeit einer einzelnen ID (für Schnittmengen per Probe). */
+    boolean enthaelt(String id);
+
+    /** Billige Nachprüfung am Objekt, falls der Index dem gespeicherten Stand hinterherhinkt. */
+    boolean passt(Angebot angebot);
+
+    /** Geschätzte Anzahl Kandidaten; darf bei Erreichen der Obergrenze abbrechen. */
+    long schaetzung(long obergrenze);
+
+    void beschreibe(StringBuilder text, String einzug);
+  }
+
+  private record MengenZugriff(AngebotPredicate blatt, Set<String> menge) implements Zugriff {
+    @Override
+    public Stream<String> ids() {
+      return menge.stream();
+    }
+
+    @Override
+    public boolean enthaelt(String id) {
+      return menge.contains(id);
+    }
+
+    @Override
+    public boolean passt(Angebot angebot) {
+      return blatt.test(angebot);
+    }
+
+    @Override
+    public long schaetzung(long obergrenze) {
+      return menge.size();
+    }
+
+    @Override
+    public void beschreibe(StringBuilder text, String einzug) {
+      text.append(einzug).append("Index ").append(blatt).append(" (~").append(menge.size());
+      text.append(")\n");
+    }
+  }
+
+  private final class TagZugriff implements Zugriff {
+    private final TagPredicate predicate;
+
+    TagZugriff(TagPredicate predicate) {
+      this.predicate = predicate;
+    }
+
+    @Override
+    public Stream<String> ids() {
+      return tagIndex.kandidaten(predicate).orElseThrow().stream();
+    }
+
+    @Override
+    public boolean enthaelt(String id) {
+      return tagIndex.enthaelt(predicate, id);
+    }
+
+    @Override
+    public boolean passt(Angebot angebot) {
+      return predicate.test(angebot);
+    }
+
+    @Override
+    public long schaetzung(long obergrenze) {
+      return tagIndex.schaetzung(predicate);
+    }
+
+    @Override
+    public void beschreibe(StringBuilder text, String einzug) {
+      text.append(einzug).append("Bitmap ").append(predicate).append(" (~");
+      text.append(tagIndex.schaetzung(predicate)).append(")\n");
+    }
+  }
+
+  private final class ZeitfensterZugriff implements Zugriff {
+    private final ZeitfensterPredicate predicate;
+
+    ZeitfensterZugriff(ZeitfensterPredicate predicate) {
+      this.predicate = predicate;
+    }
+
+    @Override
+    public Stream<String> ids() {
+      // Der Index durchläuft eine Zeitachse; die zweite Grenze wird am gespeicherten Fenster
+      // geprüft
+      return zeitfensterIndex
+          .kandidaten(predicate)
+          .orElseThrow()
+          .filter(id -> zeitfensterIndex.enthaelt(predicate, id));
+    }
+
+    @Override
+    public boolean enthaelt(String id) {
+      return zeitfensterIndex.enthaelt(predicate, id);
+    }
+
+    @Override
+    public boolean passt(Angebot angebot) {
+      return predicate.test(angebot);
+    }
+
+    @Override
+    public long schaetzung(long obergrenze) {
+      return zeitfensterIndex.schaetzung(predicate, obergrenze);
+    }
+
+    @Override
+    public void beschreibe(StringBuilder text, String einzug) {
+      text.append(einzug).append("Bereich ").append(predicate).append('\n');
+    }
+  }
+
+  private final class TextZugriff implements Zugriff {
+    private final String suchbegriff;
+    private final TrigramIndex.Feld feld;
+
+    TextZugriff(String suchbegriff, TrigramIndex.Feld feld) {
+      this.suchbegriff = suchbegriff;
+      this.feld = feld;
+    }
+
+    @Override
+    public Stream<String> ids() {
+      return trigramIndex.suche(suchbegriff, feld).orElseThrow().stream();
+    }
+
+    @Override
+    public boolean enthaelt(String id) {
+      return trigramIndex.enthaelt(suchbegriff, feld, id);
+    }
+
+    @Override
+    public boolean passt(Angebot angebot) {
+      return true; // siehe Klassendoku
+    }
+
+    @Override
+    public long schaetzung(long obergrenze) {
+      return trigramIndex.schaetzung(suchbegriff, feld);
+    }
+
+    @Override
+    public void beschreibe(StringBuilder text, String einzug) {
+      text.append(einzug).append("Trigramme ").append(feld).append(" \"");
+      text.append(suchbegriff.toLowerCase()).append("\" (~");
+      text.append(trigramIndex.schaetzung(suchbegriff, feld)).append(")\n");
+    }
+  }
+
+  private record Schnitt(List<Zugriff> zugriffe) implements Zugriff {
+    @Override
+    public Stream<String> ids() {
+      List<Zugriff> proben = zugriffe.subList(1, zugriffe.size());
+      return zugriffe.get(0).ids().filter(id -> proben.stream().allMatch(z -> z.enthaelt(id)));
+    }
+
+    @Override
+    public boolean enthaelt(String id) {
+      return zugriffe.stream().allMatch(z -> z.enthaelt(id));
+    }
+
+    @Override
+    public boolean passt(Angebot angebot) {
+      return zugriffe.stream().allMatch(z -> z.passt(angebot));
+    }
+
+    @Override
+    public long schaetzung(long obergrenze) {
+      return zugriffe.get(0).schaetzung(obergrenze);
+    }
+
+    @Override
+    public void beschreibe(StringBuilder text, String einzug) {
+      text.append(einzug).append("Schnitt\n");
+      zugriffe.get(0).beschreibe(text, einzug + "  ");
+      for (Zugriff probe : zugriffe.subList(1, zugriffe.size())) {
+        text.append(einzug).append("  Probe:\n");
+        probe.beschreibe(text, einzug + "    ");
+      }
+    }
+  }
+
+  private record Vereinigung(List<Zugriff> zugriffe) implements Zugriff {
+    @Override
+    public Stream<String> ids() {
+      if (zugriffe.size() == 1) {
+        return zugriffe.get(0).ids();
+      }
+      Set<String> ids = new LinkedHashSet<>();
+      zugriffe.forEach(z -> z.ids().forEach(ids::add));
+      return ids.stream();
+    }
+
+    @Override
+    public boolean enthaelt(String id) {
+      return zugriffe.stream().anyMatch(z -> z.enthaelt(id));
+    }
+
+    @Override
+    public boolean passt(Angebot angebot) {
+      return zugriffe.stream().anyMatch(z -> z.passt(angebot));
+    }
+
+    @Override
+    public long schaetzung(long obergrenze) {
+      long summe = 0;
+      for (Zugriff zugriff : zugriffe) {
+        summe += zugriff.schaetzung(obergrenze);
+        if (summe >= obergrenze) {
+          return summe;
+        }
+      }
+      return summe;
+    }
+
+    @Override
+    public void beschreibe(StringBuilder text, String einzug) {
+      if (zugriffe.isEmpty()) {
+        text.append(einzug).append("Leer\n");
+        return;
+      }
+      text.append(einzug).append("Vereinigung\n");
+      zugriffe.forEach(z -> z.beschreibe(text, einzug + "  "));
+    }
+  }
+}
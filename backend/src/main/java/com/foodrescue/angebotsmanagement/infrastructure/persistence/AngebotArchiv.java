@@ -0,0 +1,381 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.shared.persistence.OffHeapSpalte;
+import com.foodrescue.shared.persistence.OffHeapTexte;
+import com.foodrescue.shared.persistence.Woerterbuch;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kaltes Archiv für Angebote im Endzustand (abgeholt, entfernt, abgelaufen), spaltenweise außerhalb
+ * des Heaps.
+ *
+ * <p>Pro Feld gibt es eine {@link OffHeapSpalte} bzw. {@link OffHeapTexte}; Tags werden über ein
+ * {@link Woerterbuch} als int-Codes abgelegt, Zeitpunkte als Sekunden plus Nanosekunden (UTC). Im
+ * Heap bleiben nur das ID-Verzeichnis (eine int-Tabelle) und die Zeilen pro Anbieter. Ein Angebot
+ * kostet damit rund 100 Bytes plus Texte statt eines Objektgraphen mit Set, Strings und Indizes.
+ *
+ * <p>Wird ein Angebot verworfen (z.B. weil es erneut gespeichert wurde), bleibt seine Zeile
+ * zunächst als toter Eintrag stehen; gültig ist eine Zeile nur, solange das ID-Verzeichnis auf sie
+ * zeigt. Sind mehr als die Hälfte der Zeilen tot, werden die gültigen in frische Spalten
+ * umgeschrieben (kompaktiert). Der Speicher bleibt so unter dem Doppelten der gültigen Zeilen, und
+ * jedes Kompaktieren ist durch mindestens ebenso viele gestorbene Zeilen bezahlt.
+ *
+ * <p>Ein Read/Write-Lock schützt alle Spalten; Ergebnisse werden unter der Sperre vollständig
+ * dekodiert.
+ */
+class AngebotArchiv {
+
+  /** Unter so vielen toten Zeilen lohnt das Kompaktieren nicht. */
+  static final int MIN_TOTE_ZEILEN = 1024;
+
+  private static final Angebot.Status[] STATUS = Angebot.Status.values();
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final int minToteZeilen;
+
+  private Spalten spalten = new Spalten();
+
+  /** Zeilen pro Anbieter, inklusive toter Zeilen; wird beim Kompaktieren neu aufgebaut. */
+  private final Map<UserId, Zeilen> proAnbieter = new HashMap<>();
+
+  /**
+   * Laufende Nummer der nächsten Zeile; Positionen für das Blättern, überdauern das Kompaktieren.
+   */
+  private long naechsteNummer;
+
+  AngebotArchiv() {
+    this(MIN_TOTE_ZEILEN);
+  }
+
+  AngebotArchiv(int minToteZeilen) {
+    this.minToteZeilen = minToteZeilen;
+  }
+
+  /** Eine Seite der Zeilen eines Anbieters; {@code weiter} ist die nächste Position, -1 am Ende. */
+  record Seite(List<AngebotStand> staende, long weiter) {}
+
+  /** Legt einen Stand ab; eine ältere Zeile derselben ID wird dadurch ungültig. */
+  void anhaengen(Angebot angebot, long version) {
+    lock.writeLock().lock();
+    try {
+      int zeile = spalten.anhaengen(angebot, version, naechsteNummer++);
+      proAnbieter.computeIfAbsent(angebot.getAnbieterId(), k -> new Zeilen()).hinzufuegen(zeile);
+      kompaktiereBeiBedarf();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  Optional<AngebotStand> finde(String id) {
+    lock.readLock().lock();
+    try {
+      int zeile = spalten.ids.zeileVon(id);
+      return zeile < 0 ? Optional.empty() : Optional.of(spalten.stand(zeile));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Nur die Version aus der Versionsspalte, ohne die Zeile zu dekodieren. */
+  OptionalLong versionVon(String id) {
+    lock.readLock().lock();
+    try {
+      int zeile = spalten.ids.zeileVon(id);
+      return zeile < 0 ? OptionalLong.empty() : OptionalLong.of(spalten.versionen.lese(zeile));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Macht die Zeile der ID ungültig, z.B. wenn das Angebot wieder im Heap gespeichert wird. */
+  boolean verwerfen(String id) {
+    lock.writeLock().lock();
+    try {
+      boolean verworfen = spalten.ids.entferne(id);
+      kompaktiereBeiBedarf();
+      return verworfen;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Gültige Stände aus höchstens {@code anzahl} Zeilen des Anbieters ab Position {@code ab}.
+   * Positionen sind die laufenden Nummern der Zeilen; das Kompaktieren behält sie bei, eine Seite
+   * setzt also auch danach genau hinter der vorigen fort.
+   */
+  Seite fuerAnbieter(UserId anbieterId, long ab, int anzahl) {
+    lock.readLock().lock();
+    try {
+      Zeilen zeilen = proAnbieter.get(anbieterId);
+      if (zeilen == null) {
+        return new Seite(List.of(), -1);
+      }
+      int von = zeilen.ersteAb(ab, spalten.nummern);
+      int bis = (int) Math.min(zeilen.groesse, (long) von + anzahl);
+      List<AngebotStand> ergebnis = new ArrayList<>(bis - von);
+      for (int i = von; i < bis; i++) {
+        int zeile = zeilen.werte[i];
+        if (spalten.gueltig(zeile)) {
+          ergebnis.add(spalten.stand(zeile));
+        }
+      }
+      long weiter = bis < zeilen.groesse ? spalten.nummern.lese(zeilen.werte[bis]) : -1;
+      return new Seite(ergebnis, weiter);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Scan über die Statusspalte (ein Byte pro Zeile); dekodiert werden nur die Treffer. */
+  List<AngebotStand> mitStatus(Angebot.Status gesucht) {
+    lock.readLock().lock();
+    try {
+      List<AngebotStand> ergebnis = new ArrayList<>();
+      for (int zeile = 0; zeile < spalten.status.zeilen(); zeile++) {
+        if (spalten.status.lese(zeile) == gesucht.ordinal() && spalten.gueltig(zeile)) {
+          ergebnis.add(spalten.stand(zeile));
+        }
+      }
+      return ergebnis;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Alle gültigen Stände, z.B. für den Snapshot. */
+  List<AngebotStand> alle() {
+    lock.readLock().lock();
+    try {
+      List<AngebotStand> ergebnis = new ArrayList<>(spalten.ids.eintraege());
+      for (int zeile = 0; zeile < spalten.ids.zeilen(); zeile++) {
+        if (spalten.gueltig(zeile)) {
+          ergebnis.add(spalten.stand(zeile));
+        }
+      }
+      return ergebnis;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Anzahl gültiger Angebote. */
+  int anzahl() {
+    lock.readLock().lock();
+    try {
+      return spalten.ids.eintraege();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Verworfene Zeilen, die bis zum nächsten Kompaktieren noch Speicher belegen. */
+  int toteZeilen() {
+    lock.readLock().lock();
+    try {
+      return spalten.ids.zeilen() - spalten.ids.eintraege();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Reservierter Speicher außerhalb des Heaps über alle Spalten. */
+  long belegteBytes() {
+    lock.readLock().lock();
+    try {
+      return spalten.belegteBytes();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void leeren() {
+    lock.writeLock().lock();
+    try {
+      spalten = new Spalten();
+      proAnbieter.clear();
+      naechsteNummer = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Nur unter der Schreibsperre. */
+  private void kompaktiereBeiBedarf() {
+    int gueltige = spalten.ids.eintraege();
+    int tote = spalten.ids.zeilen() - gueltige;
+    if (tote >= minToteZeilen && tote > gueltige) {
+      kompaktieren();
+    }
+  }
+
+  /**
+   * Schreibt die gültigen Zeilen in Reihenfolge in frische Spalten um. Tote Zeilen, ihre Texte,
+   * nicht mehr benutzte Tags und ihre Einträge pro Anbieter fallen dabei weg; die laufenden Nummern
+   * bleiben. Dekodiert wird Zeile für Zeile, der Heap hält nie das ganze Archiv.
+   */
+  private void kompaktieren() {
+    Spalten alt = spalten;
+    spalten = new Spalten();
+    proAnbieter.clear();
+    for (int zeile = 0; zeile < alt.ids.zeilen(); zeile++) {
+      if (alt.gueltig(zeile)) {
+        AngebotStand stand = alt.stand(zeile);
+        int neu = spalten.anhaengen(stand.angebot(), stand.version(), alt.nummern.lese(zeile));
+        proAnbieter
+            .computeIfAbsent(stand.angebot().getAnbieterId(), k -> new Zeilen())
+            .hinzufuegen(neu);
+      }
+    }
+  }
+
+  /** Alle Spalten einer Generation; das Kompaktieren ersetzt sie als Ganzes. */
+  private static final class Spalten {
+    private final OffHeapTexte ids = OffHeapTexte.mitVerzeichnis();
+    private final OffHeapSpalte nummern = OffHeapSpalte.langzahlen();
+    private final OffHeapSpalte anbieterHoch = OffHeapSpalte.langzahlen();
+    private final OffHeapSpalte anbieterNieder = OffHeapSpalte.langzahlen();
+    private final OffHeapTexte titel = OffHeapTexte.ohneVerzeichnis();
+    private final OffHeapTexte beschreibungen = OffHeapTexte.ohneVerzeichnis();
+    private final OffHeapSpalte tagStart = OffHeapSpalte.ganzzahlen();
+    private final OffHeapSpalte tagAnzahl = OffHeapSpalte.ganzzahlen();
+    private final OffHeapSpalte tagCodes = OffHeapSpalte.ganzzahlen();
+    private final Zeitspalte von = new Zeitspalte();
+    private final Zeitspalte bis = new Zeitspalte();
+    private final Zeitspalte erstelltAm = new Zeitspalte();
+    private final OffHeapSpalte status = OffHeapSpalte.bytes();
+    private final OffHeapSpalte versionen = OffHeapSpalte.langzahlen();
+
+    private final Woerterbuch tags = new Woerterbuch();
+
+    /** Hängt eine Zeile an und liefert deren Nummer in diesen Spalten. */
+    int anhaengen(Angebot angebot, long version, long nummer) {
+      UUID anbieter = angebot.getAnbieterId().getValue();
+      nummern.anhaengen(nummer);
+      anbieterHoch.anhaengen(anbieter.getMostSignificantBits());
+      anbieterNieder.anhaengen(anbieter.getLeastSignificantBits());
+      titel.anhaengen(angebot.getTitel());
+      beschreibungen.anhaengen(angebot.getBeschreibung());
+      Set<String> angebotTags = angebot.getTags();
+      tagStart.anhaengen(tagCodes.zeilen());
+      tagAnzahl.anhaengen(angebotTags.size());
+      for (String tag : angebotTags) {
+        tagCodes.anhaengen(tags.code(tag));
+      }
+      von.anhaengen(angebot.getZeitfenster().von());
+      bis.anhaengen(angebot.getZeitfenster().bis());
+      erstelltAm.anhaengen(angebot.getErstelltAm());
+      status.anhaengen(angebot.getStatus().ordinal());
+      versionen.anhaengen(version);
+      // Die ID zuletzt: erst ab hier zeigt das Verzeichnis auf die vollständige Zeile
+      return ids.anhaengen(angebot.getId());
+    }
+
+    boolean gueltig(int zeile) {
+      return ids.zeileVon(ids.lese(zeile)) == zeile;
+    }
+
+    AngebotStand stand(int zeile) {
+      int start = (int) tagStart.lese(zeile);
+      int anzahl = (int) tagAnzahl.lese(zeile);
+      Set<String> angebotTags = new HashSet<>(anzahl * 2);
+      for (int i = 0; i < anzahl; i++) {
+        angebotTags.add(tags.text((int) tagCodes.lese(start + i)));
+      }
+      Angebot angebot =
+          Angebot.wiederherstellen(
+              AngebotsId.of(ids.lese(zeile)),
+              new UserId(new UUID(anbieterHoch.lese(zeile), anbieterNieder.lese(zeile))),
+              titel.lese(zeile),
+              beschreibungen.lese(zeile),
+              angebotTags,
+              new AbholZeitfenster(von.lese(zeile), bis.lese(zeile)),
+              STATUS[(int) status.lese(zeile)],
+              erstelltAm.lese(zeile));
+      return new AngebotStand(angebot, versionen.lese(zeile));
+    }
+
+    long belegteBytes() {
+      return ids.belegteBytes()
+          + nummern.belegteBytes()
+          + anbieterHoch.belegteBytes()
+          + anbieterNieder.belegteBytes()
+          + titel.belegteBytes()
+          + beschreibungen.belegteBytes()
+          + tagStart.belegteBytes()
+          + tagAnzahl.belegteBytes()
+          + tagCodes.belegteBytes()
+          + von.belegteBytes()
+          + bis.belegteBytes()
+          + erstelltAm.belegteBytes()
+          + status.belegteBytes()
+          + versionen.belegteBytes();
+    }
+  }
+
+  /** Zeitpunkt als Sekunden (long) und Nanosekunden (int) in UTC; verlustfrei für jedes Datum. */
+  private static final class Zeitspalte {
+    private final OffHeapSpalte sekunden = OffHeapSpalte.langzahlen();
+    private final OffHeapSpalte nanos = OffHeapSpalte.ganzzahlen();
+
+    void anhaengen(LocalDateTime zeitpunkt) {
+      sekunden.anhaengen(zeitpunkt.toEpochSecond(ZoneOffset.UTC));
+      nanos.anhaengen(zeitpunkt.getNano());
+    }
+
+    LocalDateTime lese(int zeile) {
+      return LocalDateTime.ofEpochSecond(
+          sekunden.lese(zeile), (int) nanos.lese(zeile), ZoneOffset.UTC);
+    }
+
+    long belegteBytes() {
+      return sekunden.belegteBytes() + nanos.belegteBytes();
+    }
+  }
+
+  /** Wachsende int-Liste von Zeilennummern, aufsteigend wie die laufenden Nummern. */
+  private static final class Zeilen {
+    private int[] werte = new int[4];
+    private int groesse;
+
+    void hinzufuegen(int zeile) {
+      if (groesse == werte.length) {
+        werte = Arrays.copyOf(werte, groesse * 2);
+      }
+      werte[groesse++] = zeile;
+    }
+
+    /** Index der ersten Zeile mit laufender Nummer ab {@code nummer} (binäre Suche). */
+    int ersteAb(long nummer, OffHeapSpalte nummern) {
+      int links = 0;
+      int rechts = groesse;
+      while (links < rechts) {
+        int mitte = (links + rechts) >>> 1;
+        if (nummern.lese(werte[mitte]) < nummer) {
+          links = mitte + 1;
+        } else {
+          rechts = mitte;
+        }
+      }
+      return links;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStatistik;
+import com.foodrescue.shared.persistence.GecachtesRepository;
+import com.foodrescue.shared.persistence.LeseCache;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-Through-Cache vor einem dauerhaften AngebotRepository (im Profil {@code jdbc} vor {@link
+ * JdbcAngebotRepository}).
+ *
+ * <p>Gecacht werden einzelne Angebote samt Version, die verfügbaren Angebote und die Angebote pro
+ * Anbieter, jeweils in einem {@link LeseCache} (W-TinyLFU, begrenzt). Angebot und Version eines
+ * Eintrags kommen aus einem Lesevorgang ({@link AngebotRepository#findeStandMitId}, beim JDBC-
+ * Repository eine Abfrage), ETag und Inhalt passen also zusammen. Die Liste der verfügbaren
+ * Angebote hängt an der {@link AngebotRepository#katalogVersion() Katalogversion}: jeder Aufruf
+ * fragt diese beim Delegate ab, die Liste selbst kommt nach der ersten Abfrage aus dem Cache.
+ *
+ * <p>Jedes Speichern entfernt die betroffenen Einträge vor und nach dem Schreiben; Listener der
+ * dabei publizierten Events lesen also schon den neuen Stand. {@link #ladeZumAendern} und die
+ * übrigen Abfragen gehen direkt an den Delegate. Alle gecachten Angebote sind {@link
+ * Angebot#schnappschuss() Schnappschüsse}.
+ */
+@Repository
+@Primary
+@Profile("jdbc")
+public class CachendesAngebotRepository implements AngebotRepository, GecachtesRepository {
+
+  private static final long OHNE_VERSION = -1;
+
+  private final AngebotRepository delegate;
+  private final LeseCache<AngebotsId, Eintrag> angebote;
+  private final LeseCache<Long, List<Angebot>> verfuegbar;
+  private final LeseCache<UserId, List<Angebot>> proAnbieter;
+
+  @Autowired
+  public CachendesAngebotRepository(
+      JdbcAngebotRepository delegate,
+      @Value("${foodrescue.cache.angebote.eintraege:10000}") long maximaleAngebote,
+      @Value("${foodrescue.cache.angebote.listen:50000}") long maximaleListenAngebote) {
+    this((AngebotRepository) delegate, maximaleAngebote, maximaleListenAngebote);
+  }
+
+  /**
+   * @param delegate Das eigentliche Repository
+   * @param maximaleAngebote Obergrenze für einzeln gecachte Angebote
+   * @param maximaleListenAngebote Obergrenze für Angebote in allen gecachten Listen zusammen
+   */
+  public CachendesAngebotRepository(
+      AngebotRepository delegate, long maximaleAngebote, long maximaleListenAngebote) {
+    this.delegate = Objects.requireNonNull(delegate, "Delegate darf nicht null sein");
+    this.angebote = LeseCache.mitEintraegen("angebote", maximaleAngebote);
+    this.verfuegbar =
+        new LeseCache<>("angebote.verfuegbar", maximaleListenAngebote, liste -> liste.size() + 1);
+    this.proAnbieter =
+        new LeseCache<>("angebote.anbieter", maximaleListenAngebote, liste -> liste.size() + 1);
+  }
+
+  @Override
+  public List<LeseCache<?, ?>> caches() {
+    return List.of(angebote, verfuegbar, proAnbieter);
+  }
+
+  @Override
+  public Angebot speichern(Angebot angebot) {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+    entferne(angebot);
+    delegate.speichern(angebot);
+    entferne(angebot);
+    return angebot;
+  }
+
+  @Override
+  public List<Angebot> speichernAlle(List<Angebot> stapel) {
+    Objects.requireNonNull(stapel, "Angebote dürfen nicht null sein");
+    stapel.forEach(this::entferne);
+    List<Angebot> gespeichert = delegate.speichernAlle(stapel);
+    gespeichert.forEach(this::entferne);
+    return gespeichert;
+  }
+
+  @Override
+  public boolean speichernWennUnveraendert(Angebot angebot, long erwarteteVersion) {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+    entferne(angebot);
+    boolean gespeichert = delegate.speichernWennUnveraendert(angebot, erwarteteVersion);
+    entferne(angebot);
+    return gespeichert;
+  }
+
+  @Override
+  public List<AngebotsId> speichernAlleWennUnveraendert(List<AngebotStand> staende) {
+    Objects.requireNonNull(staende, "Stände dürfen nicht null sein");
+    staende.forEach(stand -> entferne(stand.angebot()));
+    List<AngebotsId> konflikte = delegate.speichernAlleWennUnveraendert(staende);
+    staende.forEach(stand -> entferne(stand.angebot()));
+    return konflikte;
+  }
+
+  @Override
+  public List<Angebot> laufeAb(LocalDateTime jetzt) {
+    List<Angebot> abgelaufen = delegate.laufeAb(jetzt);
+    abgelaufen.forEach(this::entferne);
+    return abgelaufen;
+  }
+
+  @Override
+  public Optional<Angebot> findeMitId(AngebotsId id) {
+    return Optional.ofNullable(eintrag(id)).map(Eintrag::angebot);
+  }
+
+  @Override
+  public OptionalLong versionVon(AngebotsId id) {
+    Eintrag eintrag = eintrag(id);
+    return eintrag == null ? OptionalLong.empty() : OptionalLong.of(eintrag.version());
+  }
+
+  /**
+   * Version nur für genau den gecachten Schnappschuss eines Eintrags; Angebote aus Listen sind
+   * eigene Objekte und bleiben ohne Version.
+   */
+  @Override
+  public Function<Angebot, OptionalLong> versionen() {
+    return gelesen -> {
+      Eintrag eintrag = angebote.finde(gelesen.getAngebotsId());
+      return eintrag != null && eintrag.angebot() == gelesen
+          ? OptionalLong.of(eintrag.version())
+          : OptionalLong.empty();
+    };
+  }
+
+  @Override
+  public Optional<AngebotStand> ladeZumAendern(AngebotsId id) {
+    return delegate.ladeZumAendern(id);
+  }
+
+  @Override
+  public List<Angebot> findeAlleVerfuegbar() {
+    long version = delegate.katalogVersion().orElse(OHNE_VERSION);
+    return verfuegbar.lade(version, v -> schnappschuesse(delegate.findeAlleVerfuegbar()));
+  }
+
+  @Override
+  public Stream<Angebot> streameVerfuegbar() {
+    return findeAlleVerfuegbar().stream();
+  }
+
+  @Override
+  public List<Angebot> findeFuerAnbieter(UserId anbieterId) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+    return proAnbieter.lade(anbieterId, id -> schnappschuesse(delegate.findeFuerAnbieter(id)));
+  }
+
+  @Override
+  public Stream<Angebot> streameFuerAnbieter(UserId anbieterId) {
+    return findeFuerAnbieter(anbieterId).stream();
+  }
+
+  @Override
+  public OptionalLong katalogVersion() {
+    return delegate.katalogVersion();
+  }
+
+  @Override
+  public AngebotStatistik statistik() {
+    return delegate.statistik();
+  }
+
+  @Override
+  public List<Angebot> findeVerfuegbarMitBeginnNach(LocalDateTime zeitpunkt) {
+    return delegate.findeVerfuegbarMitBeginnNach(zeitpunkt);
+  }
+
+  @Override
+  public AngebotSeite findeVerfuegbarSeite(
+      AngebotSeite.Sortierung sortierung, AngebotSeite.Position nach, int limit) {
+    return delegate.findeVerfuegbarSeite(sortierung, nach, limit);
+  }
+
+  private Eintrag eintrag(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    return angebote.lade(
+        id,
+        schluessel ->
+            delegate
+                .findeStandMitId(schluessel)
+                .map(stand -> new Eintrag(stand.angebot().schnappschuss(), stand.version()))
+                .orElse(null));
+  }
+
+  private void entferne(Angebot angebot) {
+    angebote.entferne(angebot.getAngebotsId());
+    proAnbieter.entferne(angebot.getAnbieterId());
+    verfuegbar.leeren();
+  }
+
+  private static List<Angebot> schnappschuesse(List<Angebot> angebote) {
+    return angebote.stream().map(Angebot::schnappschuss).toList();
+  }
+
+  private record Eintrag(Angebot angebot, long version) {}
+}
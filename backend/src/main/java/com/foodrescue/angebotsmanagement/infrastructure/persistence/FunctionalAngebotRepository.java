@@ -3,16 +3,38 @@ package com.foodrescue.angebotsmanagement.infrastructure.persistence;
 import static com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicates.*;
 
 import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.TagPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.ZeitfensterPredicate;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.journal.AngebotJournal;
+import com.foodrescue.angebotsmanagement.infrastructure.journal.AngebotKodierung;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStatistik;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngeboteArchiviertEvent;
+import com.foodrescue.shared.persistence.Archivierbar;
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import com.foodrescue.shared.persistence.SnapshotFaehig;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -29,16 +51,264 @@ import org.springframework.stereotype.Repository;
  * </ul>
  */
 @Repository
+@Profile("!jdbc")
 @Primary // Diese Bean wird bevorzugt
-public class FunctionalAngebotRepository implements AngebotRepository {
+public class FunctionalAngebotRepository
+    implements AngebotRepository, SnapshotFaehig, Archivierbar {
 
   private static final Logger log = LoggerFactory.getLogger(FunctionalAngebotRepository.class);
 
+  /**
+   * Gespeicherte Stände als unveränderliche {@link Angebot#schnappschuss() Schnappschüsse}.
+   *
+   * <p>Jedes Speichern legt einen neuen Schnappschuss an und ersetzt den alten per {@code put};
+   * Leser (finde(), Streams, Mapper, Caches) bekommen genau diese Objekte, brauchen also weder
+   * Sperre noch Kopie und sehen nie einen halb geänderten Zustand. Wer ändern will, arbeitet auf
+   * {@link Angebot#kopie()} (oder {@link #ladeZumAendern(AngebotsId)}) und speichert die Kopie.
+   */
   private final Map<String, Angebot> angebote = new ConcurrentHashMap<>();
+
   private final ApplicationEventPublisher eventPublisher;
 
+  /** Anzahl der {@link #schreibsperren Schreibsperren}. */
+  private static final int SCHREIBSPERREN = 64;
+
+  /**
+   * Gestreifte Sperren pro ID. Map-Eintrag, Indizes, Statistik, Ablaufplan und Version einer ID
+   * ändern sich nur unter ihrer Sperre; zwei parallele Speicherungen desselben Angebots laufen also
+   * nacheinander durch, und die Indizes beschreiben immer den Stand, der auch in der Map liegt.
+   * Speicherungen verschiedener IDs sperren sich nur bei gleichem Streifen gegenseitig.
+   */
+  private final ReentrantLock[] schreibsperren = new ReentrantLock[SCHREIBSPERREN];
+
+  /**
+   * Sekundärindex Status -> Angebots-IDs.
+   *
+   * <p>Wird ausschließlich in {@link #speichern(Angebot)} gepflegt. Abfragen nach Status kosten
+   * dadurch O(Ergebnis) statt O(alle jemals gespeicherten Angebote) – abgeholte und entfernte
+   * Angebote sammeln sich zwar weiter an, werden aber bei findeAlleVerfuegbar() nicht mehr
+   * angefasst.
+   */
+  private final Map<Angebot.Status, Set<String>> statusIndex = new EnumMap<>(Angebot.Status.class);
+
+  /** Zuletzt indizierter Status pro ID, damit ein Statuswechsel den alten Eintrag entfernt. */
+  private final Map<String, Angebot.Status> indizierterStatus = new ConcurrentHashMap<>();
+
+  /**
+   * Sekundärindex Anbieter -> Angebots-IDs (Multimap).
+   *
+   * <p>Die AnbieterId eines Angebots ist unveränderlich, ein Eintrag muss also nur einmal angelegt
+   * und nie verschoben werden. Die Suche ist ein Hash-Lookup auf {@link UserId} – ohne
+   * UUID-zu-String-Konvertierung pro gespeichertem Angebot.
+   */
+  private final Map<UserId, Set<String>> anbieterIndex = new ConcurrentHashMap<>();
+
+  /**
+   * Invertierter Tag-Index (Tag -> Bitmap). Bedient {@link TagPredicate}s in {@link
+   * #finde(AngebotPredicate)} und Co.
+   */
+  private final TagIndex tagIndex = new TagIndex();
+
+  /**
+   * Sortierter Zeitindex über die Abholzeitfenster. Bedient {@link ZeitfensterPredicate}s und
+   * liefert Bereichsabfragen bereits nach Beginn sortiert.
+   */
+  private final ZeitfensterIndex zeitfensterIndex = new ZeitfensterIndex();
+
+  /** Trigramm-Index für titelEnthaelt() und die Freitextsuche. */
+  private final TrigramIndex trigramIndex = new TrigramIndex();
+
+  /** Sortierte Skip-Listen der verfügbaren Angebote für das seitenweise Lesen. */
+  private final SeitenIndex seitenIndex = new SeitenIndex();
+
+  /**
+   * Ablaufplan: Ende des Abholzeitfensters pro verfügbarem Angebot. {@link #laufeAb(LocalDateTime)}
+   * rückt das Rad vor und nimmt nur die fälligen Angebote aus dem Status VERFUEGBAR – Lesezugriffe
+   * auf verfügbare Angebote brauchen dadurch keine Uhrzeitprüfung pro Angebot. Das Rad ist nicht
+   * threadsicher und wird über sich selbst synchronisiert.
+   */
+  private final ZeitRad ablaufRad = new ZeitRad(Duration.ofSeconds(1), LocalDateTime.now());
+
+  /**
+   * Katalogversion: wird bei jedem Speichern hochgezählt. Der neue Stand ist zugleich die Version
+   * des gespeicherten Angebots, Angebotsversionen sind dadurch global eindeutig und pro Angebot
+   * streng monoton. Der Zähler wird auch von {@link #deleteAll()} nicht zurückgesetzt, damit kein
+   * altes ETag wieder gültig wird. Vergeben wird vor dem Journal, sichtbar wird eine Version erst,
+   * wenn sie und alle kleineren in Journal und Indizes stehen.
+   */
+  private final KatalogVersion katalogVersion = new KatalogVersion();
+
+  /**
+   * Version pro ID (Stand von {@link #katalogVersion} beim letzten Speichern). Wird erst nach
+   * Journal und Indizes gesetzt, unter der Schreibsperre der ID.
+   */
+  private final Map<String, Long> versionen = new ConcurrentHashMap<>();
+
+  /** Zähler pro Status, Anbieter und Tag; wird wie die Indizes in speichern() nachgezogen. */
+  private final AngebotStatistik statistik = new AngebotStatistik();
+
+  /** Plant finde() und Co. über die Indizes oben. */
+  private final AngebotAbfragePlaner planer;
+
+  /**
+   * Optionales Journal (nur mit {@code foodrescue.angebote.journal.pfad}). Jeder gespeicherte Stand
+   * wird mit seiner Version angehängt, bevor er in Map und Indizes sichtbar wird; scheitert das
+   * Anhängen, bleibt der alte Stand stehen. Beim Start werden Map, Indizes, Ablaufplan und
+   * Versionen daraus neu aufgebaut.
+   */
+  private final AngebotJournal journal;
+
+  /** Status, in denen ein Angebot nur noch Historie ist und ins {@link #archiv} wandern darf. */
+  private static final Set<Angebot.Status> ENDZUSTAENDE =
+      EnumSet.of(Angebot.Status.ABGEHOLT, Angebot.Status.ENTFERNT, Angebot.Status.ABGELAUFEN);
+
+  /**
+   * Kalte Ablage für Angebote im Endzustand, außerhalb des Heaps (siehe {@link #archivieren()}).
+   * findeMitId(), versionVon(), ladeZumAendern(), die Anbieter- und Statusabfragen, count() und der
+   * Snapshot schließen das Archiv ein; Predicate-Abfragen und Seiten laufen nur über den Heap.
+   */
+  private final AngebotArchiv archiv = new AngebotArchiv();
+
+  /**
+   * Schreibvorgänge halten die Lesesperre, ein Archivierungslauf die Schreibsperre. Nur so kann der
+   * Lauf ein Angebot aus Map und Indizes nehmen, ohne dass ein paralleles Speichern derselben ID
+   * dazwischen neu indiziert. Lesende Zugriffe sperren nicht: ein Angebot wird erst archiviert und
+   * dann aus der Map genommen, ist also immer an mindestens einer Stelle zu finden.
+   */
+  private final ReadWriteLock archivSperre = new ReentrantReadWriteLock();
+
+  /** Angebote pro Schreibsperre in {@link #archivieren()}. */
+  private static final int ARCHIV_STAPEL = 1_000;
+
+  /** Archivzeilen, die {@link #streameFuerAnbieter(UserId)} auf einmal dekodiert. */
+  private static final int ARCHIV_SEITE = 256;
+
+  /** Version des letzten Leerens laut Journal; ältere Stände eines Snapshots sind überholt. */
+  private long geleertBei;
+
+  /**
+   * Sichtbare Katalogversion zu Beginn des letzten Snapshots: alle Stände bis hierher stehen im
+   * Abbild, das Journal darf nach dem Sichern bis zu ihr gekürzt werden.
+   */
+  private volatile long snapshotStand;
+
   public FunctionalAngebotRepository(ApplicationEventPublisher eventPublisher) {
+    this(eventPublisher, Optional.empty());
+  }
+
+  @Autowired
+  public FunctionalAngebotRepository(
+      ApplicationEventPublisher eventPublisher, Optional<AngebotJournal> journal) {
     this.eventPublisher = eventPublisher;
+    for (Angebot.Status status : Angebot.Status.values()) {
+      statusIndex.put(status, ConcurrentHashMap.newKeySet());
+    }
+    for (int i = 0; i < SCHREIBSPERREN; i++) {
+      schreibsperren[i] = new ReentrantLock();
+    }
+    this.planer =
+        new AngebotAbfragePlaner(
+            statusIndex, anbieterIndex, tagIndex, zeitfensterIndex, trigramIndex);
+    this.journal = journal.orElse(null);
+    if (this.journal != null) {
+      AngebotJournal.Wiederherstellung wiederherstellung = this.journal.wiederherstellen();
+      geleertBei = wiederherstellung.geleertBei();
+      uebernehme(wiederherstellung.staende(), wiederherstellung.katalogVersion());
+      log.info("{} Angebote aus dem Journal wiederhergestellt", wiederherstellung.staende().size());
+    }
+  }
+
+  /**
+   * Übernimmt wiederhergestellte Stände wie ein speichern(), nur ohne Events und mit den
+   * gespeicherten Versionen. Ein Stand, der nicht neuer ist als der bereits bekannte, wird unter
+   * der Sperre der ID übersprungen. Die Ranglisten hängen an den Events und beginnen daher leer.
+   */
+  private void uebernehme(List<AngebotStand> staende, long version) {
+    for (AngebotStand stand : staende) {
+      String id = stand.angebot().getId();
+      ReentrantLock sperre = schreibsperre(id);
+      sperre.lock();
+      try {
+        if (versionen.getOrDefault(id, 0L) < stand.version()) {
+          indiziere(id, stand.angebot());
+          planeAblauf(id, stand.angebot());
+          setzeVersion(id, stand.version());
+        }
+      } finally {
+        sperre.unlock();
+      }
+    }
+    katalogVersion.mindestens(version);
+  }
+
+  @Override
+  public String snapshotName() {
+    return "angebote";
+  }
+
+  /**
+   * Katalogversion, danach pro Angebot Version und Stand. Der Stand wird vor der Version gelesen,
+   * die Version ist also mindestens so neu wie der Stand. Archivierte Angebote folgen mit ihrer
+   * archivierten Version; beim Laden landen sie zunächst wieder im Heap.
+   *
+   * <p>Vorher wird die sichtbare Version gemerkt und ein neues Journalsegment begonnen: alles bis
+   * zu dieser Version liegt dann in abgeschlossenen Segmenten und zugleich im Abbild.
+   */
+  @Override
+  public int schreibeSnapshot(BinaerAusgabe out) {
+    if (journal != null) {
+      snapshotStand = katalogVersion.sichtbar();
+      journal.rotieren();
+    }
+    out.lang(katalogVersion.vergeben());
+    int anzahl = 0;
+    for (Angebot angebot : angebote.values()) {
+      Long version = versionen.get(angebot.getId());
+      if (version == null) {
+        continue; // zwischenzeitlich geleert
+      }
+      out.weiter().lang(version);
+      AngebotKodierung.schreibe(out, angebot);
+      anzahl++;
+    }
+    for (AngebotStand stand : archiv.alle()) {
+      if (angebote.containsKey(stand.angebot().getId())) {
+        continue; // zwischenzeitlich wieder gespeichert
+      }
+      out.weiter().lang(stand.version());
+      AngebotKodierung.schreibe(out, stand.angebot());
+      anzahl++;
+    }
+    out.ende();
+    return anzahl;
+  }
+
+  /** Löscht die Journalsegmente, deren Sätze alle im gerade gesicherten Abbild stehen. */
+  @Override
+  public void snapshotGesichert() {
+    if (journal != null) {
+      journal.kuerzen(snapshotStand);
+    }
+  }
+
+  /**
+   * Übernimmt nur Stände, die neuer sind als das, was das Journal bereits geliefert hat, und die
+   * nicht vor dessen letztem Leeren liegen. Ohne Journal sind das alle Stände des Abbilds.
+   */
+  @Override
+  public int ladeSnapshot(BinaerEingabe in) {
+    long version = in.lang();
+    List<AngebotStand> staende = new ArrayList<>();
+    while (in.weiter()) {
+      long standVersion = in.lang();
+      Angebot angebot = AngebotKodierung.lese(in);
+      Long bekannt = versionen.get(angebot.getId());
+      if (standVersion > geleertBei && (bekannt == null || bekannt < standVersion)) {
+        staende.add(new AngebotStand(angebot, standVersion));
+      }
+    }
+    uebernehme(staende, version);
+    return staende.size();
   }
 
   /**
@@ -80,24 +350,365 @@ public class FunctionalAngebotRepository implements AngebotRepository {
     String id = angebot.getId();
     log.debug("Speichere Angebot mit ID: {}", id);
 
-    // 1. Speichern
-    angebote.put(id, angebot);
+    // 1. Speichern: Schnappschuss statt des veränderlichen Objekts des Aufrufers
+    Angebot schnappschuss = angebot.schnappschuss();
+    ReentrantLock sperre = schreibsperre(id);
+    archivSperre.readLock().lock();
+    sperre.lock();
+    try {
+      schreibe(List.of(schnappschuss));
+    } finally {
+      sperre.unlock();
+      archivSperre.readLock().unlock();
+    }
+
+    // 2. Domain Events publizieren (FUNKTIONAL) und 3. clearen
+    publiziereEvents(angebot);
+
+    return angebot;
+  }
+
+  /**
+   * Speichert mehrere Angebote in einem Durchgang.
+   *
+   * <p>Für den Stapel wird ein zusammenhängender Block von Katalogversionen vergeben und mit einem
+   * Group Commit ins Journal geschrieben; danach werden alle Angebote in die Indizes übernommen
+   * (der Ablaufplan wird dabei nur einmal gesperrt) und erst zum Schluss die Events aller Angebote
+   * publiziert. Listener sehen damit bereits den ganzen Stapel, wenn das erste Event ankommt. Die
+   * Schreibsperren aller betroffenen IDs werden vorher in aufsteigender Reihenfolge genommen,
+   * parallele Stapel können sich also nicht verklemmen.
+   */
+  @Override
+  public List<Angebot> speichernAlle(List<Angebot> stapel) {
+    Objects.requireNonNull(stapel, "Angebote dürfen nicht null sein");
+    stapel.forEach(angebot -> Objects.requireNonNull(angebot, "Angebot darf nicht null sein"));
+    if (stapel.isEmpty()) {
+      return List.of();
+    }
+    log.debug("Speichere {} Angebote", stapel.size());
+
+    List<Angebot> schnappschuesse = stapel.stream().map(Angebot::schnappschuss).toList();
+    archivSperre.readLock().lock();
+    List<ReentrantLock> sperren = sperreAlle(schnappschuesse);
+    try {
+      schreibe(schnappschuesse);
+    } finally {
+      sperren.forEach(ReentrantLock::unlock);
+      archivSperre.readLock().unlock();
+    }
+
+    stapel.forEach(this::publiziereEvents);
+    return List.copyOf(stapel);
+  }
+
+  /** Ein Stapel mit einem Stand, siehe {@link #speichernAlleWennUnveraendert(List)}. */
+  @Override
+  public boolean speichernWennUnveraendert(Angebot angebot, long erwarteteVersion) {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+    return speichernAlleWennUnveraendert(List.of(new AngebotStand(angebot, erwarteteVersion)))
+        .isEmpty();
+  }
 
-    // 2. Domain Events publizieren (FUNKTIONAL)
+  /**
+   * Compare-and-Set unter den Schreibsperren: sie werden für den ganzen Stapel einmal in
+   * aufsteigender Reihenfolge genommen, jede Version wird darunter verglichen, und die Gewinner
+   * werden im selben Sperrbereich wie bei {@link #speichernAlle(List)} geschrieben (ein Group
+   * Commit, Indizes einmal). Ein unbedingtes {@link #speichern(Angebot)} derselben ID läuft damit
+   * entweder ganz davor – dann scheitert der Vergleich – oder ganz danach und überschreibt den
+   * bedingt gespeicherten Stand; von zwei bedingten Speicherungen gegen dieselbe Version gewinnt
+   * genau eine, auch innerhalb eines Stapels. Events erst nach dem ganzen Stapel.
+   */
+  @Override
+  public List<AngebotsId> speichernAlleWennUnveraendert(List<AngebotStand> staende) {
+    Objects.requireNonNull(staende, "Stände dürfen nicht null sein");
+    staende.forEach(stand -> Objects.requireNonNull(stand, "Stand darf nicht null sein"));
+    if (staende.isEmpty()) {
+      return List.of();
+    }
+
+    List<Angebot> schnappschuesse =
+        staende.stream().map(stand -> stand.angebot().schnappschuss()).toList();
+    List<Angebot> gewonnen = new ArrayList<>(staende.size());
+    List<Angebot> gespeichert = new ArrayList<>(staende.size());
+    List<AngebotsId> konflikte = new ArrayList<>();
+    archivSperre.readLock().lock();
+    List<ReentrantLock> sperren = sperreAlle(schnappschuesse);
+    try {
+      Set<String> verglichen = new HashSet<>();
+      for (int i = 0; i < staende.size(); i++) {
+        AngebotStand stand = staende.get(i);
+        String id = stand.angebot().getId();
+        if (verglichen.add(id) && aktuelleVersion(id) == stand.version()) {
+          gewonnen.add(schnappschuesse.get(i));
+          gespeichert.add(stand.angebot());
+        } else {
+          konflikte.add(stand.angebot().getAngebotsId());
+        }
+      }
+      if (!gewonnen.isEmpty()) {
+        schreibe(gewonnen);
+      }
+    } finally {
+      sperren.forEach(ReentrantLock::unlock);
+      archivSperre.readLock().unlock();
+    }
+
+    gespeichert.forEach(this::publiziereEvents);
+    return List.copyOf(konflikte);
+  }
+
+  /**
+   * Kopie samt Version. Die Version wird vor dem Angebot gelesen und erst nach den Indizes gesetzt:
+   * die Kopie ist also mindestens so neu wie die Version, und ein zwischenzeitliches Speichern
+   * lässt den Vergleich scheitern, statt eine Änderung zu überschreiben.
+   */
+  @Override
+  public Optional<AngebotStand> ladeZumAendern(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    OptionalLong version = versionVon(id);
+    if (version.isEmpty()) {
+      return Optional.empty();
+    }
+    Angebot angebot = angebote.get(id.value());
+    if (angebot == null) {
+      angebot = archiv.finde(id.value()).map(AngebotStand::angebot).orElse(null);
+    }
+    return angebot == null
+        ? Optional.empty()
+        : Optional.of(new AngebotStand(angebot.kopie(), version.getAsLong()));
+  }
+
+  /**
+   * Aktuelle Version der ID im Heap oder Archiv, -1 wenn unbekannt. Nur unter der Schreibsperre der
+   * ID und der Lesesperre des Archivs aufrufen.
+   */
+  private long aktuelleVersion(String id) {
+    Long version = versionen.get(id);
+    return version != null ? version : archiv.versionVon(id).orElse(-1);
+  }
+
+  /**
+   * Schreibt Schnappschüsse, deren Schreibsperren der Aufrufer hält: ein zusammenhängender Block
+   * Katalogversionen, ein Group Commit ins Journal, danach Indizes, Ablaufplan (einmal gesperrt)
+   * und Versionen. Sichtbar wird der Block erst, wenn alles steht – oder gescheitert ist.
+   */
+  private void schreibe(List<Angebot> schnappschuesse) {
+    long erste = katalogVersion.vergib(schnappschuesse.size());
+    try {
+      List<AngebotStand> staende = new ArrayList<>(schnappschuesse.size());
+      for (Angebot schnappschuss : schnappschuesse) {
+        staende.add(new AngebotStand(schnappschuss, erste + staende.size()));
+      }
+      // Erst ins Journal: scheitert es, ist der neue Stand nirgends sichtbar geworden
+      protokolliere(staende);
+
+      for (Angebot schnappschuss : schnappschuesse) {
+        indiziere(schnappschuss.getId(), schnappschuss);
+      }
+      synchronized (ablaufRad) {
+        for (Angebot schnappschuss : schnappschuesse) {
+          planeAblauf(schnappschuss.getId(), schnappschuss);
+        }
+      }
+      for (AngebotStand stand : staende) {
+        setzeVersion(stand.angebot().getId(), stand.version());
+      }
+    } finally {
+      katalogVersion.abschliessen(erste, schnappschuesse.size());
+    }
+  }
+
+  /** Hängt die Stände an das Journal an, falls eines konfiguriert ist (ein Group Commit). */
+  private void protokolliere(List<AngebotStand> staende) {
+    if (journal != null) {
+      journal.anhaengen(staende);
+    }
+  }
+
+  /** Setzt die Version der ID; sie bewegt sich nie rückwärts. */
+  private void setzeVersion(String id, long version) {
+    versionen.merge(id, version, Math::max);
+  }
+
+  private ReentrantLock schreibsperre(String id) {
+    return schreibsperren[Math.floorMod(id.hashCode(), SCHREIBSPERREN)];
+  }
+
+  /** Nimmt die Schreibsperren aller IDs, jede nur einmal und in aufsteigender Reihenfolge. */
+  private List<ReentrantLock> sperreAlle(List<Angebot> angebote) {
+    BitSet streifen = new BitSet(SCHREIBSPERREN);
+    for (Angebot angebot : angebote) {
+      streifen.set(Math.floorMod(angebot.getId().hashCode(), SCHREIBSPERREN));
+    }
+    List<ReentrantLock> gesperrt = new ArrayList<>(streifen.cardinality());
+    for (int i = streifen.nextSetBit(0); i >= 0; i = streifen.nextSetBit(i + 1)) {
+      schreibsperren[i].lock();
+      gesperrt.add(schreibsperren[i]);
+    }
+    return gesperrt;
+  }
+
+  /**
+   * Übernimmt ein Angebot in die Map, alle Indizes und die Statistik (ohne Ablaufplan). Ein
+   * archiviertes Angebot derselben ID wird dabei aus dem Archiv genommen. Nur unter der {@link
+   * #schreibsperre(String) Schreibsperre} der ID aufrufen.
+   */
+  private void indiziere(String id, Angebot angebot) {
+    if (angebote.put(id, angebot) == null) {
+      archiv.finde(id).ifPresent(archiviert -> reaktiviere(id, archiviert.angebot()));
+    }
+    indiziereStatus(id, angebot.getStatus());
+    anbieterIndex
+        .computeIfAbsent(angebot.getAnbieterId(), k -> ConcurrentHashMap.newKeySet())
+        .add(id);
+    tagIndex.indiziere(id, angebot.getTags());
+    zeitfensterIndex.indiziere(id, angebot.getZeitfenster());
+    trigramIndex.indiziere(id, angebot);
+    seitenIndex.indiziere(id, angebot);
+    statistik.erfassen(id, angebot);
+  }
+
+  private void reaktiviere(String id, Angebot archiviert) {
+    statistik.reaktivieren(id, archiviert);
+    archiv.verwerfen(id);
+  }
+
+  private void publiziereEvents(Angebot angebot) {
     angebot.getDomainEvents().stream()
         .peek(event -> log.debug("Publishing Event: {}", event.getClass().getSimpleName()))
         .forEach(eventPublisher::publishEvent); // Method Reference!
-
-    // 3. Events clearen
     angebot.clearDomainEvents();
+  }
 
-    return angebot;
+  /**
+   * Zieht den Statusindex für eine ID nach: alter Eintrag raus, neuer rein. Gegen parallele
+   * Speicherungen derselben ID schützt die Schreibsperre des Aufrufers; Leser können kurz beide
+   * oder keinen Eintrag sehen und prüfen den Status deshalb am Angebot nach.
+   */
+  private void indiziereStatus(String id, Angebot.Status neuerStatus) {
+    indizierterStatus.compute(
+        id,
+        (key, alterStatus) -> {
+          if (alterStatus != neuerStatus) {
+            if (alterStatus != null) {
+              statusIndex.get(alterStatus).remove(key);
+            }
+            statusIndex.get(neuerStatus).add(key);
+          }
+          return neuerStatus;
+        });
+  }
+
+  /** Nur verfügbare Angebote können ablaufen; jeder andere Status verwirft den Termin. */
+  private void planeAblauf(String id, Angebot angebot) {
+    synchronized (ablaufRad) {
+      if (angebot.getStatus() == Angebot.Status.VERFUEGBAR) {
+        ablaufRad.planen(id, angebot.getZeitfenster().bis());
+      } else {
+        ablaufRad.abbrechen(id);
+      }
+    }
+  }
+
+  /**
+   * Lässt alle Angebote ablaufen, deren Zeitfenster bis {@code jetzt} geendet hat.
+   *
+   * <p>Kosten: O(vergangene Ticks + fällige Angebote) statt eines Scans über alle verfügbaren
+   * Angebote. Das Rad liefert alle Termine des aktuellen Ticks; erst hier wird exakt gegen {@code
+   * jetzt} geprüft. Ein noch offenes Zeitfenster (Rest des Ticks oder ungespeichert verlängert)
+   * wird neu eingeplant statt abzulaufen. Fällige Angebote laufen per {@link
+   * #laufeAbWennFaellig(AngebotsId, LocalDateTime)} ab, also per Compare-and-Set gegen eine
+   * gleichzeitige Reservierung.
+   */
+  @Override
+  public List<Angebot> laufeAb(LocalDateTime jetzt) {
+    Objects.requireNonNull(jetzt, "Zeitpunkt darf nicht null sein");
+
+    List<String> faellig;
+    synchronized (ablaufRad) {
+      faellig = ablaufRad.vorruecken(jetzt);
+    }
+
+    List<Angebot> abgelaufen = new ArrayList<>(faellig.size());
+    for (String id : faellig) {
+      Angebot angebot = angebote.get(id);
+      if (angebot == null || angebot.getStatus() != Angebot.Status.VERFUEGBAR) {
+        continue;
+      }
+      if (angebot.getZeitfenster().istNochAktuell(jetzt)) {
+        planeNeu(id);
+        continue;
+      }
+      laufeAbWennFaellig(AngebotsId.of(id), jetzt).ifPresent(abgelaufen::add);
+    }
+    if (!abgelaufen.isEmpty()) {
+      log.debug("{} Angebote abgelaufen", abgelaufen.size());
+    }
+    return List.copyOf(abgelaufen);
+  }
+
+  /** Plant den Ablauf nach dem aktuellen Stand der ID neu, unter ihrer Schreibsperre. */
+  private void planeNeu(String id) {
+    ReentrantLock sperre = schreibsperre(id);
+    sperre.lock();
+    try {
+      Angebot angebot = angebote.get(id);
+      if (angebot != null) {
+        planeAblauf(id, angebot);
+      }
+    } finally {
+      sperre.unlock();
+    }
   }
 
   @Override
   public Optional<Angebot> findeMitId(AngebotsId id) {
     Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
-    return Optional.ofNullable(angebote.get(id.value()));
+    Angebot angebot = angebote.get(id.value());
+    if (angebot != null) {
+      return Optional.of(angebot);
+    }
+    return archiv.finde(id.value()).map(AngebotStand::angebot);
+  }
+
+  @Override
+  public OptionalLong versionVon(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    Long version = versionen.get(id.value());
+    if (version != null) {
+      return OptionalLong.of(version);
+    }
+    return archiv
+        .finde(id.value())
+        .map(archiviert -> OptionalLong.of(archiviert.version()))
+        .orElse(OptionalLong.empty());
+  }
+
+  /**
+   * Version genau des übergebenen Schnappschusses. {@link #schreibe} setzt die Version erst,
+   * nachdem der neue Stand in der Map liegt; steht nach dem Lesen der Version noch derselbe
+   * Schnappschuss darin, gehören beide zusammen. Archivierte Angebote bleiben ohne Version.
+   */
+  @Override
+  public Function<Angebot, OptionalLong> versionen() {
+    return gelesen -> {
+      String id = gelesen.getId();
+      Long version = versionen.get(id);
+      return version != null && angebote.get(id) == gelesen
+          ? OptionalLong.of(version)
+          : OptionalLong.empty();
+    };
+  }
+
+  @Override
+  public OptionalLong katalogVersion() {
+    return OptionalLong.of(katalogVersion.sichtbar());
+  }
+
+  /** Die mitgepflegte Projektion; alle Status, ohne Durchlauf über die Angebote. */
+  @Override
+  public AngebotStatistik statistik() {
+    return statistik;
   }
 
   /**
@@ -124,30 +735,217 @@ public class FunctionalAngebotRepository implements AngebotRepository {
    *
    * // Neue Kombinationen möglich!
    * repository.finde(istVerfuegbar().and(hatTag("Bio")));
+   *
+   * // Über den Tag-Index: Bitmap-Schnittmenge statt Scan
+   * repository.finde(hatTag("Bio").and(hatTag("Vegan")));
    * }</pre>
+   *
+   * <p>Der Abfrageplaner wählt den selektivsten passenden Index; siehe {@link
+   * #explain(AngebotPredicate)}.
    */
   public List<Angebot> finde(AngebotPredicate predicate) {
     Objects.requireNonNull(predicate, "Predicate darf nicht null sein");
 
-    return angebote.values().stream()
-        .filter(predicate::test) // Method Reference!
+    return kandidaten(predicate) // Index-Zugriff + Restfilter
         .collect(Collectors.toUnmodifiableList()); // Immutable!
   }
 
+  /**
+   * Liefert den Abfrageplan für ein Predicate als Text, z.B.:
+   *
+   * <pre>
+   * Schnitt
+   *   Bitmap Tags ALLE [Bio, Vegan] (~120)
+   *   Probe:
+   *     Index Status=VERFUEGBAR (~1000)
+   * Rest: Titel enthält "brot"
+   * </pre>
+   *
+   * @param predicate Filter-Bedingung
+   * @return Beschreibung des gewählten Plans
+   */
+  public String explain(AngebotPredicate predicate) {
+    Objects.requireNonNull(predicate, "Predicate darf nicht null sein");
+    return planer.planen(predicate).explain();
+  }
+
+  /**
+   * Wertet ein Predicate über den Abfrageplaner aus: Kandidaten aus den Indizes, oder alle Angebote
+   * mit dem Restfilter, wenn kein Index passt.
+   *
+   * <p>Indizes und Map werden ohne Sperre gelesen. Während ein Angebot gerade neu gespeichert wird,
+   * kann ein Index also noch auf den alten Stand verweisen, während die Map schon den neuen
+   * liefert. Kandidaten aus Indizes prüfen deshalb die Blätter des Zugriffs billig am Objekt nach
+   * und werten nur den Rest voll aus (siehe {@link AngebotAbfragePlaner}).
+   */
+  private Stream<Angebot> kandidaten(AngebotPredicate predicate) {
+    AngebotAbfragePlaner.AbfragePlan plan = planer.planen(predicate);
+    if (log.isTraceEnabled()) {
+      log.trace(
+          "Abfrageplan für {}:\n{}", AngebotPredicate.beschreibung(predicate), plan.explain());
+    }
+
+    if (plan.zugriff() == null) {
+      Stream<Angebot> alle = angebote.values().stream();
+      return plan.rest() == null ? alle : alle.filter(plan.rest()::test);
+    }
+    return plan.ids().map(angebote::get).filter(Objects::nonNull).filter(plan::passt);
+  }
+
+  /**
+   * Findet alle Angebote mit einem bestimmten Status über den Statusindex.
+   *
+   * <p>Der Status wird beim Auslesen noch einmal geprüft, damit das Ergebnis exakt dem Predicate
+   * {@code istVerfuegbar()} und Co. entspricht – auch wenn ein Angebot zwischenzeitlich verändert,
+   * aber noch nicht erneut gespeichert wurde.
+   *
+   * <p>Für die Endzustände kommen die archivierten Angebote per Scan über die Statusspalte des
+   * Archivs dazu.
+   *
+   * @param status Der gesuchte Status
+   * @return Unveränderliche Liste der Angebote mit diesem Status
+   */
+  public List<Angebot> findeMitStatus(Angebot.Status status) {
+    Objects.requireNonNull(status, "Status darf nicht null sein");
+
+    Stream<Angebot> live =
+        statusIndex.get(status).stream()
+            .map(angebote::get)
+            .filter(Objects::nonNull)
+            .filter(angebot -> angebot.getStatus() == status);
+    if (!ENDZUSTAENDE.contains(status)) {
+      return live.collect(Collectors.toUnmodifiableList());
+    }
+    return Stream.concat(live, archiviert(archiv.mitStatus(status)))
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /** Archivierte Stände ohne die IDs, die inzwischen wieder im Heap liegen. */
+  private Stream<Angebot> archiviert(List<AngebotStand> staende) {
+    return staende.stream()
+        .map(AngebotStand::angebot)
+        .filter(angebot -> !angebote.containsKey(angebot.getId()));
+  }
+
   /**
    * Legacy-Methoden für Kompatibilität mit Interface.
    *
-   * <p>Implementiert mit neuer finde()-Methode + Predicates.
+   * <p>findeAlleVerfuegbar() nutzt den Statusindex, findeFuerAnbieter() den Anbieterindex.
    */
   @Override
   public List<Angebot> findeAlleVerfuegbar() {
-    return finde(istVerfuegbar());
+    return findeMitStatus(Angebot.Status.VERFUEGBAR);
+  }
+
+  @Override
+  public List<Angebot> findeFuerAnbieter(UserId anbieterId) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+
+    return streameFuerAnbieter(anbieterId).collect(Collectors.toUnmodifiableList());
   }
 
+  /**
+   * Lazy über den Statusindex: die schwach konsistenten Iteratoren der Concurrent-Sets erlauben
+   * paralleles Speichern, während ein Client noch liest.
+   */
   @Override
-  public List<Angebot> findeFuerAnbieter(String anbieterId) {
+  public Stream<Angebot> streameVerfuegbar() {
+    return statusIndex.get(Angebot.Status.VERFUEGBAR).stream()
+        .map(angebote::get)
+        .filter(Objects::nonNull)
+        .filter(angebot -> angebot.getStatus() == Angebot.Status.VERFUEGBAR);
+  }
+
+  /**
+   * Erst die Angebote im Heap, danach lazy die archivierten des Anbieters. Das Archiv wird in
+   * Stücken von {@value #ARCHIV_SEITE} Zeilen dekodiert, erst wenn der Leser sie erreicht; jede
+   * Seite setzt an der laufenden Nummer hinter der vorigen fort, auch wenn das Archiv dazwischen
+   * kompaktiert wurde.
+   */
+  @Override
+  public Stream<Angebot> streameFuerAnbieter(UserId anbieterId) {
     Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
-    return finde(hatAnbieter(anbieterId));
+
+    Stream<Angebot> archiviert =
+        Stream.of(anbieterId)
+            .flatMap(
+                id ->
+                    Stream.iterate(
+                        archiv.fuerAnbieter(id, 0, ARCHIV_SEITE),
+                        Objects::nonNull,
+                        seite ->
+                            seite.weiter() < 0
+                                ? null
+                                : archiv.fuerAnbieter(id, seite.weiter(), ARCHIV_SEITE)))
+            .flatMap(seite -> archiviert(seite.staende()));
+    return Stream.concat(imHeap(anbieterId), archiviert);
+  }
+
+  /**
+   * Nur der Heap über den Anbieterindex: archivierte Angebote sind nie aktiv, das Archiv bleibt
+   * daher unberührt.
+   */
+  @Override
+  public Stream<Angebot> streameAktiveFuerAnbieter(UserId anbieterId) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+
+    return imHeap(anbieterId).filter(angebot -> AKTIVE_STATUS.contains(angebot.getStatus()));
+  }
+
+  private Stream<Angebot> imHeap(UserId anbieterId) {
+    return anbieterIndex.getOrDefault(anbieterId, Set.of()).stream()
+        .map(angebote::get)
+        .filter(Objects::nonNull);
+  }
+
+  /**
+   * Verfügbare Angebote mit Beginn nach einem Zeitpunkt, direkt aus dem Zeitindex.
+   *
+   * <p>Die Reihenfolge des Index ist bereits die Sortierung nach Beginn, es wird nichts
+   * nachsortiert.
+   */
+  @Override
+  public List<Angebot> findeVerfuegbarMitBeginnNach(LocalDateTime zeitpunkt) {
+    Objects.requireNonNull(zeitpunkt, "Zeitpunkt darf nicht null sein");
+
+    return zeitfensterIndex
+        .nachBeginn(zeitpunkt, null)
+        .map(angebote::get)
+        .filter(Objects::nonNull)
+        .filter(angebot -> angebot.getStatus() == Angebot.Status.VERFUEGBAR)
+        .filter(angebot -> angebot.getZeitfenster().von().isAfter(zeitpunkt))
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Freitextsuche über verfügbare Angebote. Der Planer schneidet den Statusindex mit dem
+   * Trigramm-Index; ab drei Zeichen hängt die Latenz nicht mehr an der Katalog-Größe.
+   */
+  @Override
+  public List<Angebot> sucheVerfuegbar(String suchbegriff) {
+    Objects.requireNonNull(suchbegriff, "Suchbegriff darf nicht null sein");
+    return finde(istVerfuegbar().and(passtZuSuchbegriff(suchbegriff)));
+  }
+
+  /**
+   * Keyset-Paginierung über den Seitenindex: die Skip-Liste der Sortierung wird direkt hinter der
+   * Position geöffnet und nach {@code limit + 1} Treffern verlassen. Der Status wird beim Lesen
+   * noch einmal geprüft, wie in {@link #findeMitStatus(Angebot.Status)}.
+   */
+  @Override
+  public AngebotSeite findeVerfuegbarSeite(
+      AngebotSeite.Sortierung sortierung, AngebotSeite.Position nach, int limit) {
+    AngebotSeite.pruefeAnfrage(sortierung, nach, limit);
+
+    List<Angebot> kandidaten =
+        seitenIndex
+            .ab(sortierung, nach)
+            .map(angebote::get)
+            .filter(Objects::nonNull)
+            .filter(angebot -> angebot.getStatus() == Angebot.Status.VERFUEGBAR)
+            .limit(limit + 1L)
+            .toList();
+    return AngebotSeite.aus(kandidaten, sortierung, limit);
   }
 
   // ========== Neue funktionale Query-Methoden ==========
@@ -187,8 +985,7 @@ public class FunctionalAngebotRepository implements AngebotRepository {
     Objects.requireNonNull(predicate, "Predicate darf nicht null sein");
     Objects.requireNonNull(mapper, "Mapper darf nicht null sein");
 
-    return angebote.values().stream()
-        .filter(predicate::test)
+    return kandidaten(predicate)
         .map(mapper) // Transform!
         .collect(Collectors.toUnmodifiableList());
   }
@@ -204,7 +1001,7 @@ public class FunctionalAngebotRepository implements AngebotRepository {
   public long zaehle(AngebotPredicate predicate) {
     Objects.requireNonNull(predicate, "Predicate darf nicht null sein");
 
-    return angebote.values().stream().filter(predicate::test).count();
+    return kandidaten(predicate).count();
   }
 
   /**
@@ -218,7 +1015,7 @@ public class FunctionalAngebotRepository implements AngebotRepository {
   public boolean existiert(AngebotPredicate predicate) {
     Objects.requireNonNull(predicate, "Predicate darf nicht null sein");
 
-    return angebote.values().stream().anyMatch(predicate::test);
+    return kandidaten(predicate).findAny().isPresent();
   }
 
   /**
@@ -232,17 +1029,122 @@ public class FunctionalAngebotRepository implements AngebotRepository {
   public Optional<Angebot> findeErstes(AngebotPredicate predicate) {
     Objects.requireNonNull(predicate, "Predicate darf nicht null sein");
 
-    return angebote.values().stream().filter(predicate::test).findFirst();
+    return kandidaten(predicate).findFirst();
+  }
+
+  // ========== Archiv ==========
+
+  @Override
+  public String archivName() {
+    return "angebote";
+  }
+
+  /**
+   * Verschiebt alle Angebote im Endzustand (abgeholt, entfernt, abgelaufen) in das {@link #archiv}.
+   *
+   * <p>Im Heap bleiben danach nur Map-Eintrag, Indizes, Version und Statistik-Stand der aktiven
+   * Angebote; die Zähler der Statistik zählen archivierte Angebote weiter mit. Jedes Angebot wird
+   * erst archiviert und dann aus der Map genommen. Gearbeitet wird in Stapeln von {@value
+   * #ARCHIV_STAPEL} Angeboten, jeder unter der Schreibsperre: Speichern wartet also höchstens einen
+   * Stapel lang (einige Millisekunden), Lesen läuft ungehindert weiter.
+   *
+   * @return Anzahl archivierter Angebote
+   */
+  @Override
+  public int archivieren() {
+    List<String> kandidaten = new ArrayList<>();
+    for (Angebot.Status status : ENDZUSTAENDE) {
+      kandidaten.addAll(statusIndex.get(status));
+    }
+    int anzahl = 0;
+    for (int von = 0; von < kandidaten.size(); von += ARCHIV_STAPEL) {
+      anzahl +=
+          archiviere(kandidaten.subList(von, Math.min(von + ARCHIV_STAPEL, kandidaten.size())));
+    }
+    return anzahl;
+  }
+
+  /** Archiviert einen Stapel und meldet dessen IDs danach per {@link AngeboteArchiviertEvent}. */
+  private int archiviere(List<String> stapel) {
+    List<String> archiviert = new ArrayList<>(stapel.size());
+    archivSperre.writeLock().lock();
+    try {
+      for (String id : stapel) {
+        Angebot angebot = angebote.get(id);
+        Long version = versionen.get(id);
+        if (angebot == null || version == null || !ENDZUSTAENDE.contains(angebot.getStatus())) {
+          continue; // inzwischen geändert oder gelöscht
+        }
+        archiv.anhaengen(angebot, version);
+        angebote.remove(id);
+        vergiss(id, angebot);
+        archiviert.add(id);
+      }
+      trigramIndex.entferne(archiviert);
+    } finally {
+      archivSperre.writeLock().unlock();
+    }
+    if (!archiviert.isEmpty()) {
+      eventPublisher.publishEvent(new AngeboteArchiviertEvent(archiviert));
+    }
+    return archiviert.size();
+  }
+
+  /**
+   * Nimmt ein archiviertes Angebot aus den Indizes des Heaps (Trigramme gesammelt im Anschluss).
+   */
+  private void vergiss(String id, Angebot angebot) {
+    indizierterStatus.remove(id);
+    statusIndex.get(angebot.getStatus()).remove(id);
+    anbieterIndex.computeIfPresent(
+        angebot.getAnbieterId(),
+        (anbieter, ids) -> {
+          ids.remove(id);
+          return ids.isEmpty() ? null : ids;
+        });
+    tagIndex.entferne(id);
+    zeitfensterIndex.entferne(id);
+    seitenIndex.indiziere(id, angebot); // nicht verfügbar: entfernt den Eintrag
+    versionen.remove(id);
+    statistik.archivieren(id);
+  }
+
+  @Override
+  public Archivierbar.Statistik archivStatistik() {
+    return new Archivierbar.Statistik(archiv.anzahl(), archiv.toteZeilen(), archiv.belegteBytes());
   }
 
   // ========== Utility Methods (für Tests) ==========
 
   public void deleteAll() {
     log.warn("Lösche alle Angebote aus dem Repository");
-    angebote.clear();
+    long version = katalogVersion.vergib(1);
+    try {
+      if (journal != null) {
+        journal.leeren(version);
+      }
+      angebote.clear();
+      archiv.leeren();
+      versionen.clear();
+      indizierterStatus.clear();
+      statusIndex.values().forEach(Set::clear);
+      anbieterIndex.clear();
+      tagIndex.leeren();
+      zeitfensterIndex.leeren();
+      trigramIndex.leeren();
+      seitenIndex.leeren();
+      statistik.leeren();
+      synchronized (ablaufRad) {
+        ablaufRad.leeren();
+      }
+    } finally {
+      // Erst nach dem Leeren sichtbar: ein Snapshot ab dieser Version enthält nichts Älteres mehr
+      katalogVersion.abschliessen(version, 1);
+    }
   }
 
+  /** Angebote im Heap und im Archiv. */
   public long count() {
-    return angebote.size();
+    return angebote.size() + archiv.anzahl();
   }
 }
@@ -4,10 +4,12 @@ import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
 import com.foodrescue.shared.domain.DomainEvent;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Repository;
  * <p>In Produktion würde dies durch eine JPA-Implementierung ersetzt werden.
  */
 @Repository
+@Profile("!jdbc")
 @Deprecated
 public class InMemoryAngebotRepository implements AngebotRepository {
 
@@ -81,6 +84,15 @@ public class InMemoryAngebotRepository implements AngebotRepository {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public List<Angebot> findeFuerAnbieter(UserId anbieterId) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+
+    return angebote.values().stream()
+        .filter(a -> a.getAnbieterId().equals(anbieterId))
+        .collect(Collectors.toList());
+  }
+
   /** Utility-Methode zum Löschen aller Angebote. Nur für Tests gedacht. */
   public void deleteAll() {
     angebote.clear();
@@ -0,0 +1,422 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStatistik;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JDBC-Implementierung des AngebotRepository (Profil {@code jdbc}), z.B. gegen eine eingebettete
+ * H2-Datenbank; Schema in {@code jdbc/schema.sql}.
+ *
+ * <p>Alle SQL-Texte sind Konstanten, die Datenbank parst sie daher pro Verbindung nur einmal (H2:
+ * {@code QUERY_CACHE_SIZE}). {@link #speichernAlle(List)} schickt den ganzen Stapel als JDBC-Batch
+ * über ein einziges PreparedStatement. Versionen vergibt die Zeile {@code angebot_katalog}: jeder
+ * Schreibvorgang zählt sie in derselben Transaktion hoch, in der er die Angebote schreibt, und hält
+ * ihre Sperre bis zum Commit. {@link #katalogVersion()} liest sie und sieht damit nie eine Version,
+ * deren Daten noch nicht committet sind. Das bedingte Speichern ist ein {@code UPDATE ... WHERE
+ * version = ?} und braucht keine Sperre in der JVM. Anbieter-, Status- und Zeitabfragen laufen über
+ * Indizes, die Statistik über Aggregatabfragen.
+ *
+ * <p>Gelesene Angebote sind {@link Angebot#schnappschuss() Schnappschüsse}; zum Ändern wie gewohnt
+ * {@link Angebot#kopie()} ändern und speichern.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcAngebotRepository implements AngebotRepository {
+
+  private static final Logger log = LoggerFactory.getLogger(JdbcAngebotRepository.class);
+
+  private static final String SPALTEN =
+      "id, anbieter_id, titel, beschreibung, tags, abhol_von, abhol_bis, status, erstellt_am";
+
+  private static final String MERGE =
+      "MERGE INTO angebot ("
+          + SPALTEN
+          + ", version) KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String UPDATE_WENN_VERSION =
+      "UPDATE angebot SET anbieter_id = ?, titel = ?, beschreibung = ?, tags = ?, abhol_von = ?,"
+          + " abhol_bis = ?, status = ?, erstellt_am = ?, version = ? WHERE id = ? AND version = ?";
+
+  private static final String SELECT_MIT_ID = "SELECT " + SPALTEN + " FROM angebot WHERE id = ?";
+
+  private static final String SELECT_STAND_MIT_ID =
+      "SELECT " + SPALTEN + ", version FROM angebot WHERE id = ?";
+
+  private static final String SELECT_MIT_STATUS =
+      "SELECT " + SPALTEN + " FROM angebot WHERE status = ?";
+
+  private static final String SELECT_FUER_ANBIETER =
+      "SELECT " + SPALTEN + " FROM angebot WHERE anbieter_id = ?";
+
+  private static final String SELECT_MIT_BEGINN_NACH =
+      "SELECT "
+          + SPALTEN
+          + " FROM angebot WHERE status = ? AND abhol_von > ? ORDER BY abhol_von, id";
+
+  private static final String SELECT_FAELLIG =
+      "SELECT " + SPALTEN + ", version FROM angebot WHERE status = ? AND abhol_bis <= ?";
+
+  private static final String SELECT_VERSION = "SELECT version FROM angebot WHERE id = ?";
+
+  private static final String ZAEHLE_KATALOG =
+      "UPDATE angebot_katalog SET version = version + ? WHERE id = 1";
+
+  private static final String SELECT_KATALOGVERSION =
+      "SELECT version FROM angebot_katalog WHERE id = 1";
+
+  private static final String ZAEHLE_PRO_STATUS =
+      "SELECT status, COUNT(*) FROM angebot GROUP BY status";
+
+  private static final String ZAEHLE_PRO_ANBIETER =
+      "SELECT anbieter_id, COUNT(*) FROM angebot WHERE status = ? GROUP BY anbieter_id";
+
+  /**
+   * H2 kennt kein lateral verknüpftes UNNEST; die Positionen im Tag-Array liefert stattdessen ein
+   * Zahlenbereich bis zur größten Tag-Anzahl.
+   */
+  private static final String ZAEHLE_PRO_TAG =
+      "SELECT a.tags[p.x], COUNT(*) FROM angebot a JOIN SYSTEM_RANGE(1,"
+          + " (SELECT COALESCE(MAX(CARDINALITY(tags)), 0) FROM angebot WHERE status = ?)) p"
+          + " ON p.x <= CARDINALITY(a.tags) WHERE a.status = ? GROUP BY a.tags[p.x]";
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate transaktion;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public JdbcAngebotRepository(JdbcTemplate jdbc, ApplicationEventPublisher eventPublisher) {
+    this.jdbc = Objects.requireNonNull(jdbc, "JdbcTemplate darf nicht null sein");
+    this.transaktion =
+        new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public Angebot speichern(Angebot angebot) {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+    log.debug("Speichere Angebot mit ID: {}", angebot.getId());
+
+    transaktion.executeWithoutResult(
+        status -> {
+          long version = vergib(1);
+          jdbc.update(
+              MERGE,
+              ps -> {
+                ps.setString(1, angebot.getId());
+                setzeFelder(ps, 2, angebot);
+                ps.setLong(10, version);
+              });
+        });
+    publiziereEvents(angebot);
+    return angebot;
+  }
+
+  /** Ein JDBC-Batch für den ganzen Stapel; Events erst, wenn alle Zeilen geschrieben sind. */
+  @Override
+  public List<Angebot> speichernAlle(List<Angebot> stapel) {
+    Objects.requireNonNull(stapel, "Angebote dürfen nicht null sein");
+    stapel.forEach(angebot -> Objects.requireNonNull(angebot, "Angebot darf nicht null sein"));
+    if (stapel.isEmpty()) {
+      return List.of();
+    }
+    log.debug("Speichere {} Angebote", stapel.size());
+
+    transaktion.executeWithoutResult(
+        status -> {
+          long[] version = {vergib(stapel.size())};
+          jdbc.batchUpdate(
+              MERGE,
+              stapel,
+              stapel.size(),
+              (ps, angebot) -> {
+                ps.setString(1, angebot.getId());
+                setzeFelder(ps, 2, angebot);
+                ps.setLong(10, version[0]++);
+              });
+        });
+    stapel.forEach(this::publiziereEvents);
+    return List.copyOf(stapel);
+  }
+
+  @Override
+  public Optional<Angebot> findeMitId(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    return jdbc.query(SELECT_MIT_ID, JdbcAngebotRepository::lese, id.value()).stream().findFirst();
+  }
+
+  /**
+   * Angebot und Version in einer Abfrage, statt {@link #versionVon} und {@link #findeMitId}; auch
+   * {@link #ladeZumAendern} liest darüber.
+   */
+  @Override
+  public Optional<AngebotStand> findeStandMitId(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    return jdbc
+        .query(
+            SELECT_STAND_MIT_ID,
+            (rs, zeile) -> new AngebotStand(lese(rs, zeile), rs.getLong("version")),
+            id.value())
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Compare-and-Set in der Datenbank: gespeichert wird nur, wenn die Version noch stimmt. Bei einem
+   * Konflikt wird auch das Hochzählen des Katalogs zurückgerollt.
+   */
+  @Override
+  public boolean speichernWennUnveraendert(Angebot angebot, long erwarteteVersion) {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+    boolean gespeichert =
+        Boolean.TRUE.equals(
+            transaktion.execute(
+                status -> {
+                  long version = vergib(1);
+                  int geaendert =
+                      jdbc.update(
+                          UPDATE_WENN_VERSION,
+                          ps -> {
+                            setzeFelder(ps, 1, angebot);
+                            ps.setLong(9, version);
+                            ps.setString(10, angebot.getId());
+                            ps.setLong(11, erwarteteVersion);
+                          });
+                  if (geaendert == 0) {
+                    status.setRollbackOnly();
+                  }
+                  return geaendert > 0;
+                }));
+    if (!gespeichert) {
+      return false;
+    }
+    publiziereEvents(angebot);
+    return true;
+  }
+
+  @Override
+  public List<Angebot> findeAlleVerfuegbar() {
+    return jdbc.query(
+        SELECT_MIT_STATUS, JdbcAngebotRepository::lese, Angebot.Status.VERFUEGBAR.name());
+  }
+
+  @Override
+  public List<Angebot> findeFuerAnbieter(UserId anbieterId) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+    return jdbc.query(SELECT_FUER_ANBIETER, JdbcAngebotRepository::lese, anbieterId.getValue());
+  }
+
+  @Override
+  public OptionalLong versionVon(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    List<Long> versionen = jdbc.query(SELECT_VERSION, (rs, zeile) -> rs.getLong(1), id.value());
+    return versionen.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versionen.get(0));
+  }
+
+  @Override
+  public OptionalLong katalogVersion() {
+    Long version = jdbc.queryForObject(SELECT_KATALOGVERSION, Long.class);
+    return OptionalLong.of(version == null ? 0 : version);
+  }
+
+  /**
+   * Drei Aggregatabfragen statt eines Durchlaufs über die Angebote: alle Status, dazu verfügbare
+   * Angebote pro Anbieter und pro Tag. Die drei Abfragen sind keine gemeinsame Momentaufnahme.
+   */
+  @Override
+  public AngebotStatistik statistik() {
+    Map<Angebot.Status, Long> proStatus = new EnumMap<>(Angebot.Status.class);
+    jdbc.query(
+        ZAEHLE_PRO_STATUS,
+        (RowCallbackHandler)
+            rs -> proStatus.put(Angebot.Status.valueOf(rs.getString(1)), rs.getLong(2)));
+    Map<String, Long> proAnbieter = new HashMap<>();
+    jdbc.query(
+        ZAEHLE_PRO_ANBIETER,
+        (RowCallbackHandler)
+            rs -> proAnbieter.put(rs.getObject(1, UUID.class).toString(), rs.getLong(2)),
+        Angebot.Status.VERFUEGBAR.name());
+    Map<String, Long> proTag = new HashMap<>();
+    jdbc.query(
+        ZAEHLE_PRO_TAG,
+        (RowCallbackHandler) rs -> proTag.put(rs.getString(1), rs.getLong(2)),
+        Angebot.Status.VERFUEGBAR.name(),
+        Angebot.Status.VERFUEGBAR.name());
+    return AngebotStatistik.aus(proStatus, proAnbieter, proTag);
+  }
+
+  /** Sortiert liefert der Index (status, abhol_von). */
+  @Override
+  public List<Angebot> findeVerfuegbarMitBeginnNach(LocalDateTime zeitpunkt) {
+    Objects.requireNonNull(zeitpunkt, "Zeitpunkt darf nicht null sein");
+    return jdbc.query(
+        SELECT_MIT_BEGINN_NACH,
+        JdbcAngebotRepository::lese,
+        Angebot.Status.VERFUEGBAR.name(),
+        zeitpunkt);
+  }
+
+  /**
+   * Liest nur die fälligen Angebote samt Version (Index (status, abhol_bis)) und schreibt sie als
+   * ein Batch bedingter Updates zurück. Ein Angebot, das inzwischen jemand anderes gespeichert hat
+   * (z.B. reserviert), wird nicht überschrieben; ist es dann noch fällig, erwischt es der nächste
+   * Lauf.
+   */
+  @Override
+  public List<Angebot> laufeAb(LocalDateTime jetzt) {
+    Objects.requireNonNull(jetzt, "Zeitpunkt darf nicht null sein");
+    List<AngebotStand> faellig =
+        jdbc.query(
+            SELECT_FAELLIG,
+            (rs, zeile) -> new AngebotStand(lese(rs, zeile).kopie(), rs.getLong("version")),
+            Angebot.Status.VERFUEGBAR.name(),
+            jetzt);
+    if (faellig.isEmpty()) {
+      return List.of();
+    }
+    faellig.forEach(stand -> stand.angebot().markiereAlsAbgelaufen(jetzt));
+
+    boolean[] gespeichert = schreibeBedingt(faellig);
+    List<Angebot> abgelaufen = new ArrayList<>(faellig.size());
+    for (int i = 0; i < faellig.size(); i++) {
+      if (gespeichert[i]) {
+        abgelaufen.add(faellig.get(i).angebot());
+      }
+    }
+    abgelaufen.forEach(this::publiziereEvents);
+    return List.copyOf(abgelaufen);
+  }
+
+  /** Ein Batch bedingter Updates in einer Transaktion; Events erst nach dem ganzen Stapel. */
+  @Override
+  public List<AngebotsId> speichernAlleWennUnveraendert(List<AngebotStand> staende) {
+    Objects.requireNonNull(staende, "Stände dürfen nicht null sein");
+    staende.forEach(stand -> Objects.requireNonNull(stand, "Stand darf nicht null sein"));
+    if (staende.isEmpty()) {
+      return List.of();
+    }
+
+    boolean[] gespeichert = schreibeBedingt(staende);
+    List<AngebotsId> konflikte = new ArrayList<>();
+    for (int i = 0; i < staende.size(); i++) {
+      if (!gespeichert[i]) {
+        konflikte.add(staende.get(i).angebot().getAngebotsId());
+      }
+    }
+    for (int i = 0; i < staende.size(); i++) {
+      if (gespeichert[i]) {
+        publiziereEvents(staende.get(i).angebot());
+      }
+    }
+    return List.copyOf(konflikte);
+  }
+
+  /**
+   * Schreibt die Stände als ein Batch von {@code UPDATE ... WHERE version = ?} in einer
+   * Transaktion. Eine Zeile, die inzwischen jemand anderes gespeichert hat, bleibt unverändert.
+   *
+   * @return pro Stand, ob er gespeichert wurde
+   */
+  private boolean[] schreibeBedingt(List<AngebotStand> staende) {
+    int[][] geaendert =
+        transaktion.execute(
+            status -> {
+              long[] version = {vergib(staende.size())};
+              return jdbc.batchUpdate(
+                  UPDATE_WENN_VERSION,
+                  staende,
+                  staende.size(),
+                  (ps, stand) -> {
+                    setzeFelder(ps, 1, stand.angebot());
+                    ps.setLong(9, version[0]++);
+                    ps.setString(10, stand.angebot().getId());
+                    ps.setLong(11, stand.version());
+                  });
+            });
+    boolean[] gespeichert = new boolean[staende.size()];
+    int i = 0;
+    for (int[] stapel : geaendert) {
+      for (int zeilen : stapel) {
+        gespeichert[i++] = zeilen > 0;
+      }
+    }
+    return gespeichert;
+  }
+
+  /**
+   * Zählt die Katalogversion um {@code anzahl} hoch und liefert die erste der neuen Versionen. Nur
+   * innerhalb einer Transaktion aufrufen: die Zeilensperre hält bis zu deren Ende.
+   */
+  private long vergib(int anzahl) {
+    jdbc.update(ZAEHLE_KATALOG, anzahl);
+    return jdbc.queryForObject(SELECT_KATALOGVERSION, Long.class) - anzahl + 1;
+  }
+
+  private void publiziereEvents(Angebot angebot) {
+    angebot.getDomainEvents().stream()
+        .peek(event -> log.debug("Publishing Event: {}", event.getClass().getSimpleName()))
+        .forEach(eventPublisher::publishEvent);
+    angebot.clearDomainEvents();
+  }
+
+  /** Setzt alle Spalten außer der ID ab Parameter {@code start}, in der Reihenfolge von SPALTEN. */
+  private static void setzeFelder(PreparedStatement ps, int start, Angebot angebot)
+      throws SQLException {
+    Array tags = ps.getConnection().createArrayOf("VARCHAR", angebot.getTags().toArray());
+    ps.setObject(start, angebot.getAnbieterId().getValue());
+    ps.setString(start + 1, angebot.getTitel());
+    ps.setString(start + 2, angebot.getBeschreibung());
+    ps.setArray(start + 3, tags);
+    ps.setObject(start + 4, angebot.getZeitfenster().von());
+    ps.setObject(start + 5, angebot.getZeitfenster().bis());
+    ps.setString(start + 6, angebot.getStatus().name());
+    ps.setObject(start + 7, angebot.getErstelltAm());
+  }
+
+  private static Angebot lese(ResultSet rs, int zeile) throws SQLException {
+    Object[] tagWerte = (Object[]) rs.getArray("tags").getArray();
+    Set<String> tags = new HashSet<>(tagWerte.length);
+    for (Object tag : tagWerte) {
+      tags.add((String) tag);
+    }
+    return Angebot.wiederherstellen(
+        AngebotsId.of(rs.getString("id")),
+        new UserId(rs.getObject("anbieter_id", UUID.class)),
+        rs.getString("titel"),
+        rs.getString("beschreibung"),
+        tags,
+        new AbholZeitfenster(
+            rs.getObject("abhol_von", LocalDateTime.class),
+            rs.getObject("abhol_bis", LocalDateTime.class)),
+        Angebot.Status.valueOf(rs.getString("status")),
+        rs.getObject("erstellt_am", LocalDateTime.class));
+  }
+}
@@ -0,0 +1,60 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Katalogversion mit getrennter Vergabe und Sichtbarkeit.
+ *
+ * <p>Ein Schreibvorgang holt sich seine Versionen mit {@link #vergib(int)}, schreibt damit Journal
+ * und Indizes und meldet sie danach per {@link #abschliessen(long, int)} zurück – auch wenn er
+ * unterwegs gescheitert ist. {@link #sichtbar()} rückt nur über lückenlos abgeschlossene Versionen
+ * vor: wer Version {@code v} sieht, sieht auch die Daten aller Schreibvorgänge bis {@code v},
+ * selbst wenn parallele Schreiber in anderer Reihenfolge fertig werden.
+ */
+class KatalogVersion {
+
+  private final AtomicLong vergeben = new AtomicLong();
+  private volatile long sichtbar;
+
+  /** Abgeschlossene Bereiche oberhalb von {@link #sichtbar}: erste → letzte Version. */
+  private final TreeMap<Long, Long> abgeschlossen = new TreeMap<>();
+
+  /** Vergibt {@code anzahl} aufeinanderfolgende Versionen; liefert die erste. */
+  long vergib(int anzahl) {
+    return vergeben.addAndGet(anzahl) - anzahl + 1;
+  }
+
+  /** Meldet die mit {@link #vergib(int)} erhaltenen Versionen als fertig. */
+  synchronized void abschliessen(long erste, int anzahl) {
+    abgeschlossen.put(erste, erste + anzahl - 1);
+    long stand = sichtbar;
+    Map.Entry<Long, Long> naechster;
+    while ((naechster = abgeschlossen.firstEntry()) != null && naechster.getKey() <= stand + 1) {
+      stand = Math.max(stand, naechster.getValue());
+      abgeschlossen.pollFirstEntry();
+    }
+    sichtbar = stand;
+  }
+
+  /** Höchste Version, bis zu der alle Schreibvorgänge abgeschlossen sind. */
+  long sichtbar() {
+    return sichtbar;
+  }
+
+  /** Höchste bereits vergebene Version, abgeschlossen oder nicht. */
+  long vergeben() {
+    return vergeben.get();
+  }
+
+  /**
+   * Hebt beide Stände auf mindestens {@code version}, z.B. nach dem Einlesen von Journal oder
+   * Snapshot. Nur aufrufen, solange kein Schreibvorgang offen ist.
+   */
+  synchronized void mindestens(long version) {
+    vergeben.accumulateAndGet(version, Math::max);
+    sichtbar = Math.max(sichtbar, version);
+    abgeschlossen.headMap(sichtbar, true).clear();
+  }
+}
@@ -0,0 +1,94 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Sortierte Skip-Listen über die <em>verfügbaren</em> Angebote, je eine pro {@link
+ * AngebotSeite.Sortierung}.
+ *
+ * <p>Nur verfügbare Angebote stehen im Index, abgeholte und abgelaufene belasten das Blättern also
+ * nicht. Eine Seite setzt per {@code tailSet} direkt hinter der Position der vorherigen Seite auf:
+ * O(log n + Seitengröße), unabhängig davon, wie weit schon geblättert wurde.
+ */
+class SeitenIndex {
+
+  private final Map<AngebotSeite.Sortierung, NavigableSet<Schluessel>> sortiert =
+      new EnumMap<>(AngebotSeite.Sortierung.class);
+
+  /** Zuletzt indizierte Schlüssel pro ID, damit Änderungen den alten Eintrag entfernen. */
+  private final Map<String, Map<AngebotSeite.Sortierung, Schluessel>> indiziert =
+      new ConcurrentHashMap<>();
+
+  SeitenIndex() {
+    for (AngebotSeite.Sortierung sortierung : AngebotSeite.Sortierung.values()) {
+      sortiert.put(sortierung, new ConcurrentSkipListSet<>());
+    }
+  }
+
+  /** Nimmt ein verfügbares Angebot auf bzw. entfernt es, sobald es nicht mehr verfügbar ist. */
+  void indiziere(String id, Angebot angebot) {
+    boolean verfuegbar = angebot.getStatus() == Angebot.Status.VERFUEGBAR;
+    indiziert.compute(
+        id,
+        (key, alt) -> {
+          Map<AngebotSeite.Sortierung, Schluessel> neu = verfuegbar ? schluessel(angebot) : null;
+          if (neu != null && neu.equals(alt)) {
+            return alt;
+          }
+          if (alt != null) {
+            alt.forEach((sortierung, schluessel) -> sortiert.get(sortierung).remove(schluessel));
+          }
+          if (neu != null) {
+            neu.forEach((sortierung, schluessel) -> sortiert.get(sortierung).add(schluessel));
+          }
+          return neu;
+        });
+  }
+
+  /** IDs in der Reihenfolge der Sortierung, beginnend direkt hinter der Position (exklusiv). */
+  Stream<String> ab(AngebotSeite.Sortierung sortierung, AngebotSeite.Position nach) {
+    NavigableSet<Schluessel> index = sortiert.get(sortierung);
+    if (sortierung.istAbsteigend()) {
+      index = index.descendingSet();
+    }
+    if (nach != null) {
+      index = index.tailSet(new Schluessel(nach.zeit(), nach.id()), false);
+    }
+    return index.stream().map(Schluessel::id);
+  }
+
+  /** Entfernt alle Einträge. */
+  void leeren() {
+    indiziert.clear();
+    sortiert.values().forEach(NavigableSet::clear);
+  }
+
+  private static Map<AngebotSeite.Sortierung, Schluessel> schluessel(Angebot angebot) {
+    Map<AngebotSeite.Sortierung, Schluessel> schluessel =
+        new EnumMap<>(AngebotSeite.Sortierung.class);
+    for (AngebotSeite.Sortierung sortierung : AngebotSeite.Sortierung.values()) {
+      schluessel.put(sortierung, new Schluessel(sortierung.schluessel(angebot), angebot.getId()));
+    }
+    return schluessel;
+  }
+
+  private record Schluessel(LocalDateTime zeit, String id) implements Comparable<Schluessel> {
+
+    private static final Comparator<Schluessel> REIHENFOLGE =
+        Comparator.comparing(Schluessel::zeit).thenComparing(Schluessel::id);
+
+    @Override
+    public int compareTo(Schluessel other) {
+      return REIHENFOLGE.compare(this, other);
+    }
+  }
+}
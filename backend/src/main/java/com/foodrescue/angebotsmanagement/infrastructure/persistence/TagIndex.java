@@ -0,0 +1,231 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.angebotsmanagement.domain.functional.TagPredicate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Invertierter Index Tag -> Bitmap der Angebots-Ordinalzahlen.
+ *
+ * <p>Jede Angebots-ID bekommt beim ersten Indizieren eine Ordinalzahl; Ordinalzahlen entfernter IDs
+ * werden wiederverwendet, die kleinste zuerst, damit die Bitmaps dicht bleiben. Pro Tag wird ein
+ * {@link BitSet} über diese Ordinalzahlen geführt, sodass AND-Abfragen eine Schnittmenge und
+ * OR-Abfragen eine Vereinigung von Bitmaps sind – ohne die Tags einzelner Angebote anzufassen.
+ *
+ * <p>BitSets sind nicht threadsicher, deshalb schützt ein Read/Write-Lock den gesamten Index.
+ * Abfragen arbeiten auf Kopien und geben die Ergebnis-IDs erst nach dem Entsperren weiter.
+ */
+class TagIndex {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, Integer> ordinalProId = new HashMap<>();
+  private final List<String> idProOrdinal = new ArrayList<>();
+
+  /** Zuletzt indizierte Tags pro Ordinalzahl, um bei Änderungen alte Einträge zu entfernen. */
+  private final List<Set<String>> tagsProOrdinal = new ArrayList<>();
+
+  private final Map<String, BitSet> postings = new HashMap<>();
+
+  /** Ordinalzahlen entfernter IDs, die beim nächsten neuen Angebot wieder vergeben werden. */
+  private final BitSet frei = new BitSet();
+
+  /** Nimmt die aktuellen Tags eines Angebots auf und entfernt nicht mehr vorhandene. */
+  void indiziere(String id, Set<String> tags) {
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinalProId.get(id);
+      if (ordinal == null) {
+        ordinal = neueOrdinalzahl(id);
+      }
+
+      Set<String> alteTags = tagsProOrdinal.get(ordinal);
+      if (alteTags.equals(tags)) {
+        return;
+      }
+      for (String tag : alteTags) {
+        if (!tags.contains(tag)) {
+          BitSet bits = postings.get(tag);
+          bits.clear(ordinal);
+          if (bits.isEmpty()) {
+            postings.remove(tag);
+          }
+        }
+      }
+      for (String tag : tags) {
+        postings.computeIfAbsent(tag, t -> new BitSet()).set(ordinal);
+      }
+      tagsProOrdinal.set(ordinal, Set.copyOf(tags));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Bestimmt die Kandidaten-IDs für einen Tag-Filter.
+   *
+   * @return Kandidaten in Ordinal-Reihenfolge, oder leer, wenn der Index den Filter nicht
+   *     beantworten kann (ALLE ohne Tags trifft jedes Angebot – dann ist ein Scan nötig)
+   */
+  Optional<List<String>> kandidaten(TagPredicate predicate) {
+    Set<String> tags = predicate.tags();
+    if (predicate.modus() == TagPredicate.Modus.ALLE && tags.isEmpty()) {
+      return Optional.empty();
+    }
+
+    lock.readLock().lock();
+    try {
+      BitSet treffer =
+          predicate.modus() == TagPredicate.Modus.ALLE ? schnittmenge(tags) : vereinigung(tags);
+      List<String> ids = new ArrayList<>(treffer.cardinality());
+      for (int i = treffer.nextSetBit(0); i >= 0; i = treffer.nextSetBit(i + 1)) {
+        ids.add(idProOrdinal.get(i));
+      }
+      return Optional.of(ids);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Prüft für eine einzelne ID, ob sie laut Index zum Tag-Filter passt (für Schnittmengen per
+   * Probe, wenn ein anderer Index die Kandidaten liefert).
+   */
+  boolean enthaelt(TagPredicate predicate, String id) {
+    lock.readLock().lock();
+    try {
+      Integer ordinal = ordinalProId.get(id);
+      if (ordinal == null) {
+        return false;
+      }
+      Set<String> tags = tagsProOrdinal.get(ordinal);
+      return predicate.modus() == TagPredicate.Modus.ALLE
+          ? tags.containsAll(predicate.tags())
+          : predicate.tags().stream().anyMatch(tags::contains);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Obere Schätzung der Trefferzahl ohne die Bitmaps zu verknüpfen: für ALLE die kleinste, für
+   * EINES die Summe der beteiligten Bitmaps.
+   */
+  long schaetzung(TagPredicate predicate) {
+    lock.readLock().lock();
+    try {
+      if (predicate.modus() == TagPredicate.Modus.ALLE) {
+        long kleinste = idProOrdinal.size();
+        for (String tag : predicate.tags()) {
+          BitSet bits = postings.get(tag);
+          kleinste = Math.min(kleinste, bits == null ? 0 : bits.cardinality());
+        }
+        return kleinste;
+      }
+      long summe = 0;
+      for (String tag : predicate.tags()) {
+        BitSet bits = postings.get(tag);
+        summe += bits == null ? 0 : bits.cardinality();
+      }
+      return summe;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Nimmt eine ID ganz aus dem Index. Ihre Ordinalzahl ist danach in keiner Bitmap mehr gesetzt und
+   * wird für das nächste neue Angebot wiederverwendet.
+   */
+  void entferne(String id) {
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinalProId.remove(id);
+      if (ordinal == null) {
+        return;
+      }
+      for (String tag : tagsProOrdinal.get(ordinal)) {
+        BitSet bits = postings.get(tag);
+        bits.clear(ordinal);
+        if (bits.isEmpty()) {
+          postings.remove(tag);
+        }
+      }
+      tagsProOrdinal.set(ordinal, Set.of());
+      idProOrdinal.set(ordinal, null);
+      frei.set(ordinal);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Entfernt alle Einträge. */
+  void leeren() {
+    lock.writeLock().lock();
+    try {
+      ordinalProId.clear();
+      idProOrdinal.clear();
+      tagsProOrdinal.clear();
+      postings.clear();
+      frei.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Vergibt die kleinste freie Ordinalzahl oder hängt eine neue an. Nur unter der Schreibsperre.
+   */
+  private int neueOrdinalzahl(String id) {
+    int ordinal = frei.nextSetBit(0);
+    if (ordinal < 0) {
+      ordinal = idProOrdinal.size();
+      idProOrdinal.add(id);
+      tagsProOrdinal.add(Set.of());
+    } else {
+      frei.clear(ordinal);
+      idProOrdinal.set(ordinal, id);
+    }
+    ordinalProId.put(id, ordinal);
+    return ordinal;
+  }
+
+  /** AND: beginnt mit der kleinsten Bitmap, damit die Zwischenergebnisse klein bleiben. */
+  private BitSet schnittmenge(Set<String> tags) {
+    List<BitSet> bitmaps = new ArrayList<>(tags.size());
+    for (String tag : tags) {
+      BitSet bits = postings.get(tag);
+      if (bits == null) {
+        return new BitSet();
+      }
+      bitmaps.add(bits);
+    }
+    bitmaps.sort(Comparator.comparingInt(BitSet::cardinality));
+
+    BitSet ergebnis = (BitSet) bitmaps.get(0).clone();
+    for (int i = 1; i < bitmaps.size() && !ergebnis.isEmpty(); i++) {
+      ergebnis.and(bitmaps.get(i));
+    }
+    return ergebnis;
+  }
+
+  /** OR: Vereinigung aller vorhandenen Bitmaps. */
+  private BitSet vereinigung(Set<String> tags) {
+    BitSet ergebnis = new BitSet();
+    for (String tag : tags) {
+      BitSet bits = postings.get(tag);
+      if (bits != null) {
+        ergebnis.or(bits);
+      }
+    }
+    return ergebnis;
+  }
+}
@@ -0,0 +1,346 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigramm-Index für die case-insensitive Teilstring-Suche (Titel und Volltext).
+ *
+ * <p>Titel, Beschreibung und Tags werden beim Speichern einmal mit {@link String#toLowerCase()}
+ * normalisiert – genau wie in {@link Angebot#passztZuSuchbegriff(String)} – und in Trigramme
+ * zerlegt. Jedes Trigramm zeigt auf eine sortierte Liste von Ordinalzahlen. Ein Suchbegriff kann
+ * nur in Texten vorkommen, die alle seine Trigramme enthalten; nur diese Schnittmenge wird mit
+ * {@code contains} auf den gespeicherten, bereits kleingeschriebenen Texten verifiziert.
+ *
+ * <p>Suchbegriffe mit weniger als drei Zeichen haben keine Trigramme; dafür liefert der Index
+ * nichts und der Aufrufer muss scannen.
+ */
+class TrigramIndex {
+
+  /** Suchbereich: nur Titel ({@code titelEnthaelt}) oder Titel, Beschreibung und Tags. */
+  enum Feld {
+    TITEL,
+    VOLLTEXT
+  }
+
+  private static final int N = 3;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, Integer> ordinalProId = new HashMap<>();
+  private final List<String> idProOrdinal = new ArrayList<>();
+  private final List<Texte> texteProOrdinal = new ArrayList<>();
+
+  private final Map<String, Postings> titelPostings = new HashMap<>();
+  private final Map<String, Postings> volltextPostings = new HashMap<>();
+
+  /**
+   * Ordinalzahlen entfernter IDs; wie im {@link TagIndex} wird die kleinste zuerst wiedervergeben.
+   */
+  private final BitSet frei = new BitSet();
+
+  /** Nimmt die aktuellen Texte eines Angebots auf; nur geänderte Trigramme werden angefasst. */
+  void indiziere(String id, Angebot angebot) {
+    Texte neu = Texte.von(angebot);
+
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinalProId.get(id);
+      Texte alt = Texte.LEER;
+      if (ordinal == null) {
+        ordinal = neueOrdinalzahl(id, neu);
+      } else {
+        alt = texteProOrdinal.get(ordinal);
+        if (alt.equals(neu)) {
+          return;
+        }
+        texteProOrdinal.set(ordinal, neu);
+      }
+
+      umindizieren(titelPostings, ordinal, alt.titelTrigramme(), neu.titelTrigramme());
+      umindizieren(volltextPostings, ordinal, alt.volltextTrigramme(), neu.volltextTrigramme());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Sucht alle IDs, deren Text den Suchbegriff enthält.
+   *
+   * @return Verifizierte Treffer in Ordinal-Reihenfolge, oder leer, wenn der Suchbegriff zu kurz
+   *     für den Index ist
+   */
+  Optional<List<String>> suche(String suchbegriff, Feld feld) {
+    String begriff = suchbegriff.toLowerCase();
+    if (begriff.length() < N) {
+      return Optional.empty();
+    }
+
+    lock.readLock().lock();
+    try {
+      int[] kandidaten = schnittmenge(trigramme(begriff), postings(feld));
+      List<String> ids = new ArrayList<>();
+      for (int ordinal : kandidaten) {
+        if (texteProOrdinal.get(ordinal).enthaelt(begriff, feld)) {
+          ids.add(idProOrdinal.get(ordinal));
+        }
+      }
+      return Optional.of(ids);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Prüft eine einzelne ID gegen die gespeicherten Texte (für Schnittmengen per Probe). */
+  boolean enthaelt(String suchbegriff, Feld feld, String id) {
+    lock.readLock().lock();
+    try {
+      Integer ordinal = ordinalProId.get(id);
+      return ordinal != null
+          && texteProOrdinal.get(ordinal).enthaelt(suchbegriff.toLowerCase(), feld);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Obere Schätzung: Länge der kürzesten Postingliste der Trigramme des Suchbegriffs. */
+  long schaetzung(String suchbegriff, Feld feld) {
+    String begriff = suchbegriff.toLowerCase();
+    lock.readLock().lock();
+    try {
+      Map<String, Postings> postings = postings(feld);
+      long kleinste = idProOrdinal.size();
+      for (String trigramm : trigramme(begriff)) {
+        Postings liste = postings.get(trigramm);
+        kleinste = Math.min(kleinste, liste == null ? 0 : liste.groesse);
+      }
+      return kleinste;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Nimmt IDs ganz aus dem Index und gibt ihre Ordinalzahlen zur Wiederverwendung frei. Im Stapel,
+   * weil jede betroffene Postingliste dann nur einmal verdichtet wird statt einmal pro ID.
+   */
+  void entferne(Collection<String> ids) {
+    lock.writeLock().lock();
+    try {
+      BitSet entfernt = new BitSet();
+      Set<String> titel = new HashSet<>();
+      Set<String> volltext = new HashSet<>();
+      for (String id : ids) {
+        Integer ordinal = ordinalProId.remove(id);
+        if (ordinal == null) {
+          continue;
+        }
+        Texte alt = texteProOrdinal.get(ordinal);
+        titel.addAll(alt.titelTrigramme());
+        volltext.addAll(alt.volltextTrigramme());
+        texteProOrdinal.set(ordinal, Texte.LEER);
+        idProOrdinal.set(ordinal, null);
+        entfernt.set(ordinal);
+      }
+      verdichten(titelPostings, titel, entfernt);
+      verdichten(volltextPostings, volltext, entfernt);
+      // Erst nach dem Verdichten: keine Postingliste enthält die Ordinalzahlen jetzt noch
+      frei.or(entfernt);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Entfernt alle Einträge. */
+  void leeren() {
+    lock.writeLock().lock();
+    try {
+      ordinalProId.clear();
+      idProOrdinal.clear();
+      texteProOrdinal.clear();
+      titelPostings.clear();
+      volltextPostings.clear();
+      frei.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Vergibt die kleinste freie Ordinalzahl oder hängt eine neue an. Nur unter der Schreibsperre.
+   */
+  private int neueOrdinalzahl(String id, Texte texte) {
+    int ordinal = frei.nextSetBit(0);
+    if (ordinal < 0) {
+      ordinal = idProOrdinal.size();
+      idProOrdinal.add(id);
+      texteProOrdinal.add(texte);
+    } else {
+      frei.clear(ordinal);
+      idProOrdinal.set(ordinal, id);
+      texteProOrdinal.set(ordinal, texte);
+    }
+    ordinalProId.put(id, ordinal);
+    return ordinal;
+  }
+
+  private Map<String, Postings> postings(Feld feld) {
+    return feld == Feld.TITEL ? titelPostings : volltextPostings;
+  }
+
+  private static void umindizieren(
+      Map<String, Postings> postings, int ordinal, Set<String> alt, Set<String> neu) {
+    for (String trigramm : alt) {
+      if (!neu.contains(trigramm)) {
+        Postings liste = postings.get(trigramm);
+        liste.entfernen(ordinal);
+        if (liste.groesse == 0) {
+          postings.remove(trigramm);
+        }
+      }
+    }
+    for (String trigramm : neu) {
+      if (!alt.contains(trigramm)) {
+        postings.computeIfAbsent(trigramm, t -> new Postings()).hinzufuegen(ordinal);
+      }
+    }
+  }
+
+  private static void verdichten(
+      Map<String, Postings> postings, Set<String> trigramme, BitSet entfernt) {
+    for (String trigramm : trigramme) {
+      Postings liste = postings.get(trigramm);
+      if (liste != null) {
+        liste.entfernen(entfernt);
+        if (liste.groesse == 0) {
+          postings.remove(trigramm);
+        }
+      }
+    }
+  }
+
+  /** Schnittmenge sortierter Listen: kürzeste zuerst, die übrigen per Binärsuche geprüft. */
+  private static int[] schnittmenge(Set<String> trigramme, Map<String, Postings> postings) {
+    List<Postings> listen = new ArrayList<>(trigramme.size());
+    for (String trigramm : trigramme) {
+      Postings liste = postings.get(trigramm);
+      if (liste == null) {
+        return new int[0];
+      }
+      listen.add(liste);
+    }
+    listen.sort(Comparator.comparingInt(liste -> liste.groesse));
+
+    Postings kuerzeste = listen.get(0);
+    int[] ergebnis = Arrays.copyOf(kuerzeste.werte, kuerzeste.groesse);
+    int anzahl = ergebnis.length;
+    for (int i = 1; i < listen.size() && anzahl > 0; i++) {
+      Postings liste = listen.get(i);
+      int behalten = 0;
+      for (int j = 0; j < anzahl; j++) {
+        if (Arrays.binarySearch(liste.werte, 0, liste.groesse, ergebnis[j]) >= 0) {
+          ergebnis[behalten++] = ergebnis[j];
+        }
+      }
+      anzahl = behalten;
+    }
+    return Arrays.copyOf(ergebnis, anzahl);
+  }
+
+  private static Set<String> trigramme(String text) {
+    Set<String> trigramme = new HashSet<>();
+    for (int i = 0; i + N <= text.length(); i++) {
+      trigramme.add(text.substring(i, i + N));
+    }
+    return trigramme;
+  }
+
+  /** Kleingeschriebene Texte eines Angebots, so wie sie beim Speichern indiziert wurden. */
+  private record Texte(String titel, String beschreibung, List<String> tags) {
+
+    static final Texte LEER = new Texte("", "", List.of());
+
+    static Texte von(Angebot angebot) {
+      return new Texte(
+          klein(angebot.getTitel()),
+          klein(angebot.getBeschreibung()),
+          angebot.getTags().stream().map(Texte::klein).sorted().toList());
+    }
+
+    private static String klein(String text) {
+      return text == null ? "" : text.toLowerCase();
+    }
+
+    boolean enthaelt(String begriff, Feld feld) {
+      if (titel.contains(begriff)) {
+        return true;
+      }
+      return feld == Feld.VOLLTEXT
+          && (beschreibung.contains(begriff) || tags.stream().anyMatch(t -> t.contains(begriff)));
+    }
+
+    Set<String> titelTrigramme() {
+      return trigramme(titel);
+    }
+
+    /** Trigramme pro Feld – nie über Feldgrenzen hinweg, da auch die Suche das nicht tut. */
+    Set<String> volltextTrigramme() {
+      Set<String> trigramme = trigramme(titel);
+      trigramme.addAll(trigramme(beschreibung));
+      tags.forEach(tag -> trigramme.addAll(trigramme(tag)));
+      return trigramme;
+    }
+  }
+
+  /** Sortierte, wachsende int-Liste von Ordinalzahlen. */
+  private static final class Postings {
+    private int[] werte = new int[4];
+    private int groesse;
+
+    void hinzufuegen(int ordinal) {
+      int position = Arrays.binarySearch(werte, 0, groesse, ordinal);
+      if (position >= 0) {
+        return;
+      }
+      position = -position - 1;
+      if (groesse == werte.length) {
+        werte = Arrays.copyOf(werte, groesse * 2);
+      }
+      System.arraycopy(werte, position, werte, position + 1, groesse - position);
+      werte[position] = ordinal;
+      groesse++;
+    }
+
+    void entfernen(int ordinal) {
+      int position = Arrays.binarySearch(werte, 0, groesse, ordinal);
+      if (position < 0) {
+        return;
+      }
+      System.arraycopy(werte, position + 1, werte, position, groesse - position - 1);
+      groesse--;
+    }
+
+    /** Entfernt alle markierten Ordinalzahlen in einem Durchlauf. */
+    void entfernen(BitSet ordinalzahlen) {
+      int behalten = 0;
+      for (int i = 0; i < groesse; i++) {
+        if (!ordinalzahlen.get(werte[i])) {
+          werte[behalten++] = werte[i];
+        }
+      }
+      groesse = behalten;
+    }
+  }
+}
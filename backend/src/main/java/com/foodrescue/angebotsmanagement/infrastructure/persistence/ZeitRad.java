@@ -0,0 +1,208 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hierarchisches Zeitrad (Timing Wheel) für Ablauftermine.
+ *
+ * <p>Ebene 0 hat {@value #SLOTS} Slots zu je einem Tick, jede weitere Ebene ist {@value #SLOTS}-mal
+ * gröber. Ein Termin landet in der niedrigsten Ebene, deren Spannweite den Abstand zum aktuellen
+ * Tick abdeckt. Erreicht das Rad den nächsten Slot einer groben Ebene, werden dessen Termine eine
+ * Ebene tiefer einsortiert, bis sie in Ebene 0 auf ihren Tick fallen. Planen kostet O(1), Vorrücken
+ * O(Ticks + fällige Termine); Bereiche ohne Termine werden übersprungen.
+ *
+ * <p>Abbrechen ist lazy: pro ID gilt nur der zuletzt geplante Termin, ältere Einträge werden beim
+ * Auslösen verworfen.
+ *
+ * <p>Nicht threadsicher – der Aufrufer synchronisiert.
+ */
+class ZeitRad {
+
+  private static final int BITS = 6;
+  private static final int SLOTS = 1 << BITS;
+  private static final int MASKE = SLOTS - 1;
+
+  /** Fünf Ebenen zu 64 Slots decken bei einer Sekunde pro Tick rund 34 Jahre ab. */
+  private static final int EBENEN = 5;
+
+  private final long tickMillis;
+  private final List<List<List<Eintrag>>> ebenen = new ArrayList<>(EBENEN);
+  private final int[] belegtProEbene = new int[EBENEN];
+
+  /** Termine, die beim Planen schon fällig waren; werden beim nächsten Vorrücken ausgelöst. */
+  private final List<Eintrag> sofortFaellig = new ArrayList<>();
+
+  /** Zuletzt geplanter Tick pro ID. */
+  private final Map<String, Long> geplant = new HashMap<>();
+
+  private long aktuellerTick;
+
+  ZeitRad(Duration tick, LocalDateTime start) {
+    Objects.requireNonNull(tick, "Tick darf nicht null sein");
+    Objects.requireNonNull(start, "Start darf nicht null sein");
+    if (tick.toMillis() <= 0) {
+      throw new IllegalArgumentException("Tick muss mindestens eine Millisekunde lang sein");
+    }
+    this.tickMillis = tick.toMillis();
+    this.aktuellerTick = Math.floorDiv(millis(start), tickMillis);
+    for (int ebene = 0; ebene < EBENEN; ebene++) {
+      List<List<Eintrag>> slots = new ArrayList<>(SLOTS);
+      for (int slot = 0; slot < SLOTS; slot++) {
+        slots.add(new ArrayList<>());
+      }
+      ebenen.add(slots);
+    }
+  }
+
+  /**
+   * Plant (oder verschiebt) den Termin einer ID. Ausgelöst wird, sobald das Rad den Tick erreicht,
+   * in dem der Termin liegt – also bis zu einem Tick zu früh, aber nie zu spät. Die exakte Prüfung
+   * gegen die Uhrzeit bleibt dem Aufrufer.
+   */
+  void planen(String id, LocalDateTime faellig) {
+    long tick = Math.floorDiv(millis(faellig), tickMillis);
+    Long bisher = geplant.put(id, tick);
+    if (bisher == null || bisher != tick) {
+      einsortieren(new Eintrag(id, tick));
+    }
+  }
+
+  /** Verwirft den geplanten Termin einer ID. */
+  void abbrechen(String id) {
+    geplant.remove(id);
+  }
+
+  /** Prüft, ob für eine ID ein Termin geplant ist. */
+  boolean istGeplant(String id) {
+    return geplant.containsKey(id);
+  }
+
+  /** Anzahl der geplanten Termine. */
+  int anzahl() {
+    return geplant.size();
+  }
+
+  /**
+   * Rückt das Rad bis {@code jetzt} vor.
+   *
+   * @return IDs aller Termine bis einschließlich des aktuellen Ticks, nach Tick sortiert
+   */
+  List<String> vorruecken(LocalDateTime jetzt) {
+    long zielTick = Math.floorDiv(millis(jetzt), tickMillis);
+    List<String> faellig = new ArrayList<>();
+    ausloesen(sofortFaellig, faellig);
+
+    while (aktuellerTick < zielTick) {
+      int leereEbenen = 0;
+      while (leereEbenen < EBENEN && belegtProEbene[leereEbenen] == 0) {
+        leereEbenen++;
+      }
+      if (leereEbenen == EBENEN) {
+        aktuellerTick = zielTick;
+        break;
+      }
+      // Sind die unteren Ebenen leer, passiert bis zur nächsten Slotgrenze der ersten belegten
+      // Ebene nichts – direkt bis kurz davor springen.
+      long letzterTickVorGrenze = aktuellerTick | ((1L << (BITS * leereEbenen)) - 1);
+      if (leereEbenen > 0 && letzterTickVorGrenze > aktuellerTick) {
+        aktuellerTick = Math.min(letzterTickVorGrenze, zielTick);
+        continue;
+      }
+
+      aktuellerTick++;
+      kaskadieren();
+      ausloesen(slot(0, aktuellerTick), faellig);
+      ausloesen(sofortFaellig, faellig);
+    }
+    return faellig;
+  }
+
+  /** Entfernt alle Termine; die aktuelle Zeit des Rads bleibt erhalten. */
+  void leeren() {
+    geplant.clear();
+    sofortFaellig.clear();
+    ebenen.forEach(slots -> slots.forEach(List::clear));
+    Arrays.fill(belegtProEbene, 0);
+  }
+
+  private void einsortieren(Eintrag eintrag) {
+    long abstand = eintrag.tick() - aktuellerTick;
+    if (abstand <= 0) {
+      sofortFaellig.add(eintrag);
+      return;
+    }
+    int ebene = 0;
+    while (ebene < EBENEN - 1 && abstand >= 1L << (BITS * (ebene + 1))) {
+      ebene++;
+    }
+    long slotTick = eintrag.tick();
+    if (abstand >= 1L << (BITS * EBENEN)) {
+      // Jenseits der obersten Ebene: im letzten erreichbaren Slot parken und später neu
+      // einsortieren
+      slotTick = aktuellerTick + (1L << (BITS * EBENEN)) - 1;
+    }
+    slot(ebene, slotTick >> (BITS * ebene)).add(eintrag);
+    belegtProEbene[ebene]++;
+  }
+
+  /** Beginnt ein Slot einer groben Ebene, werden dessen Einträge feiner neu einsortiert. */
+  private void kaskadieren() {
+    for (int ebene = EBENEN - 1; ebene > 0; ebene--) {
+      if ((aktuellerTick & ((1L << (BITS * ebene)) - 1)) != 0) {
+        continue;
+      }
+      List<Eintrag> slot = slot(ebene, aktuellerTick >> (BITS * ebene));
+      if (slot.isEmpty()) {
+        continue;
+      }
+      List<Eintrag> eintraege = new ArrayList<>(slot);
+      slot.clear();
+      belegtProEbene[ebene] -= eintraege.size();
+      for (Eintrag eintrag : eintraege) {
+        if (istAktuell(eintrag)) {
+          einsortieren(eintrag);
+        }
+      }
+    }
+  }
+
+  private void ausloesen(List<Eintrag> eintraege, List<String> faellig) {
+    if (eintraege.isEmpty()) {
+      return;
+    }
+    if (eintraege != sofortFaellig) {
+      belegtProEbene[0] -= eintraege.size();
+    }
+    for (Eintrag eintrag : eintraege) {
+      if (istAktuell(eintrag)) {
+        geplant.remove(eintrag.id());
+        faellig.add(eintrag.id());
+      }
+    }
+    eintraege.clear();
+  }
+
+  /** Nur der zuletzt geplante Termin einer ID zählt. */
+  private boolean istAktuell(Eintrag eintrag) {
+    Long tick = geplant.get(eintrag.id());
+    return tick != null && tick == eintrag.tick();
+  }
+
+  private List<Eintrag> slot(int ebene, long index) {
+    return ebenen.get(ebene).get((int) (index & MASKE));
+  }
+
+  private static long millis(LocalDateTime zeit) {
+    return zeit.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+  private record Eintrag(String id, long tick) {}
+}
@@ -0,0 +1,147 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.functional.ZeitfensterPredicate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Sortierter Zeitindex über die Abholzeitfenster (Skip-Listen nach Beginn und nach Ende).
+ *
+ * <p>Bereichsabfragen kosten O(log n + k) und liefern die Angebots-IDs bereits sortiert – nach
+ * Beginn, wenn der Beginn-Index genutzt wird, sonst nach Ende. Die Skip-Listen sind threadsicher
+ * und werden lazy durchlaufen, Abfragen sperren also nichts.
+ */
+class ZeitfensterIndex {
+
+  /** Reihenfolge von Einträgen mit gleichem Zeitpunkt: Untergrenze, Angebote, Obergrenze. */
+  private static final int UNTERGRENZE = -1;
+
+  private static final int EINTRAG = 0;
+  private static final int OBERGRENZE = 1;
+
+  private final NavigableSet<Eintrag> nachVon = new ConcurrentSkipListSet<>();
+  private final NavigableSet<Eintrag> nachBis = new ConcurrentSkipListSet<>();
+
+  /** Zuletzt indiziertes Zeitfenster pro ID, damit Änderungen den alten Eintrag entfernen. */
+  private final Map<String, AbholZeitfenster> indiziert = new ConcurrentHashMap<>();
+
+  /** Nimmt das aktuelle Zeitfenster eines Angebots auf. */
+  void indiziere(String id, AbholZeitfenster zeitfenster) {
+    if (zeitfenster == null) {
+      return;
+    }
+    indiziert.compute(
+        id,
+        (key, alt) -> {
+          if (!zeitfenster.equals(alt)) {
+            if (alt != null) {
+              nachVon.remove(new Eintrag(alt.von(), EINTRAG, key));
+              nachBis.remove(new Eintrag(alt.bis(), EINTRAG, key));
+            }
+            nachVon.add(new Eintrag(zeitfenster.von(), EINTRAG, key));
+            nachBis.add(new Eintrag(zeitfenster.bis(), EINTRAG, key));
+          }
+          return zeitfenster;
+        });
+  }
+
+  /**
+   * Kandidaten-IDs für einen Zeitfenster-Filter.
+   *
+   * <p>Bevorzugt werden Bereiche mit Untergrenze, weil sich die Historie in der Vergangenheit
+   * sammelt: "Beginn ab x" vor "Ende ab x" vor "Beginn bis x" vor "Ende bis x".
+   *
+   * @return IDs sortiert nach der genutzten Zeitachse, oder leer, wenn der Filter keine Grenze hat
+   */
+  Optional<Stream<String>> kandidaten(ZeitfensterPredicate predicate) {
+    LocalDateTime vonSpaetestens = predicate.effektivVonSpaetestens();
+    LocalDateTime bisFruehestens = predicate.effektivBisFruehestens();
+
+    if (predicate.vonFruehestens() != null) {
+      return Optional.of(bereich(nachVon, predicate.vonFruehestens(), vonSpaetestens));
+    }
+    if (bisFruehestens != null) {
+      return Optional.of(bereich(nachBis, bisFruehestens, predicate.bisSpaetestens()));
+    }
+    if (vonSpaetestens != null) {
+      return Optional.of(bereich(nachVon, null, vonSpaetestens));
+    }
+    return Optional.empty();
+  }
+
+  /** Prüft das im Index gespeicherte Zeitfenster einer ID gegen den Filter. */
+  boolean enthaelt(ZeitfensterPredicate predicate, String id) {
+    return predicate.passt(indiziert.get(id));
+  }
+
+  /**
+   * Anzahl der Einträge im genutzten Bereich, gezählt höchstens bis zur Obergrenze. Der Planer
+   * übergibt die bisher beste Schätzung und zahlt so nie mehr als den günstigsten Plan.
+   */
+  long schaetzung(ZeitfensterPredicate predicate, long obergrenze) {
+    return kandidaten(predicate).map(ids -> ids.limit(obergrenze).count()).orElse(obergrenze);
+  }
+
+  /** IDs mit Beginn im Bereich [ab, bis] (Grenzen dürfen null sein), aufsteigend nach Beginn. */
+  Stream<String> nachBeginn(LocalDateTime ab, LocalDateTime bis) {
+    return bereich(nachVon, ab, bis);
+  }
+
+  /** Nimmt eine ID ganz aus dem Index. */
+  void entferne(String id) {
+    indiziert.computeIfPresent(
+        id,
+        (key, alt) -> {
+          nachVon.remove(new Eintrag(alt.von(), EINTRAG, key));
+          nachBis.remove(new Eintrag(alt.bis(), EINTRAG, key));
+          return null;
+        });
+  }
+
+  /** Entfernt alle Einträge. */
+  void leeren() {
+    indiziert.clear();
+    nachVon.clear();
+    nachBis.clear();
+  }
+
+  private static Stream<String> bereich(
+      NavigableSet<Eintrag> index, LocalDateTime ab, LocalDateTime bis) {
+    NavigableSet<Eintrag> teil;
+    if (ab != null && bis != null) {
+      if (bis.isBefore(ab)) {
+        return Stream.empty();
+      }
+      teil =
+          index.subSet(
+              new Eintrag(ab, UNTERGRENZE, ""), true, new Eintrag(bis, OBERGRENZE, ""), true);
+    } else if (ab != null) {
+      teil = index.tailSet(new Eintrag(ab, UNTERGRENZE, ""), true);
+    } else if (bis != null) {
+      teil = index.headSet(new Eintrag(bis, OBERGRENZE, ""), true);
+    } else {
+      teil = index;
+    }
+    return teil.stream().map(Eintrag::id);
+  }
+
+  private record Eintrag(LocalDateTime zeit, int rang, String id) implements Comparable<Eintrag> {
+
+    private static final Comparator<Eintrag> REIHENFOLGE =
+        Comparator.comparing(Eintrag::zeit)
+            .thenComparingInt(Eintrag::rang)
+            .thenComparing(Eintrag::id);
+
+    @Override
+    public int compareTo(Eintrag other) {
+      return REIHENFOLGE.compare(this, other);
+    }
+  }
+}
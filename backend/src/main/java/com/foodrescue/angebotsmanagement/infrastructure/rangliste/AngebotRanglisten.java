@@ -0,0 +1,118 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+import com.foodrescue.angebotsmanagement.domain.events.AngebotVeroeffentlichtEvent;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranglisten der aktivsten Anbieter und der meistgenutzten Tags.
+ *
+ * <p>Gezählt werden Veröffentlichungen: jedes {@link AngebotVeroeffentlichtEvent} zählt einmal für
+ * den Anbieter und einmal für jedes Tag des Angebots, jeweils in allen {@link Zeitraum}en. Die
+ * Listen werden beim Event fortgeschrieben; eine Abfrage liest nur die k geführten Plätze.
+ *
+ * <p>Modus ({@code foodrescue.angebote.rangliste.modus}): {@code EXAKT} zählt genau, {@code SKIZZE}
+ * nutzt Count-Min-Sketches fester Größe für beliebig viele Schlüssel.
+ */
+@Component
+public class AngebotRanglisten {
+
+  /** Zeitfenster der Ranglisten. */
+  public enum Zeitraum {
+    STUNDE,
+    TAG,
+    GESAMT
+  }
+
+  /** Obergrenze für die Anzahl abgefragter Plätze. */
+  public static final int MAX_PLAETZE = 100;
+
+  private final AngebotRepository repository;
+  private final Map<Zeitraum, Rangliste> anbieter = new EnumMap<>(Zeitraum.class);
+  private final Map<Zeitraum, Rangliste> tags = new EnumMap<>(Zeitraum.class);
+
+  public AngebotRanglisten(
+      AngebotRepository repository,
+      @Value("${foodrescue.angebote.rangliste.modus:EXAKT}") String modus) {
+    this.repository = repository;
+    Rangliste.Modus m = parseModus(modus);
+    for (Zeitraum zeitraum : Zeitraum.values()) {
+      anbieter.put(zeitraum, neueRangliste(m, zeitraum));
+      tags.put(zeitraum, neueRangliste(m, zeitraum));
+    }
+  }
+
+  /** Stunde in 12 Schritten zu 5 Minuten, Tag in 24 Schritten zu einer Stunde. */
+  private static Rangliste neueRangliste(Rangliste.Modus modus, Zeitraum zeitraum) {
+    return switch (zeitraum) {
+      case STUNDE -> Rangliste.gleitend(modus, MAX_PLAETZE, Duration.ofHours(1), 12);
+      case TAG -> Rangliste.gleitend(modus, MAX_PLAETZE, Duration.ofDays(1), 24);
+      case GESAMT -> Rangliste.gesamt(modus, MAX_PLAETZE);
+    };
+  }
+
+  private static Rangliste.Modus parseModus(String modus) {
+    try {
+      return Rangliste.Modus.valueOf(modus.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unbekannter Ranglisten-Modus: " + modus);
+    }
+  }
+
+  @EventListener
+  public void on(AngebotVeroeffentlichtEvent event) {
+    repository
+        .findeMitId(AngebotsId.of(event.getAngebotId()))
+        .ifPresent(angebot -> zaehle(angebot, event.occurredOn()));
+  }
+
+  /** Zählt eine Veröffentlichung des Angebots; Einstieg für den Event-Handler und Tests. */
+  void zaehle(Angebot angebot, Instant zeitpunkt) {
+    String anbieterId = angebot.getAnbieterId().getValue().toString();
+    for (Zeitraum zeitraum : Zeitraum.values()) {
+      anbieter.get(zeitraum).zaehle(anbieterId, zeitpunkt);
+      for (String tag : angebot.getTags()) {
+        tags.get(zeitraum).zaehle(tag, zeitpunkt);
+      }
+    }
+  }
+
+  /** Die {@code n} Anbieter mit den meisten Veröffentlichungen im Zeitraum, absteigend. */
+  public List<Platz> anbieter(Zeitraum zeitraum, int n) {
+    return top(anbieter, zeitraum, n, Instant.now());
+  }
+
+  /** Die {@code n} Tags, die im Zeitraum am häufigsten veröffentlicht wurden, absteigend. */
+  public List<Platz> tags(Zeitraum zeitraum, int n) {
+    return top(tags, zeitraum, n, Instant.now());
+  }
+
+  List<Platz> anbieter(Zeitraum zeitraum, int n, Instant jetzt) {
+    return top(anbieter, zeitraum, n, jetzt);
+  }
+
+  List<Platz> tags(Zeitraum zeitraum, int n, Instant jetzt) {
+    return top(tags, zeitraum, n, jetzt);
+  }
+
+  private static List<Platz> top(
+      Map<Zeitraum, Rangliste> ranglisten, Zeitraum zeitraum, int n, Instant jetzt) {
+    Objects.requireNonNull(zeitraum, "Zeitraum darf nicht null sein");
+    if (n < 1 || n > MAX_PLAETZE) {
+      throw new IllegalArgumentException(
+          "Anzahl der Plätze muss zwischen 1 und " + MAX_PLAETZE + " liegen");
+    }
+    return ranglisten.get(zeitraum).top(n, jetzt);
+  }
+}
@@ -0,0 +1,37 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Exakte Zähler in einer HashMap; der Speicher wächst mit der Anzahl verschiedener Schlüssel. */
+final class ExaktesZaehlwerk implements Zaehlwerk {
+
+  private final Map<String, Long> zaehler = new HashMap<>();
+
+  @Override
+  public long erhoehe(String schluessel, long delta) {
+    Long neu = zaehler.merge(schluessel, delta, (alt, d) -> alt + d == 0 ? null : alt + d);
+    return neu == null ? 0 : neu;
+  }
+
+  @Override
+  public void abziehen(Zaehlwerk anderes) {
+    ((ExaktesZaehlwerk) anderes).zaehler.forEach((schluessel, wert) -> erhoehe(schluessel, -wert));
+  }
+
+  @Override
+  public void neuBewerten(TopKHeap heap) {
+    heap.leeren();
+    zaehler.forEach(heap::aktualisiere);
+  }
+
+  @Override
+  public boolean istLeer() {
+    return zaehler.isEmpty();
+  }
+
+  @Override
+  public void leeren() {
+    zaehler.clear();
+  }
+}
@@ -0,0 +1,9 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+/**
+ * Ein Eintrag einer Rangliste.
+ *
+ * @param schluessel Anbieter-ID bzw. Tag
+ * @param anzahl Anzahl im Zeitraum; im Modus {@link Rangliste.Modus#SKIZZE} eine obere Schätzung
+ */
+public record Platz(String schluessel, long anzahl) {}
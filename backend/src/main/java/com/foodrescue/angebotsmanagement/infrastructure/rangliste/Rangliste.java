@@ -0,0 +1,133 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Laufend aktualisierte Top-k-Liste über ein gleitendes Zeitfenster.
+ *
+ * <p>Das Fenster ist in Buckets fester Dauer geteilt (Ringpuffer). Ein Ereignis erhöht den Zähler
+ * im Bucket seines Zeitpunkts und im Fensterzähler; der {@link TopKHeap} zieht den Schlüssel in
+ * O(log k) nach. Rückt die Zeit über einen Bucket hinaus, wird dieser vom Fensterzähler abgezogen
+ * und geleert – nur dann wird der Heap neu bewertet, einmal pro Bucket statt pro Abfrage. Abfragen
+ * lesen nur den Heap: O(k log k), unabhängig von der Anzahl der Ereignisse.
+ *
+ * <p>Ereignisse, die älter als das Fenster sind, werden verworfen.
+ */
+final class Rangliste {
+
+  /** Wie gezählt wird. */
+  enum Modus {
+    /** Exakte Zähler; Speicher wächst mit den verschiedenen Schlüsseln im Fenster. */
+    EXAKT(ExaktesZaehlwerk::new),
+    /** Count-Min-Sketch: feste Größe, Anzahlen sind obere Schätzungen. */
+    SKIZZE(CountMinZaehlwerk::new);
+
+    private final Supplier<Zaehlwerk> fabrik;
+
+    Modus(Supplier<Zaehlwerk> fabrik) {
+      this.fabrik = fabrik;
+    }
+  }
+
+  private final long bucketMillis;
+  private final Zaehlwerk[] buckets;
+  private final Zaehlwerk fenster;
+  private final TopKHeap heap;
+
+  /** Nummer des jüngsten Buckets ({@code Zeit / bucketMillis}); vor dem ersten Ereignis leer. */
+  private long aktuell = Long.MIN_VALUE;
+
+  private Rangliste(Modus modus, int k, long bucketMillis, int anzahlBuckets) {
+    Objects.requireNonNull(modus, "Modus darf nicht null sein");
+    this.heap = new TopKHeap(k);
+    this.fenster = modus.fabrik.get();
+    this.bucketMillis = bucketMillis;
+    this.buckets = new Zaehlwerk[anzahlBuckets];
+    for (int i = 0; i < anzahlBuckets; i++) {
+      buckets[i] = modus.fabrik.get();
+    }
+  }
+
+  /**
+   * Rangliste über ein gleitendes Fenster.
+   *
+   * @param fenster Länge des Fensters
+   * @param anzahlBuckets Auflösung: das Fenster gleitet in Schritten von {@code fenster /
+   *     anzahlBuckets}
+   * @param k Anzahl der geführten Plätze
+   */
+  static Rangliste gleitend(Modus modus, int k, Duration fenster, int anzahlBuckets) {
+    Objects.requireNonNull(fenster, "Fenster darf nicht null sein");
+    if (anzahlBuckets < 1 || fenster.toMillis() < anzahlBuckets) {
+      throw new IllegalArgumentException("Fenster muss mindestens 1 ms pro Bucket lang sein");
+    }
+    return new Rangliste(modus, k, fenster.toMillis() / anzahlBuckets, anzahlBuckets);
+  }
+
+  /** Rangliste ohne Zeitfenster; die Zähler fallen nie, der Heap bleibt ohne Neuaufbau exakt. */
+  static Rangliste gesamt(Modus modus, int k) {
+    return new Rangliste(modus, k, 0, 0);
+  }
+
+  /** Zählt ein Ereignis für den Schlüssel zum angegebenen Zeitpunkt. */
+  synchronized void zaehle(String schluessel, Instant zeitpunkt) {
+    Objects.requireNonNull(schluessel, "Schlüssel darf nicht null sein");
+    Objects.requireNonNull(zeitpunkt, "Zeitpunkt darf nicht null sein");
+    if (buckets.length > 0) {
+      long nummer = bucketNummer(zeitpunkt);
+      vorruecken(nummer);
+      if (nummer <= aktuell - buckets.length) {
+        return; // älter als das Fenster
+      }
+      buckets[Math.floorMod(nummer, buckets.length)].erhoehe(schluessel, 1);
+    }
+    heap.aktualisiere(schluessel, fenster.erhoehe(schluessel, 1));
+  }
+
+  /** Die bis zu {@code n} Schlüssel mit den meisten Ereignissen im Fenster bis {@code jetzt}. */
+  synchronized List<Platz> top(int n, Instant jetzt) {
+    Objects.requireNonNull(jetzt, "Zeitpunkt darf nicht null sein");
+    if (buckets.length > 0) {
+      vorruecken(bucketNummer(jetzt));
+    }
+    return heap.top(n);
+  }
+
+  private long bucketNummer(Instant zeitpunkt) {
+    return Math.floorDiv(zeitpunkt.toEpochMilli(), bucketMillis);
+  }
+
+  /**
+   * Lässt alle Buckets bis einschließlich {@code nummer - buckets.length} aus dem Fenster fallen.
+   */
+  private void vorruecken(long nummer) {
+    if (nummer <= aktuell) {
+      return;
+    }
+    boolean gefallen = false;
+    if (aktuell == Long.MIN_VALUE || nummer - aktuell >= buckets.length) {
+      gefallen = !fenster.istLeer();
+      for (Zaehlwerk bucket : buckets) {
+        bucket.leeren();
+      }
+      fenster.leeren();
+    } else {
+      for (long n = aktuell + 1; n <= nummer; n++) {
+        Zaehlwerk bucket = buckets[Math.floorMod(n, buckets.length)]; // enthält Bucket n - Länge
+        if (!bucket.istLeer()) {
+          fenster.abziehen(bucket);
+          bucket.leeren();
+          gefallen = true;
+        }
+      }
+    }
+    aktuell = nummer;
+    if (gefallen) {
+      fenster.neuBewerten(heap);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Min-Heap der k größten Zähler.
+ *
+ * <p>Die Wurzel ist der kleinste der k Plätze: ein neuer Schlüssel muss nur gegen sie antreten.
+ * Über die Positionstabelle wird ein bereits enthaltener Schlüssel in O(log k) nachgezogen, ohne
+ * den Heap zu durchsuchen. Steigende Zähler hält der Heap damit exakt; fallen Zähler, kann ein
+ * Schlüssel außerhalb des Heaps vorbeiziehen – dann baut der Aufrufer ihn über {@link
+ * #neuBewerten(ToLongFunction)} bzw. {@link #leeren()} neu auf.
+ *
+ * <p>Nicht threadsicher – der Aufrufer synchronisiert.
+ */
+final class TopKHeap {
+
+  private static final Comparator<Platz> ABSTEIGEND =
+      Comparator.comparingLong(Platz::anzahl).reversed().thenComparing(Platz::schluessel);
+
+  private final int kapazitaet;
+  private final String[] schluessel;
+  private final long[] werte;
+  private final Map<String, Integer> position = new HashMap<>();
+  private int groesse;
+
+  TopKHeap(int kapazitaet) {
+    if (kapazitaet < 1) {
+      throw new IllegalArgumentException("Kapazität muss mindestens 1 sein");
+    }
+    this.kapazitaet = kapazitaet;
+    this.schluessel = new String[kapazitaet];
+    this.werte = new long[kapazitaet];
+  }
+
+  int kapazitaet() {
+    return kapazitaet;
+  }
+
+  int groesse() {
+    return groesse;
+  }
+
+  /** Setzt den Zähler eines Schlüssels; Werte ≤ 0 nehmen ihn aus dem Heap. */
+  void aktualisiere(String key, long wert) {
+    Integer pos = position.get(key);
+    if (pos != null) {
+      if (wert <= 0) {
+        entferne(pos);
+        return;
+      }
+      long alt = werte[pos];
+      werte[pos] = wert;
+      if (wert > alt) {
+        runter(pos);
+      } else {
+        hoch(pos);
+      }
+      return;
+    }
+    if (wert <= 0) {
+      return;
+    }
+    if (groesse < kapazitaet) {
+      setze(groesse, key, wert);
+      hoch(groesse++);
+    } else if (wert > werte[0]) {
+      position.remove(schluessel[0]);
+      setze(0, key, wert);
+      runter(0);
+    }
+  }
+
+  /** Bewertet alle enthaltenen Schlüssel neu, z.B. nachdem Zähler gefallen sind. */
+  void neuBewerten(ToLongFunction<String> zaehler) {
+    List<String> enthalten = new ArrayList<>(groesse);
+    for (int i = 0; i < groesse; i++) {
+      enthalten.add(schluessel[i]);
+    }
+    leeren();
+    for (String key : enthalten) {
+      aktualisiere(key, zaehler.applyAsLong(key));
+    }
+  }
+
+  void leeren() {
+    for (int i = 0; i < groesse; i++) {
+      schluessel[i] = null;
+    }
+    position.clear();
+    groesse = 0;
+  }
+
+  /**
+   * Die bis zu {@code n} größten Einträge, absteigend; O(k log k) unabhängig von der Datenmenge.
+   */
+  List<Platz> top(int n) {
+    List<Platz> plaetze = new ArrayList<>(groesse);
+    for (int i = 0; i < groesse; i++) {
+      plaetze.add(new Platz(schluessel[i], werte[i]));
+    }
+    plaetze.sort(ABSTEIGEND);
+    return List.copyOf(plaetze.subList(0, Math.min(n, plaetze.size())));
+  }
+
+  private void entferne(int pos) {
+    position.remove(schluessel[pos]);
+    int letzte = --groesse;
+    if (pos != letzte) {
+      setze(pos, schluessel[letzte], werte[letzte]);
+      schluessel[letzte] = null;
+      hoch(pos);
+      runter(position.get(schluessel[pos]));
+    } else {
+      schluessel[letzte] = null;
+    }
+  }
+
+  private void hoch(int pos) {
+    while (pos > 0) {
+      int eltern = (pos - 1) / 2;
+      if (werte[eltern] <= werte[pos]) {
+        return;
+      }
+      tausche(pos, eltern);
+      pos = eltern;
+    }
+  }
+
+  private void runter(int pos) {
+    while (true) {
+      int links = 2 * pos + 1;
+      if (links >= groesse) {
+        return;
+      }
+      int kleinstes = links + 1 < groesse && werte[links + 1] < werte[links] ? links + 1 : links;
+      if (werte[pos] <= werte[kleinstes]) {
+        return;
+      }
+      tausche(pos, kleinstes);
+      pos = kleinstes;
+    }
+  }
+
+  private void tausche(int a, int b) {
+    String s = schluessel[a];
+    long w = werte[a];
+    setze(a, schluessel[b], werte[b]);
+    setze(b, s, w);
+  }
+
+  private void setze(int pos, String key, long wert) {
+    schluessel[pos] = key;
+    werte[pos] = wert;
+    position.put(key, pos);
+  }
+}
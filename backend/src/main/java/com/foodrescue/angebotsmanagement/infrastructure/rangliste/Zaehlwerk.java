@@ -0,0 +1,29 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+/**
+ * Zähler pro Schlüssel für eine {@link Rangliste}: exakt oder als Skizze mit fester Größe.
+ *
+ * <p>Nicht threadsicher – die Rangliste synchronisiert.
+ */
+interface Zaehlwerk {
+
+  /**
+   * Erhöht den Zähler eines Schlüssels.
+   *
+   * @return der neue (ggf. geschätzte) Stand
+   */
+  long erhoehe(String schluessel, long delta);
+
+  /** Zieht ein anderes Zählwerk gleicher Art ab, z.B. einen aus dem Fenster gefallenen Bucket. */
+  void abziehen(Zaehlwerk anderes);
+
+  /**
+   * Zieht den Heap nach, nachdem Zähler gefallen sind. Exakte Zähler bauen ihn aus allen Schlüsseln
+   * neu auf, Skizzen bewerten nur die enthaltenen Schlüssel neu.
+   */
+  void neuBewerten(TopKHeap heap);
+
+  boolean istLeer();
+
+  void leeren();
+}
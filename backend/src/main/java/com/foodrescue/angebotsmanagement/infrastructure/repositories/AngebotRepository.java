@@ -2,15 +2,303 @@ package com.foodrescue.angebotsmanagement.infrastructure.repositories;
 
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface AngebotRepository {
+  /**
+   * Speichert den aktuellen Zustand des Angebots und publiziert dessen Events.
+   *
+   * <p>Implementierungen können einen {@link Angebot#schnappschuss() Schnappschuss} ablegen; die
+   * Lesemethoden liefern dann unveränderliche Objekte. Zum Ändern eines geladenen Angebots daher
+   * immer {@link Angebot#kopie()} ändern und speichern.
+   *
+   * @return das übergebene Angebot
+   */
   Angebot speichern(Angebot angebot);
 
+  /**
+   * Speichert mehrere Angebote, z.B. beim Anlegen im Stapel. Der Standard ruft {@link
+   * #speichern(Angebot)} pro Angebot auf; Implementierungen können die Indizes in einem Durchgang
+   * nachziehen und die Events erst nach dem ganzen Stapel publizieren.
+   *
+   * @return Die gespeicherten Angebote in der Reihenfolge der Eingabe
+   */
+  default List<Angebot> speichernAlle(List<Angebot> angebote) {
+    Objects.requireNonNull(angebote, "Angebote dürfen nicht null sein");
+    return angebote.stream().map(this::speichern).toList();
+  }
+
   Optional<Angebot> findeMitId(AngebotsId id);
 
+  /**
+   * Lädt ein Angebot zum optimistischen Ändern: eine Kopie, die der Aufrufer ungestört ändern kann,
+   * und die Version, gegen die {@link #speichernWennUnveraendert(Angebot, long)} prüft.
+   *
+   * <p>Der Standard kopiert den Stand aus {@link #findeStandMitId(AngebotsId)}.
+   *
+   * @throws UnsupportedOperationException wenn das Angebot existiert, aber keine Version hat
+   */
+  default Optional<AngebotStand> ladeZumAendern(AngebotsId id) {
+    return findeStandMitId(id)
+        .map(stand -> new AngebotStand(stand.angebot().kopie(), stand.version()));
+  }
+
+  /**
+   * Gespeicherter Stand samt Version, z.B. für einen Cache, dessen ETag zum Inhalt passen muss. Das
+   * Angebot bleibt hier der unveränderliche Schnappschuss des Repositories.
+   *
+   * <p>Der Standard liest erst {@link #versionVon(AngebotsId)}, dann das Angebot; der Inhalt ist
+   * also höchstens neuer als seine Version. Implementierungen mit einer Abfrage für beides
+   * überschreiben das. Ohne Versionen gibt es keine Konflikterkennung; ein vorhandenes Angebot ohne
+   * Version ist daher ein Fehler, statt optimistisches Sperren nur vorzutäuschen.
+   *
+   * @throws UnsupportedOperationException wenn das Angebot existiert, aber keine Version hat
+   */
+  default Optional<AngebotStand> findeStandMitId(AngebotsId id) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    OptionalLong version = versionVon(id);
+    Optional<Angebot> angebot = findeMitId(id);
+    if (angebot.isPresent() && version.isEmpty()) {
+      throw new UnsupportedOperationException(
+          getClass().getSimpleName() + " führt keine Versionen und kann nicht bedingt ändern");
+    }
+    return angebot.map(a -> new AngebotStand(a, version.getAsLong()));
+  }
+
+  /**
+   * Speichert das Angebot nur, wenn seit dem Laden (siehe {@link #ladeZumAendern(AngebotsId)})
+   * niemand anderes gespeichert hat (Compare-and-Set). Ein Konflikt ist kein Fehler, sondern das
+   * Ergebnis {@code false}; das Angebot wurde dann weder gespeichert noch wurden Events publiziert.
+   *
+   * <p>Der Standard prüft und speichert unter dem Monitor des Repositories; das schützt nur gegen
+   * andere bedingte Speicherungen über diesen Standard, nicht gegen ein paralleles {@link
+   * #speichern(Angebot)}. Implementierungen mit Versionen setzen den Vergleich atomar mit dem
+   * Schreiben um. Ohne Version gilt jeder Vergleich als Konflikt.
+   *
+   * @return true, wenn gespeichert wurde; false bei einem Konflikt
+   */
+  default boolean speichernWennUnveraendert(Angebot angebot, long erwarteteVersion) {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+    synchronized (this) {
+      OptionalLong version = versionVon(angebot.getAngebotsId());
+      if (version.isEmpty() || version.getAsLong() != erwarteteVersion) {
+        return false;
+      }
+      speichern(angebot);
+      return true;
+    }
+  }
+
+  /**
+   * Bedingtes Speichern für einen Stapel (siehe {@link #speichernWennUnveraendert(Angebot, long)}):
+   * jedes Angebot wird nur gespeichert, wenn seine Version noch stimmt, die übrigen sind Konflikte.
+   * Der Standard ruft {@link #speichernWennUnveraendert(Angebot, long)} pro Stand auf;
+   * Implementierungen prüfen und schreiben den Stapel in einem Durchgang und publizieren die Events
+   * erst danach.
+   *
+   * @return Die IDs der nicht gespeicherten Angebote in der Reihenfolge der Eingabe
+   */
+  default List<AngebotsId> speichernAlleWennUnveraendert(List<AngebotStand> staende) {
+    Objects.requireNonNull(staende, "Stände dürfen nicht null sein");
+    List<AngebotsId> konflikte = new ArrayList<>();
+    for (AngebotStand stand : staende) {
+      if (!speichernWennUnveraendert(stand.angebot(), stand.version())) {
+        konflikte.add(stand.angebot().getAngebotsId());
+      }
+    }
+    return konflikte;
+  }
+
   List<Angebot> findeAlleVerfuegbar();
 
-  List<Angebot> findeFuerAnbieter(String anbieterId);
+  List<Angebot> findeFuerAnbieter(UserId anbieterId);
+
+  /**
+   * Versionsstempel eines Angebots. Er wächst mit jedem {@link #speichern(Angebot)} des Angebots
+   * streng monoton und eignet sich damit als starkes ETag.
+   *
+   * @return die Version, oder leer, wenn das Angebot unbekannt ist oder die Implementierung keine
+   *     Versionen führt
+   */
+  default OptionalLong versionVon(AngebotsId id) {
+    return OptionalLong.empty();
+  }
+
+  /**
+   * Versionsabfrage für viele gelesene Angebote, z.B. beim Mappen einer Liste: liefert die Version
+   * genau des übergebenen Stands. Wurde das Angebot seit dem Lesen neu gespeichert – oder lässt
+   * sich das nicht feststellen –, bleibt sie leer. Caches mappen dann ungecacht, statt einen alten
+   * Stand unter der neuen Version abzulegen.
+   *
+   * <p>Die Funktion läuft direkt auf der Implementierung, also ohne erneut durch Proxies
+   * (Logging-Aspekt) zu gehen.
+   */
+  default Function<Angebot, OptionalLong> versionen() {
+    return angebot -> OptionalLong.empty();
+  }
+
+  /**
+   * Version des gesamten Katalogs; wächst mit jedem Speichern eines beliebigen Angebots.
+   *
+   * @return die Version, oder leer, wenn die Implementierung keine Versionen führt
+   */
+  default OptionalLong katalogVersion() {
+    return OptionalLong.empty();
+  }
+
+  /**
+   * Laufende Zähler pro Status, Anbieter und Tag.
+   *
+   * <p>Der Standard baut die Statistik bei jedem Aufruf aus {@link #findeAlleVerfuegbar()} auf und
+   * kennt daher nur verfügbare Angebote; Implementierungen pflegen sie beim Speichern mit und
+   * liefern alle Status.
+   */
+  default AngebotStatistik statistik() {
+    return AngebotStatistik.aus(findeAlleVerfuegbar());
+  }
+
+  /**
+   * Verfügbare Angebote als Stream, z.B. für Streaming-Antworten. Implementierungen sollen lazy aus
+   * ihrer Datenstruktur lesen, statt vorher eine Liste aufzubauen.
+   */
+  default Stream<Angebot> streameVerfuegbar() {
+    return findeAlleVerfuegbar().stream();
+  }
+
+  /** Angebote eines Anbieters als Stream (siehe {@link #streameVerfuegbar()}). */
+  default Stream<Angebot> streameFuerAnbieter(UserId anbieterId) {
+    return findeFuerAnbieter(anbieterId).stream();
+  }
+
+  /** Status, in denen ein Angebot noch aktiv ist; alle übrigen sind Endzustände (Historie). */
+  Set<Angebot.Status> AKTIVE_STATUS =
+      Set.of(Angebot.Status.ENTWURF, Angebot.Status.VERFUEGBAR, Angebot.Status.RESERVIERT);
+
+  /**
+   * Nur die {@link #AKTIVE_STATUS aktiven} Angebote eines Anbieters, ohne Historie – für häufige
+   * Aufrufer wie Umkreissuche und Sammeloperationen. Der Standard filtert {@link
+   * #streameFuerAnbieter(UserId)}; Implementierungen mit Archiv lesen es hier gar nicht erst.
+   */
+  default Stream<Angebot> streameAktiveFuerAnbieter(UserId anbieterId) {
+    return streameFuerAnbieter(anbieterId)
+        .filter(angebot -> AKTIVE_STATUS.contains(angebot.getStatus()));
+  }
+
+  /**
+   * Variante für Anbieter-IDs als String. Die ID wird einmalig in eine {@link UserId} geparst;
+   * Strings, die keine UUID sind, liefern – wie bisher – eine leere Liste.
+   */
+  default List<Angebot> findeFuerAnbieter(String anbieterId) {
+    Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+    UUID uuid;
+    try {
+      uuid = UUID.fromString(anbieterId);
+    } catch (IllegalArgumentException e) {
+      return List.of();
+    }
+    return findeFuerAnbieter(new UserId(uuid));
+  }
+
+  /**
+   * Verfügbare Angebote, die zum Suchbegriff passen (siehe {@link Angebot#passztZuSuchbegriff}).
+   */
+  default List<Angebot> sucheVerfuegbar(String suchbegriff) {
+    Objects.requireNonNull(suchbegriff, "Suchbegriff darf nicht null sein");
+    return findeAlleVerfuegbar().stream().filter(a -> a.passztZuSuchbegriff(suchbegriff)).toList();
+  }
+
+  /**
+   * Verfügbare Angebote, deren Abholzeitfenster nach dem Zeitpunkt beginnt – aufsteigend nach
+   * Beginn sortiert. Implementierungen mit Zeitindex liefern die Reihenfolge ohne Nachsortieren.
+   */
+  default List<Angebot> findeVerfuegbarMitBeginnNach(LocalDateTime zeitpunkt) {
+    Objects.requireNonNull(zeitpunkt, "Zeitpunkt darf nicht null sein");
+    return findeAlleVerfuegbar().stream()
+        .filter(a -> a.getZeitfenster().von().isAfter(zeitpunkt))
+        .sorted(Comparator.comparing(a -> a.getZeitfenster().von()))
+        .toList();
+  }
+
+  /** Versuche pro Angebot in {@link #laufeAbWennFaellig}, bevor ein Konflikt aufgegeben wird. */
+  int MAX_ABLAUF_VERSUCHE = 3;
+
+  /**
+   * Markiert alle verfügbaren Angebote, deren Abholzeitfenster spätestens {@code jetzt} geendet
+   * hat, als abgelaufen und speichert sie; dabei wird je ein AngebotAbgelaufenEvent publiziert. Der
+   * Standard prüft alle verfügbaren Angebote, Implementierungen mit Ablaufplan nur die fälligen.
+   *
+   * @param jetzt Der aktuelle Zeitpunkt
+   * @return Die abgelaufenen Angebote
+   */
+  default List<Angebot> laufeAb(LocalDateTime jetzt) {
+    Objects.requireNonNull(jetzt, "Zeitpunkt darf nicht null sein");
+    return findeAlleVerfuegbar().stream()
+        .filter(a -> !a.getZeitfenster().istNochAktuell(jetzt))
+        .map(a -> laufeAbWennFaellig(a.getAngebotsId(), jetzt))
+        .flatMap(Optional::stream)
+        .toList();
+  }
+
+  /**
+   * Lässt ein einzelnes Angebot ablaufen, wenn es noch verfügbar und sein Zeitfenster vorbei ist.
+   *
+   * <p>Geladen und gespeichert wird über {@link #ladeZumAendern(AngebotsId)} und {@link
+   * #speichernWennUnveraendert(Angebot, long)}: eine Reservierung, die zwischen Prüfen und
+   * Speichern gewonnen hat, wird nie mit ABGELAUFEN überschrieben. Nach einem Konflikt wird neu
+   * geladen und geprüft, höchstens {@value #MAX_ABLAUF_VERSUCHE}-mal.
+   *
+   * @return Das abgelaufene Angebot, oder leer, wenn es nicht (mehr) fällig ist
+   */
+  default Optional<Angebot> laufeAbWennFaellig(AngebotsId id, LocalDateTime jetzt) {
+    Objects.requireNonNull(id, "AngebotsId darf nicht null sein");
+    Objects.requireNonNull(jetzt, "Zeitpunkt darf nicht null sein");
+    for (int versuch = 0; versuch < MAX_ABLAUF_VERSUCHE; versuch++) {
+      Optional<AngebotStand> stand = ladeZumAendern(id);
+      if (stand.isEmpty()
+          || stand.get().angebot().getStatus() != Angebot.Status.VERFUEGBAR
+          || stand.get().angebot().getZeitfenster().istNochAktuell(jetzt)) {
+        return Optional.empty();
+      }
+      Angebot angebot = stand.get().angebot();
+      angebot.markiereAlsAbgelaufen(jetzt);
+      if (speichernWennUnveraendert(angebot, stand.get().version())) {
+        return Optional.of(angebot);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Liest eine Seite verfügbarer Angebote in stabiler Sortierung (Keyset-Paginierung).
+   *
+   * <p>Der Standard sortiert alle verfügbaren Angebote; Implementierungen mit sortierten Indizes
+   * setzen direkt hinter der Position auf, sodass Seite N so viel kostet wie Seite 1.
+   *
+   * @param sortierung Sortierschlüssel
+   * @param nach Position des letzten Angebots der vorherigen Seite, oder null für die erste Seite
+   * @param limit Maximale Anzahl Angebote der Seite (mindestens 1)
+   * @return Die Seite samt Position für die nächste Seite
+   */
+  default AngebotSeite findeVerfuegbarSeite(
+      AngebotSeite.Sortierung sortierung, AngebotSeite.Position nach, int limit) {
+    AngebotSeite.pruefeAnfrage(sortierung, nach, limit);
+    List<Angebot> kandidaten =
+        findeAlleVerfuegbar().stream()
+            .filter(a -> nach == null || sortierung.liegtHinter(a, nach))
+            .sorted(sortierung.reihenfolge())
+            .limit(limit + 1L)
+            .toList();
+    return AngebotSeite.aus(kandidaten, sortierung, limit);
+  }
 }
@@ -0,0 +1,111 @@
+package com.foodrescue.angebotsmanagement.infrastructure.repositories;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Eine Seite verfügbarer Angebote für die Keyset-Paginierung.
+ *
+ * <p>Statt eines Offsets merkt sich der Aufrufer die {@link Position} des letzten Angebots und
+ * liest die nächste Seite "hinter" diesem Schlüssel weiter. Die Sortierung ist über die ID als
+ * zweiten Schlüssel total, Einfügungen und Löschungen verschieben deshalb keine Einträge zwischen
+ * den Seiten.
+ *
+ * @param angebote Die Angebote dieser Seite
+ * @param weiter Position für die nächste Seite, oder null, wenn dies die letzte Seite ist
+ */
+public record AngebotSeite(List<Angebot> angebote, Position weiter) {
+
+  public AngebotSeite {
+    angebote = List.copyOf(angebote);
+  }
+
+  /** Stabile Sortierschlüssel. */
+  public enum Sortierung {
+    /** Beginn des Abholzeitfensters, früheste zuerst. */
+    BEGINN(angebot -> angebot.getZeitfenster().von(), false),
+    /** Ende des Abholzeitfensters, bald endende zuerst. */
+    ENDE(angebot -> angebot.getZeitfenster().bis(), false),
+    /** Erstellungszeitpunkt, neueste zuerst. */
+    NEUESTE(Angebot::getErstelltAm, true);
+
+    private final Function<Angebot, LocalDateTime> schluessel;
+    private final boolean absteigend;
+
+    Sortierung(Function<Angebot, LocalDateTime> schluessel, boolean absteigend) {
+      this.schluessel = schluessel;
+      this.absteigend = absteigend;
+    }
+
+    public LocalDateTime schluessel(Angebot angebot) {
+      return schluessel.apply(angebot);
+    }
+
+    public boolean istAbsteigend() {
+      return absteigend;
+    }
+
+    /** Reihenfolge der Angebote: Zeitschlüssel, bei Gleichstand die ID. */
+    public Comparator<Angebot> reihenfolge() {
+      Comparator<Angebot> aufsteigend =
+          Comparator.comparing(this::schluessel).thenComparing(Angebot::getId);
+      return absteigend ? aufsteigend.reversed() : aufsteigend;
+    }
+
+    /** Prüft, ob ein Angebot in dieser Sortierung hinter der Position liegt. */
+    public boolean liegtHinter(Angebot angebot, Position position) {
+      int vergleich = schluessel(angebot).compareTo(position.zeit());
+      if (vergleich == 0) {
+        vergleich = angebot.getId().compareTo(position.id());
+      }
+      return absteigend ? vergleich < 0 : vergleich > 0;
+    }
+  }
+
+  /**
+   * Schlüssel des letzten Angebots einer Seite.
+   *
+   * @param sortierung Sortierung, in der die Position gilt
+   * @param zeit Zeitschlüssel des Angebots
+   * @param id ID des Angebots (zweiter Schlüssel)
+   */
+  public record Position(Sortierung sortierung, LocalDateTime zeit, String id) {
+
+    public Position {
+      Objects.requireNonNull(sortierung, "Sortierung darf nicht null sein");
+      Objects.requireNonNull(zeit, "Zeit darf nicht null sein");
+      Objects.requireNonNull(id, "Id darf nicht null sein");
+    }
+
+    public static Position von(Sortierung sortierung, Angebot angebot) {
+      return new Position(sortierung, sortierung.schluessel(angebot), angebot.getId());
+    }
+  }
+
+  /**
+   * Baut eine Seite aus bis zu {@code limit + 1} sortierten Kandidaten. Gibt es mehr als {@code
+   * limit}, folgt eine weitere Seite hinter dem letzten übernommenen Angebot.
+   */
+  public static AngebotSeite aus(List<Angebot> kandidaten, Sortierung sortierung, int limit) {
+    if (kandidaten.size() <= limit) {
+      return new AngebotSeite(kandidaten, null);
+    }
+    List<Angebot> seite = kandidaten.subList(0, limit);
+    return new AngebotSeite(seite, Position.von(sortierung, seite.get(limit - 1)));
+  }
+
+  /** Prüft Limit und Position einer Seitenanfrage. */
+  public static void pruefeAnfrage(Sortierung sortierung, Position nach, int limit) {
+    Objects.requireNonNull(sortierung, "Sortierung darf nicht null sein");
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit muss mindestens 1 sein");
+    }
+    if (nach != null && nach.sortierung() != sortierung) {
+      throw new IllegalArgumentException("Position gehört zu einer anderen Sortierung");
+    }
+  }
+}
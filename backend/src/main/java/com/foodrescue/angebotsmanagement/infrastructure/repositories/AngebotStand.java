@@ -0,0 +1,21 @@
+package com.foodrescue.angebotsmanagement.infrastructure.repositories;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.Objects;
+
+/**
+ * Ein Angebot samt der Version, von der es stammt: zum optimistischen Ändern eine private Kopie
+ * ({@link AngebotRepository#ladeZumAendern}), sonst der gespeicherte Schnappschuss ({@link
+ * AngebotRepository#findeStandMitId}).
+ *
+ * @param angebot Kopie oder Schnappschuss des gespeicherten Angebots; Änderungen an einer Kopie
+ *     sind für andere unsichtbar, bis sie mit {@link AngebotRepository#speichernWennUnveraendert}
+ *     zurückgeschrieben werden
+ * @param version Version des gespeicherten Angebots beim Laden
+ */
+public record AngebotStand(Angebot angebot, long version) {
+
+  public AngebotStand {
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+  }
+}
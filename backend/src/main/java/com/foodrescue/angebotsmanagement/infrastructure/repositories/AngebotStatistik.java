@@ -0,0 +1,196 @@
+package com.foodrescue.angebotsmanagement.infrastructure.repositories;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Laufend gepflegte Zähler über den Angebotskatalog (Projektion).
+ *
+ * <p>Das Repository meldet jeden Zustand eines Angebots über {@link #erfassen(String, Angebot)};
+ * die Projektion merkt sich den zuletzt gezählten Stand pro ID und verbucht nur die Differenz. Die
+ * Abfragen lesen dadurch nur die Zähler: O(1) pro Status, O(k) für k Anbieter bzw. Tags – ohne
+ * Durchlauf über die Angebote.
+ *
+ * <ul>
+ *   <li>pro Status: alle gespeicherten Angebote
+ *   <li>pro Anbieter und pro Tag: nur verfügbare Angebote (wie die bisherigen Auswertungen)
+ * </ul>
+ *
+ * <p>Die Zähler sind {@link LongAdder}s, parallele Speicherungen verschiedener Angebote
+ * konkurrieren also nicht um dieselbe Speicherzelle. Eine Abfrage über mehrere Zähler ist keine
+ * atomare Momentaufnahme; während paralleler Speicherungen können die Summen kurz
+ * auseinanderlaufen.
+ */
+public final class AngebotStatistik {
+
+  /** Der zuletzt gezählte Stand eines Angebots. */
+  private record Stand(Angebot.Status status, String anbieter, Set<String> tags) {
+    static Stand von(Angebot angebot) {
+      return new Stand(
+          angebot.getStatus(), angebot.getAnbieterId().getValue().toString(), angebot.getTags());
+    }
+
+    boolean verfuegbar() {
+      return status == Angebot.Status.VERFUEGBAR;
+    }
+  }
+
+  private final Map<String, Stand> gezaehlt = new ConcurrentHashMap<>();
+  private final Map<Angebot.Status, LongAdder> proStatus = new EnumMap<>(Angebot.Status.class);
+  private final Map<String, LongAdder> verfuegbarProAnbieter = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> verfuegbarProTag = new ConcurrentHashMap<>();
+
+  public AngebotStatistik() {
+    for (Angebot.Status status : Angebot.Status.values()) {
+      proStatus.put(status, new LongAdder());
+    }
+  }
+
+  /** Baut eine Statistik aus einer Momentaufnahme, z.B. für Repositories ohne eigene Projektion. */
+  public static AngebotStatistik aus(Collection<Angebot> angebote) {
+    AngebotStatistik statistik = new AngebotStatistik();
+    angebote.forEach(angebot -> statistik.erfassen(angebot.getId(), angebot));
+    return statistik;
+  }
+
+  /**
+   * Baut eine Statistik aus fertigen Zählern, z.B. aus Aggregatabfragen einer Datenbank. Sie kennt
+   * keine Stände pro ID und ist nur zum Lesen gedacht.
+   */
+  public static AngebotStatistik aus(
+      Map<Angebot.Status, Long> proStatus,
+      Map<String, Long> verfuegbarProAnbieter,
+      Map<String, Long> verfuegbarProTag) {
+    AngebotStatistik statistik = new AngebotStatistik();
+    proStatus.forEach((status, anzahl) -> statistik.proStatus.get(status).add(anzahl));
+    verfuegbarProAnbieter.forEach(
+        (anbieter, anzahl) ->
+            statistik
+                .verfuegbarProAnbieter
+                .computeIfAbsent(anbieter, k -> new LongAdder())
+                .add(anzahl));
+    verfuegbarProTag.forEach(
+        (tag, anzahl) ->
+            statistik.verfuegbarProTag.computeIfAbsent(tag, k -> new LongAdder()).add(anzahl));
+    return statistik;
+  }
+
+  /**
+   * Verbucht den aktuellen Zustand eines Angebots.
+   *
+   * <p>compute() sperrt den Eintrag der ID: parallele Speicherungen desselben Angebots werden
+   * nacheinander verbucht, der alte Stand also nie doppelt oder gar nicht abgezogen.
+   */
+  public void erfassen(String id, Angebot angebot) {
+    Objects.requireNonNull(id, "ID darf nicht null sein");
+    Objects.requireNonNull(angebot, "Angebot darf nicht null sein");
+
+    Stand neu = Stand.von(angebot);
+    gezaehlt.compute(
+        id,
+        (key, alt) -> {
+          if (neu.equals(alt)) {
+            return alt;
+          }
+          if (alt != null) {
+            verbuchen(alt, -1);
+          }
+          verbuchen(neu, 1);
+          return neu;
+        });
+  }
+
+  private void verbuchen(Stand stand, int delta) {
+    proStatus.get(stand.status()).add(delta);
+    if (!stand.verfuegbar()) {
+      return;
+    }
+    verfuegbarProAnbieter.computeIfAbsent(stand.anbieter(), k -> new LongAdder()).add(delta);
+    for (String tag : stand.tags()) {
+      verfuegbarProTag.computeIfAbsent(tag, k -> new LongAdder()).add(delta);
+    }
+  }
+
+  /**
+   * Vergisst den Stand eines archivierten Angebots, ohne die Zähler zu ändern: das Angebot zählt
+   * weiter mit, belegt aber keinen Eintrag pro ID mehr.
+   */
+  public void archivieren(String id) {
+    Objects.requireNonNull(id, "ID darf nicht null sein");
+    gezaehlt.remove(id);
+  }
+
+  /**
+   * Gegenstück zu {@link #archivieren(String)}, bevor ein archiviertes Angebot erneut erfasst wird:
+   * setzt den gezählten Stand wieder ein, damit das nächste {@link #erfassen} ihn abzieht statt das
+   * Angebot doppelt zu zählen.
+   */
+  public void reaktivieren(String id, Angebot archiviert) {
+    Objects.requireNonNull(id, "ID darf nicht null sein");
+    Objects.requireNonNull(archiviert, "Angebot darf nicht null sein");
+    gezaehlt.putIfAbsent(id, Stand.von(archiviert));
+  }
+
+  /** Setzt alle Zähler zurück. */
+  public void leeren() {
+    gezaehlt.clear();
+    proStatus.values().forEach(LongAdder::reset);
+    verfuegbarProAnbieter.clear();
+    verfuegbarProTag.clear();
+  }
+
+  /** Anzahl der Angebote mit diesem Status. */
+  public long anzahl(Angebot.Status status) {
+    Objects.requireNonNull(status, "Status darf nicht null sein");
+    return proStatus.get(status).sum();
+  }
+
+  /** Anzahl aller Angebote, unabhängig vom Status. */
+  public long gesamt() {
+    long summe = 0;
+    for (LongAdder zaehler : proStatus.values()) {
+      summe += zaehler.sum();
+    }
+    return summe;
+  }
+
+  /** Anzahl pro Status, alle Status enthalten. */
+  public Map<Angebot.Status, Long> proStatus() {
+    Map<Angebot.Status, Long> ergebnis = new EnumMap<>(Angebot.Status.class);
+    proStatus.forEach((status, zaehler) -> ergebnis.put(status, zaehler.sum()));
+    return ergebnis;
+  }
+
+  /** Verfügbare Angebote pro Anbieter (AnbieterId als String); Anbieter ohne Angebot fehlen. */
+  public Map<String, Long> verfuegbarProAnbieter() {
+    return positive(verfuegbarProAnbieter);
+  }
+
+  /** Verfügbare Angebote pro Tag; Tags ohne verfügbares Angebot fehlen. */
+  public Map<String, Long> verfuegbarProTag() {
+    return positive(verfuegbarProTag);
+  }
+
+  /**
+   * Zähler, die auf 0 gefallen sind, bleiben stehen (ein Entfernen könnte eine parallele Buchung
+   * verlieren) und werden erst beim Lesen ausgeblendet.
+   */
+  private static Map<String, Long> positive(Map<String, LongAdder> zaehler) {
+    Map<String, Long> ergebnis = new HashMap<>();
+    zaehler.forEach(
+        (schluessel, adder) -> {
+          long wert = adder.sum();
+          if (wert > 0) {
+            ergebnis.put(schluessel, wert);
+          }
+        });
+    return ergebnis;
+  }
+}
@@ -0,0 +1,18 @@
+package com.foodrescue.angebotsmanagement.infrastructure.repositories;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Das Repository hat Angebote im Endzustand aus dem Heap ins Archiv verschoben. Caches, die Daten
+ * pro Angebot halten, können diese IDs vergessen; gelesen werden sie künftig frisch dekodiert.
+ *
+ * @param ids IDs der archivierten Angebote eines Stapels
+ */
+public record AngeboteArchiviertEvent(List<String> ids) {
+
+  public AngeboteArchiviertEvent {
+    Objects.requireNonNull(ids, "IDs dürfen nicht null sein");
+    ids = List.copyOf(ids);
+  }
+}
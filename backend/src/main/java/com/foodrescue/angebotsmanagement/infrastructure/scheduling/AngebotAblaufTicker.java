@@ -0,0 +1,40 @@
+package com.foodrescue.angebotsmanagement.infrastructure.scheduling;
+
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Treibt den Ablauf verfügbarer Angebote im Hintergrund an.
+ *
+ * <p>Ruft alle {@code foodrescue.angebote.ablauf.intervall-ms} (Standard eine Sekunde) {@link
+ * AngebotRepository#laufeAb(LocalDateTime)} auf. Geloggt wird nur, wenn dabei etwas abgelaufen ist;
+ * der Logging-Aspekt lässt {@code laufeAb} aus.
+ */
+@Component
+public class AngebotAblaufTicker {
+
+  private static final Logger log = LoggerFactory.getLogger(AngebotAblaufTicker.class);
+
+  private final AngebotRepository repository;
+
+  public AngebotAblaufTicker(AngebotRepository repository) {
+    this.repository = repository;
+  }
+
+  /** Ein Durchlauf: alle bis jetzt fälligen Angebote ablaufen lassen. */
+  @Scheduled(
+      fixedDelayString = "${foodrescue.angebote.ablauf.intervall-ms:1000}",
+      initialDelayString = "${foodrescue.angebote.ablauf.intervall-ms:1000}")
+  void tick() {
+    List<Angebot> abgelaufen = repository.laufeAb(LocalDateTime.now());
+    if (!abgelaufen.isEmpty()) {
+      log.info("{} Angebot(e) abgelaufen", abgelaufen.size());
+    }
+  }
+}
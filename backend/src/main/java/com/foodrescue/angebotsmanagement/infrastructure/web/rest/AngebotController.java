@@ -1,27 +1,78 @@
 package com.foodrescue.angebotsmanagement.infrastructure.web.rest;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodrescue.angebotsmanagement.application.commands.ErstelleAngebotCommand;
 import com.foodrescue.angebotsmanagement.application.commands.VeroeffentlicheAngebotCommand;
 import com.foodrescue.angebotsmanagement.application.services.AngebotApplicationService;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicates;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.geo.AngebotUmkreisSuche;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper.AngebotCursor;
+import com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper.AngebotJsonCache;
 import com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper.AngebotMapper;
+import com.foodrescue.angebotsmanagement.infrastructure.web.sse.AngebotAenderungsFeed;
+import com.foodrescue.shared.rest.JsonFragmente;
+import com.foodrescue.shared.rest.KonditionalesGet;
+import com.foodrescue.shared.rest.NdjsonAntwort;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Function;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/angebote", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AngebotController {
 
+  /** Obergrenze für {@code limit} beim seitenweisen Lesen. */
+  static final int MAX_SEITENGROESSE = 100;
+
+  /** Obergrenze für die Anzahl Angebote in {@code POST /api/angebote/batch}. */
+  static final int MAX_STAPELGROESSE = 500;
+
   private final AngebotApplicationService service;
   private final AngebotMapper mapper;
+  private final AngebotJsonCache jsonCache;
+  private final ObjectMapper objectMapper;
+  private final KonditionalesGet konditionalesGet;
+  private final AngebotAenderungsFeed aenderungsFeed;
+  private final AngebotUmkreisSuche umkreisSuche;
 
-  public AngebotController(AngebotApplicationService service, AngebotMapper mapper) {
+  public AngebotController(
+      AngebotApplicationService service,
+      AngebotMapper mapper,
+      AngebotJsonCache jsonCache,
+      ObjectMapper objectMapper,
+      KonditionalesGet konditionalesGet,
+      AngebotAenderungsFeed aenderungsFeed,
+      AngebotUmkreisSuche umkreisSuche) {
     this.service = service;
     this.mapper = mapper;
+    this.jsonCache = jsonCache;
+    this.objectMapper = objectMapper;
+    this.konditionalesGet = konditionalesGet;
+    this.aenderungsFeed = aenderungsFeed;
+    this.umkreisSuche = umkreisSuche;
   }
 
   /**
@@ -31,6 +82,51 @@ public class AngebotController {
   @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<AngebotMapper.CreateAngebotResponse> erstelleAngebot(
       @RequestBody AngebotMapper.ErstelleAngebotRequest request) {
+    AngebotsId id = service.erstelleAngebot(zuCommand(request));
+
+    // Wichtig: NICHT AngebotsId (Domain) zurückgeben, sondern DTO/primitive
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(new AngebotMapper.CreateAngebotResponse(id.value()));
+  }
+
+  /**
+   * Legt mehrere Angebote in einem Request an. Request: JSON-Array aus Objekten wie bei {@code POST
+   * /api/angebote} (höchstens {@value #MAX_STAPELGROESSE}). Response: {@code {erstellt, fehlerhaft,
+   * ergebnisse: [{index, id, fehler}]}}.
+   *
+   * <p>Das Array wird mit dem Streaming-Parser Element für Element gelesen, der Body liegt also nie
+   * als Ganzes im Speicher. Ungültige Elemente (z.B. leerer Titel, falsches Zeitfenster) stehen mit
+   * ihrem Fehler im Ergebnis, die übrigen werden trotzdem angelegt; ist das JSON selbst kaputt,
+   * wird nichts angelegt (400).
+   */
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<AngebotMapper.StapelResponse> erstelleAngebote(InputStream body)
+      throws IOException {
+    List<ErstelleAngebotCommand> commands = new ArrayList<>();
+    try (JsonParser parser = objectMapper.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IllegalArgumentException("Erwartet wird ein JSON-Array von Angeboten");
+      }
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        if (commands.size() == MAX_STAPELGROESSE) {
+          throw new IllegalArgumentException(
+              "Höchstens " + MAX_STAPELGROESSE + " Angebote pro Stapel");
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+          throw new IllegalArgumentException(
+              "Element " + commands.size() + " ist kein JSON-Objekt");
+        }
+        commands.add(
+            zuCommand(objectMapper.readValue(parser, AngebotMapper.ErstelleAngebotRequest.class)));
+      }
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Ungültiges JSON im Stapel: " + e.getOriginalMessage(), e);
+    }
+
+    return ResponseEntity.ok(mapper.toStapelResponse(service.erstelleAngebote(commands)));
+  }
+
+  private static ErstelleAngebotCommand zuCommand(AngebotMapper.ErstelleAngebotRequest request) {
     ErstelleAngebotCommand command = new ErstelleAngebotCommand();
     command.setAnbieterId(request.getAnbieterId());
     command.setTitel(request.getTitel());
@@ -41,12 +137,7 @@ public class AngebotController {
       command.setVon(request.getZeitfenster().getVon());
       command.setBis(request.getZeitfenster().getBis());
     }
-
-    AngebotsId id = service.erstelleAngebot(command);
-
-    // Wichtig: NICHT AngebotsId (Domain) zurückgeben, sondern DTO/primitive
-    return ResponseEntity.status(HttpStatus.CREATED)
-        .body(new AngebotMapper.CreateAngebotResponse(id.value()));
+    return command;
   }
 
   /** Veröffentlicht ein bestehendes Angebot (Statuswechsel). */
@@ -56,26 +147,198 @@ public class AngebotController {
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * Veröffentlicht alle Entwürfe eines Anbieters auf einmal, optional eingeschränkt auf einen Tag
+   * und/oder Abholzeitfenster, die spätestens {@code endeBis} enden. Response: {@code {anzahl, ids,
+   * konflikte}}; Konflikte sind Angebote, die zwischenzeitlich anders geändert wurden.
+   */
+  @PostMapping(value = "/anbieter/{anbieterId}/veroeffentlichen", consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<AngebotMapper.MassenAenderungResponse> veroeffentlicheAlle(
+      @PathVariable("anbieterId") String anbieterId,
+      @RequestParam(value = "tag", required = false) String tag,
+      @RequestParam(value = "endeBis", required = false) String endeBis) {
+    UserId id = new UserId(UUID.fromString(anbieterId));
+    return ResponseEntity.ok(
+        mapper.toMassenAenderungResponse(
+            service.veroeffentlicheAlle(id, massenFilter(tag, endeBis))));
+  }
+
+  /**
+   * Entfernt alle Entwürfe und verfügbaren Angebote eines Anbieters (z.B. Reste am Abend);
+   * reservierte Angebote bleiben stehen. Filter und Response wie beim Veröffentlichen.
+   */
+  @PostMapping(value = "/anbieter/{anbieterId}/entfernen", consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<AngebotMapper.MassenAenderungResponse> entferneAlle(
+      @PathVariable("anbieterId") String anbieterId,
+      @RequestParam(value = "tag", required = false) String tag,
+      @RequestParam(value = "endeBis", required = false) String endeBis) {
+    UserId id = new UserId(UUID.fromString(anbieterId));
+    return ResponseEntity.ok(
+        mapper.toMassenAenderungResponse(service.entferneAlle(id, massenFilter(tag, endeBis))));
+  }
+
+  /** Filter der Sammeloperationen; null, wenn keiner gesetzt ist. */
+  private static AngebotPredicate massenFilter(String tag, String endeBis) {
+    AngebotPredicate filter = null;
+    if (tag != null && !tag.isBlank()) {
+      filter = AngebotPredicates.hatTag(tag.trim());
+    }
+    if (endeBis != null && !endeBis.isBlank()) {
+      LocalDateTime bis;
+      try {
+        bis = LocalDateTime.parse(endeBis.trim());
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Ungültiger Zeitpunkt: " + endeBis);
+      }
+      AngebotPredicate endet = AngebotPredicates.verfuegbarBis(bis);
+      filter = filter == null ? endet : filter.and(endet);
+    }
+    return filter;
+  }
+
   /**
    * Liefert alle veröffentlicht/verfügbaren Angebote (für Abholer-Suche). Response: Liste von
    * AngebotResponse (DTO)
+   *
+   * <p>Das ETag ist die Katalogversion; bei passendem {@code If-None-Match} antwortet der Endpunkt
+   * mit 304, ohne Angebote zu lesen oder zu mappen. Sonst wird der Body aus dem JSON-Cache
+   * zusammengesetzt.
    */
   @GetMapping("/verfuegbar")
-  public ResponseEntity<List<AngebotMapper.AngebotResponse>> findeVerfuegbareAngebote() {
-    return ResponseEntity.ok(mapper.toResponseList(service.findeVerfuegbareAngebote()));
+  public ResponseEntity<JsonFragmente> findeVerfuegbareAngebote(WebRequest request) {
+    String etag = KonditionalesGet.etag("k", service.katalogVersion());
+    if (konditionalesGet.nichtGeaendert("angebote.verfuegbar", request, etag)) {
+      return null;
+    }
+    return ResponseEntity.ok(
+        jsonCache.liste(service.findeVerfuegbareAngebote(), service.versionen()));
+  }
+
+  /**
+   * Streaming-Variante mit {@code Accept: application/x-ndjson}: ein AngebotResponse pro Zeile,
+   * direkt aus dem Repository serialisiert – für Exporte und große Listen ohne Zwischenliste.
+   */
+  @GetMapping(value = "/verfuegbar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streameVerfuegbareAngebote() {
+    Function<Angebot, OptionalLong> versionen = service.versionen();
+    return NdjsonAntwort.von(
+        objectMapper,
+        service.streameVerfuegbareAngebote().map(a -> mapper.toResponse(a, versionen.apply(a))));
   }
 
+  /**
+   * Änderungs-Feed als Server-Sent Events: ein kompaktes {@code AngebotAenderung}-Delta pro
+   * Statusübergang (Event-Name = Typ). Ersetzt das wiederholte Neuladen der Liste im Dashboard.
+   */
+  @GetMapping(value = "/aenderungen", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter abonniereAenderungen() {
+    return aenderungsFeed.abonnieren();
+  }
+
+  /**
+   * Seitenweises Lesen verfügbarer Angebote (Keyset-Paginierung), z.B. {@code GET
+   * /api/angebote/verfuegbar?limit=20&sortierung=ende}.
+   *
+   * <p>Sortierungen: {@code beginn} (Standard), {@code ende} (bald endende zuerst), {@code
+   * neueste}. Die Antwort enthält im Feld {@code weiter} ein opakes Token, das als {@code cursor}
+   * die nächste Seite liefert; {@code null} bedeutet letzte Seite. Response: AngebotSeiteResponse
+   */
+  @GetMapping(value = "/verfuegbar", params = "limit")
+  public ResponseEntity<JsonFragmente> findeVerfuegbareAngeboteSeite(
+      @RequestParam("limit") int limit,
+      @RequestParam(value = "sortierung", defaultValue = "beginn") String sortierung,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      WebRequest request) {
+    if (limit < 1 || limit > MAX_SEITENGROESSE) {
+      throw new IllegalArgumentException(
+          "Limit muss zwischen 1 und " + MAX_SEITENGROESSE + " liegen");
+    }
+    AngebotSeite.Sortierung sort = parseSortierung(sortierung);
+    AngebotSeite.Position nach = cursor == null ? null : AngebotCursor.dekodieren(cursor);
+
+    String etag = KonditionalesGet.etag("k", service.katalogVersion());
+    if (konditionalesGet.nichtGeaendert("angebote.seite", request, etag)) {
+      return null;
+    }
+    AngebotSeite seite = service.findeVerfuegbareAngeboteSeite(sort, nach, limit);
+    return ResponseEntity.ok(jsonCache.seite(seite, service.versionen()));
+  }
+
+  /**
+   * Freitextsuche über verfügbare Angebote, z.B. {@code GET /api/angebote?suche=brot}. Sucht
+   * case-insensitive in Titel, Beschreibung und Tags. Response: Liste von AngebotResponse (DTO)
+   */
+  @GetMapping(params = "suche")
+  public ResponseEntity<JsonFragmente> sucheAngebote(@RequestParam("suche") String suche) {
+    return ResponseEntity.ok(
+        jsonCache.liste(service.sucheVerfuegbareAngebote(suche), service.versionen()));
+  }
+
+  /**
+   * Verfügbare Angebote im Umkreis, z.B. {@code GET
+   * /api/angebote/nahe?lat=52.52&lon=13.40&radius=2000} (Radius in Metern, Standard 2 km, höchstens
+   * 50 km). Sortiert nach Entfernung des Anbieters; Response: Liste von {@code {entfernungMeter,
+   * angebot}}.
+   */
+  @GetMapping("/nahe")
+  public ResponseEntity<JsonFragmente> findeAngeboteInDerNaehe(
+      @RequestParam("lat") double lat,
+      @RequestParam("lon") double lon,
+      @RequestParam(value = "radius", defaultValue = "2000") double radius) {
+    return ResponseEntity.ok(
+        jsonCache.umkreis(
+            umkreisSuche.findeVerfuegbarImUmkreis(new GeoStandort(lat, lon), radius),
+            service.versionen()));
+  }
+
+  /**
+   * Details eines Angebots. Das ETag ist die Angebotsversion; bei passendem {@code If-None-Match}
+   * folgt 304 ohne Mapping.
+   */
   @GetMapping("/{id}")
-  public ResponseEntity<AngebotMapper.AngebotResponse> findeAngebotDetails(
-      @PathVariable("id") String id) {
-    Angebot angebot = service.findeAngebotMitId(new AngebotsId(id));
-    return ResponseEntity.ok(mapper.toResponse(angebot));
+  public ResponseEntity<JsonFragmente> findeAngebotDetails(
+      @PathVariable("id") String id, WebRequest request) {
+    AngebotsId angebotsId = new AngebotsId(id);
+    OptionalLong version = service.versionVon(angebotsId);
+    String etag = KonditionalesGet.etag("v", version);
+    if (konditionalesGet.nichtGeaendert("angebote.details", request, etag)) {
+      return null;
+    }
+    Angebot angebot = service.findeAngebotMitId(angebotsId);
+    // Das ETag darf älter sein als der Inhalt, der Cache-Eintrag nicht: er braucht die Version
+    // genau dieses Stands
+    return ResponseEntity.ok(jsonCache.einzeln(angebot, service.versionen().apply(angebot)));
   }
 
-  /** Liefert alle Angebote eines Anbieters. Response: Liste von AngebotResponse (DTO) */
+  /**
+   * Liefert alle Angebote eines Anbieters. Response: Liste von AngebotResponse (DTO)
+   *
+   * <p>Die Pfadvariable wird hier einmal in eine UserId geparst; ungültige UUIDs ergeben 400.
+   */
   @GetMapping("/anbieter/{anbieterId}")
-  public ResponseEntity<List<AngebotMapper.AngebotResponse>> findeAngeboteFuerAnbieter(
+  public ResponseEntity<JsonFragmente> findeAngeboteFuerAnbieter(
+      @PathVariable("anbieterId") String anbieterId) {
+    UserId id = new UserId(UUID.fromString(anbieterId));
+    return ResponseEntity.ok(
+        jsonCache.liste(service.findeAngeboteFuerAnbieter(id), service.versionen()));
+  }
+
+  /** Streaming-Variante (NDJSON) von {@link #findeAngeboteFuerAnbieter(String)}. */
+  @GetMapping(value = "/anbieter/{anbieterId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streameAngeboteFuerAnbieter(
       @PathVariable("anbieterId") String anbieterId) {
-    return ResponseEntity.ok(mapper.toResponseList(service.findeAngeboteFuerAnbieter(anbieterId)));
+    UserId id = new UserId(UUID.fromString(anbieterId));
+    Function<Angebot, OptionalLong> versionen = service.versionen();
+    return NdjsonAntwort.von(
+        objectMapper,
+        service.streameAngeboteFuerAnbieter(id).map(a -> mapper.toResponse(a, versionen.apply(a))));
+  }
+
+  private static AngebotSeite.Sortierung parseSortierung(String sortierung) {
+    try {
+      return AngebotSeite.Sortierung.valueOf(sortierung.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unbekannte Sortierung: " + sortierung);
+    }
   }
 }
@@ -0,0 +1,61 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.rest;
+
+import com.foodrescue.angebotsmanagement.application.services.AngebotCollectionService;
+import com.foodrescue.angebotsmanagement.infrastructure.rangliste.AngebotRanglisten;
+import com.foodrescue.angebotsmanagement.infrastructure.rangliste.Platz;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Kennzahlen über den Angebotskatalog für das Dashboard. */
+@RestController
+@RequestMapping(value = "/api/angebote/statistik", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AngebotStatistikController {
+
+  private final AngebotCollectionService collectionService;
+  private final AngebotRanglisten ranglisten;
+
+  public AngebotStatistikController(
+      AngebotCollectionService collectionService, AngebotRanglisten ranglisten) {
+    this.collectionService = collectionService;
+    this.ranglisten = ranglisten;
+  }
+
+  /**
+   * Anzahl der Angebote pro Status (alle Status) sowie verfügbare Angebote pro Anbieter und Tag.
+   * Kommt aus laufend gepflegten Zählern, kostet also keinen Durchlauf über den Katalog.
+   */
+  @GetMapping
+  public ResponseEntity<AngebotCollectionService.AngebotKennzahlen> kennzahlen() {
+    return ResponseEntity.ok(collectionService.kennzahlen());
+  }
+
+  /**
+   * Anbieter mit den meisten Veröffentlichungen, z.B. {@code
+   * /api/angebote/statistik/rangliste/anbieter?zeitraum=stunde&n=10}.
+   */
+  @GetMapping("/rangliste/anbieter")
+  public ResponseEntity<List<Platz>> ranglisteAnbieter(
+      @RequestParam(value = "zeitraum", defaultValue = "gesamt") String zeitraum,
+      @RequestParam(value = "n", defaultValue = "10") int n) {
+    return ResponseEntity.ok(ranglisten.anbieter(parseZeitraum(zeitraum), n));
+  }
+
+  /** Meistgenutzte Tags veröffentlichter Angebote, Parameter wie bei den Anbietern. */
+  @GetMapping("/rangliste/tags")
+  public ResponseEntity<List<Platz>> ranglisteTags(
+      @RequestParam(value = "zeitraum", defaultValue = "gesamt") String zeitraum,
+      @RequestParam(value = "n", defaultValue = "10") int n) {
+    return ResponseEntity.ok(ranglisten.tags(parseZeitraum(zeitraum), n));
+  }
+
+  private static AngebotRanglisten.Zeitraum parseZeitraum(String zeitraum) {
+    try {
+      return AngebotRanglisten.Zeitraum.valueOf(zeitraum.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unbekannter Zeitraum: " + zeitraum);
+    }
+  }
+}
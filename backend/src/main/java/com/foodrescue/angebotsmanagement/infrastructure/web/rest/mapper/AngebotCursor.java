@@ -0,0 +1,59 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper;
+
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opakes Fortsetzungs-Token für die Keyset-Paginierung.
+ *
+ * <p>Kodiert eine {@link AngebotSeite.Position} als URL-sicheres Base64. Clients reichen das Token
+ * unverändert weiter und sollen seinen Inhalt nicht interpretieren; das Format darf sich über die
+ * Versionskennung ändern.
+ */
+public final class AngebotCursor {
+
+  private static final String VERSION = "1";
+  private static final String TRENNER = "|";
+
+  private AngebotCursor() {}
+
+  public static String kodieren(AngebotSeite.Position position) {
+    String klartext =
+        String.join(
+            TRENNER,
+            VERSION,
+            position.sortierung().name(),
+            position.zeit().toString(),
+            position.id());
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(klartext.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Liest ein Token wieder ein.
+   *
+   * @throws IllegalArgumentException wenn das Token nicht von {@link #kodieren} stammt
+   */
+  public static AngebotSeite.Position dekodieren(String cursor) {
+    String[] teile;
+    try {
+      String klartext = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      teile = klartext.split("\\|", 4);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Ungültiger Cursor", e);
+    }
+    if (teile.length != 4 || !VERSION.equals(teile[0])) {
+      throw new IllegalArgumentException("Ungültiger Cursor");
+    }
+    try {
+      return new AngebotSeite.Position(
+          AngebotSeite.Sortierung.valueOf(teile[1]), LocalDateTime.parse(teile[2]), teile[3]);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Ungültiger Cursor", e);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.infrastructure.geo.AngebotImUmkreis;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngeboteArchiviertEvent;
+import com.foodrescue.shared.rest.JsonFragmente;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache der fertig serialisierten {@link AngebotMapper.AngebotResponse}s als UTF-8-Bytes.
+ *
+ * <p>Pro Angebot liegt das JSON der zuletzt gesehenen Version. Jedes {@code speichern} erhöht die
+ * Version im Repository und macht den Eintrag damit ungültig; der nächste Leser serialisiert neu.
+ * Listen werden aus den gecachten Stücken zusammengesetzt ({@link JsonFragmente}) und ohne erneuten
+ * Jackson-Durchlauf in den Ausgabestrom kopiert – bei unveränderten Angeboten entsteht pro Request
+ * außer der Stückliste kein Müll.
+ *
+ * <p>Archiviert das Repository Angebote ({@link AngeboteArchiviertEvent}), fallen ihre Einträge
+ * heraus: die Historie wird selten gelesen und soll den Cache nicht bis zur Obergrenze füllen.
+ *
+ * <p>Die Version muss zu genau dem übergebenen Stand gehören ({@code
+ * AngebotRepository#versionen()}), ein Eintrag ist also immer ein zusammengehöriges Paar aus Stand
+ * und Version. Eine nach dem Lesen ermittelte Version könnte schon zum nächsten Stand gehören;
+ * unter ihr läge dann altes JSON, das spätere Leser mit dem neuen Stand über die gleiche Version
+ * träfen. Kommt das Angebot als Schnappschuss aus dem Repository, genügt die Identität: ist es
+ * dasselbe Objekt wie beim Eintrag, kann sich der Inhalt nicht geändert haben.
+ */
+@Component
+public class AngebotJsonCache {
+
+  /** Obergrenze; wird sie überschritten, beginnt der Cache von vorn. */
+  static final int MAX_EINTRAEGE = 100_000;
+
+  private final AngebotMapper mapper;
+  private final ObjectWriter writer;
+  private final Map<String, Eintrag> cache = new ConcurrentHashMap<>();
+
+  private record Eintrag(Angebot quelle, long version, byte[] json) {}
+
+  public AngebotJsonCache(AngebotMapper mapper, ObjectMapper objectMapper) {
+    this.mapper = mapper;
+    this.writer = objectMapper.writerFor(AngebotMapper.AngebotResponse.class);
+  }
+
+  /**
+   * JSON eines Angebots, aus dem Cache, wenn die Version passt.
+   *
+   * @param version Version genau dieses Stands; ohne Version wird ungecacht serialisiert
+   */
+  public byte[] json(Angebot angebot, OptionalLong version) {
+    Eintrag eintrag = cache.get(angebot.getId());
+    if (eintrag != null && angebot.istSchnappschuss() && eintrag.quelle() == angebot) {
+      return eintrag.json();
+    }
+    if (version.isEmpty()) {
+      return serialisiere(angebot);
+    }
+    long v = version.getAsLong();
+    if (eintrag != null && eintrag.version() == v) {
+      return eintrag.json();
+    }
+    byte[] json = serialisiere(angebot);
+    if (cache.size() >= MAX_EINTRAEGE) {
+      cache.clear();
+    }
+    cache.merge(
+        angebot.getId(),
+        new Eintrag(angebot, v, json),
+        (alt, neu) -> alt.version() > neu.version() ? alt : neu);
+    return json;
+  }
+
+  /** Ein einzelnes Angebot als Body. */
+  public JsonFragmente einzeln(Angebot angebot, OptionalLong version) {
+    return JsonFragmente.einzeln(json(angebot, version));
+  }
+
+  /** Liste von Angeboten als JSON-Array (gleiche Form wie {@code List<AngebotResponse>}). */
+  public JsonFragmente liste(List<Angebot> angebote, Function<Angebot, OptionalLong> versionen) {
+    return JsonFragmente.array(stuecke(angebote, versionen));
+  }
+
+  /** Seite als Body in der Form von {@link AngebotMapper.AngebotSeiteResponse}. */
+  public JsonFragmente seite(AngebotSeite seite, Function<Angebot, OptionalLong> versionen) {
+    String weiter = seite.weiter() == null ? null : AngebotCursor.kodieren(seite.weiter());
+    return JsonFragmente.builder()
+        .text("{\"angebote\":")
+        .array(stuecke(seite.angebote(), versionen))
+        .text(",\"weiter\":")
+        .wert(weiter == null ? null : serialisiereWert(weiter))
+        .text("}")
+        .bauen();
+  }
+
+  /**
+   * Treffer der Umkreissuche als {@code [{"entfernungMeter":412,"angebot":{...}}, ...]}; die
+   * Entfernung wird auf ganze Meter gerundet.
+   */
+  public JsonFragmente umkreis(
+      List<AngebotImUmkreis> treffer, Function<Angebot, OptionalLong> versionen) {
+    JsonFragmente.Builder builder = JsonFragmente.builder().text("[");
+    for (int i = 0; i < treffer.size(); i++) {
+      AngebotImUmkreis t = treffer.get(i);
+      builder
+          .text((i > 0 ? "," : "") + "{\"entfernungMeter\":" + Math.round(t.entfernungMeter()))
+          .text(",\"angebot\":")
+          .wert(json(t.angebot(), versionen.apply(t.angebot())))
+          .text("}");
+    }
+    return builder.text("]").bauen();
+  }
+
+  /** Vergisst die Einträge archivierter Angebote. */
+  @EventListener
+  public void on(AngeboteArchiviertEvent event) {
+    event.ids().forEach(cache::remove);
+  }
+
+  int groesse() {
+    return cache.size();
+  }
+
+  private List<byte[]> stuecke(List<Angebot> angebote, Function<Angebot, OptionalLong> versionen) {
+    List<byte[]> stuecke = new ArrayList<>(angebote.size());
+    for (Angebot angebot : angebote) {
+      stuecke.add(json(angebot, versionen.apply(angebot)));
+    }
+    return stuecke;
+  }
+
+  private byte[] serialisiere(Angebot angebot) {
+    try {
+      return writer.writeValueAsBytes(mapper.toResponse(angebot));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Angebot konnte nicht serialisiert werden", e);
+    }
+  }
+
+  private byte[] serialisiereWert(String wert) {
+    try {
+      return writer.forType(String.class).writeValueAsBytes(wert);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Wert konnte nicht serialisiert werden", e);
+    }
+  }
+}
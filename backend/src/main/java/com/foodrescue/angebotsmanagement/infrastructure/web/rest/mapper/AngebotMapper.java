@@ -1,16 +1,38 @@
 package com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper;
 
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.application.services.AngebotApplicationService;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
-import java.lang.reflect.Method;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
+/**
+ * Mapping zwischen Domain und REST-DTOs.
+ *
+ * <p>Die Varianten mit Versionsquelle cachen das fertige {@link AngebotResponse} pro Angebot
+ * zusammen mit dessen Version (siehe {@code AngebotRepository#versionVon}). Ein unverändertes
+ * Angebot wird dadurch nur einmal gemappt; jedes Speichern erhöht die Version und verdrängt den
+ * alten Eintrag beim nächsten Zugriff.
+ */
 @Component
 public class AngebotMapper {
 
+  /** Obergrenze des DTO-Caches; wird sie überschritten, beginnt der Cache von vorn. */
+  static final int MAX_CACHE_EINTRAEGE = 100_000;
+
+  /** Letztes DTO pro Angebots-ID mit der Version, aus der es gemappt wurde. */
+  private final Map<String, CacheEintrag> dtoCache = new ConcurrentHashMap<>();
+
+  private record CacheEintrag(long version, AngebotResponse response) {}
+
   // ---------- Response DTOs ----------
 
   public record AngebotResponse(
@@ -26,6 +48,21 @@ public class AngebotMapper {
 
   public record CreateAngebotResponse(String id) {}
 
+  /** Ergebnis eines Elements beim Anlegen im Stapel; genau eines von {@code id}/{@code fehler}. */
+  public record StapelErgebnisResponse(int index, String id, String fehler) {}
+
+  public record StapelResponse(
+      int erstellt, int fehlerhaft, List<StapelErgebnisResponse> ergebnisse) {}
+
+  /**
+   * Ergebnis einer Sammeloperation über die Angebote eines Anbieters; {@code konflikte} sind
+   * Angebote, die zwischenzeitlich anders geändert wurden und deshalb unverändert blieben.
+   */
+  public record MassenAenderungResponse(int anzahl, List<String> ids, List<String> konflikte) {}
+
+  /** Seite verfügbarer Angebote; {@code weiter} ist das Token für die nächste Seite oder null. */
+  public record AngebotSeiteResponse(List<AngebotResponse> angebote, String weiter) {}
+
   // ---------- Request DTOs ----------
 
   public static class ErstelleAngebotRequest {
@@ -102,9 +139,6 @@ public class AngebotMapper {
   public AngebotResponse toResponse(Angebot angebot) {
     AbholZeitfenster z = angebot.getZeitfenster();
 
-    String von = extractZeitfensterPart(z, "getVon", "von");
-    String bis = extractZeitfensterPart(z, "getBis", "bis");
-
     return new AngebotResponse(
         angebot.getId(),
         angebot.getAnbieterId().toString(),
@@ -112,31 +146,93 @@ public class AngebotMapper {
         angebot.getBeschreibung(),
         angebot.getTags(),
         angebot.getStatus().name(),
-        new ZeitfensterDto(von, bis));
+        z == null ? null : new ZeitfensterDto(z.von().toString(), z.bis().toString()));
+  }
+
+  /**
+   * Wie {@link #toResponse(Angebot)}, aber über den DTO-Cache.
+   *
+   * <p>Die Version muss zu genau diesem Stand gehören ({@code AngebotRepository#versionen()}) oder
+   * <em>vor</em> dem Lesen des Angebots ermittelt worden sein. Dann ist das gecachte DTO höchstens
+   * neuer als seine Version, nie älter.
+   *
+   * @param version Version des Angebots; ohne Version wird ungecacht gemappt
+   */
+  public AngebotResponse toResponse(Angebot angebot, OptionalLong version) {
+    if (version.isEmpty()) {
+      return toResponse(angebot);
+    }
+    long v = version.getAsLong();
+    CacheEintrag eintrag = dtoCache.get(angebot.getId());
+    if (eintrag != null && eintrag.version() == v) {
+      return eintrag.response();
+    }
+    AngebotResponse response = toResponse(angebot);
+    if (dtoCache.size() >= MAX_CACHE_EINTRAEGE) {
+      dtoCache.clear();
+    }
+    dtoCache.merge(
+        angebot.getId(),
+        new CacheEintrag(v, response),
+        (alt, neu) -> alt.version() > neu.version() ? alt : neu);
+    return response;
   }
 
   public List<AngebotResponse> toResponseList(List<Angebot> angebote) {
     return angebote.stream().map(this::toResponse).collect(Collectors.toList());
   }
 
-  // ---------- Helpers (robust für record/klassisch) ----------
+  /**
+   * Liste über den DTO-Cache; {@code versionen} liefert die Version pro gelesenem Angebot (siehe
+   * {@code AngebotRepository#versionen()}).
+   */
+  public List<AngebotResponse> toResponseList(
+      List<Angebot> angebote, Function<Angebot, OptionalLong> versionen) {
+    return angebote.stream()
+        .map(angebot -> toResponse(angebot, versionen.apply(angebot)))
+        .collect(Collectors.toList());
+  }
+
+  public AngebotSeiteResponse toSeiteResponse(AngebotSeite seite) {
+    return new AngebotSeiteResponse(
+        toResponseList(seite.angebote()),
+        seite.weiter() == null ? null : AngebotCursor.kodieren(seite.weiter()));
+  }
 
-  private String extractZeitfensterPart(
-      AbholZeitfenster z, String getterName, String recordAccessorName) {
-    if (z == null) return null;
+  /** Seite über den DTO-Cache (siehe {@link #toResponseList(List, Function)}). */
+  public AngebotSeiteResponse toSeiteResponse(
+      AngebotSeite seite, Function<Angebot, OptionalLong> versionen) {
+    return new AngebotSeiteResponse(
+        toResponseList(seite.angebote(), versionen),
+        seite.weiter() == null ? null : AngebotCursor.kodieren(seite.weiter()));
+  }
 
-    Object value = tryInvoke(z, getterName);
-    if (value == null) value = tryInvoke(z, recordAccessorName);
+  public StapelResponse toStapelResponse(
+      List<AngebotApplicationService.ErstellErgebnis> ergebnisse) {
+    List<StapelErgebnisResponse> dtos =
+        ergebnisse.stream()
+            .map(
+                e ->
+                    new StapelErgebnisResponse(
+                        e.index(), e.id() == null ? null : e.id().value(), e.fehler()))
+            .toList();
+    int erstellt =
+        (int)
+            ergebnisse.stream()
+                .filter(AngebotApplicationService.ErstellErgebnis::erfolgreich)
+                .count();
+    return new StapelResponse(erstellt, ergebnisse.size() - erstellt, dtos);
+  }
 
-    return value != null ? value.toString() : null;
+  public MassenAenderungResponse toMassenAenderungResponse(
+      AngebotApplicationService.MassenErgebnis ergebnis) {
+    return new MassenAenderungResponse(
+        ergebnis.geaendert().size(),
+        ergebnis.geaendert().stream().map(AngebotsId::value).toList(),
+        ergebnis.konflikte().stream().map(AngebotsId::value).toList());
   }
 
-  private Object tryInvoke(Object target, String methodName) {
-    try {
-      Method m = target.getClass().getMethod(methodName);
-      return m.invoke(target);
-    } catch (Exception ignored) {
-      return null;
-    }
+  int cacheGroesse() {
+    return dtoCache.size();
   }
 }
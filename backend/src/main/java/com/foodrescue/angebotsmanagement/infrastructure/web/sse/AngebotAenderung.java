@@ -0,0 +1,24 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.sse;
+
+/**
+ * Kompaktes Delta für den Änderungs-Feed: nur was sich geändert hat, nicht das ganze Angebot.
+ *
+ * <p>Clients entfernen das Angebot bei {@code RESERVIERT}, {@code ABGELAUFEN} und {@code ENTFERNT}
+ * aus ihrer Liste und laden es bei {@code VEROEFFENTLICHT} über {@code GET /api/angebote/{id}}
+ * nach.
+ *
+ * @param sequenz Laufende Nummer im Feed (SSE-ID)
+ * @param typ Art der Änderung
+ * @param angebotId ID des betroffenen Angebots
+ */
+public record AngebotAenderung(long sequenz, Typ typ, String angebotId) {
+
+  /** Statusübergänge, die der Feed meldet. */
+  public enum Typ {
+    ERSTELLT,
+    VEROEFFENTLICHT,
+    RESERVIERT,
+    ABGELAUFEN,
+    ENTFERNT
+  }
+}
@@ -0,0 +1,226 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.sse;
+
+import com.foodrescue.angebotsmanagement.domain.events.AngebotAbgelaufenEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotEntferntEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotErstelltEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotReserviertEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotVeroeffentlichtEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Verteilt Angebotsänderungen als Server-Sent Events an alle offenen Dashboards.
+ *
+ * <p>Die Domain Events kommen synchron aus {@code speichern()} des Repositories. Auf diesem Thread
+ * wird pro Abonnent nur ein Delta in einen begrenzten Puffer gelegt ({@code offer}, blockiert nie);
+ * das eigentliche Schreiben auf die Verbindung läuft auf einem eigenen Versand-Thread pro Abonnent.
+ * Läuft der Puffer eines Abonnenten über, ist der Client zu langsam: seine Verbindung wird
+ * geschlossen, der Browser verbindet sich neu und lädt die Liste einmal komplett. So hält ein
+ * langsamer Client weder das Speichern noch die anderen Abonnenten auf.
+ */
+@Component
+public class AngebotAenderungsFeed {
+
+  private static final Logger log = LoggerFactory.getLogger(AngebotAenderungsFeed.class);
+
+  /** Maximale Anzahl unversendeter Deltas pro Abonnent. */
+  static final int PUFFER_PRO_ABONNENT = 256;
+
+  private final Set<Abonnent> abonnenten = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Versand-Threads: höchstens einer pro gerade sendendem Abonnent, ungenutzte enden nach einer
+   * Minute. Bewusst Plattform-Threads – ein Schreibvorgang, der in einem Monitor des Containers auf
+   * einen langsamen Socket wartet, würde einen virtuellen Thread an seinen Träger pinnen und damit
+   * den Versand an alle anderen Abonnenten aufhalten.
+   */
+  private final ExecutorService versand =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "angebot-feed");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final AtomicLong sequenz = new AtomicLong();
+  private final long timeoutMillis;
+
+  public AngebotAenderungsFeed(
+      @Value("${foodrescue.angebote.feed.timeout-ms:1800000}") long timeoutMillis) {
+    if (timeoutMillis <= 0) {
+      throw new IllegalArgumentException("Feed-Timeout muss positiv sein");
+    }
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /** Öffnet eine SSE-Verbindung, die ab jetzt alle Änderungen erhält. */
+  public SseEmitter abonnieren() {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Abonnent abonnent =
+        abonnieren(
+            new Empfaenger() {
+              @Override
+              public void senden(AngebotAenderung aenderung) throws IOException {
+                emitter.send(
+                    SseEmitter.event()
+                        .id(Long.toString(aenderung.sequenz()))
+                        .name(aenderung.typ().name())
+                        .data(aenderung, MediaType.APPLICATION_JSON));
+              }
+
+              @Override
+              public void schliessen() {
+                emitter.complete();
+              }
+            });
+    emitter.onCompletion(abonnent::abmelden);
+    emitter.onTimeout(abonnent::abmelden);
+    emitter.onError(fehler -> abonnent.abmelden());
+    return emitter;
+  }
+
+  /** Meldet einen Empfänger an; Einstieg für {@link #abonnieren()} und Tests. */
+  Abonnent abonnieren(Empfaenger empfaenger) {
+    Abonnent abonnent = new Abonnent(empfaenger);
+    abonnenten.add(abonnent);
+    return abonnent;
+  }
+
+  int anzahlAbonnenten() {
+    return abonnenten.size();
+  }
+
+  @EventListener
+  public void on(AngebotErstelltEvent event) {
+    verteilen(AngebotAenderung.Typ.ERSTELLT, event.getAngebotsId());
+  }
+
+  @EventListener
+  public void on(AngebotVeroeffentlichtEvent event) {
+    verteilen(AngebotAenderung.Typ.VEROEFFENTLICHT, event.getAngebotId());
+  }
+
+  @EventListener
+  public void on(AngebotReserviertEvent event) {
+    verteilen(AngebotAenderung.Typ.RESERVIERT, event.getAngebotId());
+  }
+
+  @EventListener
+  public void on(AngebotAbgelaufenEvent event) {
+    verteilen(AngebotAenderung.Typ.ABGELAUFEN, event.getAngebotId());
+  }
+
+  @EventListener
+  public void on(AngebotEntferntEvent event) {
+    verteilen(AngebotAenderung.Typ.ENTFERNT, event.getAngebotId());
+  }
+
+  /** Legt das Delta bei allen Abonnenten ab. Kehrt sofort zurück, auch bei langsamen Clients. */
+  void verteilen(AngebotAenderung.Typ typ, String angebotId) {
+    if (abonnenten.isEmpty()) {
+      return;
+    }
+    AngebotAenderung aenderung = new AngebotAenderung(sequenz.incrementAndGet(), typ, angebotId);
+    for (Abonnent abonnent : abonnenten) {
+      abonnent.anbieten(aenderung);
+    }
+  }
+
+  @PreDestroy
+  void stoppen() {
+    abonnenten.forEach(Abonnent::trennen);
+    versand.shutdown();
+  }
+
+  private void ausfuehren(Runnable aufgabe) {
+    try {
+      versand.execute(aufgabe);
+    } catch (RejectedExecutionException e) {
+      log.debug("Feed wird beendet, Versand verworfen");
+    }
+  }
+
+  /** Schreibt Deltas auf eine Verbindung; darf blockieren. */
+  interface Empfaenger {
+    void senden(AngebotAenderung aenderung) throws IOException;
+
+    void schliessen();
+  }
+
+  /**
+   * Ein Abonnent mit eigenem Puffer. Es ist immer höchstens ein Versand-Thread aktiv ({@code
+   * sendet}), dadurch bleibt die Reihenfolge der Deltas pro Verbindung erhalten.
+   */
+  final class Abonnent {
+
+    private final Empfaenger empfaenger;
+    private final BlockingQueue<AngebotAenderung> puffer =
+        new ArrayBlockingQueue<>(PUFFER_PRO_ABONNENT);
+    private final AtomicBoolean sendet = new AtomicBoolean();
+    private final AtomicBoolean aktiv = new AtomicBoolean(true);
+
+    private Abonnent(Empfaenger empfaenger) {
+      this.empfaenger = empfaenger;
+    }
+
+    void anbieten(AngebotAenderung aenderung) {
+      if (!puffer.offer(aenderung)) {
+        log.debug("Feed-Abonnent zu langsam, Verbindung wird geschlossen");
+        trennen();
+        return;
+      }
+      if (sendet.compareAndSet(false, true)) {
+        ausfuehren(this::senden);
+      }
+    }
+
+    private void senden() {
+      do {
+        AngebotAenderung aenderung;
+        while (aktiv.get() && (aenderung = puffer.poll()) != null) {
+          try {
+            empfaenger.senden(aenderung);
+          } catch (IOException | IllegalStateException e) {
+            abmelden(); // Verbindung weg; der Servlet-Container räumt sie selbst auf
+            return;
+          }
+        }
+        sendet.set(false);
+        // Ein Delta kann zwischen letztem poll() und set(false) angekommen sein
+      } while (aktiv.get() && !puffer.isEmpty() && sendet.compareAndSet(false, true));
+    }
+
+    /** Entfernt den Abonnenten und schließt die Verbindung (außerhalb des Aufrufer-Threads). */
+    void trennen() {
+      if (abmelden()) {
+        ausfuehren(empfaenger::schliessen);
+      }
+    }
+
+    /** Entfernt den Abonnenten aus dem Feed; true beim ersten Aufruf. */
+    boolean abmelden() {
+      if (!aktiv.compareAndSet(true, false)) {
+        return false;
+      }
+      abonnenten.remove(this);
+      puffer.clear();
+      return true;
+    }
+  }
+}
@@ -4,15 +4,18 @@ import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
 import com.foodrescue.reservierungsmanagement.application.commands.ReserviereAngebotCommand;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
 import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
 import com.foodrescue.reservierungsmanagement.infrastructure.repositories.ReservierungRepository;
 import com.foodrescue.reservierungsmanagement.infrastructure.web.rest.ReservierungController.GeplanteAbholungResponse;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -23,85 +26,128 @@ public class ReservierungsApplicationService {
 
   private static final int MAX_AKTIVE_RESERVIERUNGEN_PRO_NUTZER = 3;
 
+  /** Versuche, bevor ein wiederholt gescheitertes Compare-and-Set als Konflikt gilt. */
+  static final int MAX_VERSUCHE = 3;
+
   public ReservierungsApplicationService(
       ReservierungRepository reservierungRepository, AngebotRepository angebotRepository) {
     this.reservierungRepository = reservierungRepository;
     this.angebotRepository = angebotRepository;
   }
 
+  /**
+   * Ausgang eines Reservierungsversuchs. Ein Konflikt (jemand anderes war schneller) ist ein
+   * gewöhnliches Ergebnis und keine Exception.
+   *
+   * @param reservierungsId Die ID für die Response, oder null bei einem Konflikt
+   */
+  public record ReservierungsErgebnis(ReservierungsId reservierungsId) {
+
+    private static final ReservierungsErgebnis KONFLIKT = new ReservierungsErgebnis(null);
+
+    public static ReservierungsErgebnis reserviert(ReservierungsId reservierungsId) {
+      return new ReservierungsErgebnis(
+          Objects.requireNonNull(reservierungsId, "ReservierungsId darf nicht null sein"));
+    }
+
+    public static ReservierungsErgebnis konflikt() {
+      return KONFLIKT;
+    }
+
+    public boolean istKonflikt() {
+      return reservierungsId == null;
+    }
+  }
+
   /**
    * Reserviert ein Angebot für einen Abholer.
    *
+   * <p>Optimistisch: das Angebot wird als private Kopie geladen, reserviert und nur
+   * zurückgeschrieben, wenn es seit dem Laden unverändert ist (Compare-and-Set im Repository). Von
+   * mehreren gleichzeitigen Abholern gewinnt genau einer; die übrigen sehen beim erneuten Laden,
+   * dass das Angebot nicht mehr verfügbar ist, und bekommen einen Konflikt. Hat nur eine andere
+   * Änderung dazwischen gespeichert, wird bis zu {@value #MAX_VERSUCHE}-mal neu versucht.
+   *
    * @param command Das Reservierungskommando
-   * @return Die ID, die für die neue Reservierung verwendet wird
+   * @return Die ID, die für die neue Reservierung verwendet wird, oder ein Konflikt
+   * @throws IllegalArgumentException wenn das Angebot nicht existiert
    */
-  public ReservierungsId reserviereAngebot(ReserviereAngebotCommand command) {
-    // 1. Angebot laden
-    Optional<Angebot> optionalAngebot = angebotRepository.findeMitId(command.getAngebotId());
-    Angebot angebot =
-        optionalAngebot.orElseThrow(() -> new IllegalArgumentException("Angebot nicht gefunden"));
-
+  public ReservierungsErgebnis reserviereAngebot(ReserviereAngebotCommand command) {
     String abholerId = command.getAbholerId().getValue().toString();
 
-    // 2. Domain Service für Validierung
+    // Domain Service für Validierung
     ReservierungsService domainService =
         new ReservierungsService(
             () -> reservierungRepository.findeFuerAbholer(abholerId).size(),
             MAX_AKTIVE_RESERVIERUNGEN_PRO_NUTZER);
 
-    // 3. Abholcode generieren
-    Abholcode code = Abholcode.random();
-
-    // 4. Angebot reservieren (ändert Status, speichert Event intern)
-    domainService.reserviere(angebot, abholerId, code);
-
-    // 5. Angebot speichern (publiziert automatisch das AngebotReserviertEvent)
-    angebotRepository.speichern(angebot);
-
-    // 6. ReservierungsId für Response generieren
-    // HINWEIS: Die tatsächliche Reservierung wird vom Event Handler erstellt!
-    // Diese ID ist nur für die API-Response. Der Event Handler wird seine eigene ID generieren.
-    ReservierungsId responseId = new ReservierungsId(UUID.randomUUID().toString());
-
-    return responseId;
+    for (int versuch = 0; versuch < MAX_VERSUCHE; versuch++) {
+      // 1. Private Kopie samt Version laden
+      AngebotStand stand =
+          angebotRepository
+              .ladeZumAendern(command.getAngebotId())
+              .orElseThrow(() -> new IllegalArgumentException("Angebot nicht gefunden"));
+      Angebot angebot = stand.angebot();
+      if (angebot.getStatus() != Angebot.Status.VERFUEGBAR) {
+        return ReservierungsErgebnis.konflikt();
+      }
+
+      // 2. Kopie reservieren (ändert Status, speichert Event intern)
+      domainService.reserviere(angebot, abholerId, Abholcode.random());
+
+      // 3. Nur speichern, wenn niemand dazwischen war (publiziert das AngebotReserviertEvent)
+      if (angebotRepository.speichernWennUnveraendert(angebot, stand.version())) {
+        // HINWEIS: Die tatsächliche Reservierung wird vom Event Handler erstellt!
+        // Diese ID ist nur für die API-Response.
+        return ReservierungsErgebnis.reserviert(new ReservierungsId(UUID.randomUUID().toString()));
+      }
+    }
+    return ReservierungsErgebnis.konflikt();
   }
 
   public List<GeplanteAbholungResponse> findeGeplanteAbholungenFuerUser(String userId) {
+    return reservierungRepository.findeFuerAbholer(userId).stream()
+        .map(this::toGeplanteAbholung)
+        .collect(Collectors.toList());
+  }
 
+  /**
+   * Geplante Abholungen als lazy Stream: jede Reservierung wird erst beim Lesen mit ihrem Angebot
+   * angereichert, für Streaming-Antworten ohne Zwischenliste.
+   */
+  public Stream<GeplanteAbholungResponse> streameGeplanteAbholungenFuerUser(String userId) {
+    return reservierungRepository.streameFuerAbholer(userId).map(this::toGeplanteAbholung);
+  }
+
+  private GeplanteAbholungResponse toGeplanteAbholung(Reservierung r) {
     var formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
-    return reservierungRepository.findeFuerAbholer(userId).stream()
-        .map(
-            r -> {
-              var angebotOpt = angebotRepository.findeMitId(new AngebotsId(r.getAngebotId()));
-              var angebot = angebotOpt.orElse(null);
-
-              String titel = angebot != null ? angebot.getTitel() : null;
-              String beschreibung = angebot != null ? angebot.getBeschreibung() : null;
-
-              String von = null, bis = null;
-              if (angebot != null && angebot.getZeitfenster() != null) {
-                von =
-                    angebot.getZeitfenster().von() != null
-                        ? angebot.getZeitfenster().von().format(formatter)
-                        : null;
-                bis =
-                    angebot.getZeitfenster().bis() != null
-                        ? angebot.getZeitfenster().bis().format(formatter)
-                        : null;
-              }
-
-              return new com.foodrescue.reservierungsmanagement.infrastructure.web.rest
-                  .ReservierungController.GeplanteAbholungResponse(
-                  r.getId(),
-                  r.getAngebotId(),
-                  titel,
-                  beschreibung,
-                  r.getStatus().name(),
-                  r.getAbholcode() != null ? r.getAbholcode().value() : null,
-                  von,
-                  bis);
-            })
-        .collect(Collectors.toList());
+    var angebotOpt = angebotRepository.findeMitId(new AngebotsId(r.getAngebotId()));
+    var angebot = angebotOpt.orElse(null);
+
+    String titel = angebot != null ? angebot.getTitel() : null;
+    String beschreibung = angebot != null ? angebot.getBeschreibung() : null;
+
+    String von = null, bis = null;
+    if (angebot != null && angebot.getZeitfenster() != null) {
+      von =
+          angebot.getZeitfenster().von() != null
+              ? angebot.getZeitfenster().von().format(formatter)
+              : null;
+      bis =
+          angebot.getZeitfenster().bis() != null
+              ? angebot.getZeitfenster().bis().format(formatter)
+              : null;
+    }
+
+    return new GeplanteAbholungResponse(
+        r.getId(),
+        r.getAngebotId(),
+        titel,
+        beschreibung,
+        r.getStatus().name(),
+        r.getAbholcode() != null ? r.getAbholcode().value() : null,
+        von,
+        bis);
   }
 }
@@ -38,7 +38,11 @@ public class Reservierung implements AggregateRoot {
   private final List<DomainEvent> domainEvents = new ArrayList<>();
 
   private Reservierung(
-      ReservierungsId id, String angebotId, String abholerId, Abholcode abholcode) {
+      ReservierungsId id,
+      String angebotId,
+      String abholerId,
+      Abholcode abholcode,
+      Instant erstelltAm) {
 
     // Invarianten-Schutz
     this.id = Objects.requireNonNull(id, "ReservierungsId darf nicht null sein");
@@ -47,7 +51,8 @@ public class Reservierung implements AggregateRoot {
     this.abholcode = Objects.requireNonNull(abholcode, "Abholcode darf nicht null sein");
 
     this.status = Status.AKTIV;
-    this.erstelltAm = Instant.now();
+    this.erstelltAm =
+        Objects.requireNonNull(erstelltAm, "Erstellungszeitpunkt darf nicht null sein");
   }
 
   /**
@@ -62,11 +67,32 @@ public class Reservierung implements AggregateRoot {
   public static Reservierung erstelle(
       ReservierungsId id, String angebotId, String abholerId, Abholcode abholcode) {
 
-    var reservierung = new Reservierung(id, angebotId, abholerId, abholcode);
+    var reservierung = new Reservierung(id, angebotId, abholerId, abholcode, Instant.now());
     reservierung.domainEvents.add(new ReservierungErstellt(id.value()));
     return reservierung;
   }
 
+  /**
+   * Stellt einen gespeicherten Stand wieder her, z.B. aus einem Snapshot. Es entstehen keine
+   * Events.
+   */
+  public static Reservierung wiederherstellen(
+      ReservierungsId id,
+      String angebotId,
+      String abholerId,
+      Abholcode abholcode,
+      Status status,
+      Instant erstelltAm,
+      Instant abgeholtAm,
+      Instant storniertAm) {
+
+    var reservierung = new Reservierung(id, angebotId, abholerId, abholcode, erstelltAm);
+    reservierung.status = Objects.requireNonNull(status, "Status darf nicht null sein");
+    reservierung.abgeholtAm = abgeholtAm;
+    reservierung.storniertAm = storniertAm;
+    return reservierung;
+  }
+
   /**
    * Bestätigt die Abholung mit dem eingegebenen Code.
    *
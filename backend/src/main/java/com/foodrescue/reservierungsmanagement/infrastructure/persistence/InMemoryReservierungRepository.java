@@ -1,34 +1,163 @@
 package com.foodrescue.reservierungsmanagement.infrastructure.persistence;
 
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
 import com.foodrescue.reservierungsmanagement.infrastructure.repositories.ReservierungRepository;
+import com.foodrescue.shared.persistence.Archivierbar;
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import com.foodrescue.shared.persistence.SnapshotFaehig;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public class InMemoryReservierungRepository implements ReservierungRepository {
+@Profile("!jdbc")
+public class InMemoryReservierungRepository
+    implements ReservierungRepository, SnapshotFaehig, Archivierbar {
+
+  private static final Reservierung.Status[] STATUS = Reservierung.Status.values();
 
   private final Map<String, Reservierung> store = new ConcurrentHashMap<>();
 
+  /**
+   * Abgeschlossene Reservierungen außerhalb des Heaps (siehe {@link #archivieren()}); Lesen per ID
+   * und pro Abholer schließt sie ein und liefert eine frisch dekodierte Reservierung.
+   */
+  private final ReservierungArchiv archiv = new ReservierungArchiv();
+
+  /** Speichern hält die Lese-, ein Archivierungslauf die Schreibsperre. */
+  private final ReadWriteLock archivSperre = new ReentrantReadWriteLock();
+
   @Override
   public Reservierung speichern(Reservierung reservierung) {
-    store.put(reservierung.getId(), reservierung);
+    archivSperre.readLock().lock();
+    try {
+      if (store.put(reservierung.getId(), reservierung) == null) {
+        archiv.verwerfen(reservierung.getId());
+      }
+    } finally {
+      archivSperre.readLock().unlock();
+    }
     return reservierung;
   }
 
   @Override
   public Optional<Reservierung> findeMitId(String id) {
-    return Optional.ofNullable(store.get(id));
+    Reservierung reservierung = store.get(id);
+    return reservierung != null ? Optional.of(reservierung) : archiv.finde(id);
   }
 
   @Override
   public List<Reservierung> findeFuerAbholer(String abholerId) {
-    return store.values().stream()
-        .filter(r -> r.getAbholerId().equals(abholerId))
-        .collect(Collectors.toList());
+    return streameFuerAbholer(abholerId).collect(Collectors.toList());
+  }
+
+  /** Erst die Reservierungen im Heap, danach lazy die archivierten des Abholers. */
+  @Override
+  public Stream<Reservierung> streameFuerAbholer(String abholerId) {
+    Stream<Reservierung> live =
+        store.values().stream().filter(r -> r.getAbholerId().equals(abholerId));
+    return Stream.concat(
+        live,
+        Stream.of(abholerId)
+            .flatMap(id -> archiv.fuerAbholer(id).stream())
+            .filter(r -> !store.containsKey(r.getId())));
+  }
+
+  @Override
+  public String archivName() {
+    return "reservierungen";
+  }
+
+  /**
+   * Verschiebt alle nicht mehr aktiven Reservierungen ins Archiv. Jede wird erst archiviert und
+   * dann aus dem Heap genommen; Speichern wartet für die Dauer des Laufs.
+   */
+  @Override
+  public int archivieren() {
+    archivSperre.writeLock().lock();
+    try {
+      int anzahl = 0;
+      for (Reservierung reservierung : List.copyOf(store.values())) {
+        if (reservierung.getStatus() != Reservierung.Status.AKTIV) {
+          archiv.anhaengen(reservierung);
+          store.remove(reservierung.getId());
+          anzahl++;
+        }
+      }
+      return anzahl;
+    } finally {
+      archivSperre.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public Archivierbar.Statistik archivStatistik() {
+    return new Archivierbar.Statistik(archiv.anzahl(), archiv.toteZeilen(), archiv.belegteBytes());
+  }
+
+  @Override
+  public String snapshotName() {
+    return "reservierungen";
+  }
+
+  /** Heap und Archiv; beim Laden landet alles zunächst wieder im Heap. */
+  @Override
+  public int schreibeSnapshot(BinaerAusgabe out) {
+    int anzahl = 0;
+    for (Reservierung reservierung : store.values()) {
+      schreibe(out, reservierung);
+      anzahl++;
+    }
+    for (Reservierung reservierung : archiv.alle()) {
+      if (!store.containsKey(reservierung.getId())) {
+        schreibe(out, reservierung);
+        anzahl++;
+      }
+    }
+    out.ende();
+    return anzahl;
+  }
+
+  private static void schreibe(BinaerAusgabe out, Reservierung reservierung) {
+    out.weiter()
+        .text(reservierung.getId())
+        .text(reservierung.getAngebotId())
+        .text(reservierung.getAbholerId())
+        .text(reservierung.getAbholcode().value())
+        .aufzaehlung(reservierung.getStatus())
+        .zeitpunkt(reservierung.getErstelltAm())
+        .zeitpunkt(reservierung.getAbgeholtAm())
+        .zeitpunkt(reservierung.getStorniertAm());
+  }
+
+  @Override
+  public int ladeSnapshot(BinaerEingabe in) {
+    int anzahl = 0;
+    while (in.weiter()) {
+      // Argumente werden von links nach rechts ausgewertet, also in Schreibreihenfolge gelesen
+      Reservierung reservierung =
+          Reservierung.wiederherstellen(
+              ReservierungsId.of(in.text()),
+              in.text(),
+              in.text(),
+              Abholcode.of(in.text()),
+              in.aufzaehlung(STATUS),
+              in.zeitpunkt(),
+              in.zeitpunkt(),
+              in.zeitpunkt());
+      speichern(reservierung);
+      anzahl++;
+    }
+    return anzahl;
   }
 }
@@ -0,0 +1,78 @@
+package com.foodrescue.reservierungsmanagement.infrastructure.persistence;
+
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.reservierungsmanagement.infrastructure.repositories.ReservierungRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** JDBC-Implementierung des ReservierungRepository (Profil {@code jdbc}). */
+@Repository
+@Profile("jdbc")
+public class JdbcReservierungRepository implements ReservierungRepository {
+
+  private static final String SPALTEN =
+      "id, angebot_id, abholer_id, abholcode, status, erstellt_am, abgeholt_am, storniert_am";
+
+  private static final String MERGE =
+      "MERGE INTO reservierung (" + SPALTEN + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String SELECT_MIT_ID =
+      "SELECT " + SPALTEN + " FROM reservierung WHERE id = ?";
+
+  /** Über den Index auf abholer_id. */
+  private static final String SELECT_FUER_ABHOLER =
+      "SELECT " + SPALTEN + " FROM reservierung WHERE abholer_id = ?";
+
+  private final JdbcTemplate jdbc;
+
+  public JdbcReservierungRepository(JdbcTemplate jdbc) {
+    this.jdbc = Objects.requireNonNull(jdbc, "JdbcTemplate darf nicht null sein");
+  }
+
+  @Override
+  public Reservierung speichern(Reservierung reservierung) {
+    Objects.requireNonNull(reservierung, "Reservierung darf nicht null sein");
+    jdbc.update(
+        MERGE,
+        reservierung.getId(),
+        reservierung.getAngebotId(),
+        reservierung.getAbholerId(),
+        reservierung.getAbholcode().value(),
+        reservierung.getStatus().name(),
+        reservierung.getErstelltAm(),
+        reservierung.getAbgeholtAm(),
+        reservierung.getStorniertAm());
+    return reservierung;
+  }
+
+  @Override
+  public Optional<Reservierung> findeMitId(String id) {
+    return jdbc.query(SELECT_MIT_ID, JdbcReservierungRepository::lese, id).stream().findFirst();
+  }
+
+  @Override
+  public List<Reservierung> findeFuerAbholer(String abholerId) {
+    return jdbc.query(SELECT_FUER_ABHOLER, JdbcReservierungRepository::lese, abholerId);
+  }
+
+  private static Reservierung lese(ResultSet rs, int zeile) throws SQLException {
+    return Reservierung.wiederherstellen(
+        ReservierungsId.of(rs.getString("id")),
+        rs.getString("angebot_id"),
+        rs.getString("abholer_id"),
+        Abholcode.of(rs.getString("abholcode")),
+        Reservierung.Status.valueOf(rs.getString("status")),
+        rs.getObject("erstellt_am", Instant.class),
+        rs.getObject("abgeholt_am", Instant.class),
+        rs.getObject("storniert_am", Instant.class));
+  }
+}
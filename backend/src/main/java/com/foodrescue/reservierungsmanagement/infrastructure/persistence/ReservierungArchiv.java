@@ -0,0 +1,208 @@
+package com.foodrescue.reservierungsmanagement.infrastructure.persistence;
+
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.shared.persistence.OffHeapSpalte;
+import com.foodrescue.shared.persistence.OffHeapTexte;
+import com.foodrescue.shared.persistence.Woerterbuch;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kaltes Archiv für abgeschlossene Reservierungen (abgeholt oder storniert), spaltenweise außerhalb
+ * des Heaps.
+ *
+ * <p>Abholer wiederholen sich und liegen deshalb als int-Code aus einem {@link Woerterbuch} in der
+ * Spalte; die Suche pro Abholer vergleicht nur diese ints. Zeitpunkte sind Sekunden plus
+ * Nanosekunden, ein fehlender Zeitpunkt ist {@link Long#MIN_VALUE}. Wie im Angebotsarchiv ist eine
+ * Zeile nur gültig, solange das ID-Verzeichnis auf sie zeigt; ein Read/Write-Lock schützt alle
+ * Spalten.
+ */
+class ReservierungArchiv {
+
+  private static final Reservierung.Status[] STATUS = Reservierung.Status.values();
+  private static final long FEHLT = Long.MIN_VALUE;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final OffHeapTexte ids = OffHeapTexte.mitVerzeichnis();
+  private final OffHeapTexte angebotIds = OffHeapTexte.ohneVerzeichnis();
+  private final OffHeapSpalte abholer = OffHeapSpalte.ganzzahlen();
+  private final OffHeapTexte abholcodes = OffHeapTexte.ohneVerzeichnis();
+  private final OffHeapSpalte status = OffHeapSpalte.bytes();
+  private final OffHeapSpalte erstelltSekunden = OffHeapSpalte.langzahlen();
+  private final OffHeapSpalte erstelltNanos = OffHeapSpalte.ganzzahlen();
+  private final OffHeapSpalte abgeholtSekunden = OffHeapSpalte.langzahlen();
+  private final OffHeapSpalte abgeholtNanos = OffHeapSpalte.ganzzahlen();
+  private final OffHeapSpalte storniertSekunden = OffHeapSpalte.langzahlen();
+  private final OffHeapSpalte storniertNanos = OffHeapSpalte.ganzzahlen();
+
+  private final Woerterbuch abholerCodes = new Woerterbuch();
+
+  /** Legt eine Reservierung ab; eine ältere Zeile derselben ID wird dadurch ungültig. */
+  void anhaengen(Reservierung reservierung) {
+    lock.writeLock().lock();
+    try {
+      angebotIds.anhaengen(reservierung.getAngebotId());
+      abholer.anhaengen(abholerCodes.code(reservierung.getAbholerId()));
+      abholcodes.anhaengen(reservierung.getAbholcode().value());
+      status.anhaengen(reservierung.getStatus().ordinal());
+      zeitpunkt(erstelltSekunden, erstelltNanos, reservierung.getErstelltAm());
+      zeitpunkt(abgeholtSekunden, abgeholtNanos, reservierung.getAbgeholtAm());
+      zeitpunkt(storniertSekunden, storniertNanos, reservierung.getStorniertAm());
+      // Die ID zuletzt: erst ab hier zeigt das Verzeichnis auf die vollständige Zeile
+      ids.anhaengen(reservierung.getId());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  Optional<Reservierung> finde(String id) {
+    lock.readLock().lock();
+    try {
+      int zeile = ids.zeileVon(id);
+      return zeile < 0 ? Optional.empty() : Optional.of(reservierung(zeile));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Macht die Zeile der ID ungültig, z.B. wenn die Reservierung wieder im Heap gespeichert wird.
+   */
+  boolean verwerfen(String id) {
+    lock.writeLock().lock();
+    try {
+      return ids.entferne(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Scan über die Abholer-Spalte (ein int pro Zeile); dekodiert werden nur die Treffer. */
+  List<Reservierung> fuerAbholer(String abholerId) {
+    lock.readLock().lock();
+    try {
+      int code = abholerCodes.codeVon(abholerId);
+      if (code < 0) {
+        return List.of();
+      }
+      List<Reservierung> ergebnis = new ArrayList<>();
+      for (int zeile = 0; zeile < abholer.zeilen(); zeile++) {
+        if (abholer.lese(zeile) == code && gueltig(zeile)) {
+          ergebnis.add(reservierung(zeile));
+        }
+      }
+      return ergebnis;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Alle gültigen Reservierungen, z.B. für den Snapshot. */
+  List<Reservierung> alle() {
+    lock.readLock().lock();
+    try {
+      List<Reservierung> ergebnis = new ArrayList<>(ids.eintraege());
+      for (int zeile = 0; zeile < ids.zeilen(); zeile++) {
+        if (gueltig(zeile)) {
+          ergebnis.add(reservierung(zeile));
+        }
+      }
+      return ergebnis;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Anzahl gültiger Reservierungen. */
+  int anzahl() {
+    lock.readLock().lock();
+    try {
+      return ids.eintraege();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Verworfene Zeilen, die weiter Speicher belegen. */
+  int toteZeilen() {
+    lock.readLock().lock();
+    try {
+      return ids.zeilen() - ids.eintraege();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Reservierter Speicher außerhalb des Heaps über alle Spalten. */
+  long belegteBytes() {
+    lock.readLock().lock();
+    try {
+      return ids.belegteBytes()
+          + angebotIds.belegteBytes()
+          + abholer.belegteBytes()
+          + abholcodes.belegteBytes()
+          + status.belegteBytes()
+          + erstelltSekunden.belegteBytes()
+          + erstelltNanos.belegteBytes()
+          + abgeholtSekunden.belegteBytes()
+          + abgeholtNanos.belegteBytes()
+          + storniertSekunden.belegteBytes()
+          + storniertNanos.belegteBytes();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  void leeren() {
+    lock.writeLock().lock();
+    try {
+      ids.leeren();
+      angebotIds.leeren();
+      abholer.leeren();
+      abholcodes.leeren();
+      status.leeren();
+      erstelltSekunden.leeren();
+      erstelltNanos.leeren();
+      abgeholtSekunden.leeren();
+      abgeholtNanos.leeren();
+      storniertSekunden.leeren();
+      storniertNanos.leeren();
+      abholerCodes.leeren();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private boolean gueltig(int zeile) {
+    return ids.zeileVon(ids.lese(zeile)) == zeile;
+  }
+
+  private Reservierung reservierung(int zeile) {
+    return Reservierung.wiederherstellen(
+        ReservierungsId.of(ids.lese(zeile)),
+        angebotIds.lese(zeile),
+        abholerCodes.text((int) abholer.lese(zeile)),
+        Abholcode.of(abholcodes.lese(zeile)),
+        STATUS[(int) status.lese(zeile)],
+        zeitpunkt(erstelltSekunden, erstelltNanos, zeile),
+        zeitpunkt(abgeholtSekunden, abgeholtNanos, zeile),
+        zeitpunkt(storniertSekunden, storniertNanos, zeile));
+  }
+
+  private static void zeitpunkt(OffHeapSpalte sekunden, OffHeapSpalte nanos, Instant zeitpunkt) {
+    sekunden.anhaengen(zeitpunkt == null ? FEHLT : zeitpunkt.getEpochSecond());
+    nanos.anhaengen(zeitpunkt == null ? 0 : zeitpunkt.getNano());
+  }
+
+  private static Instant zeitpunkt(OffHeapSpalte sekunden, OffHeapSpalte nanos, int zeile) {
+    long wert = sekunden.lese(zeile);
+    return wert == FEHLT ? null : Instant.ofEpochSecond(wert, nanos.lese(zeile));
+  }
+}
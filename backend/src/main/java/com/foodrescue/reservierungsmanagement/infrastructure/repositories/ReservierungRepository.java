@@ -3,6 +3,7 @@ package com.foodrescue.reservierungsmanagement.infrastructure.repositories;
 import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ReservierungRepository {
   Reservierung speichern(Reservierung reservierung);
@@ -10,4 +11,9 @@ public interface ReservierungRepository {
   Optional<Reservierung> findeMitId(String id);
 
   List<Reservierung> findeFuerAbholer(String abholerId);
+
+  /** Reservierungen eines Abholers als Stream, für Streaming-Antworten ohne Zwischenliste. */
+  default Stream<Reservierung> streameFuerAbholer(String abholerId) {
+    return findeFuerAbholer(abholerId).stream();
+  }
 }
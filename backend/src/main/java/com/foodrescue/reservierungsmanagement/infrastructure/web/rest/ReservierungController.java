@@ -1,24 +1,30 @@
 package com.foodrescue.reservierungsmanagement.infrastructure.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.reservierungsmanagement.application.commands.ReserviereAngebotCommand;
 import com.foodrescue.reservierungsmanagement.application.services.ReservierungsApplicationService;
-import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.reservierungsmanagement.application.services.ReservierungsApplicationService.ReservierungsErgebnis;
+import com.foodrescue.shared.rest.NdjsonAntwort;
 import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/reservierungen", produces = MediaType.APPLICATION_JSON_VALUE)
 public class ReservierungController {
 
   private final ReservierungsApplicationService service;
+  private final ObjectMapper objectMapper;
 
-  public ReservierungController(ReservierungsApplicationService service) {
+  public ReservierungController(
+      ReservierungsApplicationService service, ObjectMapper objectMapper) {
     this.service = service;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -32,9 +38,13 @@ public class ReservierungController {
         new ReserviereAngebotCommand(
             new AngebotsId(request.getAngebotId()), new UserId(request.getAbholerId()));
 
-    ReservierungsId id = service.reserviereAngebot(cmd);
+    ReservierungsErgebnis ergebnis = service.reserviereAngebot(cmd);
+    if (ergebnis.istKonflikt()) {
+      // Angebot ist nicht (mehr) verfügbar, z.B. weil ein anderer Abholer schneller war
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
     return ResponseEntity.status(HttpStatus.CREATED)
-        .body(new CreateReservierungResponse(id.value()));
+        .body(new CreateReservierungResponse(ergebnis.reservierungsId().value()));
   }
 
   @GetMapping("/user/{userId}")
@@ -43,6 +53,13 @@ public class ReservierungController {
     return ResponseEntity.ok(service.findeGeplanteAbholungenFuerUser(userId));
   }
 
+  /** Streaming-Variante mit {@code Accept: application/x-ndjson}: eine Abholung pro Zeile. */
+  @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamePickups(
+      @PathVariable("userId") String userId) {
+    return NdjsonAntwort.von(objectMapper, service.streameGeplanteAbholungenFuerUser(userId));
+  }
+
   public record CreateReservierungResponse(String id) {}
 
   public record GeplanteAbholungResponse(
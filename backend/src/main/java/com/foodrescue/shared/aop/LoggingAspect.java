@@ -53,6 +53,14 @@ public class LoggingAspect {
           + "execution(* com.foodrescue.*.infrastructure.persistence.*.*(..))")
   public void repositoryMethods() {}
 
+  /**
+   * Pointcut für Methoden, die ein Hintergrundtakt im Sekundenabstand aufruft (Angebotsablauf). Sie
+   * würden sonst auch auf einem ruhenden System jede Sekunde Log-Zeilen erzeugen; was sie bewirken,
+   * loggt der Takt selbst.
+   */
+  @Pointcut("execution(* com.foodrescue.*.infrastructure..*.laufeAb(..))")
+  public void taktMethods() {}
+
   /**
    * Pointcut für alle Event Handler Methoden. Pattern:
    * com.foodrescue.*.infrastructure.eventhandlers.*.*(..)
@@ -76,7 +84,7 @@ public class LoggingAspect {
    * @return Das Ergebnis der Methoden-Ausführung
    * @throws Throwable Falls die Methode eine Exception wirft
    */
-  @Around("applicationServiceMethods() || repositoryMethods()")
+  @Around("(applicationServiceMethods() || repositoryMethods()) && !taktMethods()")
   public Object logMethodExecutionWithPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
 
     String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
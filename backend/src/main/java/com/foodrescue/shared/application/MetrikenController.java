@@ -0,0 +1,57 @@
+package com.foodrescue.shared.application;
+
+import com.foodrescue.shared.persistence.Archivierbar;
+import com.foodrescue.shared.persistence.GecachtesRepository;
+import com.foodrescue.shared.persistence.LeseCache;
+import com.foodrescue.shared.rest.KonditionalesGet;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Laufzeit-Kennzahlen für Betrieb und Dashboard. */
+@RestController
+@RequestMapping("/api/metriken")
+public class MetrikenController {
+  private final KonditionalesGet konditionalesGet;
+  private final ObjectProvider<GecachtesRepository> gecachteRepositories;
+  private final ObjectProvider<Archivierbar> archivierbareRepositories;
+
+  public MetrikenController(
+      KonditionalesGet konditionalesGet,
+      ObjectProvider<GecachtesRepository> gecachteRepositories,
+      ObjectProvider<Archivierbar> archivierbareRepositories) {
+    this.konditionalesGet = konditionalesGet;
+    this.gecachteRepositories = gecachteRepositories;
+    this.archivierbareRepositories = archivierbareRepositories;
+  }
+
+  /** Treffer und Fehlgriffe der bedingten GETs (ETag / If-None-Match) pro Bereich. */
+  @GetMapping("/etag")
+  public ResponseEntity<Map<String, KonditionalesGet.Statistik>> etag() {
+    return ResponseEntity.ok(konditionalesGet.statistik());
+  }
+
+  /**
+   * Treffer, Fehlgriffe und Verdrängungen der Repository-Caches (Profil {@code jdbc}); leer, wenn
+   * kein Repository cacht.
+   */
+  @GetMapping("/cache")
+  public ResponseEntity<Map<String, LeseCache.Statistik>> cache() {
+    Map<String, LeseCache.Statistik> statistik = new TreeMap<>();
+    gecachteRepositories.forEach(
+        repository ->
+            repository.caches().forEach(cache -> statistik.put(cache.name(), cache.statistik())));
+    return ResponseEntity.ok(statistik);
+  }
+
+  /** Archivierte Aggregate und Speicher außerhalb des Heaps pro Archiv (In-Memory-Profil). */
+  @GetMapping("/archiv")
+  public ResponseEntity<Map<String, Archivierbar.Statistik>> archiv() {
+    Map<String, Archivierbar.Statistik> statistik = new TreeMap<>();
+    archivierbareRepositories.forEach(
+        repository -> statistik.put(repository.archivName(), repository.archivStatistik()));
+    return ResponseEntity.ok(statistik);
+  }
+}
@@ -0,0 +1,28 @@
+package com.foodrescue.shared.persistence;
+
+/**
+ * Ein In-Memory-Repository, das Aggregate im Endzustand aus dem Heap in ein kompaktes Archiv
+ * verschieben kann. Der {@link Archivierer} ruft {@link #archivieren()} regelmäßig auf.
+ *
+ * <p>Archivierte Aggregate bleiben über die ID und die Abfragen für Historie und Statistik
+ * auffindbar; gelesen wird dann eine frisch dekodierte Kopie.
+ */
+public interface Archivierbar {
+
+  /** Name für Log und Metriken. */
+  String archivName();
+
+  /** Verschiebt alle Aggregate im Endzustand ins Archiv; liefert deren Anzahl. */
+  int archivieren();
+
+  Statistik archivStatistik();
+
+  /**
+   * Umfang eines Archivs.
+   *
+   * @param aggregate Archivierte Aggregate
+   * @param toteZeilen Verworfene Zeilen, die noch Speicher belegen
+   * @param belegteBytes Reservierter Speicher außerhalb des Heaps
+   */
+  record Statistik(long aggregate, long toteZeilen, long belegteBytes) {}
+}
@@ -0,0 +1,47 @@
+package com.foodrescue.shared.persistence;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verschiebt in festem Takt alle Aggregate im Endzustand aus den {@link Archivierbar}en
+ * Repositories in deren Archiv, damit der Heap nur mit den aktiven Daten wächst.
+ *
+ * <p>Aktiv nur mit {@code foodrescue.archiv.intervall-ms}, das zugleich den Takt vorgibt.
+ */
+@Component
+@ConditionalOnProperty("foodrescue.archiv.intervall-ms")
+public class Archivierer {
+
+  private static final Logger log = LoggerFactory.getLogger(Archivierer.class);
+
+  private final List<Archivierbar> quellen;
+
+  public Archivierer(List<Archivierbar> quellen) {
+    this.quellen = List.copyOf(quellen);
+  }
+
+  /**
+   * Ein Durchlauf über alle Repositories.
+   *
+   * @return Anzahl archivierter Aggregate pro Archiv
+   */
+  @Scheduled(
+      fixedDelayString = "${foodrescue.archiv.intervall-ms}",
+      initialDelayString = "${foodrescue.archiv.intervall-ms}")
+  public Map<String, Integer> archivieren() {
+    long start = System.nanoTime();
+    Map<String, Integer> ergebnis = new LinkedHashMap<>();
+    for (Archivierbar quelle : quellen) {
+      ergebnis.put(quelle.archivName(), quelle.archivieren());
+    }
+    log.info("Archiviert in {} ms: {}", (System.nanoTime() - start) / 1_000_000, ergebnis);
+    return ergebnis;
+  }
+}
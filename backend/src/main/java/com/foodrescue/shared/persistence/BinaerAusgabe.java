@@ -0,0 +1,119 @@
+package com.foodrescue.shared.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Schreibt Felder kompakt und ohne Feldnamen im Binärformat von {@link BinaerEingabe} (Big Endian,
+ * Texte als Länge + UTF-8, Enums als Ordinalzahl). Grundlage für Journal und Snapshots; die
+ * Reihenfolge der Felder ist das Format.
+ *
+ * <p>IOExceptions des Ziels werden als {@link UncheckedIOException} weitergereicht.
+ */
+public final class BinaerAusgabe {
+
+  private final DataOutputStream out;
+
+  public BinaerAusgabe(OutputStream ziel) {
+    this.out = new DataOutputStream(Objects.requireNonNull(ziel, "Ziel darf nicht null sein"));
+  }
+
+  public BinaerAusgabe bytewert(int wert) {
+    try {
+      out.writeByte(wert);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return this;
+  }
+
+  public BinaerAusgabe ganzzahl(int wert) {
+    try {
+      out.writeInt(wert);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return this;
+  }
+
+  public BinaerAusgabe lang(long wert) {
+    try {
+      out.writeLong(wert);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return this;
+  }
+
+  public BinaerAusgabe kommazahl(double wert) {
+    try {
+      out.writeDouble(wert);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return this;
+  }
+
+  public BinaerAusgabe wahrheitswert(boolean wert) {
+    return bytewert(wert ? 1 : 0);
+  }
+
+  public BinaerAusgabe text(String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    ganzzahl(bytes.length);
+    try {
+      out.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return this;
+  }
+
+  public BinaerAusgabe uuid(UUID uuid) {
+    return lang(uuid.getMostSignificantBits()).lang(uuid.getLeastSignificantBits());
+  }
+
+  /** Sekunden und Nanosekunden in UTC. */
+  public BinaerAusgabe datumZeit(LocalDateTime zeit) {
+    return lang(zeit.toEpochSecond(ZoneOffset.UTC)).ganzzahl(zeit.getNano());
+  }
+
+  /** Zeitpunkt oder {@code null}; ein Flag-Byte davor. */
+  public BinaerAusgabe zeitpunkt(Instant zeitpunkt) {
+    wahrheitswert(zeitpunkt != null);
+    return zeitpunkt == null
+        ? this
+        : lang(zeitpunkt.getEpochSecond()).ganzzahl(zeitpunkt.getNano());
+  }
+
+  /** Ordinalzahl als ein Byte; die Reihenfolge der Konstanten ist damit Teil des Formats. */
+  public BinaerAusgabe aufzaehlung(Enum<?> wert) {
+    return bytewert(wert.ordinal());
+  }
+
+  /** Kündigt in einer Folge unbekannter Länge einen weiteren Eintrag an. */
+  public BinaerAusgabe weiter() {
+    return bytewert(1);
+  }
+
+  /** Beendet eine Folge; siehe {@link BinaerEingabe#weiter()}. */
+  public BinaerAusgabe ende() {
+    return bytewert(0);
+  }
+
+  public void flush() {
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.foodrescue.shared.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Liest das Format von {@link BinaerAusgabe} aus einem {@link ByteBuffer}, typischerweise einer
+ * memory-mapped Datei. Ein Lesen über das Ende hinaus wirft {@link
+ * java.nio.BufferUnderflowException}.
+ */
+public final class BinaerEingabe {
+
+  private final ByteBuffer in;
+
+  public BinaerEingabe(ByteBuffer quelle) {
+    this.in = Objects.requireNonNull(quelle, "Quelle darf nicht null sein");
+  }
+
+  public int bytewert() {
+    return in.get();
+  }
+
+  public int ganzzahl() {
+    return in.getInt();
+  }
+
+  public long lang() {
+    return in.getLong();
+  }
+
+  public double kommazahl() {
+    return in.getDouble();
+  }
+
+  public boolean wahrheitswert() {
+    return in.get() != 0;
+  }
+
+  public String text() {
+    int laenge = in.getInt();
+    if (laenge < 0 || laenge > in.remaining()) {
+      throw new IllegalStateException("Ungültige Textlänge " + laenge);
+    }
+    byte[] bytes = new byte[laenge];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public UUID uuid() {
+    return new UUID(in.getLong(), in.getLong());
+  }
+
+  public LocalDateTime datumZeit() {
+    return LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+  }
+
+  /** Zeitpunkt oder {@code null}. */
+  public Instant zeitpunkt() {
+    return wahrheitswert() ? Instant.ofEpochSecond(in.getLong(), in.getInt()) : null;
+  }
+
+  public <E extends Enum<E>> E aufzaehlung(E[] werte) {
+    return werte[in.get()];
+  }
+
+  /** true, solange die Folge einen weiteren Eintrag hat; siehe {@link BinaerAusgabe#weiter()}. */
+  public boolean weiter() {
+    return in.get() != 0;
+  }
+
+  /** Noch ungelesene Bytes. */
+  public int verbleibend() {
+    return in.remaining();
+  }
+}
@@ -0,0 +1,9 @@
+package com.foodrescue.shared.persistence;
+
+import java.util.List;
+
+/** Ein Repository mit {@link LeseCache}s, deren Zähler unter {@code /api/metriken} erscheinen. */
+public interface GecachtesRepository {
+
+  List<LeseCache<?, ?>> caches();
+}
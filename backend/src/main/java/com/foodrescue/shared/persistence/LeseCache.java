@@ -0,0 +1,130 @@
+package com.foodrescue.shared.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Begrenzter Read-Through-Cache vor einem dauerhaften Repository.
+ *
+ * <p>Verdrängt wird nach W-TinyLFU (Caffeine): ein neuer Eintrag kommt nur in den Hauptbereich,
+ * wenn er laut Häufigkeitsskizze öfter gebraucht wurde als das Opfer. Ein einmaliger Scan über
+ * viele Schlüssel spült den heißen Bestand daher nicht heraus. Begrenzt wird über ein Gewicht pro
+ * Eintrag, z.B. 1 für ein Aggregat oder die Länge einer Liste.
+ *
+ * <p>Gleichzeitige Fehlgriffe auf denselben Schlüssel laden nur einmal; die übrigen Aufrufer warten
+ * auf dieses Ergebnis. {@link #entferne} wartet umgekehrt auf ein laufendes Laden desselben
+ * Schlüssels und verwirft dessen Ergebnis. Wer also erst schreibt und dann entfernt, hinterlässt
+ * keinen veralteten Eintrag. Läuft eine Transaktion, wird nach deren Ende noch einmal entfernt:
+ * sonst bliebe ein Stand gecacht, den ein anderer Thread vor dem Commit gelesen hat, oder einer aus
+ * der eigenen Transaktion, die dann zurückgerollt wird.
+ *
+ * <p>Die Wartung (Häufigkeiten nachtragen, Verdrängen) läuft im aufrufenden Thread statt im
+ * Common-Pool; welche Einträge verdrängt werden, hängt so nur von der Zugriffsfolge ab.
+ *
+ * @param <K> Schlüssel
+ * @param <V> Wert; {@code null} vom Lader wird nicht gecacht
+ */
+public final class LeseCache<K, V> {
+
+  private final String name;
+  private final Cache<K, V> cache;
+
+  /**
+   * @param name Name für die Metriken
+   * @param maximalesGewicht Obergrenze für die Summe aller Gewichte
+   * @param gewicht Gewicht eines Werts (mindestens 0)
+   */
+  public LeseCache(String name, long maximalesGewicht, ToIntFunction<V> gewicht) {
+    this.name = Objects.requireNonNull(name, "Name darf nicht null sein");
+    Objects.requireNonNull(gewicht, "Gewicht darf nicht null sein");
+    if (maximalesGewicht <= 0) {
+      throw new IllegalArgumentException("Maximales Gewicht muss positiv sein");
+    }
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maximalesGewicht)
+            .<K, V>weigher((schluessel, wert) -> gewicht.applyAsInt(wert))
+            .recordStats()
+            .executor(Runnable::run)
+            .build();
+  }
+
+  /** Cache mit Gewicht 1 pro Eintrag, also höchstens {@code maximaleEintraege} Einträgen. */
+  public static <K, V> LeseCache<K, V> mitEintraegen(String name, long maximaleEintraege) {
+    return new LeseCache<>(name, maximaleEintraege, wert -> 1);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Liefert den gecachten Wert oder lädt ihn über {@code lader}.
+   *
+   * @return der Wert, oder null, wenn der Lader null liefert
+   */
+  public V lade(K schluessel, Function<? super K, ? extends V> lader) {
+    Objects.requireNonNull(schluessel, "Schlüssel darf nicht null sein");
+    return cache.get(schluessel, lader);
+  }
+
+  /** Der gecachte Wert ohne zu laden; null, wenn keiner vorliegt. */
+  public V finde(K schluessel) {
+    Objects.requireNonNull(schluessel, "Schlüssel darf nicht null sein");
+    return cache.getIfPresent(schluessel);
+  }
+
+  /** Entfernt den Eintrag sofort und, falls eine Transaktion läuft, nochmals nach deren Ende. */
+  public void entferne(K schluessel) {
+    cache.invalidate(schluessel);
+    nachTransaktion(() -> cache.invalidate(schluessel));
+  }
+
+  /** Wie {@link #entferne}, für alle Einträge. */
+  public void leeren() {
+    cache.invalidateAll();
+    nachTransaktion(cache::invalidateAll);
+  }
+
+  /** Momentaufnahme der Zähler seit dem Start; zieht anstehende Verdrängungen vorher nach. */
+  public Statistik statistik() {
+    cache.cleanUp();
+    CacheStats stats = cache.stats();
+    return new Statistik(
+        stats.hitCount(),
+        stats.missCount(),
+        stats.hitRate(),
+        stats.evictionCount(),
+        cache.estimatedSize());
+  }
+
+  private static void nachTransaktion(Runnable aktion) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              aktion.run();
+            }
+          });
+    }
+  }
+
+  /**
+   * Zählerstände eines Caches.
+   *
+   * @param treffer Aufrufe, die aus dem Cache bedient wurden
+   * @param fehlgriffe Aufrufe, die laden mussten
+   * @param trefferquote Treffer pro Aufruf (1.0 ohne Aufrufe)
+   * @param verdraengungen Einträge, die wegen der Größenbegrenzung entfernt wurden
+   * @param eintraege Aktuelle Anzahl Einträge (geschätzt)
+   */
+  public record Statistik(
+      long treffer, long fehlgriffe, double trefferquote, long verdraengungen, long eintraege) {}
+}
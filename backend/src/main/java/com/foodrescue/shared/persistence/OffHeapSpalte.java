@@ -0,0 +1,95 @@
+package com.foodrescue.shared.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Spalte fester Breite (1, 4 oder 8 Bytes pro Zeile) außerhalb des Heaps.
+ *
+ * <p>Die Werte liegen in Direct Buffern zu je 64 KiB; eine Zeile liegt nie über einer Blockgrenze.
+ * Wachsen kostet einen neuen Block, nie ein Umkopieren, und der Garbage Collector sieht pro Block
+ * nur ein kleines Objekt. Nicht threadsicher: Aufrufer sperren selbst.
+ */
+public final class OffHeapSpalte {
+
+  static final int BLOCK = 1 << 16;
+
+  private final int breite;
+  private final int zeilenProBlock;
+  private final List<ByteBuffer> bloecke = new ArrayList<>();
+  private int zeilen;
+
+  private OffHeapSpalte(int breite) {
+    this.breite = breite;
+    this.zeilenProBlock = BLOCK / breite;
+  }
+
+  /** Ein Byte pro Zeile, z.B. für Status. */
+  public static OffHeapSpalte bytes() {
+    return new OffHeapSpalte(Byte.BYTES);
+  }
+
+  /** Ein int pro Zeile, z.B. für Wörterbuch-Codes. */
+  public static OffHeapSpalte ganzzahlen() {
+    return new OffHeapSpalte(Integer.BYTES);
+  }
+
+  /** Ein long pro Zeile, z.B. für Zeitpunkte und Versionen. */
+  public static OffHeapSpalte langzahlen() {
+    return new OffHeapSpalte(Long.BYTES);
+  }
+
+  /**
+   * Hängt eine Zeile an; Werte außerhalb der Spaltenbreite werden abgeschnitten.
+   *
+   * @return die Zeilennummer
+   */
+  public int anhaengen(long wert) {
+    int zeile = zeilen;
+    if (zeile == bloecke.size() * zeilenProBlock) {
+      bloecke.add(ByteBuffer.allocateDirect(BLOCK));
+    }
+    zeilen++;
+    setze(zeile, wert);
+    return zeile;
+  }
+
+  public long lese(int zeile) {
+    Objects.checkIndex(zeile, zeilen);
+    ByteBuffer block = bloecke.get(zeile / zeilenProBlock);
+    int position = (zeile % zeilenProBlock) * breite;
+    return switch (breite) {
+      case Byte.BYTES -> block.get(position);
+      case Integer.BYTES -> block.getInt(position);
+      default -> block.getLong(position);
+    };
+  }
+
+  public void setze(int zeile, long wert) {
+    Objects.checkIndex(zeile, zeilen);
+    ByteBuffer block = bloecke.get(zeile / zeilenProBlock);
+    int position = (zeile % zeilenProBlock) * breite;
+    switch (breite) {
+      case Byte.BYTES -> block.put(position, (byte) wert);
+      case Integer.BYTES -> block.putInt(position, (int) wert);
+      default -> block.putLong(position, wert);
+    }
+  }
+
+  public int zeilen() {
+    return zeilen;
+  }
+
+  /** Reservierter Speicher außerhalb des Heaps. */
+  public long belegteBytes() {
+    return (long) bloecke.size() * BLOCK;
+  }
+
+  /** Gibt alle Blöcke frei (sobald der GC die Buffer einsammelt). */
+  public void leeren() {
+    bloecke.clear();
+    zeilen = 0;
+  }
+}
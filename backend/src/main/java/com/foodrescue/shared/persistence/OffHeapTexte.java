@@ -0,0 +1,232 @@
+package com.foodrescue.shared.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Spalte variabel langer Texte (UTF-8) außerhalb des Heaps.
+ *
+ * <p>Die Bytes liegen hintereinander in Direct Buffern zu je 64 KiB; ein Text, der nicht mehr in
+ * den angefangenen Block passt, beginnt einen neuen, längere Texte bekommen einen eigenen Block.
+ * Pro Zeile bleiben Adresse und Länge in zwei {@link OffHeapSpalte}n.
+ *
+ * <p>Mit {@link #mitVerzeichnis()} führt die Spalte zusätzlich ein Verzeichnis Text → neueste
+ * Zeile, z.B. für IDs. Es ist eine offen adressierte int-Tabelle im Heap (vier bis acht Bytes pro
+ * Eintrag); verglichen wird direkt gegen die Bytes außerhalb des Heaps. Nicht threadsicher.
+ */
+public final class OffHeapTexte {
+
+  private static final int BLOCK = OffHeapSpalte.BLOCK;
+  private static final int FREI = -1;
+  private static final int GELOESCHT = -2;
+
+  private final List<ByteBuffer> bloecke = new ArrayList<>();
+  private final OffHeapSpalte adressen = OffHeapSpalte.langzahlen();
+  private final OffHeapSpalte laengen = OffHeapSpalte.ganzzahlen();
+  private int belegtImLetztenBlock = BLOCK;
+  private long belegteBytes;
+
+  /** Verzeichnis Text → Zeile, oder null; Länge immer eine Zweierpotenz. */
+  private int[] verzeichnis;
+
+  private int eintraege;
+  private int geloeschte;
+
+  private OffHeapTexte(boolean mitVerzeichnis) {
+    if (mitVerzeichnis) {
+      verzeichnis = new int[16];
+      Arrays.fill(verzeichnis, FREI);
+    }
+  }
+
+  public static OffHeapTexte ohneVerzeichnis() {
+    return new OffHeapTexte(false);
+  }
+
+  public static OffHeapTexte mitVerzeichnis() {
+    return new OffHeapTexte(true);
+  }
+
+  /**
+   * Hängt einen Text an. Mit Verzeichnis zeigt der Text danach auf diese Zeile, auch wenn er schon
+   * in einer älteren Zeile steht.
+   *
+   * @return die Zeilennummer
+   */
+  public int anhaengen(String text) {
+    Objects.requireNonNull(text, "Text darf nicht null sein");
+    byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+    if (bloecke.isEmpty() || utf8.length > BLOCK - belegtImLetztenBlock) {
+      int groesse = Math.max(BLOCK, utf8.length);
+      bloecke.add(ByteBuffer.allocateDirect(groesse));
+      belegteBytes += groesse;
+      belegtImLetztenBlock = 0;
+    }
+    int block = bloecke.size() - 1;
+    bloecke.get(block).put(belegtImLetztenBlock, utf8);
+    adressen.anhaengen(((long) block << 32) | belegtImLetztenBlock);
+    laengen.anhaengen(utf8.length);
+    belegtImLetztenBlock += utf8.length;
+    if (belegtImLetztenBlock > BLOCK) {
+      belegtImLetztenBlock = BLOCK; // eigener Block für einen langen Text ist voll
+    }
+
+    int zeile = laengen.zeilen() - 1;
+    if (verzeichnis != null) {
+      eintragen(utf8, text.hashCode(), zeile);
+    }
+    return zeile;
+  }
+
+  public String lese(int zeile) {
+    return new String(bytes(zeile), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Zeile, in der der Text zuletzt angehängt wurde (nur mit Verzeichnis).
+   *
+   * @return die Zeile, oder -1, wenn der Text nicht (mehr) im Verzeichnis steht
+   */
+  public int zeileVon(String text) {
+    Objects.requireNonNull(text, "Text darf nicht null sein");
+    if (eintraege == 0) {
+      return -1;
+    }
+    int position = suche(text.getBytes(StandardCharsets.UTF_8), text.hashCode());
+    return position < 0 ? -1 : verzeichnis[position];
+  }
+
+  /**
+   * Nimmt den Text aus dem Verzeichnis; die Zeilen bleiben lesbar.
+   *
+   * @return true, wenn der Text im Verzeichnis stand
+   */
+  public boolean entferne(String text) {
+    Objects.requireNonNull(text, "Text darf nicht null sein");
+    if (eintraege == 0) {
+      return false;
+    }
+    int position = suche(text.getBytes(StandardCharsets.UTF_8), text.hashCode());
+    if (position < 0) {
+      return false;
+    }
+    verzeichnis[position] = GELOESCHT;
+    eintraege--;
+    geloeschte++;
+    return true;
+  }
+
+  public int zeilen() {
+    return laengen.zeilen();
+  }
+
+  /** Anzahl Texte im Verzeichnis. */
+  public int eintraege() {
+    return eintraege;
+  }
+
+  /** Reservierter Speicher außerhalb des Heaps. */
+  public long belegteBytes() {
+    return belegteBytes + adressen.belegteBytes() + laengen.belegteBytes();
+  }
+
+  public void leeren() {
+    bloecke.clear();
+    adressen.leeren();
+    laengen.leeren();
+    belegtImLetztenBlock = BLOCK;
+    belegteBytes = 0;
+    if (verzeichnis != null) {
+      verzeichnis = new int[16];
+      Arrays.fill(verzeichnis, FREI);
+    }
+    eintraege = 0;
+    geloeschte = 0;
+  }
+
+  private byte[] bytes(int zeile) {
+    long adresse = adressen.lese(zeile);
+    byte[] utf8 = new byte[(int) laengen.lese(zeile)];
+    bloecke.get((int) (adresse >>> 32)).get((int) adresse, utf8);
+    return utf8;
+  }
+
+  private boolean gleich(int zeile, byte[] utf8) {
+    if (laengen.lese(zeile) != utf8.length) {
+      return false;
+    }
+    long adresse = adressen.lese(zeile);
+    return bloecke
+            .get((int) (adresse >>> 32))
+            .slice((int) adresse, utf8.length)
+            .mismatch(ByteBuffer.wrap(utf8))
+        == -1;
+  }
+
+  /** Position des Texts in der Tabelle, oder -1. */
+  private int suche(byte[] utf8, int hash) {
+    int maske = verzeichnis.length - 1;
+    for (int position = streue(hash) & maske; ; position = (position + 1) & maske) {
+      int zeile = verzeichnis[position];
+      if (zeile == FREI) {
+        return -1;
+      }
+      if (zeile != GELOESCHT && gleich(zeile, utf8)) {
+        return position;
+      }
+    }
+  }
+
+  private void eintragen(byte[] utf8, int hash, int zeile) {
+    int vorhanden = eintraege == 0 ? -1 : suche(utf8, hash);
+    if (vorhanden >= 0) {
+      verzeichnis[vorhanden] = zeile;
+      return;
+    }
+    if ((eintraege + geloeschte + 1) * 2 > verzeichnis.length) {
+      vergroessern();
+    }
+    int maske = verzeichnis.length - 1;
+    int position = streue(hash) & maske;
+    while (verzeichnis[position] >= 0) {
+      position = (position + 1) & maske;
+    }
+    if (verzeichnis[position] == GELOESCHT) {
+      geloeschte--;
+    }
+    verzeichnis[position] = zeile;
+    eintraege++;
+  }
+
+  /** Baut die Tabelle neu (doppelt so groß, wenn nötig) und räumt gelöschte Plätze dabei ab. */
+  private void vergroessern() {
+    int[] alt = verzeichnis;
+    int laenge = (eintraege + 1) * 4 > alt.length ? alt.length * 2 : alt.length;
+    verzeichnis = new int[laenge];
+    Arrays.fill(verzeichnis, FREI);
+    int maske = laenge - 1;
+    for (int zeile : alt) {
+      if (zeile >= 0) {
+        int position = streue(lese(zeile).hashCode()) & maske;
+        while (verzeichnis[position] != FREI) {
+          position = (position + 1) & maske;
+        }
+        verzeichnis[position] = zeile;
+      }
+    }
+    geloeschte = 0;
+  }
+
+  /**
+   * Fibonacci-Streuung: IDs wie "a1", "a2", ... haben aufeinanderfolgende Hashwerte und bildeten
+   * beim linearen Sondieren sonst einen einzigen langen Cluster.
+   */
+  private static int streue(int hash) {
+    int gestreut = hash * 0x9E3779B9;
+    return gestreut ^ (gestreut >>> 16);
+  }
+}
@@ -0,0 +1,28 @@
+package com.foodrescue.shared.persistence;
+
+/**
+ * Ein In-Memory-Repository, das der {@link Snapshotter} als Binärabbild sichern und beim Start
+ * wieder laden kann.
+ *
+ * <p>{@link #schreibeSnapshot(BinaerAusgabe)} läuft im Hintergrund, während weiter gespeichert
+ * wird: es darf Schreiber nicht sperren und liest daher über die schwach konsistenten Iteratoren
+ * der Maps. Jedes Aggregat steht im Abbild so, wie es auch ein paralleles {@code findeMitId()}
+ * hätte liefern können; einen gemeinsamen Zeitpunkt über alle Aggregate gibt es nicht.
+ */
+public interface SnapshotFaehig {
+
+  /** Dateiname des Abbilds ohne Endung; eindeutig über alle Repositories. */
+  String snapshotName();
+
+  /** Schreibt alle Aggregate; liefert deren Anzahl. */
+  int schreibeSnapshot(BinaerAusgabe out);
+
+  /** Übernimmt ein mit {@link #schreibeSnapshot} geschriebenes Abbild; liefert die Anzahl. */
+  int ladeSnapshot(BinaerEingabe in);
+
+  /**
+   * Das zuletzt geschriebene Abbild liegt vollständig und umbenannt auf der Platte. Ein Repository
+   * mit Journal kann dieses nun bis zum Stand des Abbilds kürzen.
+   */
+  default void snapshotGesichert() {}
+}
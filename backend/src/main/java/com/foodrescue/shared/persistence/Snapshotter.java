@@ -0,0 +1,263 @@
+package com.foodrescue.shared.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sichert alle {@link SnapshotFaehig}en Repositories regelmäßig als kompakte Binärabbilder und lädt
+ * sie beim Start wieder.
+ *
+ * <p>Pro Repository entsteht eine Datei {@code <name>.snapshot}: {@code [MAGIC][Format][Inhalt des
+ * Repositories][CRC32C]}. Geschrieben wird in eine temporäre Datei, die nach {@code force()} atomar
+ * umbenannt wird – auf der Platte liegt also immer ein vollständiges Abbild. Erst wenn auch die
+ * Umbenennung gesichert ist, erfährt das Repository davon ({@link
+ * SnapshotFaehig#snapshotGesichert()}) und darf z.B. sein Journal kürzen. Schreiber in den
+ * Repositories werden dabei nicht angehalten.
+ *
+ * <p>Beim Start werden die Dateien memory-mapped, die Prüfsumme kontrolliert und alle Repositories
+ * parallel geladen (ein Thread pro Bounded Context) – vor dem Webserver, damit kein Request einen
+ * halb geladenen Stand sieht. Ist ein Abbild unlesbar, scheitert der Start: sonst würde die nächste
+ * Sicherung das letzte gute Abbild mit einem leeren überschreiben. Beim Herunterfahren wird ein
+ * letztes Mal gesichert.
+ *
+ * <p>Aktiv nur mit {@code foodrescue.snapshot.verzeichnis}; Takt über {@code
+ * foodrescue.snapshot.intervall-ms} (Standard fünf Minuten).
+ */
+@Component
+@ConditionalOnProperty("foodrescue.snapshot.verzeichnis")
+public class Snapshotter implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(Snapshotter.class);
+
+  /** "FRS1" */
+  private static final int MAGIC = 0x46525331;
+
+  private static final int FORMAT = 1;
+  private static final int KOPF = 8;
+  private static final int PRUEFSUMME = 4;
+
+  private final List<SnapshotFaehig> quellen;
+  private final Path verzeichnis;
+
+  private volatile boolean laeuft;
+
+  public Snapshotter(
+      List<SnapshotFaehig> quellen, @Value("${foodrescue.snapshot.verzeichnis}") Path verzeichnis) {
+    this.quellen = List.copyOf(quellen);
+    this.verzeichnis = Objects.requireNonNull(verzeichnis, "Verzeichnis darf nicht null sein");
+
+    Set<String> namen = new HashSet<>();
+    for (SnapshotFaehig quelle : this.quellen) {
+      if (!namen.add(quelle.snapshotName())) {
+        throw new IllegalStateException("Snapshot-Name doppelt vergeben: " + quelle.snapshotName());
+      }
+    }
+  }
+
+  /** Vor dem Webserver starten (dessen Phase liegt knapp unter {@link #DEFAULT_PHASE}). */
+  @Override
+  public int getPhase() {
+    return 0;
+  }
+
+  @Override
+  public void start() {
+    laden();
+    laeuft = true;
+  }
+
+  @Override
+  public void stop() {
+    laeuft = false;
+    sichern();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return laeuft;
+  }
+
+  /**
+   * Lädt die vorhandenen Abbilder parallel, ein Thread pro Repository.
+   *
+   * @return Anzahl geladener Aggregate pro Snapshot-Name; fehlende Dateien zählen 0
+   */
+  public Map<String, Integer> laden() {
+    long start = System.nanoTime();
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            Math.max(1, quellen.size()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "snapshot-laden");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      List<Future<Integer>> laeufe = new ArrayList<>(quellen.size());
+      for (SnapshotFaehig quelle : quellen) {
+        laeufe.add(pool.submit(() -> lade(quelle)));
+      }
+      Map<String, Integer> ergebnis = new LinkedHashMap<>();
+      for (int i = 0; i < quellen.size(); i++) {
+        ergebnis.put(quellen.get(i).snapshotName(), ergebnisVon(laeufe.get(i)));
+      }
+      log.info("Snapshots geladen in {} ms: {}", (System.nanoTime() - start) / 1_000_000, ergebnis);
+      return ergebnis;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Schreibt von jedem Repository ein neues Abbild.
+   *
+   * @return Anzahl gesicherter Aggregate pro Snapshot-Name
+   */
+  public synchronized Map<String, Integer> sichern() {
+    long start = System.nanoTime();
+    Map<String, Integer> ergebnis = new LinkedHashMap<>();
+    for (SnapshotFaehig quelle : quellen) {
+      ergebnis.put(quelle.snapshotName(), sichere(quelle));
+    }
+    log.info("Snapshots gesichert in {} ms: {}", (System.nanoTime() - start) / 1_000_000, ergebnis);
+    return ergebnis;
+  }
+
+  /** Sichert nur zwischen Laden und Herunterfahren; das letzte Abbild schreibt {@link #stop()}. */
+  @Scheduled(
+      fixedDelayString = "${foodrescue.snapshot.intervall-ms:300000}",
+      initialDelayString = "${foodrescue.snapshot.intervall-ms:300000}")
+  void sichernImTakt() {
+    if (laeuft) {
+      sichern();
+    }
+  }
+
+  private Path datei(SnapshotFaehig quelle) {
+    return verzeichnis.resolve(quelle.snapshotName() + ".snapshot");
+  }
+
+  private int sichere(SnapshotFaehig quelle) {
+    Path ziel = datei(quelle);
+    Path temporaer = verzeichnis.resolve(quelle.snapshotName() + ".snapshot.tmp");
+    try {
+      Files.createDirectories(verzeichnis);
+      int anzahl;
+      try (FileChannel kanal =
+          FileChannel.open(
+              temporaer,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+        CRC32C crc = new CRC32C();
+        BinaerAusgabe out =
+            new BinaerAusgabe(
+                new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(kanal), 1 << 16), crc));
+        out.ganzzahl(MAGIC).ganzzahl(FORMAT);
+        anzahl = quelle.schreibeSnapshot(out);
+        out.flush();
+        kanal.write(ByteBuffer.allocate(PRUEFSUMME).putInt(0, (int) crc.getValue()));
+        kanal.force(true);
+      }
+      Files.move(
+          temporaer, ziel, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      sichereVerzeichnis();
+      quelle.snapshotGesichert();
+      return anzahl;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Snapshot " + ziel + " kann nicht geschrieben werden", e);
+    }
+  }
+
+  /** Macht die Umbenennung dauerhaft; nicht jedes Dateisystem erlaubt das für Verzeichnisse. */
+  private void sichereVerzeichnis() {
+    try (FileChannel kanal = FileChannel.open(verzeichnis, StandardOpenOption.READ)) {
+      kanal.force(true);
+    } catch (IOException e) {
+      log.debug("Verzeichnis {} kann nicht gesichert werden: {}", verzeichnis, e.toString());
+    }
+  }
+
+  private int lade(SnapshotFaehig quelle) {
+    Path datei = datei(quelle);
+    if (!Files.exists(datei)) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    try (FileChannel kanal = FileChannel.open(datei, StandardOpenOption.READ)) {
+      long groesse = kanal.size();
+      if (groesse < KOPF + PRUEFSUMME || groesse > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Snapshot " + datei + " hat eine ungültige Größe");
+      }
+      int inhalt = (int) groesse - PRUEFSUMME;
+      MappedByteBuffer puffer = kanal.map(FileChannel.MapMode.READ_ONLY, 0, groesse);
+
+      CRC32C crc = new CRC32C();
+      crc.update(puffer.slice(0, inhalt));
+      if ((int) crc.getValue() != puffer.getInt(inhalt)) {
+        throw new IllegalStateException("Snapshot " + datei + " ist beschädigt (Prüfsumme)");
+      }
+      if (puffer.getInt(0) != MAGIC || puffer.getInt(4) != FORMAT) {
+        throw new IllegalStateException("Snapshot " + datei + " hat ein unbekanntes Format");
+      }
+
+      BinaerEingabe in = new BinaerEingabe(puffer.slice(KOPF, inhalt - KOPF));
+      int anzahl = quelle.ladeSnapshot(in);
+      if (in.verbleibend() != 0) {
+        throw new IllegalStateException("Snapshot " + datei + " wurde nicht vollständig gelesen");
+      }
+      log.debug(
+          "Snapshot {}: {} Aggregate in {} ms",
+          quelle.snapshotName(),
+          anzahl,
+          (System.nanoTime() - start) / 1_000_000);
+      return anzahl;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Snapshot " + datei + " kann nicht gelesen werden", e);
+    }
+  }
+
+  private static int ergebnisVon(Future<Integer> lauf) {
+    try {
+      return lauf.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Laden der Snapshots unterbrochen", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException laufzeitfehler) {
+        throw laufzeitfehler;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.foodrescue.shared.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bildet wiederkehrende Texte (Tags, Abholer-IDs) auf fortlaufende int-Codes ab. Jeder Text liegt
+ * nur einmal im Heap; Spalten speichern den Code, und eine Suche nach dem Text wird zum Vergleich
+ * von ints. Nicht threadsicher.
+ */
+public final class Woerterbuch {
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> texte = new ArrayList<>();
+
+  /** Code des Texts; unbekannte Texte bekommen den nächsten freien Code. */
+  public int code(String text) {
+    Objects.requireNonNull(text, "Text darf nicht null sein");
+    return codes.computeIfAbsent(
+        text,
+        neu -> {
+          texte.add(neu);
+          return texte.size() - 1;
+        });
+  }
+
+  /** Code eines bekannten Texts, oder -1. */
+  public int codeVon(String text) {
+    return codes.getOrDefault(text, -1);
+  }
+
+  public String text(int code) {
+    return texte.get(code);
+  }
+
+  public int groesse() {
+    return texte.size();
+  }
+
+  public void leeren() {
+    codes.clear();
+    texte.clear();
+  }
+}
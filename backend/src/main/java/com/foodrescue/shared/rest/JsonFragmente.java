@@ -0,0 +1,104 @@
+package com.foodrescue.shared.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Ein JSON-Body aus bereits serialisierten UTF-8-Stücken.
+ *
+ * <p>Die Stücke (z.B. gecachte Angebote) werden beim Schreiben nacheinander in den Ausgabestrom
+ * kopiert, ohne sie vorher zu einem Array zusammenzufügen oder erneut durch Jackson zu schicken.
+ * Geschrieben wird über den {@link JsonFragmenteConverter}; Controller geben einfach {@code
+ * ResponseEntity<JsonFragmente>} zurück.
+ */
+public final class JsonFragmente {
+
+  private static final byte[] ARRAY_AUF = {'['};
+  private static final byte[] ARRAY_ZU = {']'};
+  private static final byte[] KOMMA = {','};
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+  private final List<byte[]> teile;
+  private final long laenge;
+
+  private JsonFragmente(List<byte[]> teile) {
+    this.teile = teile;
+    long summe = 0;
+    for (byte[] teil : teile) {
+      summe += teil.length;
+    }
+    this.laenge = summe;
+  }
+
+  /** Ein einzelner, bereits serialisierter JSON-Wert. */
+  public static JsonFragmente einzeln(byte[] json) {
+    return new JsonFragmente(List.of(Objects.requireNonNull(json, "JSON darf nicht null sein")));
+  }
+
+  /** Ein JSON-Array aus bereits serialisierten Elementen. */
+  public static JsonFragmente array(List<byte[]> elemente) {
+    return builder().array(elemente).bauen();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Länge des Bodys in Bytes (für Content-Length). */
+  public long laenge() {
+    return laenge;
+  }
+
+  /** Schreibt alle Stücke in den Strom; der Strom wird nicht geschlossen. */
+  public void schreibeNach(OutputStream out) throws IOException {
+    for (byte[] teil : teile) {
+      out.write(teil);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "JsonFragmente{teile=" + teile.size() + ", laenge=" + laenge + '}';
+  }
+
+  /** Setzt einen Body aus festen Texten, JSON-Werten und Arrays zusammen. */
+  public static final class Builder {
+
+    private final List<byte[]> teile = new ArrayList<>();
+
+    private Builder() {}
+
+    /** Fester JSON-Text, z.B. {@code {"angebote":}. */
+    public Builder text(String json) {
+      teile.add(json.getBytes(StandardCharsets.UTF_8));
+      return this;
+    }
+
+    /** Ein serialisierter Wert; null wird zu {@code null}. */
+    public Builder wert(byte[] json) {
+      teile.add(json == null ? NULL : json);
+      return this;
+    }
+
+    /** Ein Array aus serialisierten Elementen. */
+    public Builder array(List<byte[]> elemente) {
+      teile.add(ARRAY_AUF);
+      for (int i = 0; i < elemente.size(); i++) {
+        if (i > 0) {
+          teile.add(KOMMA);
+        }
+        teile.add(elemente.get(i));
+      }
+      teile.add(ARRAY_ZU);
+      return this;
+    }
+
+    public JsonFragmente bauen() {
+      return new JsonFragmente(List.copyOf(teile));
+    }
+  }
+}
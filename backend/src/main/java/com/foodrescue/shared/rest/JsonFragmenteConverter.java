@@ -0,0 +1,51 @@
+package com.foodrescue.shared.rest;
+
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schreibt {@link JsonFragmente} als {@code application/json} direkt in den Servlet-Ausgabestrom.
+ *
+ * <p>Spring Boot nimmt Converter-Beans automatisch vor den Standard-Convertern auf. Lesen wird
+ * nicht unterstützt.
+ */
+@Component
+public class JsonFragmenteConverter extends AbstractHttpMessageConverter<JsonFragmente> {
+
+  public JsonFragmenteConverter() {
+    super(MediaType.APPLICATION_JSON);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return JsonFragmente.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected JsonFragmente readInternal(
+      Class<? extends JsonFragmente> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "JsonFragmente können nicht gelesen werden", inputMessage);
+  }
+
+  @Override
+  protected Long getContentLength(JsonFragmente fragmente, MediaType contentType) {
+    return fragmente.laenge();
+  }
+
+  @Override
+  protected void writeInternal(JsonFragmente fragmente, HttpOutputMessage outputMessage)
+      throws IOException {
+    fragmente.schreibeNach(outputMessage.getBody());
+  }
+}
@@ -0,0 +1,84 @@
+package com.foodrescue.shared.rest;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Bedingte GETs über starke ETags ({@code If-None-Match}) samt Treffer-Statistik.
+ *
+ * <p>Controller prüfen <em>vor</em> dem Lesen und Mappen, ob der Client die aktuelle Version schon
+ * hat. Die Version muss dafür vor den Daten gelesen werden: ändert sich dazwischen etwas, trägt die
+ * Antwort höchstens ein zu altes ETag und wird beim nächsten Mal neu geladen – nie umgekehrt.
+ *
+ * <p>Pro Bereich (z.B. {@code angebote.verfuegbar}) wird gezählt, wie oft mit 304 geantwortet wurde
+ * (Treffer), wie oft das mitgeschickte ETag veraltet war (Fehlgriff) und wie oft der Client gar
+ * keins geschickt hat. Die Zähler sind {@link LongAdder}, der Request-Pfad konkurriert also nicht
+ * um eine gemeinsame Cache-Line.
+ */
+@Component
+public class KonditionalesGet {
+
+  private final Map<String, Zaehler> zaehler = new ConcurrentHashMap<>();
+
+  /** Baut ein starkes ETag aus Präfix und Version, oder null, wenn es keine Version gibt. */
+  public static String etag(String praefix, OptionalLong version) {
+    return version.isPresent() ? "\"" + praefix + version.getAsLong() + "\"" : null;
+  }
+
+  /**
+   * Prüft {@code If-None-Match} gegen das ETag und setzt bei Übereinstimmung Status 304 auf der
+   * Antwort. Der Controller gibt dann {@code null} zurück, ohne einen Body zu bauen.
+   *
+   * @param bereich Name für die Statistik
+   * @param request Aktueller Request
+   * @param etag Aktuelles starkes ETag, oder null, wenn die Ressource nicht versioniert ist
+   * @return true, wenn der Client die aktuelle Version bereits hat
+   */
+  public boolean nichtGeaendert(String bereich, WebRequest request, String etag) {
+    if (etag == null) {
+      return false;
+    }
+    Zaehler z = zaehler.computeIfAbsent(bereich, k -> new Zaehler());
+    boolean bedingt = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    boolean nichtGeaendert = request.checkNotModified(etag);
+    if (nichtGeaendert) {
+      z.treffer.increment();
+    } else if (bedingt) {
+      z.fehlgriffe.increment();
+    } else {
+      z.ohneEtag.increment();
+    }
+    return nichtGeaendert;
+  }
+
+  /** Momentaufnahme aller Zähler, nach Bereich sortiert. */
+  public Map<String, Statistik> statistik() {
+    Map<String, Statistik> statistik = new TreeMap<>();
+    zaehler.forEach(
+        (bereich, z) ->
+            statistik.put(
+                bereich, new Statistik(z.treffer.sum(), z.fehlgriffe.sum(), z.ohneEtag.sum())));
+    return statistik;
+  }
+
+  /**
+   * Zählerstände eines Bereichs.
+   *
+   * @param treffer Antworten mit 304
+   * @param fehlgriffe Bedingte Requests mit veraltetem ETag
+   * @param ohneEtag Requests ohne If-None-Match
+   */
+  public record Statistik(long treffer, long fehlgriffe, long ohneEtag) {}
+
+  private static final class Zaehler {
+    private final LongAdder treffer = new LongAdder();
+    private final LongAdder fehlgriffe = new LongAdder();
+    private final LongAdder ohneEtag = new LongAdder();
+  }
+}
@@ -0,0 +1,64 @@
+package com.foodrescue.shared.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streaming-Antworten im NDJSON-Format (ein JSON-Objekt pro Zeile).
+ *
+ * <p>Die Zeilen werden direkt aus dem übergebenen Stream serialisiert, ohne vorher eine Liste
+ * aufzubauen. Der Speicherbedarf ist damit durch die Puffergröße begrenzt, nicht durch die Anzahl
+ * der Zeilen, und das erste Byte geht raus, bevor die letzte Zeile gelesen ist.
+ */
+public final class NdjsonAntwort {
+
+  /** Nach so vielen Zeilen wird geflusht, damit der Client frühzeitig Daten erhält. */
+  static final int FLUSH_INTERVALL = 256;
+
+  private NdjsonAntwort() {}
+
+  /**
+   * Baut eine 200-Antwort, die die Zeilen beim Schreiben des Bodys serialisiert.
+   *
+   * <p>Der Stream wird erst im Body gelesen und danach geschlossen. Er sollte deshalb lazy sein
+   * (z.B. direkt aus einem Repository) und keine Ressourcen binden, die am Request-Thread hängen.
+   */
+  public static <T> ResponseEntity<StreamingResponseBody> von(
+      ObjectMapper objectMapper, Stream<T> zeilen) {
+    ObjectWriter writer =
+        objectMapper
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("\n");
+    StreamingResponseBody body = out -> schreibe(writer, zeilen, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  static <T> void schreibe(ObjectWriter writer, Stream<T> zeilen, OutputStream out)
+      throws IOException {
+    try (zeilen;
+        JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      int geschrieben = 0;
+      Iterator<T> iterator = zeilen.iterator();
+      while (iterator.hasNext()) {
+        writer.writeValue(generator, iterator.next()); // Trenner "\n" vor jeder weiteren Zeile
+        if (++geschrieben % FLUSH_INTERVALL == 1) {
+          generator.flush();
+        }
+      }
+      if (geschrieben > 0) {
+        generator.writeRaw('\n');
+      }
+    }
+  }
+}
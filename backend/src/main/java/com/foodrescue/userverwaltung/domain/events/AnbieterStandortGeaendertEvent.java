@@ -0,0 +1,56 @@
+package com.foodrescue.userverwaltung.domain.events;
+
+import com.foodrescue.shared.domain.DomainEvent;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Domain Event: Der Standort eines Anbieters wurde gesetzt, geändert oder entfernt.
+ *
+ * <p>Wird beim Speichern eines Anbieterprofils ausgelöst, wenn sich der GeoStandort gegenüber dem
+ * zuletzt gespeicherten Stand unterscheidet – auch beim ersten Speichern mit Standort.
+ */
+public class AnbieterStandortGeaendertEvent implements DomainEvent {
+
+  private final UserId anbieterId;
+  private final GeoStandort standort;
+  private final Instant occurredOn;
+
+  /**
+   * @param anbieterId UserId des Anbieters
+   * @param standort Neuer Standort, oder null, wenn der Standort entfernt wurde
+   */
+  public AnbieterStandortGeaendertEvent(UserId anbieterId, GeoStandort standort) {
+    this.anbieterId = Objects.requireNonNull(anbieterId, "AnbieterId darf nicht null sein");
+    this.standort = standort;
+    this.occurredOn = Instant.now();
+  }
+
+  public UserId getAnbieterId() {
+    return anbieterId;
+  }
+
+  public Optional<GeoStandort> getStandort() {
+    return Optional.ofNullable(standort);
+  }
+
+  @Override
+  public Instant occurredOn() {
+    return occurredOn;
+  }
+
+  @Override
+  public String toString() {
+    return "AnbieterStandortGeaendertEvent{"
+        + "anbieterId="
+        + anbieterId
+        + ", standort="
+        + standort
+        + ", occurredOn="
+        + occurredOn
+        + '}';
+  }
+}
@@ -54,6 +54,20 @@ public class AnbieterProfil {
     return new AnbieterProfil(id, userId, geschaeftsname, geschaeftstyp, adresse, geoStandort);
   }
 
+  /**
+   * Stellt ein gespeichertes Profil wieder her, z.B. aus einem Snapshot. Die Rolle wurde beim
+   * Anlegen geprüft und wird hier nicht erneut verlangt.
+   */
+  public static AnbieterProfil wiederherstellen(
+      AnbieterProfilId id,
+      UserId userId,
+      Geschaeftsname geschaeftsname,
+      Geschaeftstyp geschaeftstyp,
+      Adresse adresse,
+      GeoStandort geoStandort) {
+    return new AnbieterProfil(id, userId, geschaeftsname, geschaeftstyp, adresse, geoStandort);
+  }
+
   public AnbieterProfilId getId() {
     return id;
   }
@@ -0,0 +1,91 @@
+package com.foodrescue.userverwaltung.infrastructure.persistence;
+
+import com.foodrescue.shared.persistence.GecachtesRepository;
+import com.foodrescue.shared.persistence.LeseCache;
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.EmailAdresse;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import com.foodrescue.userverwaltung.infrastructure.repositories.UserRepository;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-Through-Cache vor einem dauerhaften UserRepository (im Profil {@code jdbc} vor {@link
+ * JdbcUserRepository}).
+ *
+ * <p>User sind veränderlich; der Cache gibt deshalb bei jedem Lesen eine eigene Kopie heraus, wie
+ * sie auch das Laden aus der Datenbank liefern würde. Die Suche per E-Mail merkt sich nur die
+ * UserId und liest den User dann über den ID-Cache. Passt dessen E-Mail nicht mehr (Adresse
+ * geändert), wird die Zuordnung verworfen und neu gesucht.
+ */
+@Repository
+@Primary
+@Profile("jdbc")
+public class CachendesUserRepository implements UserRepository, GecachtesRepository {
+
+  private final UserRepository delegate;
+  private final LeseCache<UserId, User> users;
+  private final LeseCache<EmailAdresse, UserId> emails;
+
+  @Autowired
+  public CachendesUserRepository(
+      JdbcUserRepository delegate,
+      @Value("${foodrescue.cache.user.eintraege:10000}") long maximaleUsers) {
+    this((UserRepository) delegate, maximaleUsers);
+  }
+
+  public CachendesUserRepository(UserRepository delegate, long maximaleUsers) {
+    this.delegate = Objects.requireNonNull(delegate, "Delegate darf nicht null sein");
+    this.users = LeseCache.mitEintraegen("user", maximaleUsers);
+    this.emails = LeseCache.mitEintraegen("user.email", maximaleUsers);
+  }
+
+  @Override
+  public List<LeseCache<?, ?>> caches() {
+    return List.of(users, emails);
+  }
+
+  @Override
+  public User speichern(User user) {
+    Objects.requireNonNull(user, "User darf nicht null sein");
+    users.entferne(user.getId());
+    delegate.speichern(user);
+    users.entferne(user.getId());
+    return user;
+  }
+
+  @Override
+  public Optional<User> findeMitId(UserId id) {
+    Objects.requireNonNull(id, "UserId darf nicht null sein");
+    return Optional.ofNullable(
+            users.lade(id, schluessel -> delegate.findeMitId(schluessel).orElse(null)))
+        .map(CachendesUserRepository::kopie);
+  }
+
+  @Override
+  public Optional<User> findeMitEmail(EmailAdresse email) {
+    Objects.requireNonNull(email, "Email darf nicht null sein");
+    UserId id =
+        emails.lade(
+            email, adresse -> delegate.findeMitEmail(adresse).map(User::getId).orElse(null));
+    if (id == null) {
+      return Optional.empty();
+    }
+    Optional<User> user = findeMitId(id).filter(u -> u.getEmail().equals(email));
+    if (user.isEmpty()) {
+      emails.entferne(email);
+      return delegate.findeMitEmail(email);
+    }
+    return user;
+  }
+
+  private static User kopie(User user) {
+    return new User(user.getId(), user.getName(), user.getEmail(), user.getRolle());
+  }
+}
@@ -1,24 +1,58 @@
 package com.foodrescue.userverwaltung.infrastructure.persistence;
 
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import com.foodrescue.shared.persistence.SnapshotFaehig;
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
 import com.foodrescue.userverwaltung.domain.model.AnbieterProfil;
+import com.foodrescue.userverwaltung.domain.valueobjects.Adresse;
 import com.foodrescue.userverwaltung.domain.valueobjects.AnbieterProfilId;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.Geschaeftsname;
+import com.foodrescue.userverwaltung.domain.valueobjects.Geschaeftstyp;
 import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import com.foodrescue.userverwaltung.infrastructure.repositories.AnbieterProfilRepository;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public class InMemoryAnbieterProfilRepository implements AnbieterProfilRepository {
+@Profile("!jdbc")
+public class InMemoryAnbieterProfilRepository implements AnbieterProfilRepository, SnapshotFaehig {
+
+  private static final Geschaeftstyp[] TYPEN = Geschaeftstyp.values();
 
   private final Map<AnbieterProfilId, AnbieterProfil> profilStore = new ConcurrentHashMap<>();
   private final Map<UserId, AnbieterProfilId> userIndex = new ConcurrentHashMap<>();
 
+  /** Zuletzt gespeicherter Standort pro Anbieter, um Änderungen zu erkennen. */
+  private final Map<UserId, GeoStandort> standorte = new ConcurrentHashMap<>();
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public InMemoryAnbieterProfilRepository(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Speichert das Profil. Hat sich der Standort geändert, wird ein {@link
+   * AnbieterStandortGeaendertEvent} publiziert (z.B. für die Umkreissuche der Angebote).
+   */
   @Override
   public AnbieterProfil speichern(AnbieterProfil profil) {
     profilStore.put(profil.getId(), profil);
     userIndex.put(profil.getUserId(), profil.getId());
+
+    GeoStandort neu = profil.getGeoStandort().orElse(null);
+    GeoStandort alt =
+        neu == null ? standorte.remove(profil.getUserId()) : standorte.put(profil.getUserId(), neu);
+    if (!Objects.equals(alt, neu)) {
+      eventPublisher.publishEvent(new AnbieterStandortGeaendertEvent(profil.getUserId(), neu));
+    }
     return profil;
   }
 
@@ -35,4 +69,55 @@ public class InMemoryAnbieterProfilRepository implements AnbieterProfilRepositor
     }
     return findeMitId(profilId);
   }
+
+  @Override
+  public String snapshotName() {
+    return "anbieterprofile";
+  }
+
+  @Override
+  public int schreibeSnapshot(BinaerAusgabe out) {
+    int anzahl = 0;
+    for (AnbieterProfil profil : profilStore.values()) {
+      Adresse adresse = profil.getAdresse();
+      out.weiter()
+          .uuid(profil.getId().getValue())
+          .uuid(profil.getUserId().getValue())
+          .text(profil.getGeschaeftsname().getValue())
+          .aufzaehlung(profil.getGeschaeftstyp())
+          .text(adresse.getStrasse())
+          .text(adresse.getPlz())
+          .text(adresse.getOrt())
+          .text(adresse.getLand());
+      GeoStandort standort = profil.getGeoStandort().orElse(null);
+      out.wahrheitswert(standort != null);
+      if (standort != null) {
+        out.kommazahl(standort.getBreitengrad()).kommazahl(standort.getLaengengrad());
+      }
+      anzahl++;
+    }
+    out.ende();
+    return anzahl;
+  }
+
+  /**
+   * Über {@link #speichern(AnbieterProfil)}: Indizes werden nachgezogen und für jeden Standort ein
+   * {@link AnbieterStandortGeaendertEvent} publiziert, damit z.B. die Umkreissuche ihn kennt.
+   */
+  @Override
+  public int ladeSnapshot(BinaerEingabe in) {
+    int anzahl = 0;
+    while (in.weiter()) {
+      AnbieterProfilId id = new AnbieterProfilId(in.uuid());
+      UserId userId = new UserId(in.uuid());
+      Geschaeftsname name = new Geschaeftsname(in.text());
+      Geschaeftstyp typ = in.aufzaehlung(TYPEN);
+      Adresse adresse = new Adresse(in.text(), in.text(), in.text(), in.text());
+      GeoStandort standort =
+          in.wahrheitswert() ? new GeoStandort(in.kommazahl(), in.kommazahl()) : null;
+      speichern(AnbieterProfil.wiederherstellen(id, userId, name, typ, adresse, standort));
+      anzahl++;
+    }
+    return anzahl;
+  }
 }
@@ -1,16 +1,25 @@
 package com.foodrescue.userverwaltung.infrastructure.persistence;
 
+import com.foodrescue.shared.persistence.BinaerAusgabe;
+import com.foodrescue.shared.persistence.BinaerEingabe;
+import com.foodrescue.shared.persistence.SnapshotFaehig;
 import com.foodrescue.userverwaltung.domain.model.User;
 import com.foodrescue.userverwaltung.domain.valueobjects.EmailAdresse;
+import com.foodrescue.userverwaltung.domain.valueobjects.Name;
+import com.foodrescue.userverwaltung.domain.valueobjects.Rolle;
 import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import com.foodrescue.userverwaltung.infrastructure.repositories.UserRepository;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public class InMemoryUserRepository implements UserRepository {
+@Profile("!jdbc")
+public class InMemoryUserRepository implements UserRepository, SnapshotFaehig {
+
+  private static final Rolle[] ROLLEN = Rolle.values();
 
   private final Map<UserId, User> userStore = new ConcurrentHashMap<>();
   private final Map<EmailAdresse, UserId> emailIndex = new ConcurrentHashMap<>();
@@ -35,4 +44,40 @@ public class InMemoryUserRepository implements UserRepository {
     }
     return findeMitId(id);
   }
+
+  @Override
+  public String snapshotName() {
+    return "users";
+  }
+
+  @Override
+  public int schreibeSnapshot(BinaerAusgabe out) {
+    int anzahl = 0;
+    for (User user : userStore.values()) {
+      out.weiter()
+          .uuid(user.getId().getValue())
+          .text(user.getName().getValue())
+          .text(user.getEmail().getValue())
+          .aufzaehlung(user.getRolle());
+      anzahl++;
+    }
+    out.ende();
+    return anzahl;
+  }
+
+  /** Über {@link #speichern(User)}, damit der E-Mail-Index mitgezogen wird. */
+  @Override
+  public int ladeSnapshot(BinaerEingabe in) {
+    int anzahl = 0;
+    while (in.weiter()) {
+      speichern(
+          new User(
+              new UserId(in.uuid()),
+              new Name(in.text()),
+              new EmailAdresse(in.text()),
+              in.aufzaehlung(ROLLEN)));
+      anzahl++;
+    }
+    return anzahl;
+  }
 }
@@ -0,0 +1,149 @@
+package com.foodrescue.userverwaltung.infrastructure.persistence;
+
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
+import com.foodrescue.userverwaltung.domain.model.AnbieterProfil;
+import com.foodrescue.userverwaltung.domain.valueobjects.Adresse;
+import com.foodrescue.userverwaltung.domain.valueobjects.AnbieterProfilId;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.Geschaeftsname;
+import com.foodrescue.userverwaltung.domain.valueobjects.Geschaeftstyp;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import com.foodrescue.userverwaltung.infrastructure.repositories.AnbieterProfilRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-Implementierung des AnbieterProfilRepository (Profil {@code jdbc}).
+ *
+ * <p>Wie im Speicher wird bei jeder Standortänderung ein {@link AnbieterStandortGeaendertEvent}
+ * publiziert. Da die Umkreissuche ihren Index nur im Speicher hält, werden beim Start zusätzlich
+ * die Standorte aller gespeicherten Profile gemeldet.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcAnbieterProfilRepository implements AnbieterProfilRepository {
+
+  private static final String SPALTEN =
+      "id, user_id, geschaeftsname, geschaeftstyp, strasse, plz, ort, land, breitengrad,"
+          + " laengengrad";
+
+  private static final String MERGE =
+      "MERGE INTO anbieter_profil (" + SPALTEN + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String SELECT_MIT_ID =
+      "SELECT " + SPALTEN + " FROM anbieter_profil WHERE id = ?";
+
+  private static final String SELECT_FUER_USER =
+      "SELECT " + SPALTEN + " FROM anbieter_profil WHERE user_id = ?";
+
+  private static final String SELECT_STANDORT_FUER_USER =
+      "SELECT breitengrad, laengengrad FROM anbieter_profil WHERE user_id = ?";
+
+  private static final String SELECT_ALLE_STANDORTE =
+      "SELECT user_id, breitengrad, laengengrad FROM anbieter_profil"
+          + " WHERE breitengrad IS NOT NULL";
+
+  private final JdbcTemplate jdbc;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public JdbcAnbieterProfilRepository(JdbcTemplate jdbc, ApplicationEventPublisher eventPublisher) {
+    this.jdbc = Objects.requireNonNull(jdbc, "JdbcTemplate darf nicht null sein");
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Speichert das Profil. Hat sich der Standort geändert, wird ein {@link
+   * AnbieterStandortGeaendertEvent} publiziert (z.B. für die Umkreissuche der Angebote).
+   */
+  @Override
+  public AnbieterProfil speichern(AnbieterProfil profil) {
+    Objects.requireNonNull(profil, "AnbieterProfil darf nicht null sein");
+    GeoStandort alt =
+        jdbc
+            .query(
+                SELECT_STANDORT_FUER_USER,
+                (rs, zeile) -> standort(rs),
+                profil.getUserId().getValue())
+            .stream()
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+
+    Adresse adresse = profil.getAdresse();
+    GeoStandort neu = profil.getGeoStandort().orElse(null);
+    jdbc.update(
+        MERGE,
+        profil.getId().getValue(),
+        profil.getUserId().getValue(),
+        profil.getGeschaeftsname().getValue(),
+        profil.getGeschaeftstyp().name(),
+        adresse.getStrasse(),
+        adresse.getPlz(),
+        adresse.getOrt(),
+        adresse.getLand(),
+        neu == null ? null : neu.getBreitengrad(),
+        neu == null ? null : neu.getLaengengrad());
+
+    if (!Objects.equals(alt, neu)) {
+      eventPublisher.publishEvent(new AnbieterStandortGeaendertEvent(profil.getUserId(), neu));
+    }
+    return profil;
+  }
+
+  @Override
+  public Optional<AnbieterProfil> findeMitId(AnbieterProfilId id) {
+    return jdbc.query(SELECT_MIT_ID, JdbcAnbieterProfilRepository::lese, id.getValue()).stream()
+        .findFirst();
+  }
+
+  @Override
+  public Optional<AnbieterProfil> findeFuerUser(UserId userId) {
+    return jdbc
+        .query(SELECT_FUER_USER, JdbcAnbieterProfilRepository::lese, userId.getValue())
+        .stream()
+        .findFirst();
+  }
+
+  /** Meldet nach dem Start alle gespeicherten Standorte, damit die Umkreissuche sie kennt. */
+  @EventListener(ContextRefreshedEvent.class)
+  public void meldeGespeicherteStandorte() {
+    jdbc.query(
+        SELECT_ALLE_STANDORTE,
+        rs -> {
+          eventPublisher.publishEvent(
+              new AnbieterStandortGeaendertEvent(
+                  new UserId(rs.getObject("user_id", UUID.class)), standort(rs)));
+        });
+  }
+
+  private static GeoStandort standort(ResultSet rs) throws SQLException {
+    double breitengrad = rs.getDouble("breitengrad");
+    if (rs.wasNull()) {
+      return null;
+    }
+    return new GeoStandort(breitengrad, rs.getDouble("laengengrad"));
+  }
+
+  private static AnbieterProfil lese(ResultSet rs, int zeile) throws SQLException {
+    return AnbieterProfil.wiederherstellen(
+        new AnbieterProfilId(rs.getObject("id", UUID.class)),
+        new UserId(rs.getObject("user_id", UUID.class)),
+        new Geschaeftsname(rs.getString("geschaeftsname")),
+        Geschaeftstyp.valueOf(rs.getString("geschaeftstyp")),
+        new Adresse(
+            rs.getString("strasse"),
+            rs.getString("plz"),
+            rs.getString("ort"),
+            rs.getString("land")),
+        standort(rs));
+  }
+}
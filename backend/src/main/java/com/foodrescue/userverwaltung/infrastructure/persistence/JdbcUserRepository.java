@@ -0,0 +1,79 @@
+package com.foodrescue.userverwaltung.infrastructure.persistence;
+
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.EmailAdresse;
+import com.foodrescue.userverwaltung.domain.valueobjects.Name;
+import com.foodrescue.userverwaltung.domain.valueobjects.Rolle;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import com.foodrescue.userverwaltung.infrastructure.repositories.UserRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-Implementierung des UserRepository (Profil {@code jdbc}).
+ *
+ * <p>{@link EmailAdresse} vergleicht ohne Groß-/Kleinschreibung; gesucht wird deshalb über die
+ * eindeutige, kleingeschriebene Spalte {@code email_normiert}.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcUserRepository implements UserRepository {
+
+  private static final String MERGE =
+      "MERGE INTO benutzer (id, name, email, email_normiert, rolle) KEY (id) VALUES (?, ?, ?, ?, ?)";
+
+  private static final String SELECT_MIT_ID =
+      "SELECT id, name, email, rolle FROM benutzer WHERE id = ?";
+
+  private static final String SELECT_MIT_EMAIL =
+      "SELECT id, name, email, rolle FROM benutzer WHERE email_normiert = ?";
+
+  private final JdbcTemplate jdbc;
+
+  public JdbcUserRepository(JdbcTemplate jdbc) {
+    this.jdbc = Objects.requireNonNull(jdbc, "JdbcTemplate darf nicht null sein");
+  }
+
+  @Override
+  public User speichern(User user) {
+    Objects.requireNonNull(user, "User darf nicht null sein");
+    jdbc.update(
+        MERGE,
+        user.getId().getValue(),
+        user.getName().getValue(),
+        user.getEmail().getValue(),
+        normiert(user.getEmail()),
+        user.getRolle().name());
+    return user;
+  }
+
+  @Override
+  public Optional<User> findeMitId(UserId id) {
+    return jdbc.query(SELECT_MIT_ID, JdbcUserRepository::lese, id.getValue()).stream().findFirst();
+  }
+
+  @Override
+  public Optional<User> findeMitEmail(EmailAdresse email) {
+    return jdbc.query(SELECT_MIT_EMAIL, JdbcUserRepository::lese, normiert(email)).stream()
+        .findFirst();
+  }
+
+  private static String normiert(EmailAdresse email) {
+    return email.getValue().toLowerCase(Locale.ROOT);
+  }
+
+  private static User lese(ResultSet rs, int zeile) throws SQLException {
+    return new User(
+        new UserId(rs.getObject("id", UUID.class)),
+        new Name(rs.getString("name")),
+        new EmailAdresse(rs.getString("email")),
+        Rolle.valueOf(rs.getString("rolle")));
+  }
+}
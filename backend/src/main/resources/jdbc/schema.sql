@@ -0,0 +1,74 @@
+-- Schema der JDBC-Repositories (Profil "jdbc"); wird bei jedem Start idempotent angelegt.
+-- Zeitstempel mit Nanosekunden (9), damit ein gespeichertes Aggregat unverändert zurückkommt.
+
+CREATE TABLE IF NOT EXISTS angebot (
+    id           VARCHAR       PRIMARY KEY,
+    anbieter_id  UUID          NOT NULL,
+    titel        VARCHAR       NOT NULL,
+    beschreibung VARCHAR       NOT NULL,
+    tags         VARCHAR ARRAY NOT NULL,
+    abhol_von    TIMESTAMP(9)  NOT NULL,
+    abhol_bis    TIMESTAMP(9)  NOT NULL,
+    status       VARCHAR(20)   NOT NULL,
+    erstellt_am  TIMESTAMP(9)  NOT NULL,
+    version      BIGINT        NOT NULL
+);
+CREATE INDEX IF NOT EXISTS angebot_anbieter_idx ON angebot (anbieter_id);
+CREATE INDEX IF NOT EXISTS angebot_status_von_idx ON angebot (status, abhol_von);
+CREATE INDEX IF NOT EXISTS angebot_status_bis_idx ON angebot (status, abhol_bis);
+
+-- Katalogversion in einer Zeile: jedes Speichern zählt sie in seiner Transaktion hoch und nimmt den
+-- neuen Wert als Version der Angebotszeile. Die Zeilensperre hält bis zum Commit, Versionen werden
+-- also in Commit-Reihenfolge sichtbar. Beim ersten Start setzt sie auf vorhandenen Versionen auf.
+CREATE TABLE IF NOT EXISTS angebot_katalog (
+    id      INT    PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+INSERT INTO angebot_katalog (id, version)
+    SELECT 1, COALESCE(MAX(version), 0) FROM angebot
+    HAVING NOT EXISTS (SELECT 1 FROM angebot_katalog);
+
+CREATE TABLE IF NOT EXISTS reservierung (
+    id           VARCHAR                     PRIMARY KEY,
+    angebot_id   VARCHAR                     NOT NULL,
+    abholer_id   VARCHAR                     NOT NULL,
+    abholcode    VARCHAR(8)                  NOT NULL,
+    status       VARCHAR(20)                 NOT NULL,
+    erstellt_am  TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    abgeholt_am  TIMESTAMP(9) WITH TIME ZONE,
+    storniert_am TIMESTAMP(9) WITH TIME ZONE
+);
+CREATE INDEX IF NOT EXISTS reservierung_abholer_idx ON reservierung (abholer_id);
+
+CREATE TABLE IF NOT EXISTS abholung (
+    id               VARCHAR                     PRIMARY KEY,
+    reservierungs_id VARCHAR                     NOT NULL,
+    abholcode        VARCHAR(8)                  NOT NULL,
+    status           VARCHAR(20)                 NOT NULL,
+    angelegt_am      TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+    abgeschlossen_am TIMESTAMP(9) WITH TIME ZONE
+);
+
+-- "user" ist in H2 ein Schlüsselwort; E-Mail-Adressen sind ohne Groß-/Kleinschreibung eindeutig
+CREATE TABLE IF NOT EXISTS benutzer (
+    id             UUID        PRIMARY KEY,
+    name           VARCHAR     NOT NULL,
+    email          VARCHAR     NOT NULL,
+    email_normiert VARCHAR     NOT NULL,
+    rolle          VARCHAR(20) NOT NULL,
+    CONSTRAINT benutzer_email_uk UNIQUE (email_normiert)
+);
+
+CREATE TABLE IF NOT EXISTS anbieter_profil (
+    id             UUID             PRIMARY KEY,
+    user_id        UUID             NOT NULL,
+    geschaeftsname VARCHAR          NOT NULL,
+    geschaeftstyp  VARCHAR(20)      NOT NULL,
+    strasse        VARCHAR          NOT NULL,
+    plz            VARCHAR          NOT NULL,
+    ort            VARCHAR          NOT NULL,
+    land           VARCHAR          NOT NULL,
+    breitengrad    DOUBLE PRECISION,
+    laengengrad    DOUBLE PRECISION,
+    CONSTRAINT anbieter_profil_user_uk UNIQUE (user_id)
+);
@@ -30,8 +30,77 @@ export function initAngeboteUi() {
         return;
     }
 
-    // Abholer (optional): verfügbare Angebote anzeigen
+    // Abholer (optional): verfügbare Angebote anzeigen, danach nur noch Deltas aus dem Feed
     loadVerfuegbareAngebote();
+    abonniereAenderungen();
+}
+
+let aenderungsFeed = null;
+
+// Server-Sent Events statt Neuladen der ganzen Liste: jedes Delta betrifft genau ein Angebot
+function abonniereAenderungen() {
+    if (aenderungsFeed || typeof EventSource === "undefined") return;
+
+    aenderungsFeed = new EventSource("/api/angebote/aenderungen");
+
+    for (const typ of ["RESERVIERT", "ABGELAUFEN", "ENTFERNT"]) {
+        aenderungsFeed.addEventListener(typ, (ev) => {
+            const { angebotId } = JSON.parse(ev.data);
+            entferneAngebotAusListe(angebotId);
+        });
+    }
+
+    aenderungsFeed.addEventListener("VEROEFFENTLICHT", async (ev) => {
+        const { angebotId } = JSON.parse(ev.data);
+        await fuegeAngebotEin(angebotId);
+    });
+
+    // Nach einem Verbindungsabbruch (z.B. Client zu langsam) verbindet sich EventSource selbst
+    // neu; Deltas dazwischen sind verloren, deshalb die Liste einmal komplett laden.
+    let getrennt = false;
+    aenderungsFeed.onerror = () => { getrennt = true; };
+    aenderungsFeed.onopen = () => {
+        if (getrennt) {
+            getrennt = false;
+            loadVerfuegbareAngebote();
+        }
+    };
+}
+
+function findeAngebotInListe(angebotId) {
+    const listEl = document.getElementById("angebote-list");
+    if (!listEl) return null;
+    return [...listEl.querySelectorAll("[data-angebot-id]")]
+        .find((el) => el.getAttribute("data-angebot-id") === angebotId) || null;
+}
+
+function entferneAngebotAusListe(angebotId) {
+    findeAngebotInListe(angebotId)?.remove();
+}
+
+async function fuegeAngebotEin(angebotId) {
+    const listEl = document.getElementById("angebote-list");
+    if (!listEl || findeAngebotInListe(angebotId)) return;
+
+    try {
+        const res = await fetch(`/api/angebote/${encodeURIComponent(angebotId)}`, {
+            headers: { "Accept": "application/json" }
+        });
+        if (!res.ok || findeAngebotInListe(angebotId)) return;
+
+        const html = renderVerfuegbaresAngebot(await res.json());
+        // Platzhalter wie "Keine verfügbaren Angebote gefunden." entfernen
+        listEl.querySelectorAll(".pickup-item:not([data-angebot-id]):not(.load-more-item)")
+            .forEach((el) => el.remove());
+        const mehr = listEl.querySelector(".load-more-item");
+        if (mehr) {
+            mehr.insertAdjacentHTML("beforebegin", html);
+        } else {
+            listEl.insertAdjacentHTML("beforeend", html);
+        }
+    } catch (e) {
+        console.error(e);
+    }
 }
 
 async function loadMeineAngebote() {
@@ -140,59 +209,71 @@ async function publishAngebot(angebotId) {
     }
 }
 
-async function loadVerfuegbareAngebote() {
+const SEITENGROESSE = 20;
+
+async function loadVerfuegbareAngebote(cursor = null) {
     const listEl = document.getElementById("angebote-list");
     if (!listEl) return;
 
-    listEl.innerHTML = "<div class='pickup-item'>Lade verfügbare Angebote...</div>";
+    if (!cursor) {
+        listEl.innerHTML = "<div class='pickup-item'>Lade verfügbare Angebote...</div>";
+    }
 
     try {
-        const res = await fetch("/api/angebote/verfuegbar", {
+        // Keyset-Paginierung: "weiter" aus der Antwort liefert als cursor die nächste Seite
+        const params = new URLSearchParams({ limit: SEITENGROESSE, sortierung: "beginn" });
+        if (cursor) params.set("cursor", cursor);
+
+        const res = await fetch(`/api/angebote/verfuegbar?${params}`, {
             headers: { "Accept": "application/json" }
         });
 
         if (!res.ok) {
-            listEl.innerHTML = "";
+            if (!cursor) listEl.innerHTML = "";
             showError(`Angebote konnten nicht geladen werden (Status ${res.status}).`);
             return;
         }
 
-        const angebote = await res.json();
+        const seite = await res.json();
+        const angebote = Array.isArray(seite?.angebote) ? seite.angebote : [];
 
-        if (!Array.isArray(angebote) || angebote.length === 0) {
+        if (!cursor && angebote.length === 0) {
             listEl.innerHTML = "<div class='pickup-item'>Keine verfügbaren Angebote gefunden.</div>";
             return;
         }
 
-        listEl.innerHTML = angebote.map((a) => {
-            const tags = Array.isArray(a.tags) ? a.tags.join(", ") : "";
-            const von = a.zeitfenster?.von || "";
-            const bis = a.zeitfenster?.bis || "";
-            const zeitfensterText = (von && bis) ? `${von} – ${bis}` : "";
-
-            return `
-        <div class="pickup-item" data-angebot-id="${a.id}">
-          <div class="pickup-left">
-            <div class="pickup-info">
-              <h3 class="pickup-name">${escapeHtml(a.titel || "")}</h3>
-              <p class="pickup-address">${escapeHtml(a.beschreibung || "")}</p>
-              ${tags ? `<p class="pickup-address"><strong>Tags:</strong> ${escapeHtml(tags)}</p>` : ""}
-              ${zeitfensterText ? `<p class="pickup-address"><strong>Abholfenster:</strong> ${escapeHtml(zeitfensterText)}</p>` : ""}
-            </div>
-          </div>
+        // Über den Feed eingefügte Angebote nicht doppelt anzeigen
+        const html = angebote
+            .filter((a) => !cursor || !findeAngebotInListe(a.id))
+            .map(renderVerfuegbaresAngebot)
+            .join("");
+        if (cursor) {
+            listEl.querySelector(".load-more-item")?.remove();
+            listEl.insertAdjacentHTML("beforeend", html);
+        } else {
+            listEl.innerHTML = html;
+        }
 
-          <div class="pickup-time" style="display:flex; gap:8px; align-items:center;">
-            <button class="btn-primary btn-open" type="button">Öffnen</button>
-            <button class="btn-primary btn-reserve" type="button">Reservieren</button>
-          </div>
+        if (seite.weiter) {
+            listEl.insertAdjacentHTML("beforeend", `
+        <div class="pickup-item load-more-item" data-cursor="${escapeHtml(seite.weiter)}">
+          <button class="btn-primary btn-more" type="button">Mehr laden</button>
         </div>
-      `;
-        }).join("");
+      `);
+        }
 
         if (!listEl.dataset.abholerBound) {
             listEl.dataset.abholerBound = "true";
 
             listEl.addEventListener("click", async (ev) => {
+                const more = ev.target.closest(".btn-more");
+                if (more) {
+                    more.disabled = true;
+                    const naechste = more.closest("[data-cursor]")?.getAttribute("data-cursor");
+                    await loadVerfuegbareAngebote(naechste);
+                    return;
+                }
+
                 const item = ev.target.closest("[data-angebot-id]");
                 if (!item) return;
                 const angebotId = item.getAttribute("data-angebot-id");
@@ -202,8 +283,9 @@ async function loadVerfuegbareAngebote() {
                     return;
                 }
                 if (ev.target.closest(".btn-reserve")) {
+                    // Das Entfernen aus der Liste übernimmt das RESERVIERT-Delta aus dem Feed
                     await reserveOffer(angebotId);
-                    await loadVerfuegbareAngebote();
+                    if (!aenderungsFeed) await loadVerfuegbareAngebote();
                     return;
                 }
             });
@@ -212,11 +294,36 @@ async function loadVerfuegbareAngebote() {
 
     } catch (e) {
         console.error(e);
-        listEl.innerHTML = "";
+        if (!cursor) listEl.innerHTML = "";
         showError("Verbindungsfehler beim Laden der Angebote.");
     }
 }
 
+function renderVerfuegbaresAngebot(a) {
+    const tags = Array.isArray(a.tags) ? a.tags.join(", ") : "";
+    const von = a.zeitfenster?.von || "";
+    const bis = a.zeitfenster?.bis || "";
+    const zeitfensterText = (von && bis) ? `${von} – ${bis}` : "";
+
+    return `
+        <div class="pickup-item" data-angebot-id="${a.id}">
+          <div class="pickup-left">
+            <div class="pickup-info">
+              <h3 class="pickup-name">${escapeHtml(a.titel || "")}</h3>
+              <p class="pickup-address">${escapeHtml(a.beschreibung || "")}</p>
+              ${tags ? `<p class="pickup-address"><strong>Tags:</strong> ${escapeHtml(tags)}</p>` : ""}
+              ${zeitfensterText ? `<p class="pickup-address"><strong>Abholfenster:</strong> ${escapeHtml(zeitfensterText)}</p>` : ""}
+            </div>
+          </div>
+
+          <div class="pickup-time" style="display:flex; gap:8px; align-items:center;">
+            <button class="btn-primary btn-open" type="button">Öffnen</button>
+            <button class="btn-primary btn-reserve" type="button">Reservieren</button>
+          </div>
+        </div>
+      `;
+}
+
 async function openOfferDetails(item) {
     const angebotId = item.getAttribute("data-angebot-id");
     if (!angebotId) return;
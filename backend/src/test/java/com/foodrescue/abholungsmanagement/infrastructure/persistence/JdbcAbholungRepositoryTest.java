@@ -0,0 +1,54 @@
+package com.foodrescue.abholungsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.abholungsmanagement.domain.model.Abholung;
+import com.foodrescue.shared.persistence.TestDatenbank;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+class JdbcAbholungRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private JdbcAbholungRepository repo;
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo = new JdbcAbholungRepository(new JdbcTemplate(datenbank));
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  @Test
+  void speichernUndFindeMitId_roundTrip() {
+    Abholung abholung = new Abholung("h1", "r1", Abholcode.of("AB12"));
+
+    repo.speichern(abholung);
+
+    assertThat(repo.findeMitId("h1").orElseThrow())
+        .usingRecursiveComparison()
+        .ignoringFields("domainEvents")
+        .isEqualTo(abholung);
+    assertThat(repo.findeMitId("fehlt")).isEmpty();
+  }
+
+  @Test
+  void speichern_abgeschlosseneAbholung_ueberschreibtStand() {
+    Abholung abholung = new Abholung("h1", "r1", Abholcode.of("AB12"));
+    repo.speichern(abholung);
+    abholung.bestaetigen(Abholcode.of("AB12"));
+    repo.speichern(abholung);
+
+    Abholung gelesen = repo.findeMitId("h1").orElseThrow();
+    assertThat(gelesen.getStatus()).isEqualTo(abholung.getStatus());
+    assertThat(gelesen.getAbgeschlossenAm()).isEqualTo(abholung.getAbgeschlossenAm()).isNotNull();
+  }
+}
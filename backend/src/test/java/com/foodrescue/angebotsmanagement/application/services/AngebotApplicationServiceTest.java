@@ -1,16 +1,26 @@
 package com.foodrescue.angebotsmanagement.application.services;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.angebotsmanagement.application.commands.ErstelleAngebotCommand;
 import com.foodrescue.angebotsmanagement.application.commands.VeroeffentlicheAngebotCommand;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicates;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.shared.exception.DomainException;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -27,6 +37,10 @@ class AngebotApplicationServiceTest {
 
   @Captor ArgumentCaptor<Angebot> angebotCaptor;
 
+  @Captor ArgumentCaptor<List<Angebot>> stapelCaptor;
+
+  @Captor ArgumentCaptor<List<AngebotStand>> staendeCaptor;
+
   private static ErstelleAngebotCommand validCmd() {
     ErstelleAngebotCommand cmd = new ErstelleAngebotCommand();
     cmd.setAnbieterId(UUID.randomUUID().toString());
@@ -83,17 +97,189 @@ class AngebotApplicationServiceTest {
     verify(repository, never()).speichern(any());
   }
 
+  @Test
+  void erstelleAngebote_speichertGueltigeGemeinsam_undMeldetFehlerProElement() {
+    service = new AngebotApplicationService(repository, domainService);
+
+    ErstelleAngebotCommand ohneTitel = validCmd();
+    ohneTitel.setTitel(" ");
+    ErstelleAngebotCommand falscheId = validCmd();
+    falscheId.setAnbieterId("not-a-uuid");
+    ErstelleAngebotCommand ohneZeitfenster = validCmd();
+    ohneZeitfenster.setVon(null);
+
+    List<AngebotApplicationService.ErstellErgebnis> ergebnisse =
+        service.erstelleAngebote(
+            List.of(validCmd(), ohneTitel, falscheId, ohneZeitfenster, validCmd()));
+
+    assertEquals(5, ergebnisse.size());
+    assertTrue(ergebnisse.get(0).erfolgreich());
+    assertEquals("Titel darf nicht leer sein", ergebnisse.get(1).fehler());
+    assertFalse(ergebnisse.get(2).erfolgreich());
+    assertFalse(ergebnisse.get(3).erfolgreich());
+    assertTrue(ergebnisse.get(4).erfolgreich());
+
+    verify(repository).speichernAlle(stapelCaptor.capture());
+    verify(repository, never()).speichern(any());
+    assertEquals(
+        List.of(ergebnisse.get(0).id().value(), ergebnisse.get(4).id().value()),
+        stapelCaptor.getValue().stream().map(Angebot::getId).toList());
+  }
+
+  @Test
+  void erstelleAngebote_ohneGueltigeElemente_speichertNichts() {
+    service = new AngebotApplicationService(repository, domainService);
+
+    ErstelleAngebotCommand falsch = validCmd();
+    falsch.setBis(falsch.getVon());
+
+    List<AngebotApplicationService.ErstellErgebnis> ergebnisse =
+        service.erstelleAngebote(List.of(falsch));
+
+    assertEquals("Ungültiges Zeitfenster", ergebnisse.get(0).fehler());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void veroeffentlicheAlle_nurEntwuerfeDesAnbietersMitFilter_bedingtGespeichert() {
+    service = new AngebotApplicationService(repository, domainService);
+    UserId anbieter = new UserId(UUID.randomUUID());
+    Angebot brot = angebot("a1", anbieter, "Brot");
+    Angebot obst = angebot("a2", anbieter, "Obst");
+    Angebot schonVerfuegbar = angebot("a3", anbieter, "Brot");
+    schonVerfuegbar.veroeffentlichen();
+    when(repository.streameAktiveFuerAnbieter(anbieter))
+        .thenReturn(Stream.of(brot, obst, schonVerfuegbar));
+    when(repository.ladeZumAendern(AngebotsId.of("a1")))
+        .thenReturn(Optional.of(new AngebotStand(brot.kopie(), 7)));
+    when(repository.speichernAlleWennUnveraendert(staendeCaptor.capture())).thenReturn(List.of());
+
+    AngebotApplicationService.MassenErgebnis ergebnis =
+        service.veroeffentlicheAlle(anbieter, AngebotPredicates.hatTag("Brot"));
+
+    assertEquals(List.of(AngebotsId.of("a1")), ergebnis.geaendert());
+    assertTrue(ergebnis.konflikte().isEmpty());
+    AngebotStand gespeichert = staendeCaptor.getValue().get(0);
+    assertEquals(1, staendeCaptor.getValue().size());
+    assertEquals(7L, gespeichert.version());
+    assertEquals(Angebot.Status.VERFUEGBAR, gespeichert.angebot().getStatus());
+    assertEquals(Angebot.Status.ENTWURF, brot.getStatus());
+    verify(repository, times(1)).speichernAlleWennUnveraendert(any());
+    verify(repository, never()).speichernWennUnveraendert(any(), anyLong());
+    verify(repository, never()).speichern(any());
+    verify(repository, never()).speichernAlle(any());
+  }
+
+  @Test
+  void entferneAlle_laesstReservierteStehen_undMeldetZwischenzeitlichReservierteAlsKonflikt() {
+    service = new AngebotApplicationService(repository, domainService);
+    UserId anbieter = new UserId(UUID.randomUUID());
+    Angebot entwurf = angebot("a1", anbieter, "Brot");
+    Angebot verfuegbar = angebot("a2", anbieter, "Brot");
+    verfuegbar.veroeffentlichen();
+    Angebot reserviert = angebot("a3", anbieter, "Brot");
+    reserviert.veroeffentlichen();
+    reserviert.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    when(repository.streameAktiveFuerAnbieter(anbieter))
+        .thenReturn(Stream.of(entwurf, verfuegbar, reserviert));
+    when(repository.ladeZumAendern(AngebotsId.of("a1")))
+        .thenReturn(Optional.of(new AngebotStand(entwurf.kopie(), 1)));
+    // a2 wurde nach der Auswahl reserviert
+    Angebot inzwischenReserviert = verfuegbar.kopie();
+    inzwischenReserviert.reservieren(UUID.randomUUID().toString(), Abholcode.of("XYZ789"));
+    when(repository.ladeZumAendern(AngebotsId.of("a2")))
+        .thenReturn(Optional.of(new AngebotStand(inzwischenReserviert, 5)));
+    when(repository.speichernAlleWennUnveraendert(staendeCaptor.capture())).thenReturn(List.of());
+
+    AngebotApplicationService.MassenErgebnis ergebnis = service.entferneAlle(anbieter, null);
+
+    assertEquals(List.of(AngebotsId.of("a1")), ergebnis.geaendert());
+    assertEquals(List.of(AngebotsId.of("a2")), ergebnis.konflikte());
+    // Nur a1 landet im Stapel; das inzwischen reservierte a2 wird gar nicht erst gespeichert
+    List<AngebotStand> stapel = staendeCaptor.getValue();
+    assertEquals(1, stapel.size());
+    assertEquals(Angebot.Status.ENTFERNT, stapel.get(0).angebot().getStatus());
+    verify(repository, times(1)).speichernAlleWennUnveraendert(any());
+    verify(repository, never()).ladeZumAendern(AngebotsId.of("a3"));
+  }
+
+  @Test
+  void entferneAlle_wiederholtNachFremderAenderung_undGibtNachMaxVersuchenAuf() {
+    service = new AngebotApplicationService(repository, domainService);
+    UserId anbieter = new UserId(UUID.randomUUID());
+    Angebot verfuegbar = angebot("a1", anbieter, "Brot");
+    verfuegbar.veroeffentlichen();
+    Angebot umkaempft = angebot("a2", anbieter, "Brot");
+    when(repository.streameAktiveFuerAnbieter(anbieter))
+        .thenReturn(Stream.of(verfuegbar, umkaempft));
+    when(repository.ladeZumAendern(AngebotsId.of("a1")))
+        .thenReturn(Optional.of(new AngebotStand(verfuegbar.kopie(), 1)))
+        .thenReturn(Optional.of(new AngebotStand(verfuegbar.kopie(), 2)));
+    when(repository.ladeZumAendern(AngebotsId.of("a2")))
+        .thenAnswer(aufruf -> Optional.of(new AngebotStand(umkaempft.kopie(), 9)));
+    // Versionen 1 und 9 sind überholt, 2 gewinnt
+    when(repository.speichernAlleWennUnveraendert(staendeCaptor.capture()))
+        .thenAnswer(
+            aufruf -> {
+              List<AngebotStand> staende = aufruf.getArgument(0);
+              return staende.stream()
+                  .filter(stand -> stand.version() != 2)
+                  .map(stand -> stand.angebot().getAngebotsId())
+                  .toList();
+            });
+
+    AngebotApplicationService.MassenErgebnis ergebnis = service.entferneAlle(anbieter, null);
+
+    assertEquals(List.of(AngebotsId.of("a1")), ergebnis.geaendert());
+    assertEquals(List.of(AngebotsId.of("a2")), ergebnis.konflikte());
+    // Ein Stapel pro Runde, ab der zweiten nur noch mit den Konflikten der vorherigen
+    verify(repository, times(AngebotApplicationService.MAX_VERSUCHE))
+        .speichernAlleWennUnveraendert(any());
+    List<List<AngebotStand>> runden = staendeCaptor.getAllValues();
+    assertEquals(2, runden.get(0).size());
+    assertEquals(2, runden.get(1).size());
+    assertEquals(List.of(AngebotsId.of("a2")), ids(runden.get(2)));
+    verify(repository, never()).speichernWennUnveraendert(any(), anyLong());
+  }
+
+  @Test
+  void entferneAlle_ohneTreffer_speichertNichts() {
+    service = new AngebotApplicationService(repository, domainService);
+    UserId anbieter = new UserId(UUID.randomUUID());
+    when(repository.streameAktiveFuerAnbieter(anbieter)).thenReturn(Stream.empty());
+
+    assertTrue(service.entferneAlle(anbieter, null).geaendert().isEmpty());
+    verify(repository, never()).speichernAlleWennUnveraendert(any());
+    verify(repository, never()).speichernWennUnveraendert(any(), anyLong());
+  }
+
+  private static List<AngebotsId> ids(List<AngebotStand> staende) {
+    return staende.stream().map(stand -> stand.angebot().getAngebotsId()).toList();
+  }
+
+  private static Angebot angebot(String id, UserId anbieter, String tag) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        anbieter,
+        "Angebot " + id,
+        "Beschreibung",
+        Set.of(tag),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+
   @Test
   void veroeffentlicheAngebot_notFound_throws() {
     service = new AngebotApplicationService(repository, domainService);
 
     AngebotsId id = AngebotsId.of("missing");
-    when(repository.findeMitId(id)).thenReturn(Optional.empty());
+    when(repository.ladeZumAendern(id)).thenReturn(Optional.empty());
 
     assertThrows(
         IllegalArgumentException.class,
         () -> service.veroeffentlicheAngebot(new VeroeffentlicheAngebotCommand(id)));
     verify(repository, never()).speichern(any());
+    verify(repository, never()).speichernWennUnveraendert(any(), anyLong());
   }
 
   @Test
@@ -114,11 +300,35 @@ class AngebotApplicationServiceTest {
                 java.time.LocalDateTime.parse(cmd.getVon()),
                 java.time.LocalDateTime.parse(cmd.getBis())));
 
-    when(repository.findeMitId(createdId)).thenReturn(Optional.of(angebot));
+    // erster Versuch verliert gegen eine andere Änderung, der zweite gewinnt
+    when(repository.ladeZumAendern(createdId))
+        .thenReturn(Optional.of(new AngebotStand(angebot.kopie(), 3)))
+        .thenReturn(Optional.of(new AngebotStand(angebot.kopie(), 4)));
+    when(repository.speichernWennUnveraendert(any(), eq(3L))).thenReturn(false);
+    when(repository.speichernWennUnveraendert(angebotCaptor.capture(), eq(4L))).thenReturn(true);
 
     service.veroeffentlicheAngebot(new VeroeffentlicheAngebotCommand(createdId));
 
-    assertEquals(Angebot.Status.VERFUEGBAR, angebot.getStatus());
-    verify(repository).speichern(angebot);
+    assertEquals(createdId, angebotCaptor.getValue().getAngebotsId());
+    assertEquals(Angebot.Status.VERFUEGBAR, angebotCaptor.getValue().getStatus());
+    // das geladene Angebot wird nicht verändert, geändert und gespeichert wird eine Kopie
+    assertNotSame(angebot, angebotCaptor.getValue());
+    assertEquals(Angebot.Status.ENTWURF, angebot.getStatus());
+    verify(repository, never()).speichern(any());
+  }
+
+  @Test
+  void veroeffentlicheAngebot_inzwischenVeroeffentlicht_wirftOhneZuSpeichern() {
+    service = new AngebotApplicationService(repository, domainService);
+    Angebot verfuegbar = angebot("a1", new UserId(UUID.randomUUID()), "Brot");
+    verfuegbar.veroeffentlichen();
+    when(repository.ladeZumAendern(AngebotsId.of("a1")))
+        .thenReturn(Optional.of(new AngebotStand(verfuegbar.kopie(), 2)));
+
+    assertThrows(
+        DomainException.class,
+        () ->
+            service.veroeffentlicheAngebot(new VeroeffentlicheAngebotCommand(AngebotsId.of("a1"))));
+    verify(repository, never()).speichernWennUnveraendert(any(), anyLong());
   }
 }
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
@@ -157,11 +158,55 @@ class FunctionalProgrammingTest {
   void testBerechneStatistiken() {
     var stats = collectionService.berechneStatistiken();
 
-    assertThat(stats.total()).isEqualTo(2); // Nur verfügbare werden gezählt
+    assertThat(stats.total()).isEqualTo(3); // Alle Status, auch der Entwurf
     assertThat(stats.verfuegbar()).isEqualTo(2);
     assertThat(stats.reserviert()).isEqualTo(0);
   }
 
+  @Test
+  @DisplayName("Aggregation: berechneStatistiken() zählt reservierte und abgeholte Angebote")
+  void testBerechneStatistiken_alleStatus() {
+    Angebot angebot = repository.findeMitId(AngebotsId.of("1")).orElseThrow().kopie();
+    angebot.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    repository.speichern(angebot);
+    Angebot zweites = repository.findeMitId(AngebotsId.of("2")).orElseThrow().kopie();
+    zweites.reservieren(UUID.randomUUID().toString(), Abholcode.of("XYZ789"));
+    zweites.markiereAlsAbgeholt();
+    repository.speichern(zweites);
+
+    var stats = collectionService.berechneStatistiken();
+
+    assertThat(stats.total()).isEqualTo(3);
+    assertThat(stats.verfuegbar()).isZero();
+    assertThat(stats.reserviert()).isEqualTo(1);
+    assertThat(stats.abgeschlossen()).isEqualTo(1);
+    assertThat(collectionService.groupByAnbieterMitCounting()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Aggregation: findeTopAnbieter() sortiert nach verfügbaren Angeboten")
+  void testFindeTopAnbieter() {
+    UserId anbieter = new UserId(UUID.randomUUID());
+    for (int i = 0; i < 2; i++) {
+      Angebot angebot =
+          Angebot.erstelle(
+              AngebotsId.of("top-" + i),
+              anbieter,
+              "Top " + i,
+              "Top",
+              Set.of("Bio"),
+              new AbholZeitfenster(LocalDateTime.now(), LocalDateTime.now().plusHours(1)));
+      angebot.veroeffentlichen();
+      repository.speichern(angebot);
+    }
+
+    var top = collectionService.findeTopAnbieter(1);
+
+    assertThat(top)
+        .containsExactly(
+            new AngebotCollectionService.AnbieterStatistik(anbieter.getValue().toString(), 2));
+  }
+
   @Test
   @DisplayName("Transformation: extractAllTags() liefert eindeutige Tags")
   void testExtractAllTags() {
@@ -4,8 +4,11 @@ import static org.assertj.core.api.Assertions.*;
 
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
 import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotAbgelaufenEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotEntferntEvent;
 import com.foodrescue.angebotsmanagement.domain.events.AngebotErstelltEvent;
 import com.foodrescue.angebotsmanagement.domain.events.AngebotReserviertEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotVeroeffentlichtEvent;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.shared.domain.DomainEvent;
 import com.foodrescue.shared.exception.DomainException;
@@ -140,6 +143,38 @@ class AngebotTest {
       assertThat(events).isNotEmpty();
     }
 
+    @Test
+    @DisplayName("AngebotVeroeffentlichtEvent folgt auf das AngebotErstelltEvent")
+    void veroeffentlichen_ErzeugtVeroeffentlichtEvent() {
+      Angebot angebot =
+          Angebot.erstelle(angebotId, anbieterId, titel, beschreibung, tags, zeitfenster);
+
+      List<DomainEvent> events = angebot.veroeffentlichen();
+
+      assertThat(events)
+          .hasSize(2)
+          .element(1)
+          .isInstanceOfSatisfying(
+              AngebotVeroeffentlichtEvent.class,
+              e -> assertThat(e.getAngebotId()).isEqualTo(angebotId.value()));
+    }
+
+    @Test
+    @DisplayName("Entfernen erzeugt genau ein AngebotEntferntEvent")
+    void entfernen_ErzeugtEntferntEventNurEinmal() {
+      Angebot angebot =
+          Angebot.erstelle(angebotId, anbieterId, titel, beschreibung, tags, zeitfenster);
+      angebot.clearDomainEvents();
+
+      angebot.entfernen();
+      angebot.entfernen();
+
+      assertThat(angebot.getStatus()).isEqualTo(Angebot.Status.ENTFERNT);
+      assertThat(angebot.getDomainEvents())
+          .singleElement()
+          .isInstanceOf(AngebotEntferntEvent.class);
+    }
+
     @Test
     @DisplayName("Fehler wenn bereits veröffentlicht")
     void veroeffentlichen_FehlerWennBereitsVeroeffentlicht() {
@@ -229,6 +264,54 @@ class AngebotTest {
     }
   }
 
+  @Nested
+  @DisplayName("Ablauf eines Angebots")
+  class AblaufTests {
+
+    @Test
+    @DisplayName("Verfügbares Angebot läuft nach Ende des Zeitfensters ab")
+    void markiereAlsAbgelaufen_Erfolgreich() {
+      // Arrange
+      Angebot angebot =
+          Angebot.erstelle(angebotId, anbieterId, titel, beschreibung, tags, zeitfenster);
+      angebot.veroeffentlichen();
+      angebot.clearDomainEvents();
+
+      // Act
+      AngebotAbgelaufenEvent event = angebot.markiereAlsAbgelaufen(zeitfenster.bis());
+
+      // Assert
+      assertThat(angebot.getStatus()).isEqualTo(Angebot.Status.ABGELAUFEN);
+      assertThat(event.getAngebotId()).isEqualTo(angebotId.value());
+      assertThat(event.getZeitfensterEnde()).isEqualTo(zeitfenster.bis());
+      assertThat(angebot.getDomainEvents()).containsExactly(event);
+    }
+
+    @Test
+    @DisplayName("Fehler solange das Zeitfenster noch läuft")
+    void markiereAlsAbgelaufen_FehlerVorEndeDesZeitfensters() {
+      Angebot angebot =
+          Angebot.erstelle(angebotId, anbieterId, titel, beschreibung, tags, zeitfenster);
+      angebot.veroeffentlichen();
+
+      assertThatThrownBy(() -> angebot.markiereAlsAbgelaufen(zeitfenster.bis().minusNanos(1)))
+          .isInstanceOf(DomainException.class)
+          .hasMessageContaining("noch nicht beendet");
+      assertThat(angebot.getStatus()).isEqualTo(Angebot.Status.VERFUEGBAR);
+    }
+
+    @Test
+    @DisplayName("Fehler wenn Angebot nicht verfügbar ist")
+    void markiereAlsAbgelaufen_FehlerWennNichtVerfuegbar() {
+      Angebot entwurf =
+          Angebot.erstelle(angebotId, anbieterId, titel, beschreibung, tags, zeitfenster);
+
+      assertThatThrownBy(() -> entwurf.markiereAlsAbgelaufen(zeitfenster.bis()))
+          .isInstanceOf(DomainException.class)
+          .hasMessageContaining("Nur verfügbare");
+    }
+  }
+
   @Nested
   @DisplayName("Aktualisierung eines Angebots")
   class AktualisierungTests {
@@ -291,6 +374,21 @@ class AngebotTest {
       assertThat(angebot.istVerfuegbar()).isFalse();
     }
 
+    @Test
+    @DisplayName("istVerfuegbar() folgt dem Status, den der Ablauf umstellt")
+    void istVerfuegbar_FalseNachAblauf() {
+      // Arrange
+      Angebot angebot =
+          Angebot.erstelle(angebotId, anbieterId, titel, beschreibung, tags, zeitfenster);
+      angebot.veroeffentlichen();
+
+      // Act
+      angebot.markiereAlsAbgelaufen(zeitfenster.bis());
+
+      // Assert
+      assertThat(angebot.istVerfuegbar()).isFalse();
+    }
+
     @Test
     @DisplayName("kannReserviertWerdenVon() prüft korrekt")
     void kannReserviertWerdenVon_PrueftKorrekt() {
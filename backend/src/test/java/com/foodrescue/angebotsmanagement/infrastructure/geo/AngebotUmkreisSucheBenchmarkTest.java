@@ -0,0 +1,104 @@
+package com.foodrescue.angebotsmanagement.infrastructure.geo;
+
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Umkreissuche (2 km) über 1.000.000 verfügbare Angebote von 20.000 Anbietern, die gleichmäßig über
+ * Deutschland verteilt sind – Geo-Gitter gegen Scan mit Haversine pro Angebot.
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=AngebotUmkreisSucheBenchmarkTest}, Größe über
+ * {@code -Dbenchmark.katalog=...} (Default 1.000.000).
+ */
+@Tag("benchmark")
+class AngebotUmkreisSucheBenchmarkTest {
+
+  private static final int ANBIETER = 20_000;
+  private static final double RADIUS = 2_000;
+
+  @Test
+  void umkreis2km_gitterSchlaegtScan() {
+    int katalog = groesse("benchmark.katalog", 1_000_000);
+    Random random = new Random(5);
+    FunctionalAngebotRepository repository = new FunctionalAngebotRepository(event -> {});
+    AngebotUmkreisSuche suche = new AngebotUmkreisSuche(repository);
+
+    List<UserId> anbieter = new ArrayList<>(ANBIETER);
+    Map<UserId, GeoStandort> standorte = new HashMap<>();
+    for (int i = 0; i < ANBIETER; i++) {
+      UserId id = new UserId(UUID.randomUUID());
+      GeoStandort standort = zufallsort(random);
+      suche.setzeStandort(id, standort);
+      anbieter.add(id);
+      standorte.put(id, standort);
+    }
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    for (int i = 0; i < katalog; i++) {
+      Angebot angebot =
+          Angebot.erstelle(
+              AngebotsId.of("g" + i),
+              anbieter.get(i % ANBIETER),
+              "Angebot " + i,
+              "Beschreibung",
+              Set.of("Tag" + (i % 50)),
+              new AbholZeitfenster(von, von.plusHours(2)));
+      angebot.veroeffentlichen();
+      repository.speichern(angebot);
+    }
+
+    GeoStandort[] punkte = new GeoStandort[64];
+    for (int i = 0; i < punkte.length; i++) {
+      punkte[i] = zufallsort(random);
+    }
+    int[] runde = {0};
+    long gitter =
+        medianNanos(
+            200,
+            () ->
+                suche.findeVerfuegbarImUmkreis(punkte[runde[0]++ % punkte.length], RADIUS).size());
+    long scan =
+        medianNanos(
+            5,
+            () -> {
+              GeoStandort mitte = punkte[runde[0]++ % punkte.length];
+              return repository
+                  .streameVerfuegbar()
+                  .map(
+                      a ->
+                          new AngebotImUmkreis(
+                              a,
+                              GeoRaster.entfernungMeter(mitte, standorte.get(a.getAnbieterId()))))
+                  .filter(t -> t.entfernungMeter() <= RADIUS)
+                  .sorted(Comparator.comparingDouble(AngebotImUmkreis::entfernungMeter))
+                  .toList()
+                  .size();
+            });
+    bericht("findeVerfuegbarImUmkreis(2km) Gitter", "katalog=" + katalog, gitter);
+    bericht("findeVerfuegbarImUmkreis(2km) Scan", "katalog=" + katalog, scan);
+
+    assertThat(gitter).isLessThan(scan / 100);
+  }
+
+  /** Ungefähr Deutschland. */
+  private static GeoStandort zufallsort(Random random) {
+    return new GeoStandort(47.3 + random.nextDouble() * 7.7, 5.9 + random.nextDouble() * 9.1);
+  }
+}
@@ -0,0 +1,148 @@
+package com.foodrescue.angebotsmanagement.infrastructure.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AngebotUmkreisSuche - Geo-Gitter über Anbieter-Standorte")
+class AngebotUmkreisSucheTest {
+
+  private static final GeoStandort ALEXANDERPLATZ = new GeoStandort(52.5219, 13.4132);
+
+  private final FunctionalAngebotRepository repository =
+      new FunctionalAngebotRepository(event -> {});
+  private final AngebotUmkreisSuche suche = new AngebotUmkreisSuche(repository);
+
+  @Test
+  @DisplayName("Haversine: Berlin–München rund 504 km")
+  void entfernung_haversine() {
+    double meter =
+        GeoRaster.entfernungMeter(
+            new GeoStandort(52.5200, 13.4050), new GeoStandort(48.1351, 11.5820));
+
+    assertThat(meter).isCloseTo(504_000, within(2_000.0));
+  }
+
+  @Test
+  @DisplayName("Liefert nur verfügbare Angebote im Radius, nach Entfernung sortiert")
+  void umkreis_filtertUndSortiert() {
+    UserId nah = anbieter(52.5250, 13.4132); // ~350 m
+    UserId mittel = anbieter(52.5300, 13.4300); // ~1,5 km
+    UserId fern = anbieter(52.5450, 13.4500); // ~3,6 km
+    veroeffentliche("m1", mittel);
+    veroeffentliche("n1", nah);
+    veroeffentliche("f1", fern);
+    Angebot reserviert = veroeffentliche("n2", nah);
+    reserviert.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    repository.speichern(reserviert);
+
+    List<AngebotImUmkreis> treffer = suche.findeVerfuegbarImUmkreis(ALEXANDERPLATZ, 2_000);
+
+    assertThat(treffer).extracting(t -> t.angebot().getId()).containsExactly("n1", "m1");
+    assertThat(treffer.get(0).entfernungMeter()).isCloseTo(345, within(20.0));
+  }
+
+  @Test
+  @DisplayName("Standortänderungen aus dem Profil verschieben alle Angebote des Anbieters")
+  void standortEvents_haltenIndexAktuell() {
+    UserId anbieter = new UserId(UUID.randomUUID());
+    veroeffentliche("a1", anbieter);
+    assertThat(suche.findeVerfuegbarImUmkreis(ALEXANDERPLATZ, 1_000)).isEmpty();
+
+    suche.on(new AnbieterStandortGeaendertEvent(anbieter, new GeoStandort(52.5220, 13.4140)));
+    assertThat(suche.findeVerfuegbarImUmkreis(ALEXANDERPLATZ, 1_000)).hasSize(1);
+
+    suche.on(new AnbieterStandortGeaendertEvent(anbieter, new GeoStandort(48.1351, 11.5820)));
+    assertThat(suche.findeVerfuegbarImUmkreis(ALEXANDERPLATZ, 1_000)).isEmpty();
+
+    suche.on(new AnbieterStandortGeaendertEvent(anbieter, null));
+    assertThat(suche.findeVerfuegbarImUmkreis(new GeoStandort(48.1351, 11.5820), 1_000)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Gitter stimmt mit einem Scan überein, auch an Datumsgrenze und Pol")
+  void raster_entsprichtScan() {
+    Random random = new Random(3);
+    GeoRaster raster = new GeoRaster(AngebotUmkreisSuche.ZELL_GRAD);
+    List<UserId> ids = new ArrayList<>();
+    List<GeoStandort> standorte = new ArrayList<>();
+    GeoStandort[] mitten = {
+      ALEXANDERPLATZ, new GeoStandort(0.0, 179.999), new GeoStandort(89.99, 0.0)
+    };
+    for (GeoStandort mitte : mitten) {
+      for (int i = 0; i < 2_000; i++) {
+        double lat =
+            Math.max(-90, Math.min(90, mitte.getBreitengrad() + random.nextGaussian() * 0.1));
+        double lon = mitte.getLaengengrad() + random.nextGaussian() * 0.1;
+        lon = lon > 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+        UserId id = new UserId(UUID.randomUUID());
+        GeoStandort standort = new GeoStandort(lat, lon);
+        raster.setze(id, standort);
+        ids.add(id);
+        standorte.add(standort);
+      }
+    }
+
+    for (GeoStandort mitte : mitten) {
+      for (double radius : new double[] {500, 2_000, 10_000}) {
+        List<UserId> erwartet = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+          if (GeoRaster.entfernungMeter(mitte, standorte.get(i)) <= radius) {
+            erwartet.add(ids.get(i));
+          }
+        }
+        List<UserId> gefunden = new ArrayList<>();
+        raster.imUmkreis(mitte, radius, (id, entfernung) -> gefunden.add(id));
+
+        assertThat(gefunden).containsExactlyInAnyOrderElementsOf(erwartet);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Radius muss positiv und begrenzt sein")
+  void radius_wirdGeprueft() {
+    assertThatThrownBy(() -> suche.findeVerfuegbarImUmkreis(ALEXANDERPLATZ, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> suche.findeVerfuegbarImUmkreis(ALEXANDERPLATZ, 60_000))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private UserId anbieter(double lat, double lon) {
+    UserId id = new UserId(UUID.randomUUID());
+    suche.setzeStandort(id, new GeoStandort(lat, lon));
+    return id;
+  }
+
+  private Angebot veroeffentliche(String id, UserId anbieter) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of(id),
+            anbieter,
+            "Angebot " + id,
+            "Beschreibung",
+            Set.of("Bio"),
+            new AbholZeitfenster(von, von.plusHours(2)));
+    angebot.veroeffentlichen();
+    repository.speichern(angebot);
+    return angebot;
+  }
+}
@@ -0,0 +1,124 @@
+package com.foodrescue.angebotsmanagement.infrastructure.journal;
+
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Schreiblatenz pro Satz (mit und ohne force()) und Wiederherstellung des Repositories aus einem
+ * Journal mit {@code -Dbenchmark.journal} Angeboten (Standard 20.000). Gemessen wird das reine
+ * Einlesen und der Neustart samt Aufbau aller Indizes; Letzteres kostet dasselbe wie ein
+ * speichernAlle() der Angebote.
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=AngebotJournalBenchmarkTest}.
+ */
+@Tag("benchmark")
+class AngebotJournalBenchmarkTest {
+
+  private static final int SCHREIBVORGAENGE = 5_000;
+
+  @TempDir Path verzeichnis;
+
+  @Test
+  void schreiblatenz_proSatz() {
+    List<AngebotStand> staende = staende(SCHREIBVORGAENGE + 100);
+
+    for (boolean synchron : new boolean[] {false, true}) {
+      try (AngebotJournal journal =
+          new AngebotJournal(verzeichnis.resolve("latenz-" + synchron), synchron)) {
+        journal.wiederherstellen();
+        int[] naechster = {0};
+        long nanos =
+            medianNanos(
+                SCHREIBVORGAENGE,
+                () -> {
+                  journal.anhaengen(List.of(staende.get(naechster[0]++)));
+                  return naechster[0];
+                });
+        bericht("Journal anhängen (1 Satz)", synchron ? "synchron (force)" : "asynchron", nanos);
+      }
+    }
+  }
+
+  @Test
+  void wiederherstellung_angeboteProSekunde() {
+    int anzahl = groesse("benchmark.journal", 20_000);
+    Path datei = verzeichnis.resolve("wiederherstellung");
+    try (AngebotJournal journal = new AngebotJournal(datei, false)) {
+      FunctionalAngebotRepository repo =
+          new FunctionalAngebotRepository(event -> {}, Optional.of(journal));
+      List<Angebot> stapel = new ArrayList<>(1_000);
+      for (AngebotStand stand : staende(anzahl)) {
+        stapel.add(stand.angebot().kopie());
+        if (stapel.size() == 1_000) {
+          repo.speichernAlle(stapel);
+          stapel.clear();
+        }
+      }
+      repo.speichernAlle(stapel);
+    }
+
+    long nurLesen =
+        medianNanos(
+            5,
+            () -> {
+              try (AngebotJournal journal = new AngebotJournal(datei, false)) {
+                return journal.wiederherstellen().saetze();
+              }
+            });
+    bericht("Journal nur einlesen", anzahl + " Angebote", nurLesen);
+    long nanos =
+        medianNanos(
+            5,
+            () -> {
+              try (AngebotJournal journal = new AngebotJournal(datei, false)) {
+                FunctionalAngebotRepository repo =
+                    new FunctionalAngebotRepository(event -> {}, Optional.of(journal));
+                assertThat(repo.count()).isEqualTo(anzahl);
+                return repo.count();
+              }
+            });
+    bericht("Journal wiederherstellen", anzahl + " Angebote", nanos);
+    System.out.printf(
+        "[benchmark] %-45s %-25s %,12d /s%n",
+        "Journal wiederherstellen", "Angebote pro Sekunde", anzahl * 1_000_000_000L / nanos);
+  }
+
+  private static List<AngebotStand> staende(int anzahl) {
+    LocalDateTime von = LocalDateTime.now().plusDays(1);
+    List<UserId> anbieter = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      anbieter.add(new UserId(UUID.randomUUID()));
+    }
+    List<AngebotStand> staende = new ArrayList<>(anzahl);
+    for (int i = 0; i < anzahl; i++) {
+      Angebot angebot =
+          Angebot.erstelle(
+              AngebotsId.of("j" + i),
+              anbieter.get(i % anbieter.size()),
+              "Gemüsekiste " + i,
+              "Karotten, Lauch und Kartoffeln vom Wochenmarkt",
+              Set.of("Gemüse", "Bio", "tag" + (i % 50)),
+              new AbholZeitfenster(von.plusMinutes(i % 600), von.plusMinutes(i % 600 + 90)));
+      angebot.veroeffentlichen();
+      staende.add(new AngebotStand(angebot.schnappschuss(), i + 1));
+    }
+    return staende;
+  }
+}
@@ -0,0 +1,265 @@
+package com.foodrescue.angebotsmanagement.infrastructure.journal;
+
+import static com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicates.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("AngebotJournal - Append-only Journal")
+class AngebotJournalTest {
+
+  @TempDir Path verzeichnis;
+
+  private final UserId anbieter = new UserId(UUID.randomUUID());
+
+  private Path datei() {
+    return verzeichnis.resolve("angebote.journal");
+  }
+
+  private Angebot angebot(String id, String... tags) {
+    LocalDateTime von = LocalDateTime.now().plusDays(1).withNano(123_456_789);
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        anbieter,
+        "Brot " + id,
+        "vom Vortag",
+        Set.of(tags),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+
+  @Test
+  @DisplayName("Stände überstehen Schließen und erneutes Öffnen vollständig")
+  void anhaengen_undWiederherstellen_liefertGleichenStand() {
+    Angebot original = angebot("a1", "Bio", "Vegan");
+    original.veroeffentlichen();
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      journal.wiederherstellen();
+      journal.anhaengen(List.of(new AngebotStand(original.schnappschuss(), 7)));
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      AngebotJournal.Wiederherstellung w = journal.wiederherstellen();
+
+      assertThat(w.saetze()).isEqualTo(1);
+      assertThat(w.katalogVersion()).isEqualTo(7);
+      Angebot gelesen = w.staende().get(0).angebot();
+      assertThat(gelesen.istSchnappschuss()).isTrue();
+      assertThat(gelesen.getDomainEvents()).isEmpty();
+      assertThat(gelesen)
+          .usingRecursiveComparison()
+          .ignoringFields("domainEvents", "schnappschuss")
+          .isEqualTo(original);
+    }
+  }
+
+  @Test
+  @DisplayName("Pro Angebot gilt der Satz mit der höchsten Version, nicht der letzte")
+  void wiederherstellen_hoechsteVersionGewinnt() {
+    Angebot entwurf = angebot("a1");
+    Angebot verfuegbar = entwurf.kopie();
+    verfuegbar.veroeffentlichen();
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), false)) {
+      journal.wiederherstellen();
+      journal.anhaengen(List.of(new AngebotStand(verfuegbar.schnappschuss(), 2)));
+      journal.anhaengen(List.of(new AngebotStand(entwurf.schnappschuss(), 1)));
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), false)) {
+      AngebotJournal.Wiederherstellung w = journal.wiederherstellen();
+      assertThat(w.staende()).singleElement().extracting(AngebotStand::version).isEqualTo(2L);
+      assertThat(w.staende().get(0).angebot().getStatus()).isEqualTo(Angebot.Status.VERFUEGBAR);
+    }
+  }
+
+  @Test
+  @DisplayName("Beschädigtes Ende wird verworfen, danach wird dort weitergeschrieben")
+  void beschaedigterSatz_beendetEinlesen() throws Exception {
+    long ende;
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      journal.wiederherstellen();
+      journal.anhaengen(List.of(new AngebotStand(angebot("a1").schnappschuss(), 1)));
+      ende = journal.groesse();
+      journal.anhaengen(List.of(new AngebotStand(angebot("a2").schnappschuss(), 2)));
+    }
+    try (RandomAccessFile datei = new RandomAccessFile(datei().toFile(), "rw")) {
+      datei.seek(ende + 20); // mitten in den Nutzdaten des zweiten Satzes
+      datei.write(0x7F);
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      AngebotJournal.Wiederherstellung w = journal.wiederherstellen();
+      assertThat(w.staende()).extracting(s -> s.angebot().getId()).containsExactly("a1");
+      assertThat(journal.groesse()).isEqualTo(ende);
+      journal.anhaengen(List.of(new AngebotStand(angebot("a3").schnappschuss(), 3)));
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      assertThat(journal.wiederherstellen().staende())
+          .extracting(s -> s.angebot().getId())
+          .containsExactly("a1", "a3");
+    }
+  }
+
+  @Test
+  @DisplayName("Die Datei wächst über die Startgröße hinaus")
+  void anhaengen_vergroessertDatei() {
+    List<AngebotStand> staende = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      staende.add(new AngebotStand(angebot("a" + i).schnappschuss(), i + 1));
+    }
+
+    try (AngebotJournal journal =
+        new AngebotJournal(datei(), true, 1024, AngebotJournal.SEGMENT_GROESSE)) {
+      journal.wiederherstellen();
+      staende.forEach(stand -> journal.anhaengen(List.of(stand)));
+      assertThat(journal.groesse()).isGreaterThan(1024);
+    }
+
+    try (AngebotJournal journal =
+        new AngebotJournal(datei(), true, 1024, AngebotJournal.SEGMENT_GROESSE)) {
+      assertThat(journal.wiederherstellen().staende()).hasSize(200);
+    }
+  }
+
+  @Test
+  @DisplayName("Volle Segmente werden abgeschlossen, das Einlesen liest alle der Reihe nach")
+  void anhaengen_rotiertSegmente() {
+    try (AngebotJournal journal = new AngebotJournal(datei(), true, 1024, 4096)) {
+      journal.wiederherstellen();
+      for (int i = 0; i < 200; i++) {
+        journal.anhaengen(List.of(new AngebotStand(angebot("a" + i).schnappschuss(), i + 1)));
+      }
+      assertThat(journal.segmente()).isGreaterThan(2);
+      assertThat(journal.groesse()).isLessThanOrEqualTo(4096);
+    }
+    assertThat(verzeichnis.resolve("angebote.journal.1")).exists();
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), true, 1024, 4096)) {
+      AngebotJournal.Wiederherstellung w = journal.wiederherstellen();
+      assertThat(w.staende()).hasSize(200);
+      assertThat(w.katalogVersion()).isEqualTo(200);
+    }
+  }
+
+  @Test
+  @DisplayName("Kürzen löscht nur abgeschlossene Segmente bis zur angegebenen Version")
+  void kuerzen_loeschtAlteSegmente() {
+    try (AngebotJournal journal = new AngebotJournal(datei(), false)) {
+      journal.wiederherstellen();
+      journal.anhaengen(List.of(new AngebotStand(angebot("a1").schnappschuss(), 1)));
+      journal.rotieren();
+      journal.anhaengen(List.of(new AngebotStand(angebot("a2").schnappschuss(), 3)));
+      journal.rotieren();
+      journal.anhaengen(List.of(new AngebotStand(angebot("a3").schnappschuss(), 2)));
+
+      assertThat(journal.kuerzen(2)).isEqualTo(1);
+      assertThat(journal.kuerzen(2)).isZero();
+      assertThat(datei()).doesNotExist();
+      assertThat(journal.segmente()).isEqualTo(2);
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), false)) {
+      assertThat(journal.wiederherstellen().staende())
+          .extracting(s -> s.angebot().getId())
+          .containsExactly("a2", "a3");
+      assertThat(journal.kuerzen(3)).isEqualTo(1);
+      assertThat(journal.segmente()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Repository: Scheitert das Journal, bleibt der alte Stand sichtbar")
+  void repository_journalFehler_machtNichtsSichtbar() {
+    try (AngebotJournal journal =
+        new AngebotJournal(datei(), false) {
+          @Override
+          public void anhaengen(List<AngebotStand> staende) {
+            if (staende.get(0).angebot().getStatus() == Angebot.Status.VERFUEGBAR) {
+              throw new UncheckedIOException(new IOException("Datenträger voll"));
+            }
+            super.anhaengen(staende);
+          }
+        }) {
+      FunctionalAngebotRepository repo =
+          new FunctionalAngebotRepository(event -> {}, Optional.of(journal));
+      repo.speichern(angebot("a1"));
+      long katalogVersion = repo.katalogVersion().getAsLong();
+      Angebot verfuegbar = repo.findeMitId(AngebotsId.of("a1")).orElseThrow().kopie();
+      verfuegbar.veroeffentlichen();
+
+      assertThatThrownBy(() -> repo.speichern(verfuegbar)).isInstanceOf(UncheckedIOException.class);
+      assertThatThrownBy(() -> repo.speichernAlle(List.of(verfuegbar)))
+          .isInstanceOf(UncheckedIOException.class);
+
+      assertThat(repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus())
+          .isEqualTo(Angebot.Status.ENTWURF);
+      assertThat(repo.finde(istVerfuegbar())).isEmpty();
+      assertThat(repo.statistik().anzahl(Angebot.Status.VERFUEGBAR)).isZero();
+
+      repo.speichern(angebot("a2"));
+      assertThat(repo.katalogVersion().getAsLong()).isGreaterThan(katalogVersion);
+      assertThat(repo.versionVon(AngebotsId.of("a2"))).hasValue(repo.katalogVersion().getAsLong());
+    }
+  }
+
+  @Test
+  @DisplayName("Repository: Neustart baut Map, Indizes, Versionen und Leeren aus dem Journal auf")
+  void repository_nachNeustart_gleicherKatalog() {
+    long katalogVersion;
+    long versionA2;
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      FunctionalAngebotRepository repo =
+          new FunctionalAngebotRepository(event -> {}, Optional.of(journal));
+      repo.speichern(angebot("alt"));
+      repo.deleteAll();
+
+      Angebot a1 = angebot("a1", "Bio");
+      a1.veroeffentlichen();
+      repo.speichernAlle(List.of(a1, angebot("a2", "Bio")));
+      Angebot a2 = repo.findeMitId(AngebotsId.of("a2")).orElseThrow().kopie();
+      a2.veroeffentlichen();
+      repo.speichern(a2);
+      katalogVersion = repo.katalogVersion().getAsLong();
+      versionA2 = repo.versionVon(AngebotsId.of("a2")).getAsLong();
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(datei(), true)) {
+      FunctionalAngebotRepository repo =
+          new FunctionalAngebotRepository(event -> {}, Optional.of(journal));
+
+      assertThat(repo.count()).isEqualTo(2);
+      assertThat(repo.findeMitId(AngebotsId.of("alt"))).isEmpty();
+      assertThat(repo.finde(istVerfuegbar().and(hatTag("Bio"))))
+          .extracting(Angebot::getId)
+          .containsExactlyInAnyOrder("a1", "a2");
+      assertThat(repo.findeFuerAnbieter(anbieter)).hasSize(2);
+      assertThat(repo.statistik().anzahl(Angebot.Status.VERFUEGBAR)).isEqualTo(2);
+      assertThat(repo.versionVon(AngebotsId.of("a2"))).hasValue(versionA2);
+      assertThat(repo.katalogVersion()).hasValue(katalogVersion);
+
+      repo.speichern(angebot("a3"));
+      assertThat(repo.versionVon(AngebotsId.of("a3"))).hasValue(katalogVersion + 1);
+    }
+  }
+}
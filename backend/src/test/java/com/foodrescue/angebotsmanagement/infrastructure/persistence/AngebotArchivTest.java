@@ -0,0 +1,97 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AngebotArchiv - Spalten außerhalb des Heaps")
+class AngebotArchivTest {
+
+  private final AngebotArchiv archiv = new AngebotArchiv(4);
+  private final UserId anbieter = new UserId(UUID.randomUUID());
+  private final UserId andererAnbieter = new UserId(UUID.randomUUID());
+
+  private static Angebot abgeholt(String id, UserId anbieter) {
+    LocalDateTime von = LocalDateTime.of(2025, 12, 14, 10, 0);
+    return Angebot.wiederherstellen(
+        AngebotsId.of(id),
+        anbieter,
+        "Brot " + id,
+        "vom Vortag",
+        Set.of("Bio", id),
+        new AbholZeitfenster(von, von.plusHours(2)),
+        Angebot.Status.ABGEHOLT,
+        von.minusDays(1));
+  }
+
+  private static List<String> ids(List<AngebotStand> staende) {
+    return staende.stream().map(stand -> stand.angebot().getId()).toList();
+  }
+
+  @Test
+  @DisplayName("Tote Zeilen bleiben begrenzt: über der Hälfte wird kompaktiert")
+  void verwerfenUndAnhaengen_toteZeilenBleibenBegrenzt() {
+    for (int i = 0; i < 20; i++) {
+      archiv.anhaengen(abgeholt("a" + i, anbieter), i);
+    }
+    long bytesNachErsterRunde = archiv.belegteBytes();
+
+    for (int runde = 1; runde <= 50; runde++) {
+      for (int i = 0; i < 20; i++) {
+        archiv.verwerfen("a" + i);
+        archiv.anhaengen(abgeholt("a" + i, anbieter), runde * 100L + i);
+        assertThat(archiv.toteZeilen()).isLessThanOrEqualTo(archiv.anzahl());
+      }
+    }
+
+    assertThat(archiv.anzahl()).isEqualTo(20);
+    assertThat(archiv.belegteBytes()).isLessThanOrEqualTo(2 * bytesNachErsterRunde);
+    AngebotStand stand = archiv.finde("a7").orElseThrow();
+    assertThat(stand.version()).isEqualTo(5007);
+    assertThat(stand.angebot().getTags()).containsExactlyInAnyOrder("Bio", "a7");
+    assertThat(archiv.versionVon("a7")).hasValue(5007);
+    assertThat(archiv.mitStatus(Angebot.Status.ABGEHOLT)).hasSize(20);
+    assertThat(ids(archiv.fuerAnbieter(anbieter, 0, 100).staende())).hasSize(20);
+  }
+
+  @Test
+  @DisplayName("Blättern setzt nach dem Kompaktieren genau hinter der vorigen Seite fort")
+  void fuerAnbieter_blaetternUeberKompaktierenHinweg() {
+    for (int i = 0; i < 10; i++) {
+      archiv.anhaengen(abgeholt("a" + i, anbieter), i);
+      archiv.anhaengen(abgeholt("b" + i, andererAnbieter), i);
+    }
+    AngebotArchiv.Seite erste = archiv.fuerAnbieter(anbieter, 0, 4);
+    assertThat(ids(erste.staende())).containsExactly("a0", "a1", "a2", "a3");
+
+    archiv.verwerfen("a1");
+    archiv.verwerfen("a5");
+    for (int i = 0; i < 10; i++) {
+      archiv.verwerfen("b" + i);
+    }
+    assertThat(archiv.toteZeilen()).isEqualTo(1); // bei b8 kompaktiert, danach b9 verworfen
+
+    List<String> rest = new ArrayList<>();
+    for (AngebotArchiv.Seite seite = archiv.fuerAnbieter(anbieter, erste.weiter(), 4);
+        ;
+        seite = archiv.fuerAnbieter(anbieter, seite.weiter(), 4)) {
+      rest.addAll(ids(seite.staende()));
+      if (seite.weiter() < 0) {
+        break;
+      }
+    }
+    assertThat(rest).containsExactly("a4", "a6", "a7", "a8", "a9");
+    assertThat(archiv.fuerAnbieter(andererAnbieter, 0, 100).staende()).isEmpty();
+  }
+}
@@ -0,0 +1,153 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.shared.persistence.LeseCache;
+import com.foodrescue.shared.persistence.TestDatenbank;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+@DisplayName("CachendesAngebotRepository - Read-Through-Cache vor JDBC")
+class CachendesAngebotRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private CachendesAngebotRepository repo;
+  private final UserId anbieter = new UserId(UUID.randomUUID());
+  private final List<Object> events = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo =
+        new CachendesAngebotRepository(
+            new JdbcAngebotRepository(new JdbcTemplate(datenbank), events::add), 100, 1_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  private Angebot verfuegbaresAngebot(String id) {
+    LocalDateTime von = LocalDateTime.now().plusDays(1);
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of(id),
+            anbieter,
+            "Brot " + id,
+            "vom Vortag",
+            Set.of("Bio"),
+            new AbholZeitfenster(von, von.plusHours(2)));
+    angebot.veroeffentlichen();
+    return angebot;
+  }
+
+  private LeseCache.Statistik statistik(String name) {
+    return repo.caches().stream()
+        .filter(cache -> cache.name().equals(name))
+        .findFirst()
+        .orElseThrow()
+        .statistik();
+  }
+
+  @Test
+  @DisplayName("Wiederholtes Lesen kommt aus dem Cache; Version und Angebot passen zusammen")
+  void findeMitId_wiederholt_trifftCache() {
+    repo.speichern(verfuegbaresAngebot("a1"));
+    long version = repo.versionVon(AngebotsId.of("a1")).orElseThrow();
+
+    Angebot erstes = repo.findeMitId(AngebotsId.of("a1")).orElseThrow();
+    Angebot zweites = repo.findeMitId(AngebotsId.of("a1")).orElseThrow();
+
+    assertThat(zweites).isSameAs(erstes);
+    assertThat(erstes.istSchnappschuss()).isTrue();
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).hasValue(version);
+    assertThat(statistik("angebote").fehlgriffe()).isEqualTo(1);
+    assertThat(statistik("angebote").treffer()).isEqualTo(3);
+    assertThat(repo.findeMitId(AngebotsId.of("fehlt"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Ein Eintrag liest Angebot und Version in einer Abfrage")
+  void findeMitId_liestAngebotUndVersionZusammen() {
+    List<String> einzelabfragen = new ArrayList<>();
+    repo =
+        new CachendesAngebotRepository(
+            new JdbcAngebotRepository(new JdbcTemplate(datenbank), events::add) {
+              @Override
+              public OptionalLong versionVon(AngebotsId id) {
+                einzelabfragen.add("versionVon");
+                return super.versionVon(id);
+              }
+
+              @Override
+              public Optional<Angebot> findeMitId(AngebotsId id) {
+                einzelabfragen.add("findeMitId");
+                return super.findeMitId(id);
+              }
+            },
+            100,
+            1_000);
+    repo.speichern(verfuegbaresAngebot("a1"));
+    long version = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow().version();
+
+    Angebot angebot = repo.findeMitId(AngebotsId.of("a1")).orElseThrow();
+
+    assertThat(einzelabfragen).isEmpty();
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).hasValue(version);
+    assertThat(repo.versionen().apply(angebot)).hasValue(version);
+    assertThat(repo.versionen().apply(angebot.kopie().schnappschuss())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Speichern entfernt das Angebot und die Listen; danach wird neu geladen")
+  void speichern_entferntBetroffeneEintraege() {
+    repo.speichernAlle(List.of(verfuegbaresAngebot("a1"), verfuegbaresAngebot("a2")));
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(2);
+    assertThat(repo.findeFuerAnbieter(anbieter)).hasSize(2);
+    assertThat(repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus())
+        .isEqualTo(Angebot.Status.VERFUEGBAR);
+
+    AngebotStand stand = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow();
+    stand.angebot().reservieren("abholer", Abholcode.of("ABC123"));
+    assertThat(repo.speichernWennUnveraendert(stand.angebot(), stand.version())).isTrue();
+
+    assertThat(repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus())
+        .isEqualTo(Angebot.Status.RESERVIERT);
+    assertThat(repo.versionVon(AngebotsId.of("a1")).orElseThrow()).isGreaterThan(stand.version());
+    assertThat(repo.findeAlleVerfuegbar()).extracting(Angebot::getId).containsExactly("a2");
+    assertThat(repo.findeFuerAnbieter(anbieter))
+        .extracting(Angebot::getStatus)
+        .containsExactlyInAnyOrder(Angebot.Status.RESERVIERT, Angebot.Status.VERFUEGBAR);
+  }
+
+  @Test
+  @DisplayName("Die verfügbaren Angebote bleiben gecacht, solange die Katalogversion gleich ist")
+  void findeAlleVerfuegbar_cachtProKatalogversion() {
+    repo.speichern(verfuegbaresAngebot("a1"));
+
+    List<Angebot> erste = repo.findeAlleVerfuegbar();
+    assertThat(repo.findeAlleVerfuegbar()).isSameAs(erste);
+    assertThat(statistik("angebote.verfuegbar").treffer()).isEqualTo(1);
+
+    repo.speichern(verfuegbaresAngebot("a2"));
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(2);
+  }
+}
@@ -0,0 +1,327 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicates.*;
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicate;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmarks für die Sekundärindizes des FunctionalAngebotRepository.
+ *
+ * <ul>
+ *   <li>Statusindex: Die Anzahl verfügbarer Angebote bleibt konstant, während abgeholte und
+ *       entfernte Angebote bis in den Millionenbereich anwachsen. Die Latenz muss flach bleiben.
+ *   <li>Tag-Index: "Bio AND Vegan" über einen wachsenden Katalog, verglichen mit einem Scan.
+ *   <li>Zeitindex: "Abholungen in den nächsten zwei Stunden" über einen wachsenden Katalog,
+ *       verglichen mit Scan plus Sortierung.
+ *   <li>Trigramm-Index: Freitextsuche mit konstanter Trefferzahl über einen wachsenden Katalog,
+ *       verglichen mit passztZuSuchbegriff() auf allen verfügbaren Angeboten.
+ *   <li>Archiv: belegter Heap vor und nach dem Archivieren einer großen Historie, dazu die Latenz
+ *       von findeMitId() im Heap und im Archiv.
+ * </ul>
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=FunctionalAngebotRepositoryBenchmarkTest},
+ * Obergrenzen über {@code -Dbenchmark.historie=...} (Default 2.000.000) und {@code
+ * -Dbenchmark.katalog=...} (Default 1.000.000).
+ */
+@Tag("benchmark")
+class FunctionalAngebotRepositoryBenchmarkTest {
+
+  private static final int VERFUEGBAR = 1_000;
+  private static final Abholcode CODE = Abholcode.of("ABC123");
+
+  private final UserId anbieter = new UserId(UUID.randomUUID());
+  private final String abholer = UUID.randomUUID().toString();
+  private final LocalDateTime von = LocalDateTime.now().plusHours(1);
+  private int naechsteId;
+
+  @Test
+  void findeAlleVerfuegbar_bleibtFlachBeiWachsenderHistorie() {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    for (int i = 0; i < VERFUEGBAR; i++) {
+      Angebot angebot = neuesAngebot();
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+    }
+
+    int maxHistorie = groesse("benchmark.historie", 2_000_000);
+    long basis = 0;
+    long zuletzt = 0;
+    int historie = 0;
+    for (int ziel = 0; ziel <= maxHistorie; ziel = ziel == 0 ? 10_000 : ziel * 10) {
+      while (historie < ziel) {
+        repo.speichern(abgeschlossenesAngebot(historie % 2 == 0));
+        historie++;
+      }
+
+      zuletzt = medianNanos(200, () -> repo.findeAlleVerfuegbar().size());
+      bericht("findeAlleVerfuegbar", "historie=" + historie, zuletzt);
+      if (basis == 0) {
+        basis = zuletzt;
+      }
+    }
+
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(VERFUEGBAR);
+    // Großzügige Schranke: ohne Index wächst die Latenz linear mit der Historie (Faktor > 100)
+    assertThat(zuletzt).isLessThan(basis * 5);
+  }
+
+  @Test
+  void tagSchnittmenge_schlaegtScan() {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    AngebotPredicate bioUndVegan = hatTag("Bio").and(hatTag("Vegan"));
+    AngebotPredicate alsScan = bioUndVegan::test; // Lambda: für das Repository undurchsichtig
+
+    int maxKatalog = groesse("benchmark.katalog", 1_000_000);
+    long index = 0;
+    long scan = 0;
+    int katalog = 0;
+    for (int ziel = 10_000; ziel <= maxKatalog; ziel *= 10) {
+      while (katalog < ziel) {
+        // Jedes zweite Angebot ist Bio, jedes tausendste zusätzlich vegan
+        Set<String> tags =
+            katalog % 1000 == 0
+                ? Set.of("Bio", "Vegan")
+                : Set.of(katalog % 2 == 0 ? "Bio" : "Brot");
+        repo.speichern(neuesAngebot(tags));
+        katalog++;
+      }
+
+      index = medianNanos(50, () -> repo.finde(bioUndVegan).size());
+      scan = medianNanos(10, () -> repo.finde(alsScan).size());
+      bericht("finde(Bio AND Vegan) Index", "katalog=" + katalog, index);
+      bericht("finde(Bio AND Vegan) Scan", "katalog=" + katalog, scan);
+    }
+
+    assertThat(repo.finde(bioUndVegan)).hasSize(katalog / 1000);
+    assertThat(index).isLessThan(scan / 10);
+  }
+
+  @Test
+  void naechsteZweiStunden_schlaegtScanUndSortierung() {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    LocalDateTime jetzt = LocalDateTime.now();
+    AngebotPredicate naechsteZweiStunden = beginntZwischen(jetzt, jetzt.plusHours(2));
+    Comparator<Angebot> nachBeginn = Comparator.comparing(a -> a.getZeitfenster().von());
+
+    int maxKatalog = groesse("benchmark.katalog", 1_000_000);
+    long index = 0;
+    long scan = 0;
+    int katalog = 0;
+    for (int ziel = 10_000; ziel <= maxKatalog; ziel *= 10) {
+      while (katalog < ziel) {
+        // Zeitfenster über ein Jahr verteilt, jedes tausendste in den nächsten zwei Stunden
+        LocalDateTime beginn =
+            katalog % 1000 == 0
+                ? jetzt.plusMinutes(katalog % 120)
+                : jetzt.minusDays(katalog % 365).minusHours(3);
+        repo.speichern(neuesAngebot(beginn));
+        katalog++;
+      }
+
+      index = medianNanos(50, () -> repo.finde(naechsteZweiStunden).size());
+      scan =
+          medianNanos(
+              10, () -> repo.finde(naechsteZweiStunden::test).stream().sorted(nachBeginn).count());
+      bericht("finde(naechste 2h) Index", "katalog=" + katalog, index);
+      bericht("finde(naechste 2h) Scan+Sort", "katalog=" + katalog, scan);
+    }
+
+    assertThat(repo.finde(naechsteZweiStunden))
+        .hasSize(katalog / 1000)
+        .isSortedAccordingTo(nachBeginn);
+    assertThat(index).isLessThan(scan / 10);
+  }
+
+  @Test
+  void freitextsuche_bleibtFlachBeiWachsendemKatalog() {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    String[] woerter = {"Brot", "Brötchen", "Äpfel", "Suppe", "Käse", "Milch", "Salat", "Kuchen"};
+
+    int maxKatalog = groesse("benchmark.katalog", 1_000_000);
+    long basis = 0;
+    long index = 0;
+    long scan = 0;
+    int katalog = 0;
+    for (int ziel = 10_000; ziel <= maxKatalog; ziel *= 10) {
+      while (katalog < ziel) {
+        // 100 Treffer für "vollkorn", unabhängig von der Katalog-Größe
+        String titel =
+            katalog < 100
+                ? "Vollkornbrot " + katalog
+                : woerter[katalog % woerter.length] + " vom " + (katalog % 97) + ". Laden";
+        Angebot angebot =
+            Angebot.erstelle(
+                AngebotsId.of("s" + katalog),
+                anbieter,
+                titel,
+                "Beschreibung " + katalog,
+                Set.of("Tag" + (katalog % 50)),
+                new AbholZeitfenster(von, von.plusHours(2)));
+        angebot.veroeffentlichen();
+        repo.speichern(angebot);
+        katalog++;
+      }
+
+      index = medianNanos(50, () -> repo.sucheVerfuegbar("VOLLKORN").size());
+      scan =
+          medianNanos(
+              10,
+              () ->
+                  repo.findeAlleVerfuegbar().stream()
+                      .filter(a -> a.passztZuSuchbegriff("VOLLKORN"))
+                      .count());
+      bericht("sucheVerfuegbar(vollkorn) Index", "katalog=" + katalog, index);
+      bericht("sucheVerfuegbar(vollkorn) Scan", "katalog=" + katalog, scan);
+      if (basis == 0) {
+        basis = index;
+      }
+    }
+
+    assertThat(repo.sucheVerfuegbar("VOLLKORN")).hasSize(100);
+    assertThat(index).isLessThan(basis * 5);
+    assertThat(index).isLessThan(scan / 10);
+  }
+
+  @Test
+  void keysetSeite_tiefeSeiteKostetWieErsteSeite() {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    AngebotSeite.Sortierung sortierung = AngebotSeite.Sortierung.ENDE;
+
+    int katalog = groesse("benchmark.katalog", 1_000_000) / 10;
+    List<Angebot> alle = new ArrayList<>(katalog);
+    for (int i = 0; i < katalog; i++) {
+      Angebot angebot = neuesAngebot(von.plusMinutes(i % 10_000));
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+      alle.add(angebot);
+    }
+    alle.sort(sortierung.reihenfolge());
+    AngebotSeite.Position tief = AngebotSeite.Position.von(sortierung, alle.get(katalog * 9 / 10));
+
+    long ersteSeite =
+        medianNanos(200, () -> repo.findeVerfuegbarSeite(sortierung, null, 50).angebote().size());
+    long tiefeSeite =
+        medianNanos(200, () -> repo.findeVerfuegbarSeite(sortierung, tief, 50).angebote().size());
+    long offset =
+        medianNanos(
+            10,
+            () ->
+                repo.findeAlleVerfuegbar().stream()
+                    .sorted(sortierung.reihenfolge())
+                    .skip(katalog * 9L / 10 + 1)
+                    .limit(50)
+                    .count());
+    bericht("Seite 1 (Keyset)", "katalog=" + katalog, ersteSeite);
+    bericht("Seite bei 90% (Keyset)", "katalog=" + katalog, tiefeSeite);
+    bericht("Seite bei 90% (Sort+Offset)", "katalog=" + katalog, offset);
+
+    assertThat(repo.findeVerfuegbarSeite(sortierung, tief, 50).angebote())
+        .containsExactlyElementsOf(alle.subList(katalog * 9 / 10 + 1, katalog * 9 / 10 + 51));
+    assertThat(tiefeSeite).isLessThan(ersteSeite * 5);
+    assertThat(tiefeSeite).isLessThan(offset / 10);
+  }
+
+  @Test
+  void archivieren_gibtHeapDerHistorieFrei() {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    for (int i = 0; i < VERFUEGBAR; i++) {
+      Angebot angebot = neuesAngebot();
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+    }
+    int historie = groesse("benchmark.historie", 2_000_000) / 10;
+    for (int i = 0; i < historie; i++) {
+      repo.speichern(abgeschlossenesAngebot(i % 2 == 0));
+    }
+
+    long vorher = belegterHeap();
+    long start = System.nanoTime();
+    int archiviert = repo.archivieren();
+    long dauer = System.nanoTime() - start;
+    long nachher = belegterHeap();
+
+    bericht("archivieren", "historie=" + historie, dauer);
+    System.out.printf(
+        "[benchmark] %-45s %-25s %,12d KiB%n", "Heap vor dem Archivieren", "", vorher >> 10);
+    System.out.printf(
+        "[benchmark] %-45s %-25s %,12d KiB%n", "Heap nach dem Archivieren", "", nachher >> 10);
+    System.out.printf(
+        "[benchmark] %-45s %-25s %,12d KiB%n",
+        "Archiv außerhalb des Heaps", "", repo.archivStatistik().belegteBytes() >> 10);
+    bericht(
+        "findeMitId (Heap)",
+        "",
+        medianNanos(10_000, () -> repo.findeMitId(AngebotsId.of("b0")).isPresent() ? 1 : 0));
+    String archivId = "b" + (VERFUEGBAR + historie / 2);
+    bericht(
+        "findeMitId (Archiv)",
+        "",
+        medianNanos(10_000, () -> repo.findeMitId(AngebotsId.of(archivId)).isPresent() ? 1 : 0));
+
+    assertThat(archiviert).isEqualTo(historie);
+    assertThat(repo.count()).isEqualTo(VERFUEGBAR + historie);
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(VERFUEGBAR);
+    // Großzügige Schranke: im Heap bleiben pro archiviertem Angebot nur wenige Bytes
+    assertThat(nachher).isLessThan(vorher / 2);
+  }
+
+  private static long belegterHeap() {
+    Runtime laufzeit = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return laufzeit.totalMemory() - laufzeit.freeMemory();
+  }
+
+  private Angebot abgeschlossenesAngebot(boolean abgeholt) {
+    Angebot angebot = neuesAngebot();
+    angebot.veroeffentlichen();
+    if (abgeholt) {
+      angebot.reservieren(abholer, CODE);
+      angebot.markiereAlsAbgeholt();
+    } else {
+      angebot.entfernen();
+    }
+    return angebot;
+  }
+
+  private Angebot neuesAngebot() {
+    return neuesAngebot(Set.of("Bio"));
+  }
+
+  private Angebot neuesAngebot(LocalDateTime beginn) {
+    return Angebot.erstelle(
+        AngebotsId.of("b" + naechsteId++),
+        anbieter,
+        "Brot",
+        "",
+        Set.of("Bio"),
+        new AbholZeitfenster(beginn, beginn.plusHours(2)));
+  }
+
+  private Angebot neuesAngebot(Set<String> tags) {
+    return Angebot.erstelle(
+        AngebotsId.of("b" + naechsteId++),
+        anbieter,
+        "Brot",
+        "",
+        tags,
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+}
@@ -0,0 +1,826 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicates.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotAbgelaufenEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotErstelltEvent;
+import com.foodrescue.angebotsmanagement.domain.functional.AngebotPredicate;
+import com.foodrescue.angebotsmanagement.domain.functional.TagPredicate;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStatistik;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FunctionalAngebotRepository - Sekundärindizes")
+class FunctionalAngebotRepositoryTest {
+
+  private FunctionalAngebotRepository repo;
+  private final UserId anbieter = new UserId(UUID.randomUUID());
+  private final List<Object> events = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    repo = new FunctionalAngebotRepository(events::add);
+  }
+
+  @Test
+  @DisplayName("Statusindex: findeAlleVerfuegbar() liefert nur verfügbare Angebote")
+  void findeAlleVerfuegbar_nutztStatusindex() {
+    repo.speichern(angebot("a1"));
+    Angebot verfuegbar = angebot("a2");
+    verfuegbar.veroeffentlichen();
+    repo.speichern(verfuegbar);
+
+    assertThat(repo.findeAlleVerfuegbar()).containsExactly(verfuegbar);
+    assertThat(repo.findeMitStatus(Angebot.Status.ENTWURF))
+        .extracting(Angebot::getId)
+        .containsExactly("a1");
+  }
+
+  @Test
+  @DisplayName("Versionen: jedes Speichern erhöht Angebots- und Katalogversion streng monoton")
+  void speichern_zaehltVersionenHoch() {
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).isEmpty();
+    long start = repo.katalogVersion().getAsLong();
+
+    Angebot a1 = angebot("a1");
+    repo.speichern(a1);
+    long v1 = repo.versionVon(AngebotsId.of("a1")).getAsLong();
+    repo.speichern(angebot("a2"));
+
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).hasValue(v1);
+    assertThat(repo.katalogVersion().getAsLong()).isEqualTo(start + 2);
+
+    a1.veroeffentlichen();
+    repo.speichern(a1);
+    assertThat(repo.versionVon(AngebotsId.of("a1")).getAsLong()).isGreaterThan(v1);
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).isEqualTo(repo.katalogVersion());
+
+    long vorDemLoeschen = repo.katalogVersion().getAsLong();
+    repo.deleteAll();
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).isEmpty();
+    assertThat(repo.katalogVersion().getAsLong()).isGreaterThan(vorDemLoeschen);
+  }
+
+  @Test
+  @DisplayName("Statusindex: Statuswechsel verschiebt das Angebot in den neuen Bucket")
+  void statuswechsel_wirdBeimSpeichernNachgezogen() {
+    Angebot angebot = angebot("a1");
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(1);
+
+    angebot.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    repo.speichern(angebot);
+
+    assertThat(repo.findeAlleVerfuegbar()).isEmpty();
+    assertThat(repo.findeMitStatus(Angebot.Status.RESERVIERT)).containsExactly(angebot);
+
+    angebot.markiereAlsAbgeholt();
+    repo.speichern(angebot);
+
+    assertThat(repo.findeMitStatus(Angebot.Status.RESERVIERT)).isEmpty();
+    assertThat(repo.findeMitStatus(Angebot.Status.ABGEHOLT)).containsExactly(angebot);
+  }
+
+  @Test
+  @DisplayName("Schnappschüsse: ungespeicherte Änderungen sind für Leser unsichtbar")
+  void ungespeicherteAenderung_bleibtUnsichtbar() {
+    Angebot angebot = angebot("a1");
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+
+    angebot.entfernen(); // noch nicht gespeichert
+
+    Angebot gespeichert = repo.findeMitId(AngebotsId.of("a1")).orElseThrow();
+    assertThat(gespeichert).isNotSameAs(angebot);
+    assertThat(gespeichert.istSchnappschuss()).isTrue();
+    assertThat(gespeichert.getStatus()).isEqualTo(Angebot.Status.VERFUEGBAR);
+    assertThat(repo.findeAlleVerfuegbar()).singleElement().isSameAs(gespeichert);
+    assertThatThrownBy(gespeichert::entfernen).isInstanceOf(IllegalStateException.class);
+
+    repo.speichern(angebot);
+    assertThat(repo.findeAlleVerfuegbar()).isEmpty();
+    assertThat(gespeichert.getStatus()).isEqualTo(Angebot.Status.VERFUEGBAR);
+    assertThat(repo.findeMitId(AngebotsId.of("a1")).orElseThrow())
+        .isNotSameAs(gespeichert)
+        .extracting(Angebot::getStatus)
+        .isEqualTo(Angebot.Status.ENTFERNT);
+  }
+
+  @Test
+  @DisplayName("Schreibsperren: parallele Speicherungen derselben ID lassen Indizes konsistent")
+  void paralleleSpeicherungen_derselbenId_bleibenKonsistent() throws Exception {
+    Angebot verfuegbar = angebot("a1");
+    verfuegbar.veroeffentlichen();
+    Angebot reserviert = verfuegbar.kopie();
+    reserviert.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+
+    for (int runde = 0; runde < 200; runde++) {
+      Thread a = new Thread(() -> repo.speichern(verfuegbar));
+      Thread b = new Thread(() -> repo.speichern(reserviert));
+      a.start();
+      b.start();
+      a.join();
+      b.join();
+
+      Angebot.Status status = repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus();
+      assertThat(repo.finde(istVerfuegbar())).hasSize(status == Angebot.Status.VERFUEGBAR ? 1 : 0);
+      assertThat(repo.statistik().anzahl(status)).isEqualTo(1);
+      assertThat(repo.statistik().gesamt()).isEqualTo(1);
+      assertThat(repo.versionVon(AngebotsId.of("a1"))).isEqualTo(repo.katalogVersion());
+    }
+  }
+
+  @Test
+  @DisplayName("Anbieterindex: findeFuerAnbieter() liefert nur Angebote des Anbieters")
+  void findeFuerAnbieter_nutztAnbieterindex() {
+    UserId andererAnbieter = new UserId(UUID.randomUUID());
+    repo.speichern(angebot("a1"));
+    repo.speichern(angebot("a2"));
+    repo.speichern(angebot("b1", andererAnbieter));
+
+    assertThat(repo.findeFuerAnbieter(anbieter))
+        .extracting(Angebot::getId)
+        .containsExactlyInAnyOrder("a1", "a2");
+    assertThat(repo.findeFuerAnbieter(andererAnbieter.getValue().toString()))
+        .extracting(Angebot::getId)
+        .containsExactly("b1");
+    assertThat(repo.findeFuerAnbieter(new UserId(UUID.randomUUID()))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Anbieterindex: ungültige Anbieter-ID als String liefert keine Treffer")
+  void findeFuerAnbieter_ungueltigeId_liefertLeereListe() {
+    repo.speichern(angebot("a1"));
+
+    assertThat(repo.findeFuerAnbieter("keine-uuid")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Tag-Index: AND-Verknüpfung liefert die Schnittmenge")
+  void tagIndex_und_liefertSchnittmenge() {
+    repo.speichern(angebot("a1", anbieter, "Bio", "Vegan"));
+    repo.speichern(angebot("a2", anbieter, "Bio"));
+    repo.speichern(angebot("a3", anbieter, "Vegan", "Käse"));
+
+    assertThat(repo.finde(hatTag("Bio").and(hatTag("Vegan"))))
+        .extracting(Angebot::getId)
+        .containsExactly("a1");
+    assertThat(repo.finde(hatAlleTags("Bio", "Vegan")))
+        .extracting(Angebot::getId)
+        .containsExactly("a1");
+    assertThat(repo.finde(hatAlleTags("Bio", "Unbekannt"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Tag-Index: OR-Verknüpfung liefert die Vereinigung")
+  void tagIndex_oder_liefertVereinigung() {
+    repo.speichern(angebot("a1", anbieter, "Bio"));
+    repo.speichern(angebot("a2", anbieter, "Vegan"));
+    repo.speichern(angebot("a3", anbieter, "Käse"));
+
+    assertThat(repo.finde(hatTag("Bio").or(hatTag("Vegan"))))
+        .extracting(Angebot::getId)
+        .containsExactlyInAnyOrder("a1", "a2");
+    assertThat(repo.zaehle(hatEinesVonTags("Käse", "Unbekannt"))).isEqualTo(1);
+    assertThat(repo.existiert(hatEinesVonTags())).isFalse();
+  }
+
+  @Test
+  @DisplayName("Tag-Index: aktualisierte Tags ersetzen die alten Einträge")
+  void tagIndex_aktualisierung_entferntAlteTags() {
+    Angebot angebot = angebot("a1", anbieter, "Bio");
+    repo.speichern(angebot);
+
+    angebot.aktualisiere(
+        angebot.getTitel(), angebot.getBeschreibung(), Set.of("Vegan"), angebot.getZeitfenster());
+    repo.speichern(angebot);
+
+    assertThat(repo.finde(hatTag("Bio"))).isEmpty();
+    assertThat(repo.finde(hatTag("Vegan"))).containsExactly(angebot);
+  }
+
+  @Test
+  @DisplayName("Tag-Predicates: gleichartige Verknüpfungen bleiben ein TagPredicate")
+  void tagPredicates_bleibenInspizierbar() {
+    assertThat(hatTag("Bio").and(hatTag("Vegan")))
+        .isEqualTo(new TagPredicate(Set.of("Bio", "Vegan"), TagPredicate.Modus.ALLE));
+    assertThat(hatTag("Bio").or(hatEinesVonTags("Vegan", "Käse")))
+        .isEqualTo(new TagPredicate(Set.of("Bio", "Vegan", "Käse"), TagPredicate.Modus.EINES));
+    assertThat(hatAlleTags("Bio", "Vegan").or(hatTag("Käse"))).isNotInstanceOf(TagPredicate.class);
+  }
+
+  @Test
+  @DisplayName("Zeitindex: Abholungen in den nächsten zwei Stunden kommen nach Beginn sortiert")
+  void zeitindex_beginntZwischen_liefertSortiert() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    repo.speichern(angebotMitZeitfenster("spaeter", jetzt.plusMinutes(90)));
+    repo.speichern(angebotMitZeitfenster("gleich", jetzt.plusMinutes(10)));
+    repo.speichern(angebotMitZeitfenster("morgen", jetzt.plusDays(1)));
+    repo.speichern(angebotMitZeitfenster("gestern", jetzt.minusDays(1)));
+
+    assertThat(repo.finde(beginntZwischen(jetzt, jetzt.plusHours(2))))
+        .extracting(Angebot::getId)
+        .containsExactly("gleich", "spaeter");
+  }
+
+  @Test
+  @DisplayName("Zeitindex: verfuegbarInZeitfenster() und istAktuellVerfuegbar() wie vorher")
+  void zeitindex_bereichsPredicates() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    repo.speichern(angebotMitZeitfenster("laeuft", jetzt.minusMinutes(30)));
+    repo.speichern(angebotMitZeitfenster("kommt", jetzt.plusHours(1)));
+    repo.speichern(angebotMitZeitfenster("vorbei", jetzt.minusHours(5)));
+
+    assertThat(repo.finde(istAktuellVerfuegbar()))
+        .extracting(Angebot::getId)
+        .containsExactly("laeuft");
+    assertThat(repo.finde(verfuegbarInZeitfenster(jetzt, jetzt.plusHours(3))))
+        .extracting(Angebot::getId)
+        .containsExactly("kommt");
+    assertThat(repo.finde(verfuegbarBis(jetzt)))
+        .extracting(Angebot::getId)
+        .containsExactly("vorbei");
+    assertThat(verfuegbarAb(jetzt).and(verfuegbarBis(jetzt.plusHours(3))))
+        .isEqualTo(verfuegbarInZeitfenster(jetzt, jetzt.plusHours(3)));
+  }
+
+  @Test
+  @DisplayName("Zeitindex: geändertes Zeitfenster ersetzt den alten Eintrag")
+  void zeitindex_aktualisierung_verschiebtEintrag() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    Angebot angebot = angebotMitZeitfenster("a1", jetzt.plusMinutes(30));
+    repo.speichern(angebot);
+
+    LocalDateTime neu = jetzt.plusDays(2);
+    angebot.aktualisiere(
+        angebot.getTitel(),
+        angebot.getBeschreibung(),
+        angebot.getTags(),
+        new AbholZeitfenster(neu, neu.plusHours(2)));
+    repo.speichern(angebot);
+
+    assertThat(repo.finde(beginntZwischen(jetzt, jetzt.plusHours(2)))).isEmpty();
+    assertThat(repo.finde(verfuegbarAb(jetzt.plusDays(1)))).containsExactly(angebot);
+  }
+
+  @Test
+  @DisplayName("Zeitindex: findeVerfuegbarMitBeginnNach() filtert Status und sortiert nach Beginn")
+  void findeVerfuegbarMitBeginnNach_nutztZeitindex() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    Angebot spaeter = angebotMitZeitfenster("spaeter", jetzt.plusHours(3));
+    Angebot frueher = angebotMitZeitfenster("frueher", jetzt.plusHours(1));
+    spaeter.veroeffentlichen();
+    frueher.veroeffentlichen();
+    repo.speichern(spaeter);
+    repo.speichern(frueher);
+    repo.speichern(angebotMitZeitfenster("entwurf", jetzt.plusHours(2)));
+
+    assertThat(repo.findeVerfuegbarMitBeginnNach(jetzt)).containsExactly(frueher, spaeter);
+    assertThat(repo.findeVerfuegbarMitBeginnNach(jetzt.plusHours(1))).containsExactly(spaeter);
+  }
+
+  @Test
+  @DisplayName("Planer: UND wählt den selektivsten Index und prüft nur den Rest")
+  void planer_und_waehltSelektivstenIndex() {
+    for (int i = 0; i < 20; i++) {
+      Angebot angebot = angebot("v" + i, anbieter, "Bio");
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+    }
+    Angebot vegan = angebot("vegan", anbieter, "Bio", "Vegan");
+    vegan.veroeffentlichen();
+    repo.speichern(vegan);
+
+    AngebotPredicate abfrage =
+        istVerfuegbar()
+            .and(hatTag("Vegan"))
+            .and(titelEnthaelt("ANGEBOT"))
+            .and(a -> a.getBeschreibung().startsWith("Beschreibung"));
+
+    assertThat(repo.finde(abfrage)).containsExactly(vegan);
+    assertThat(repo.explain(abfrage))
+        .isEqualTo(
+            """
+            Schnitt
+              Bitmap Tags ALLE [Vegan] (~1)
+              Probe:
+                Index Status=VERFUEGBAR (~21)
+              Probe:
+                Trigramme TITEL "angebot" (~21)
+            Rest: Lambda
+            """);
+  }
+
+  @Test
+  @DisplayName("Planer: ODER vereinigt Indizes, NICHT und Lambdas fallen auf Scan zurück")
+  void planer_oderUndScan() {
+    Angebot verfuegbar = angebot("a1");
+    verfuegbar.veroeffentlichen();
+    repo.speichern(verfuegbar);
+    Angebot entwurf = angebot("a2");
+    repo.speichern(entwurf);
+
+    AngebotPredicate oder = istVerfuegbar().or(istEntwurf());
+    assertThat(repo.finde(oder)).containsExactlyInAnyOrder(verfuegbar, entwurf);
+    assertThat(repo.explain(oder)).startsWith("Vereinigung\n").endsWith("Rest: keiner\n");
+
+    assertThat(repo.finde(istVerfuegbar().negate())).containsExactly(entwurf);
+    assertThat(repo.explain(istVerfuegbar().negate()))
+        .isEqualTo("Scan über alle Angebote\nRest: NICHT Status=VERFUEGBAR\n");
+    assertThat(repo.explain(a -> true)).isEqualTo("Scan über alle Angebote\nRest: Lambda\n");
+    assertThat(repo.finde(AngebotPredicate.alwaysFalse())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Planer: Ergebnis entspricht einem Scan mit demselben Predicate")
+  void planer_liefertDasselbeWieScan() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    UserId andererAnbieter = new UserId(UUID.randomUUID());
+    for (int i = 0; i < 40; i++) {
+      Angebot angebot =
+          angebot("x" + i, i % 3 == 0 ? andererAnbieter : anbieter, i % 2 == 0 ? "Bio" : "Brot");
+      if (i % 4 != 0) {
+        angebot.veroeffentlichen();
+      }
+      repo.speichern(angebot);
+    }
+
+    List<AngebotPredicate> abfragen =
+        List.of(
+            istVerfuegbar().and(hatAnbieter(andererAnbieter)),
+            hatTag("Bio").or(hatAnbieter(andererAnbieter)).and(istEntwurf()),
+            istVerfuegbar().and(verfuegbarAb(jetzt)).and(hatTag("Brot").negate()),
+            hatAnbieter(anbieter).or(titelEnthaelt("x1")),
+            istSuchbar());
+    for (AngebotPredicate abfrage : abfragen) {
+      AngebotPredicate alsScan = abfrage::test;
+      assertThat(repo.finde(abfrage))
+          .as(repo.explain(abfrage))
+          .containsExactlyInAnyOrderElementsOf(repo.finde(alsScan));
+    }
+  }
+
+  @Test
+  @DisplayName("Trigramm-Index: Suche entspricht passztZuSuchbegriff() für alle Suchbegriffe")
+  void trigramIndex_suche_entsprichtPasstZuSuchbegriff() {
+    speichereVerfuegbar("t1", "Vollkornbrot", "Vom Bäcker", Set.of("Bio"));
+    speichereVerfuegbar("t2", "Äpfel", "knackig und BROTzeit-tauglich", Set.of("Obst"));
+    speichereVerfuegbar("t3", "Suppe", "Linsen", Set.of("Vegan", "Brotaufstrich"));
+    speichereVerfuegbar("t4", "Käse", "Gouda", Set.of());
+    repo.speichern(angebot("t5", anbieter, "Brot")); // Entwurf: nie ein Treffer
+
+    for (String begriff :
+        List.of("brot", "BROT", "Brot", "kornb", "äpf", "ÄPFEL", "zeit-t", "o", "", "  ", "xyz")) {
+      List<Angebot> erwartet =
+          repo.findeAlleVerfuegbar().stream().filter(a -> a.passztZuSuchbegriff(begriff)).toList();
+      assertThat(repo.sucheVerfuegbar(begriff))
+          .as("Suchbegriff '%s'", begriff)
+          .containsExactlyInAnyOrderElementsOf(erwartet);
+    }
+    assertThat(repo.sucheVerfuegbar("brot"))
+        .extracting(Angebot::getId)
+        .containsExactlyInAnyOrder("t1", "t2", "t3");
+  }
+
+  @Test
+  @DisplayName("Trigramm-Index: titelEnthaelt() sucht nur im Titel und folgt Änderungen")
+  void trigramIndex_titel_folgtAktualisierung() {
+    Angebot angebot = speichereVerfuegbar("t1", "Brötchen", "mit Brot", Set.of());
+
+    assertThat(repo.finde(titelEnthaelt("BRÖT"))).containsExactly(angebot);
+    assertThat(repo.finde(titelEnthaelt("brot"))).isEmpty();
+    assertThat(repo.explain(titelEnthaelt("brot"))).startsWith("Trigramme TITEL \"brot\"");
+
+    angebot.aktualisiere(
+        "Roggenbrot", angebot.getBeschreibung(), angebot.getTags(), angebot.getZeitfenster());
+    repo.speichern(angebot);
+
+    assertThat(repo.finde(titelEnthaelt("brot"))).containsExactly(angebot);
+    assertThat(repo.finde(titelEnthaelt("brötchen"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Ablauf: Angebote verlassen VERFUEGBAR genau zum Ende ihres Zeitfensters")
+  void laufeAb_nimmtFaelligeAngeboteAusVerfuegbar() {
+    Angebot frueh = angebotMitZeitfenster("a1", LocalDateTime.now().plusHours(1));
+    frueh.veroeffentlichen();
+    repo.speichern(frueh);
+    Angebot spaet = angebotMitZeitfenster("a2", LocalDateTime.now().plusDays(3));
+    spaet.veroeffentlichen();
+    repo.speichern(spaet);
+    events.clear();
+
+    LocalDateTime ende = frueh.getZeitfenster().bis();
+    assertThat(repo.laufeAb(ende.minusSeconds(1))).isEmpty();
+
+    assertThat(repo.laufeAb(ende)).containsExactly(frueh);
+    assertThat(repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus())
+        .isEqualTo(Angebot.Status.ABGELAUFEN);
+    assertThat(repo.findeAlleVerfuegbar()).containsExactly(spaet);
+    assertThat(repo.finde(istAbgelaufen())).containsExactly(frueh);
+    assertThat(events)
+        .singleElement()
+        .isInstanceOfSatisfying(
+            AngebotAbgelaufenEvent.class,
+            event -> assertThat(event.getAngebotId()).isEqualTo("a1"));
+
+    assertThat(repo.laufeAb(spaet.getZeitfenster().bis().plusHours(1))).containsExactly(spaet);
+    assertThat(repo.findeAlleVerfuegbar()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Ablauf: Reservierung bricht den Termin ab, Verlängerung verschiebt ihn")
+  void laufeAb_folgtStatusUndZeitfensterAenderungen() {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    Angebot reserviert = angebotMitZeitfenster("a1", von);
+    reserviert.veroeffentlichen();
+    repo.speichern(reserviert);
+    reserviert.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    repo.speichern(reserviert);
+
+    Angebot verlaengert = angebotMitZeitfenster("a2", von);
+    verlaengert.veroeffentlichen();
+    repo.speichern(verlaengert);
+    verlaengert.aktualisiere(
+        verlaengert.getTitel(),
+        verlaengert.getBeschreibung(),
+        verlaengert.getTags(),
+        new AbholZeitfenster(von, von.plusHours(5)));
+    repo.speichern(verlaengert);
+
+    assertThat(repo.laufeAb(von.plusHours(3))).isEmpty();
+    assertThat(reserviert.getStatus()).isEqualTo(Angebot.Status.RESERVIERT);
+    assertThat(repo.findeAlleVerfuegbar()).containsExactly(verlaengert);
+
+    assertThat(repo.laufeAb(von.plusHours(5))).containsExactly(verlaengert);
+  }
+
+  @Test
+  @DisplayName("Ablauf: bereits beendete Zeitfenster laufen beim nächsten Durchlauf ab")
+  void laufeAb_vergangenesZeitfenster() {
+    Angebot angebot = angebotMitZeitfenster("a1", LocalDateTime.now().minusHours(3));
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+
+    assertThat(repo.laufeAb(LocalDateTime.now())).containsExactly(angebot);
+    assertThat(repo.laufeAb(LocalDateTime.now())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Ablauf: eine Reservierung zwischen Laden und Speichern wird nicht überschrieben")
+  void laufeAb_ueberschreibtKeineZwischenzeitlicheReservierung() {
+    repo =
+        new FunctionalAngebotRepository(events::add) {
+          private boolean dazwischen = true;
+
+          @Override
+          public Optional<AngebotStand> ladeZumAendern(AngebotsId id) {
+            Optional<AngebotStand> stand = super.ladeZumAendern(id);
+            if (dazwischen) {
+              dazwischen = false;
+              AngebotStand reservierung = super.ladeZumAendern(id).orElseThrow();
+              reservierung
+                  .angebot()
+                  .reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+              assertThat(speichernWennUnveraendert(reservierung.angebot(), reservierung.version()))
+                  .isTrue();
+            }
+            return stand;
+          }
+        };
+    Angebot angebot = angebotMitZeitfenster("a1", LocalDateTime.now().minusHours(3));
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+    events.clear();
+
+    assertThat(repo.laufeAb(LocalDateTime.now())).isEmpty();
+    assertThat(repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus())
+        .isEqualTo(Angebot.Status.RESERVIERT);
+    assertThat(events).noneMatch(AngebotAbgelaufenEvent.class::isInstance);
+  }
+
+  @Test
+  @DisplayName("Seiten: Keyset-Paginierung liefert jede Sortierung lückenlos und ohne Dubletten")
+  void findeVerfuegbarSeite_blaettertDurchAlleSortierungen() {
+    LocalDateTime basis = LocalDateTime.now().plusHours(1);
+    List<Angebot> verfuegbar = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      // Paare mit gleichem Beginn prüfen den zweiten Schlüssel (ID)
+      Angebot angebot = angebotMitZeitfenster("a" + i, basis.plusMinutes(10L * (i / 2)));
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+      verfuegbar.add(angebot);
+    }
+    repo.speichern(angebot("entwurf"));
+
+    for (AngebotSeite.Sortierung sortierung : AngebotSeite.Sortierung.values()) {
+      List<Angebot> gelesen = new ArrayList<>();
+      AngebotSeite.Position nach = null;
+      do {
+        AngebotSeite seite = repo.findeVerfuegbarSeite(sortierung, nach, 3);
+        assertThat(seite.angebote()).hasSizeLessThanOrEqualTo(3);
+        gelesen.addAll(seite.angebote());
+        nach = seite.weiter();
+      } while (nach != null);
+
+      assertThat(gelesen)
+          .as("Sortierung %s", sortierung)
+          .containsExactlyElementsOf(verfuegbar.stream().sorted(sortierung.reihenfolge()).toList());
+    }
+  }
+
+  @Test
+  @DisplayName("Seiten: Änderungen zwischen zwei Seiten verschieben keine Einträge")
+  void findeVerfuegbarSeite_stabilBeiAenderungen() {
+    LocalDateTime basis = LocalDateTime.now().plusHours(1);
+    for (int i = 0; i < 4; i++) {
+      Angebot angebot = angebotMitZeitfenster("a" + i, basis.plusMinutes(i));
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+    }
+
+    AngebotSeite erste = repo.findeVerfuegbarSeite(AngebotSeite.Sortierung.BEGINN, null, 2);
+    assertThat(erste.angebote()).extracting(Angebot::getId).containsExactly("a0", "a1");
+
+    // Vor der Position eingefügt und ein Angebot der ersten Seite reserviert
+    Angebot frueher = angebotMitZeitfenster("neu", basis.minusMinutes(5));
+    frueher.veroeffentlichen();
+    repo.speichern(frueher);
+    Angebot a0 = erste.angebote().get(0).kopie();
+    a0.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    repo.speichern(a0);
+
+    AngebotSeite zweite =
+        repo.findeVerfuegbarSeite(AngebotSeite.Sortierung.BEGINN, erste.weiter(), 2);
+    assertThat(zweite.angebote()).extracting(Angebot::getId).containsExactly("a2", "a3");
+    assertThat(zweite.weiter()).isNull();
+  }
+
+  @Test
+  @DisplayName("deleteAll() leert auch die Indizes")
+  void deleteAll_leertIndizes() {
+    Angebot angebot = angebot("a1");
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+
+    repo.deleteAll();
+
+    assertThat(repo.findeAlleVerfuegbar()).isEmpty();
+    assertThat(repo.findeFuerAnbieter(anbieter)).isEmpty();
+    assertThat(repo.finde(hatTag("Bio"))).isEmpty();
+    assertThat(repo.finde(verfuegbarAb(LocalDateTime.now()))).isEmpty();
+    assertThat(repo.count()).isZero();
+  }
+
+  @Test
+  @DisplayName("Statistik: Zähler folgen Statuswechseln, Anbietern und Tags ohne Scan")
+  void statistik_folgtZustandsuebergaengen() {
+    UserId andererAnbieter = new UserId(UUID.randomUUID());
+    Angebot a1 = angebot("a1", anbieter, "Bio", "Brot");
+    a1.veroeffentlichen();
+    repo.speichern(a1);
+    Angebot a2 = angebot("a2", andererAnbieter, "Bio");
+    a2.veroeffentlichen();
+    repo.speichern(a2);
+    repo.speichern(angebot("a3"));
+
+    AngebotStatistik statistik = repo.statistik();
+    assertThat(statistik.gesamt()).isEqualTo(3);
+    assertThat(statistik.anzahl(Angebot.Status.VERFUEGBAR)).isEqualTo(2);
+    assertThat(statistik.anzahl(Angebot.Status.ENTWURF)).isEqualTo(1);
+    assertThat(statistik.verfuegbarProTag()).containsOnly(entry("Bio", 2L), entry("Brot", 1L));
+
+    a1.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    repo.speichern(a1);
+    repo.speichern(a1); // erneutes Speichern ohne Änderung zählt nicht doppelt
+    a1.markiereAlsAbgeholt();
+    repo.speichern(a1);
+
+    assertThat(statistik.gesamt()).isEqualTo(3);
+    assertThat(statistik.anzahl(Angebot.Status.RESERVIERT)).isZero();
+    assertThat(statistik.anzahl(Angebot.Status.ABGEHOLT)).isEqualTo(1);
+    assertThat(statistik.verfuegbarProAnbieter())
+        .containsOnly(entry(andererAnbieter.getValue().toString(), 1L));
+    assertThat(statistik.verfuegbarProTag()).containsOnly(entry("Bio", 1L));
+
+    repo.deleteAll();
+    assertThat(statistik.gesamt()).isZero();
+    assertThat(statistik.verfuegbarProTag()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("speichernAlle: erst alle Indizes und Versionen, dann die Events des Stapels")
+  void speichernAlle_publiziertErstNachDemGanzenStapel() {
+    List<Boolean> stapelVollstaendig = new ArrayList<>();
+    repo =
+        new FunctionalAngebotRepository(
+            event -> {
+              events.add(event);
+              stapelVollstaendig.add(
+                  repo.findeMitId(AngebotsId.of("a3")).isPresent()
+                      && repo.versionVon(AngebotsId.of("a3")).isPresent());
+            });
+    long start = repo.katalogVersion().getAsLong();
+
+    List<Angebot> gespeichert =
+        repo.speichernAlle(List.of(angebot("a1"), angebot("a2"), angebot("a3", anbieter, "Brot")));
+
+    assertThat(gespeichert).extracting(Angebot::getId).containsExactly("a1", "a2", "a3");
+    assertThat(events)
+        .hasSize(3)
+        .allMatch(AngebotErstelltEvent.class::isInstance)
+        .extracting(e -> ((AngebotErstelltEvent) e).getAngebotsId())
+        .containsExactly("a1", "a2", "a3");
+    assertThat(stapelVollstaendig).containsOnly(true);
+    assertThat(gespeichert).allMatch(a -> a.getDomainEvents().isEmpty());
+
+    assertThat(repo.katalogVersion()).hasValue(start + 3);
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).hasValue(start + 1);
+    assertThat(repo.versionVon(AngebotsId.of("a3"))).hasValue(start + 3);
+    assertThat(repo.findeMitStatus(Angebot.Status.ENTWURF)).hasSize(3);
+    assertThat(repo.finde(hatTag("Brot"))).extracting(Angebot::getId).containsExactly("a3");
+    assertThat(repo.statistik().anzahl(Angebot.Status.ENTWURF)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName(
+      "speichernAlleWennUnveraendert: ein Stapel, Konflikte pro ID, Events erst nach dem Stapel")
+  void speichernAlleWennUnveraendert_vergleichtProIdUndSchreibtEinmal() {
+    repo.speichernAlle(List.of(angebot("a1"), angebot("a2"), angebot("a3")));
+    AngebotStand a1 = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow();
+    AngebotStand a2 = repo.ladeZumAendern(AngebotsId.of("a2")).orElseThrow();
+    AngebotStand a3 = repo.ladeZumAendern(AngebotsId.of("a3")).orElseThrow();
+    AngebotStand a1Doppelt = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow();
+    repo.speichern(repo.ladeZumAendern(AngebotsId.of("a2")).orElseThrow().angebot());
+    List.of(a1, a2, a3, a1Doppelt).forEach(stand -> stand.angebot().veroeffentlichen());
+    events.clear();
+    long start = repo.katalogVersion().getAsLong();
+
+    List<AngebotsId> konflikte = repo.speichernAlleWennUnveraendert(List.of(a1, a2, a3, a1Doppelt));
+
+    assertThat(konflikte).containsExactly(AngebotsId.of("a2"), AngebotsId.of("a1"));
+    assertThat(repo.katalogVersion()).hasValue(start + 2);
+    assertThat(repo.findeMitStatus(Angebot.Status.VERFUEGBAR))
+        .extracting(Angebot::getId)
+        .containsExactlyInAnyOrder("a1", "a3");
+    assertThat(events).hasSize(2);
+    assertThat(a2.angebot().getDomainEvents()).isNotEmpty();
+    assertThat(repo.speichernAlleWennUnveraendert(List.of())).isEmpty();
+  }
+
+  @Test
+  @DisplayName(
+      "Archiv: Endzustände verlassen Heap und Indizes, bleiben per ID, Anbieter, Status lesbar")
+  void archivieren_verschiebtEndzustaende() {
+    Angebot aktiv = angebot("a1");
+    aktiv.veroeffentlichen();
+    repo.speichern(aktiv);
+    Angebot abgeholt = angebot("a2", anbieter, "Bio", "Brot");
+    abgeholt.veroeffentlichen();
+    abgeholt.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    abgeholt.markiereAlsAbgeholt();
+    repo.speichern(abgeholt);
+    Angebot entfernt = angebot("a3");
+    entfernt.entfernen();
+    repo.speichern(entfernt);
+    long version = repo.versionVon(AngebotsId.of("a2")).getAsLong();
+
+    assertThat(repo.archivieren()).isEqualTo(2);
+
+    Angebot archiviert = repo.findeMitId(AngebotsId.of("a2")).orElseThrow();
+    assertThat(archiviert.istSchnappschuss()).isTrue();
+    assertThat(archiviert.getStatus()).isEqualTo(Angebot.Status.ABGEHOLT);
+    assertThat(archiviert.getTitel()).isEqualTo(abgeholt.getTitel());
+    assertThat(archiviert.getTags()).containsExactlyInAnyOrder("Bio", "Brot");
+    assertThat(archiviert.getZeitfenster().von()).isEqualTo(abgeholt.getZeitfenster().von());
+    assertThat(archiviert.getErstelltAm()).isEqualTo(abgeholt.getErstelltAm());
+    assertThat(repo.versionVon(AngebotsId.of("a2"))).hasValue(version);
+    assertThat(repo.findeFuerAnbieter(anbieter))
+        .extracting(Angebot::getId)
+        .containsExactlyInAnyOrder("a1", "a2", "a3");
+    assertThat(repo.findeMitStatus(Angebot.Status.ENTFERNT))
+        .extracting(Angebot::getId)
+        .containsExactly("a3");
+    assertThat(repo.count()).isEqualTo(3);
+    assertThat(repo.statistik().gesamt()).isEqualTo(3);
+    assertThat(repo.statistik().anzahl(Angebot.Status.ABGEHOLT)).isEqualTo(1);
+
+    // Predicate-Abfragen laufen nur über die Indizes im Heap
+    assertThat(repo.finde(hatTag("Brot"))).isEmpty();
+    assertThat(repo.archivStatistik().aggregate()).isEqualTo(2);
+    assertThat(repo.archivStatistik().belegteBytes()).isPositive();
+    assertThat(repo.archivieren()).isZero();
+  }
+
+  @Test
+  @DisplayName(
+      "Archiv: ein archiviertes Angebot lässt sich bedingt ändern und kehrt in den Heap zurück")
+  void archiviertesAngebot_kehrtBeimSpeichernZurueck() {
+    Angebot angebot = angebot("a1");
+    angebot.veroeffentlichen();
+    angebot.markiereAlsAbgelaufen(LocalDateTime.now().plusHours(4));
+    repo.speichern(angebot);
+    repo.archivieren();
+
+    AngebotStand stand = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow();
+    stand.angebot().entfernen();
+    assertThat(repo.speichernWennUnveraendert(stand.angebot(), stand.version())).isTrue();
+    assertThat(repo.speichernWennUnveraendert(stand.angebot(), stand.version())).isFalse();
+
+    assertThat(repo.findeMitStatus(Angebot.Status.ABGELAUFEN)).isEmpty();
+    assertThat(repo.findeMitStatus(Angebot.Status.ENTFERNT))
+        .extracting(Angebot::getId)
+        .containsExactly("a1");
+    assertThat(repo.archivStatistik().aggregate()).isZero();
+    assertThat(repo.count()).isEqualTo(1);
+    assertThat(repo.statistik().gesamt()).isEqualTo(1);
+    assertThat(repo.statistik().anzahl(Angebot.Status.ABGELAUFEN)).isZero();
+  }
+
+  @Test
+  @DisplayName("Anbieter: aktive Angebote ohne Archiv, die Historie seitenweise über das Archiv")
+  void streameFuerAnbieter_aktiveOhneArchiv_historieSeitenweise() {
+    Angebot aktiv = angebot("aktiv");
+    aktiv.veroeffentlichen();
+    repo.speichern(aktiv);
+    for (int i = 0; i < 600; i++) {
+      Angebot entfernt = angebot("alt" + i);
+      entfernt.entfernen();
+      repo.speichern(entfernt);
+    }
+    repo.archivieren();
+    // eine tote Archivzeile: das Angebot ist zurück im Heap
+    AngebotStand stand = repo.ladeZumAendern(AngebotsId.of("alt0")).orElseThrow();
+    repo.speichernWennUnveraendert(stand.angebot(), stand.version());
+
+    assertThat(repo.streameAktiveFuerAnbieter(anbieter))
+        .extracting(Angebot::getId)
+        .containsExactly("aktiv");
+    assertThat(repo.streameFuerAnbieter(anbieter).map(Angebot::getId).distinct().count())
+        .isEqualTo(601);
+    assertThat(repo.streameFuerAnbieter(anbieter).count()).isEqualTo(601);
+  }
+
+  private Angebot angebot(String id) {
+    return angebot(id, anbieter);
+  }
+
+  private Angebot angebot(String id, UserId anbieterId) {
+    return angebot(id, anbieterId, "Bio");
+  }
+
+  private Angebot angebot(String id, UserId anbieterId, String... tags) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        anbieterId,
+        "Angebot " + id,
+        "Beschreibung " + id,
+        Set.of(tags),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+
+  private Angebot speichereVerfuegbar(
+      String id, String titel, String beschreibung, Set<String> tags) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of(id),
+            anbieter,
+            titel,
+            beschreibung,
+            tags,
+            new AbholZeitfenster(von, von.plusHours(2)));
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+    return angebot;
+  }
+
+  private Angebot angebotMitZeitfenster(String id, LocalDateTime von) {
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        anbieter,
+        "Angebot " + id,
+        "Beschreibung " + id,
+        Set.of("Bio"),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+}
@@ -80,6 +80,23 @@ class InMemoryAngebotRepositoryTest {
         list.stream().allMatch(a -> a.getAnbieterId().getValue().toString().equals(anbieter1Uuid)));
   }
 
+  @Test
+  void ohneVersionen_keinVorgetaeuschtesCompareAndSet() {
+    String anbieterUuid = UUID.randomUUID().toString();
+    Angebot a = angebot("a1", anbieterUuid, Angebot.Status.ENTWURF);
+    repo.speichern(a);
+
+    assertThrows(
+        UnsupportedOperationException.class, () -> repo.ladeZumAendern(AngebotsId.of("a1")));
+    assertTrue(repo.ladeZumAendern(AngebotsId.of("missing")).isEmpty());
+
+    Angebot geaendert = a.kopie();
+    geaendert.veroeffentlichen();
+    assertFalse(repo.speichernWennUnveraendert(geaendert, 0));
+    assertEquals(
+        Angebot.Status.ENTWURF, repo.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus());
+  }
+
   // Helper-Methode zum Erstellen von Test-Angeboten
   private Angebot angebot(String id, String anbieterId, Angebot.Status status) {
     AngebotsId angebotsId = AngebotsId.of(id);
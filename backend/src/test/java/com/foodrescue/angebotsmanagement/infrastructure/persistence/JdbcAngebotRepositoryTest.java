@@ -0,0 +1,279 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotAbgelaufenEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotErstelltEvent;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStatistik;
+import com.foodrescue.shared.persistence.TestDatenbank;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+@DisplayName("JdbcAngebotRepository - Angebote in H2")
+class JdbcAngebotRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private JdbcAngebotRepository repo;
+  private final UserId anbieter = new UserId(UUID.randomUUID());
+  private final List<Object> events = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo = new JdbcAngebotRepository(new JdbcTemplate(datenbank), events::add);
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  private Angebot angebot(String id, LocalDateTime von) {
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        anbieter,
+        "Brot " + id,
+        "vom Vortag",
+        Set.of("Bio", "Vegan"),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+
+  private Angebot angebot(String id) {
+    return angebot(id, LocalDateTime.now().plusDays(1).withNano(123_456_789));
+  }
+
+  @Test
+  @DisplayName("Ein gespeichertes Angebot kommt unverändert als Schnappschuss zurück")
+  void speichernUndFindeMitId_roundTrip() {
+    Angebot original = angebot("a1");
+    original.veroeffentlichen();
+
+    repo.speichern(original);
+
+    Angebot gelesen = repo.findeMitId(AngebotsId.of("a1")).orElseThrow();
+    assertThat(gelesen.istSchnappschuss()).isTrue();
+    assertThat(gelesen)
+        .usingRecursiveComparison()
+        .ignoringFields("domainEvents", "schnappschuss")
+        .isEqualTo(original);
+    assertThat(events).isNotEmpty().hasAtLeastOneElementOfType(AngebotErstelltEvent.class);
+    assertThat(original.getDomainEvents()).isEmpty();
+    assertThat(repo.findeMitId(AngebotsId.of("fehlt"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("speichernAlle schreibt den Stapel als Batch; Abfragen nach Anbieter und Status")
+  void speichernAlle_undIndexAbfragen() {
+    List<Angebot> stapel = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      Angebot angebot = angebot("a" + i);
+      if (i % 2 == 0) {
+        angebot.veroeffentlichen();
+      }
+      stapel.add(angebot);
+    }
+    Angebot fremd =
+        Angebot.erstelle(
+            AngebotsId.of("fremd"),
+            new UserId(UUID.randomUUID()),
+            "Kuchen",
+            "vom Vortag",
+            Set.of(),
+            new AbholZeitfenster(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+
+    assertThat(repo.speichernAlle(stapel)).containsExactlyElementsOf(stapel);
+    repo.speichern(fremd);
+
+    assertThat(repo.findeFuerAnbieter(anbieter)).hasSize(10);
+    assertThat(repo.findeFuerAnbieter(anbieter.getValue().toString())).hasSize(10);
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(5).allMatch(Angebot::istVerfuegbar);
+    assertThat(repo.speichernAlle(List.of())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Versionen wachsen mit jedem Speichern; bedingtes Speichern erkennt Konflikte")
+  void versionen_undSpeichernWennUnveraendert() {
+    repo.speichern(angebot("a1"));
+    long katalog = repo.katalogVersion().getAsLong();
+    AngebotStand stand = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow();
+    assertThat(stand.version()).isEqualTo(repo.versionVon(AngebotsId.of("a1")).getAsLong());
+
+    Angebot erste = stand.angebot();
+    erste.veroeffentlichen();
+    Angebot zweite = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow().angebot();
+    zweite.veroeffentlichen();
+
+    assertThat(repo.speichernWennUnveraendert(erste, stand.version())).isTrue();
+    assertThat(repo.speichernWennUnveraendert(zweite, stand.version())).isFalse();
+    assertThat(repo.versionVon(AngebotsId.of("a1")).getAsLong()).isGreaterThan(stand.version());
+    assertThat(repo.katalogVersion().getAsLong()).isGreaterThan(katalog);
+    assertThat(repo.versionVon(AngebotsId.of("fehlt"))).isEmpty();
+    assertThat(repo.speichernWennUnveraendert(angebot("fehlt"), 0)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Bedingter Stapel: ein Batch, nur überholte Zeilen sind Konflikte")
+  void speichernAlleWennUnveraendert_meldetKonfliktProId() {
+    repo.speichernAlle(List.of(angebot("a1"), angebot("a2")));
+    AngebotStand a1 = repo.ladeZumAendern(AngebotsId.of("a1")).orElseThrow();
+    AngebotStand a2 = repo.ladeZumAendern(AngebotsId.of("a2")).orElseThrow();
+    repo.speichern(repo.ladeZumAendern(AngebotsId.of("a2")).orElseThrow().angebot());
+    a1.angebot().veroeffentlichen();
+    a2.angebot().veroeffentlichen();
+
+    assertThat(repo.speichernAlleWennUnveraendert(List.of(a1, a2)))
+        .containsExactly(AngebotsId.of("a2"));
+    assertThat(repo.findeAlleVerfuegbar()).extracting(Angebot::getId).containsExactly("a1");
+  }
+
+  @Test
+  @DisplayName("Katalogversion: die Zählerzeile, Versionen der Zeilen kommen aus ihr")
+  void katalogVersion_ausZaehlerzeile() {
+    assertThat(repo.katalogVersion()).hasValue(0);
+    repo.speichernAlle(List.of(angebot("a1"), angebot("a2")));
+    repo.speichern(angebot("a3"));
+
+    assertThat(repo.katalogVersion()).hasValue(3);
+    assertThat(repo.versionVon(AngebotsId.of("a1"))).hasValue(1);
+    assertThat(repo.versionVon(AngebotsId.of("a2"))).hasValue(2);
+    assertThat(repo.versionVon(AngebotsId.of("a3"))).hasValue(3);
+
+    Angebot veraltet = repo.findeMitId(AngebotsId.of("a1")).orElseThrow().kopie();
+    assertThat(repo.speichernWennUnveraendert(veraltet, 0)).isFalse();
+    assertThat(repo.katalogVersion()).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("Statistik aus Aggregatabfragen: alle Status, verfügbare pro Anbieter und Tag")
+  void statistik_perAggregat() {
+    UserId andererAnbieter = new UserId(UUID.randomUUID());
+    Angebot a1 = angebot("a1");
+    a1.veroeffentlichen();
+    Angebot a2 = angebot("a2");
+    a2.veroeffentlichen();
+    a2.reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+    Angebot a3 =
+        Angebot.erstelle(
+            AngebotsId.of("a3"),
+            andererAnbieter,
+            "Kuchen",
+            "vom Vortag",
+            Set.of("Bio"),
+            a1.getZeitfenster());
+    a3.veroeffentlichen();
+    repo.speichernAlle(List.of(a1, a2, a3, angebot("a4")));
+
+    AngebotStatistik statistik = repo.statistik();
+
+    assertThat(statistik.anzahl(Angebot.Status.VERFUEGBAR)).isEqualTo(2);
+    assertThat(statistik.anzahl(Angebot.Status.RESERVIERT)).isEqualTo(1);
+    assertThat(statistik.anzahl(Angebot.Status.ENTWURF)).isEqualTo(1);
+    assertThat(statistik.gesamt()).isEqualTo(4);
+    assertThat(statistik.verfuegbarProAnbieter())
+        .containsOnly(
+            Map.entry(anbieter.getValue().toString(), 1L),
+            Map.entry(andererAnbieter.getValue().toString(), 1L));
+    assertThat(statistik.verfuegbarProTag())
+        .containsOnly(Map.entry("Bio", 2L), Map.entry("Vegan", 1L));
+  }
+
+  @Test
+  @DisplayName("Beginn nach einem Zeitpunkt: nur verfügbare, aufsteigend nach Beginn")
+  void findeVerfuegbarMitBeginnNach_sortiert() {
+    LocalDateTime basis = LocalDateTime.now().plusDays(1);
+    for (int stunde : new int[] {5, 1, 3}) {
+      Angebot angebot = angebot("a" + stunde, basis.plusHours(stunde));
+      angebot.veroeffentlichen();
+      repo.speichern(angebot);
+    }
+    repo.speichern(angebot("entwurf", basis.plusHours(4)));
+
+    assertThat(repo.findeVerfuegbarMitBeginnNach(basis.plusHours(2)))
+        .extracting(Angebot::getId)
+        .containsExactly("a3", "a5");
+  }
+
+  @Test
+  @DisplayName("laufeAb: nur fällige verfügbare Angebote werden abgelaufen gespeichert")
+  void laufeAb_markiertNurFaellige() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    Angebot faellig =
+        Angebot.wiederherstellen(
+            AngebotsId.of("alt"),
+            anbieter,
+            "Brot",
+            "vom Vortag",
+            Set.of(),
+            new AbholZeitfenster(jetzt.minusHours(3), jetzt.minusHours(1)),
+            Angebot.Status.VERFUEGBAR,
+            jetzt.minusDays(1));
+    repo.speichern(faellig);
+    Angebot aktuell = angebot("neu");
+    aktuell.veroeffentlichen();
+    repo.speichern(aktuell);
+    events.clear();
+
+    List<Angebot> abgelaufen = repo.laufeAb(jetzt);
+
+    assertThat(abgelaufen).extracting(Angebot::getId).containsExactly("alt");
+    assertThat(repo.findeMitId(AngebotsId.of("alt")).orElseThrow().getStatus())
+        .isEqualTo(Angebot.Status.ABGELAUFEN);
+    assertThat(events).hasSize(1).first().isInstanceOf(AngebotAbgelaufenEvent.class);
+  }
+
+  @Test
+  @DisplayName("laufeAb: eine Reservierung nach dem Lesen der fälligen Angebote bleibt stehen")
+  void laufeAb_ueberschreibtKeineZwischenzeitlicheReservierung() {
+    LocalDateTime jetzt = LocalDateTime.now();
+    JdbcAngebotRepository abholer =
+        new JdbcAngebotRepository(new JdbcTemplate(datenbank), event -> {});
+    JdbcTemplate mitReservierung =
+        new JdbcTemplate(datenbank) {
+          @Override
+          public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            List<T> ergebnis = super.query(sql, rowMapper, args);
+            if (sql.contains("abhol_bis <=")) {
+              AngebotStand stand = abholer.ladeZumAendern(AngebotsId.of("alt")).orElseThrow();
+              stand.angebot().reservieren(UUID.randomUUID().toString(), Abholcode.of("ABC123"));
+              assertThat(abholer.speichernWennUnveraendert(stand.angebot(), stand.version()))
+                  .isTrue();
+            }
+            return ergebnis;
+          }
+        };
+    repo = new JdbcAngebotRepository(mitReservierung, events::add);
+    repo.speichern(
+        Angebot.wiederherstellen(
+            AngebotsId.of("alt"),
+            anbieter,
+            "Brot",
+            "vom Vortag",
+            Set.of(),
+            new AbholZeitfenster(jetzt.minusHours(3), jetzt.minusHours(1)),
+            Angebot.Status.VERFUEGBAR,
+            jetzt.minusDays(1)));
+    events.clear();
+
+    assertThat(repo.laufeAb(jetzt)).isEmpty();
+    assertThat(repo.findeMitId(AngebotsId.of("alt")).orElseThrow().getStatus())
+        .isEqualTo(Angebot.Status.RESERVIERT);
+    assertThat(events).isEmpty();
+  }
+}
@@ -0,0 +1,41 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("KatalogVersion - Vergabe und Sichtbarkeit")
+class KatalogVersionTest {
+
+  @Test
+  @DisplayName("Sichtbar wird eine Version erst, wenn alle kleineren abgeschlossen sind")
+  void abschliessen_inAndererReihenfolge_rueckeLueckenlosVor() {
+    KatalogVersion version = new KatalogVersion();
+    long a = version.vergib(1);
+    long b = version.vergib(3);
+    long c = version.vergib(1);
+
+    assertThat(version.vergeben()).isEqualTo(5);
+    version.abschliessen(c, 1);
+    version.abschliessen(b, 3);
+    assertThat(version.sichtbar()).isZero();
+
+    version.abschliessen(a, 1);
+    assertThat(version.sichtbar()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Mindestens hebt Vergabe und Sichtbarkeit an, nie ab")
+  void mindestens_hebtNurAn() {
+    KatalogVersion version = new KatalogVersion();
+    version.mindestens(10);
+    version.mindestens(7);
+
+    assertThat(version.sichtbar()).isEqualTo(10);
+    long naechste = version.vergib(1);
+    assertThat(naechste).isEqualTo(11);
+    version.abschliessen(naechste, 1);
+    assertThat(version.sichtbar()).isEqualTo(11);
+  }
+}
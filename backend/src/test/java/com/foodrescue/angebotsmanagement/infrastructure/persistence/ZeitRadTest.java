@@ -0,0 +1,87 @@
+package com.foodrescue.angebotsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ZeitRad - hierarchisches Timing Wheel")
+class ZeitRadTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  @Test
+  @DisplayName("Termine werden im Tick ihrer Fälligkeit ausgelöst, nicht davor")
+  void vorruecken_loestImTickDerFaelligkeitAus() {
+    ZeitRad rad = new ZeitRad(Duration.ofSeconds(1), START);
+    rad.planen("a", START.plusSeconds(10).plusNanos(500_000_000));
+    rad.planen("b", START.plusSeconds(10));
+    rad.planen("c", START.plusSeconds(11));
+
+    assertThat(rad.vorruecken(START.plusSeconds(10).minusNanos(1))).isEmpty();
+    assertThat(rad.vorruecken(START.plusSeconds(10))).containsExactlyInAnyOrder("a", "b");
+    assertThat(rad.vorruecken(START.plusSeconds(11))).containsExactly("c");
+    assertThat(rad.anzahl()).isZero();
+  }
+
+  @Test
+  @DisplayName("Abbrechen und Verschieben verwerfen den alten Termin")
+  void abbrechenUndVerschieben() {
+    ZeitRad rad = new ZeitRad(Duration.ofSeconds(1), START);
+    rad.planen("a", START.plusMinutes(5));
+    rad.planen("b", START.plusMinutes(5));
+    rad.abbrechen("a");
+    rad.planen("b", START.plusHours(2));
+
+    assertThat(rad.vorruecken(START.plusHours(1))).isEmpty();
+    assertThat(rad.istGeplant("b")).isTrue();
+    assertThat(rad.vorruecken(START.plusHours(2))).containsExactly("b");
+  }
+
+  @Test
+  @DisplayName("Stimmt über alle Ebenen mit einer sortierten Referenz überein")
+  void vorruecken_entsprichtReferenz() {
+    Random random = new Random(42);
+    ZeitRad rad = new ZeitRad(Duration.ofSeconds(1), START);
+    Map<String, LocalDateTime> referenz = new HashMap<>();
+
+    LocalDateTime jetzt = START;
+    for (int runde = 0; runde < 200; runde++) {
+      for (int i = 0; i < 50; i++) {
+        String id = "id" + random.nextInt(2_000);
+        // Abstände von Sekunden bis Jahren, damit alle Ebenen und Kaskaden beteiligt sind
+        long sekunden = (long) Math.pow(10, random.nextDouble() * 8);
+        LocalDateTime faellig = jetzt.plusSeconds(sekunden).plusNanos(random.nextInt(1_000));
+        if (random.nextInt(10) == 0) {
+          rad.abbrechen(id);
+          referenz.remove(id);
+        } else {
+          rad.planen(id, faellig);
+          referenz.put(id, faellig);
+        }
+      }
+
+      jetzt = jetzt.plusSeconds((long) Math.pow(10, random.nextDouble() * 7));
+      LocalDateTime stand = jetzt;
+      List<String> erwartet = new ArrayList<>();
+      referenz.forEach(
+          (id, faellig) -> {
+            if (!faellig.truncatedTo(ChronoUnit.SECONDS).isAfter(stand)) {
+              erwartet.add(id);
+            }
+          });
+      erwartet.forEach(referenz::remove);
+
+      assertThat(rad.vorruecken(jetzt)).containsExactlyInAnyOrderElementsOf(erwartet);
+      assertThat(rad.anzahl()).isEqualTo(referenz.size());
+    }
+  }
+}
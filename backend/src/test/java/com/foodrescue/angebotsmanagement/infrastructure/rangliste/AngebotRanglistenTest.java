@@ -0,0 +1,98 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotVeroeffentlichtEvent;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AngebotRanglisten - aktivste Anbieter und Tags")
+class AngebotRanglistenTest {
+
+  private final UserId fleissig = new UserId(UUID.randomUUID());
+  private final UserId gelegentlich = new UserId(UUID.randomUUID());
+
+  private AngebotRanglisten ranglisten;
+  private FunctionalAngebotRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    // Events aus speichern() gehen direkt an die Ranglisten, wie im Spring-Kontext
+    repository =
+        new FunctionalAngebotRepository(
+            event -> {
+              if (event instanceof AngebotVeroeffentlichtEvent e) {
+                ranglisten.on(e);
+              }
+            });
+    ranglisten = new AngebotRanglisten(repository, "exakt");
+  }
+
+  @Test
+  @DisplayName("Veröffentlichungen zählen pro Anbieter und pro Tag")
+  void veroeffentlichen_zaehltAnbieterUndTags() {
+    veroeffentliche("a1", fleissig, "Bio", "Brot");
+    veroeffentliche("a2", fleissig, "Bio");
+    veroeffentliche("a3", gelegentlich, "Obst");
+    repository.speichern(angebot("a4", gelegentlich, "Bio")); // Entwurf zählt nicht
+
+    assertThat(ranglisten.anbieter(AngebotRanglisten.Zeitraum.STUNDE, 10))
+        .containsExactly(
+            new Platz(fleissig.getValue().toString(), 2),
+            new Platz(gelegentlich.getValue().toString(), 1));
+    assertThat(ranglisten.tags(AngebotRanglisten.Zeitraum.GESAMT, 1))
+        .containsExactly(new Platz("Bio", 2));
+  }
+
+  @Test
+  @DisplayName("Nach einem Tag sind die Fenster leer, die Gesamtliste nicht")
+  void zeitraeume_gleitenWeiter() {
+    Instant jetzt = Instant.now();
+    ranglisten.zaehle(angebot("a1", fleissig, "Bio"), jetzt);
+
+    Instant spaeter = jetzt.plus(Duration.ofHours(25));
+    assertThat(ranglisten.anbieter(AngebotRanglisten.Zeitraum.STUNDE, 5, spaeter)).isEmpty();
+    assertThat(ranglisten.tags(AngebotRanglisten.Zeitraum.TAG, 5, spaeter)).isEmpty();
+    assertThat(ranglisten.tags(AngebotRanglisten.Zeitraum.GESAMT, 5, spaeter))
+        .containsExactly(new Platz("Bio", 1));
+  }
+
+  @Test
+  @DisplayName("Ungültige Anzahl und unbekannter Modus werden abgelehnt")
+  void validierung() {
+    assertThatThrownBy(() -> ranglisten.anbieter(AngebotRanglisten.Zeitraum.GESAMT, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AngebotRanglisten(repository, "ungefaehr"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("ungefaehr");
+  }
+
+  private void veroeffentliche(String id, UserId anbieter, String... tags) {
+    Angebot angebot = angebot(id, anbieter, tags);
+    angebot.veroeffentlichen();
+    repository.speichern(angebot);
+  }
+
+  private static Angebot angebot(String id, UserId anbieter, String... tags) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        anbieter,
+        "Angebot " + id,
+        "Beschreibung",
+        Set.of(tags),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+}
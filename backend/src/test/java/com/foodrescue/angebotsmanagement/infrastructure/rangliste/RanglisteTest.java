@@ -0,0 +1,118 @@
+package com.foodrescue.angebotsmanagement.infrastructure.rangliste;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Rangliste - Top-k über gleitende Zeitfenster")
+class RanglisteTest {
+
+  private static final Instant START = Instant.parse("2025-01-01T12:00:00Z");
+
+  @Test
+  @DisplayName("Gesamt: der Heap hält exakt die k größten Zähler")
+  void gesamt_entsprichtSortierterReferenz() {
+    Random random = new Random(7);
+    Rangliste rangliste = Rangliste.gesamt(Rangliste.Modus.EXAKT, 5);
+    Map<String, Long> referenz = new HashMap<>();
+
+    for (int i = 0; i < 5_000; i++) {
+      String schluessel = "s" + (int) Math.abs(random.nextGaussian() * 30);
+      rangliste.zaehle(schluessel, START);
+      referenz.merge(schluessel, 1L, Long::sum);
+    }
+
+    List<Platz> top = rangliste.top(5, START);
+    assertThat(top).extracting(Platz::anzahl).isSortedAccordingTo(Comparator.reverseOrder());
+    assertThat(top).extracting(Platz::anzahl).containsExactlyElementsOf(topWerte(referenz, 5));
+    top.forEach(platz -> assertThat(referenz.get(platz.schluessel())).isEqualTo(platz.anzahl()));
+  }
+
+  @Test
+  @DisplayName("Gleitendes Fenster: alte Buckets fallen heraus, Nachrücker kommen nach oben")
+  void gleitend_altesFaelltHeraus() {
+    Rangliste rangliste = Rangliste.gleitend(Rangliste.Modus.EXAKT, 2, Duration.ofHours(1), 12);
+    for (int i = 0; i < 3; i++) {
+      rangliste.zaehle("frueh", START);
+    }
+    rangliste.zaehle("spaet", START.plus(Duration.ofMinutes(30)));
+    rangliste.zaehle("spaet", START.plus(Duration.ofMinutes(31)));
+    rangliste.zaehle("mitte", START.plus(Duration.ofMinutes(20)));
+
+    assertThat(rangliste.top(2, START.plus(Duration.ofMinutes(40))))
+        .containsExactly(new Platz("frueh", 3), new Platz("spaet", 2));
+    // "mitte" war nie unter den Top 2, rückt nach dem Ende von "frueh" aber nach
+    assertThat(rangliste.top(2, START.plus(Duration.ofMinutes(65))))
+        .containsExactly(new Platz("spaet", 2), new Platz("mitte", 1));
+    assertThat(rangliste.top(2, START.plus(Duration.ofHours(3)))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Ereignisse vor dem Fenster werden verworfen")
+  void gleitend_zuAlteEreignisse() {
+    Rangliste rangliste = Rangliste.gleitend(Rangliste.Modus.EXAKT, 3, Duration.ofHours(1), 12);
+    rangliste.zaehle("neu", START.plus(Duration.ofHours(2)));
+    rangliste.zaehle("alt", START);
+
+    assertThat(rangliste.top(3, START.plus(Duration.ofHours(2))))
+        .containsExactly(new Platz("neu", 1));
+  }
+
+  @Test
+  @DisplayName("Exakt und Skizze stimmen mit einer Fenster-Referenz überein")
+  void gleitend_entsprichtReferenz() {
+    for (Rangliste.Modus modus : Rangliste.Modus.values()) {
+      Random random = new Random(11);
+      Duration fenster = Duration.ofHours(1);
+      Duration bucket = fenster.dividedBy(12);
+      Rangliste rangliste = Rangliste.gleitend(modus, 10, fenster, 12);
+      Deque<Map.Entry<Instant, String>> ereignisse = new ArrayDeque<>();
+
+      Instant jetzt = START;
+      for (int i = 0; i < 20_000; i++) {
+        jetzt = jetzt.plusSeconds(random.nextInt(3));
+        // wenige schwere Schlüssel, viele seltene
+        String schluessel =
+            random.nextInt(4) == 0
+                ? "schwer" + random.nextInt(10)
+                : "selten" + random.nextInt(5_000);
+        rangliste.zaehle(schluessel, jetzt);
+        ereignisse.add(Map.entry(jetzt, schluessel));
+      }
+
+      // Referenz: alle Ereignisse ab Beginn des ältesten Buckets im Fenster
+      long aktuellerBucket = Math.floorDiv(jetzt.toEpochMilli(), bucket.toMillis());
+      Instant fensterBeginn = Instant.ofEpochMilli((aktuellerBucket - 11) * bucket.toMillis());
+      Map<String, Long> referenz = new HashMap<>();
+      ereignisse.stream()
+          .filter(e -> !e.getKey().isBefore(fensterBeginn))
+          .forEach(e -> referenz.merge(e.getValue(), 1L, Long::sum));
+
+      List<Platz> top = rangliste.top(10, jetzt);
+      assertThat(top).extracting(Platz::schluessel).allMatch(s -> s.startsWith("schwer"));
+      if (modus == Rangliste.Modus.EXAKT) {
+        top.forEach(p -> assertThat(p.anzahl()).isEqualTo(referenz.get(p.schluessel())));
+      } else {
+        // Count-Min schätzt nie zu klein und hier höchstens um wenige Ereignisse zu groß
+        top.forEach(
+            p ->
+                assertThat(p.anzahl())
+                    .isBetween(referenz.get(p.schluessel()), referenz.get(p.schluessel()) + 10));
+      }
+    }
+  }
+
+  private static List<Long> topWerte(Map<String, Long> referenz, int k) {
+    return referenz.values().stream().sorted(Comparator.reverseOrder()).limit(k).toList();
+  }
+}
@@ -1,35 +1,64 @@
 package com.foodrescue.angebotsmanagement.infrastructure.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.application.commands.ErstelleAngebotCommand;
 import com.foodrescue.angebotsmanagement.application.services.AngebotApplicationService;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.geo.AngebotImUmkreis;
+import com.foodrescue.angebotsmanagement.infrastructure.geo.AngebotUmkreisSuche;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper.AngebotCursor;
+import com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper.AngebotJsonCache;
 import com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper.AngebotMapper;
+import com.foodrescue.angebotsmanagement.infrastructure.web.sse.AngebotAenderung;
+import com.foodrescue.angebotsmanagement.infrastructure.web.sse.AngebotAenderungsFeed;
+import com.foodrescue.shared.rest.KonditionalesGet;
+import com.foodrescue.userverwaltung.domain.valueobjects.GeoStandort;
 import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @WebMvcTest(controllers = AngebotController.class)
-@Import(AngebotMapper.class)
+@Import({AngebotMapper.class, AngebotJsonCache.class, KonditionalesGet.class})
 class AngebotControllerWebMvcTest {
 
   @Autowired MockMvc mockMvc;
+  @Autowired KonditionalesGet konditionalesGet;
 
   @MockBean AngebotApplicationService service;
+  @MockBean AngebotAenderungsFeed aenderungsFeed;
+  @MockBean AngebotUmkreisSuche umkreisSuche;
+
+  @Captor ArgumentCaptor<List<ErstelleAngebotCommand>> commandCaptor;
+
+  @BeforeEach
+  void ohneVersionen() {
+    when(service.versionen()).thenReturn(id -> OptionalLong.empty());
+  }
 
   @Test
   void post_apiAngebote_createsAndReturns201WithId() throws Exception {
@@ -93,6 +122,163 @@ class AngebotControllerWebMvcTest {
     verify(service).findeVerfuegbareAngebote();
   }
 
+  @Test
+  void get_verfuegbarSeite_returnsTokenThatContinuesAfterLastOffer() throws Exception {
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of("a1"),
+            new UserId(UUID.randomUUID()),
+            "Titel",
+            "Beschreibung",
+            Set.of("t1"),
+            new AbholZeitfenster(
+                LocalDateTime.of(2025, 12, 14, 10, 0), LocalDateTime.of(2025, 12, 14, 12, 0)));
+    angebot.veroeffentlichen();
+    AngebotSeite.Position position =
+        AngebotSeite.Position.von(AngebotSeite.Sortierung.ENDE, angebot);
+
+    when(service.findeVerfuegbareAngeboteSeite(AngebotSeite.Sortierung.ENDE, null, 1))
+        .thenReturn(new AngebotSeite(List.of(angebot), position));
+    when(service.findeVerfuegbareAngeboteSeite(AngebotSeite.Sortierung.ENDE, position, 1))
+        .thenReturn(new AngebotSeite(List.of(), null));
+
+    String token = AngebotCursor.kodieren(position);
+    mockMvc
+        .perform(
+            get("/api/angebote/verfuegbar")
+                .param("limit", "1")
+                .param("sortierung", "ende")
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.angebote[0].id").value("a1"))
+        .andExpect(jsonPath("$.weiter").value(token));
+
+    mockMvc
+        .perform(
+            get("/api/angebote/verfuegbar")
+                .param("limit", "1")
+                .param("sortierung", "ende")
+                .param("cursor", token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.angebote").isEmpty())
+        .andExpect(jsonPath("$.weiter").doesNotExist());
+  }
+
+  @Test
+  void get_verfuegbarSeite_invalidParameters_return400() throws Exception {
+    mockMvc
+        .perform(get("/api/angebote/verfuegbar").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            get("/api/angebote/verfuegbar")
+                .param("limit", String.valueOf(AngebotController.MAX_SEITENGROESSE + 1)))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/api/angebote/verfuegbar").param("limit", "10").param("sortierung", "preis"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/api/angebote/verfuegbar").param("limit", "10").param("cursor", "kaputt"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void get_verfuegbar_ndjson_streamsRowsWithoutBuildingAList() throws Exception {
+    UserId anbieter = new UserId(UUID.randomUUID());
+    AbholZeitfenster fenster =
+        new AbholZeitfenster(
+            LocalDateTime.of(2025, 12, 14, 10, 0), LocalDateTime.of(2025, 12, 14, 12, 0));
+    Angebot a1 = Angebot.erstelle(AngebotsId.of("a1"), anbieter, "Brot", "", Set.of(), fenster);
+    Angebot a2 = Angebot.erstelle(AngebotsId.of("a2"), anbieter, "Milch", "", Set.of(), fenster);
+
+    when(service.streameVerfuegbareAngebote()).thenReturn(Stream.of(a1, a2));
+    when(service.streameAngeboteFuerAnbieter(anbieter)).thenReturn(Stream.of(a2));
+
+    MvcResult verfuegbar =
+        mockMvc
+            .perform(get("/api/angebote/verfuegbar").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    mockMvc
+        .perform(asyncDispatch(verfuegbar))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(
+            content()
+                .string(
+                    org.hamcrest.Matchers.matchesPattern(
+                        "(?s)\\{\"id\":\"a1\".*\\}\n\\{\"id\":\"a2\".*\\}\n")));
+
+    MvcResult fuerAnbieter =
+        mockMvc
+            .perform(
+                get("/api/angebote/anbieter/{id}", anbieter.getValue().toString())
+                    .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    mockMvc
+        .perform(asyncDispatch(fuerAnbieter))
+        .andExpect(status().isOk())
+        .andExpect(
+            content().string(org.hamcrest.Matchers.matchesPattern("(?s)\\{\"id\":\"a2\".*\\}\n")));
+
+    verify(service, never()).findeVerfuegbareAngebote();
+  }
+
+  @Test
+  void get_suche_delegatesToServiceSearch() throws Exception {
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of("a1"),
+            new UserId(UUID.randomUUID()),
+            "Vollkornbrot",
+            "Beschreibung",
+            Set.of("Bio"),
+            new AbholZeitfenster(
+                LocalDateTime.of(2025, 12, 14, 10, 0), LocalDateTime.of(2025, 12, 14, 12, 0)));
+    angebot.veroeffentlichen();
+
+    when(service.sucheVerfuegbareAngebote("brot")).thenReturn(List.of(angebot));
+
+    mockMvc
+        .perform(get("/api/angebote").param("suche", "brot").accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value("a1"))
+        .andExpect(jsonPath("$[0].titel").value("Vollkornbrot"));
+
+    verify(service).sucheVerfuegbareAngebote("brot");
+  }
+
+  @Test
+  void get_nahe_liefertTrefferMitEntfernung() throws Exception {
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of("a1"),
+            new UserId(UUID.randomUUID()),
+            "Brot",
+            "Beschreibung",
+            Set.of("Bio"),
+            new AbholZeitfenster(
+                LocalDateTime.of(2025, 12, 14, 10, 0), LocalDateTime.of(2025, 12, 14, 12, 0)));
+    angebot.veroeffentlichen();
+    when(umkreisSuche.findeVerfuegbarImUmkreis(new GeoStandort(52.52, 13.40), 1500))
+        .thenReturn(List.of(new AngebotImUmkreis(angebot, 412.4)));
+
+    mockMvc
+        .perform(get("/api/angebote/nahe?lat=52.52&lon=13.40&radius=1500"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].entfernungMeter").value(412))
+        .andExpect(jsonPath("$[0].angebot.id").value("a1"))
+        .andExpect(jsonPath("$[0].angebot.titel").value("Brot"));
+  }
+
+  @Test
+  void get_nahe_ungueltigeKoordinaten_liefert400() throws Exception {
+    mockMvc.perform(get("/api/angebote/nahe?lat=95&lon=13.40")).andExpect(status().isBadRequest());
+  }
+
   @Test
   void get_details_returnsDto() throws Exception {
 
@@ -119,6 +305,93 @@ class AngebotControllerWebMvcTest {
     verify(service).findeAngebotMitId(any());
   }
 
+  @Test
+  void get_verfuegbar_withCurrentEtag_returns304WithoutReadingOffers() throws Exception {
+    when(service.katalogVersion()).thenReturn(OptionalLong.of(7));
+    when(service.findeVerfuegbareAngebote()).thenReturn(List.of());
+
+    String etag =
+        mockMvc
+            .perform(get("/api/angebote/verfuegbar"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"k7\""))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+    mockMvc
+        .perform(get("/api/angebote/verfuegbar").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    verify(service, times(1)).findeVerfuegbareAngebote();
+
+    when(service.katalogVersion()).thenReturn(OptionalLong.of(8));
+    mockMvc
+        .perform(get("/api/angebote/verfuegbar").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"k8\""));
+    verify(service, times(2)).findeVerfuegbareAngebote();
+
+    KonditionalesGet.Statistik statistik = konditionalesGet.statistik().get("angebote.verfuegbar");
+    org.assertj.core.api.Assertions.assertThat(statistik)
+        .isEqualTo(new KonditionalesGet.Statistik(1, 1, 1));
+  }
+
+  @Test
+  void get_details_withCurrentEtag_returns304WithoutMapping() throws Exception {
+    when(service.versionVon(AngebotsId.of("a1"))).thenReturn(OptionalLong.of(42));
+
+    mockMvc
+        .perform(get("/api/angebote/{id}", "a1").header("If-None-Match", "\"v42\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"v42\""));
+
+    verify(service, never()).findeAngebotMitId(any());
+  }
+
+  @Test
+  void get_details_unknownVersion_sendsNoEtag() throws Exception {
+    when(service.findeAngebotMitId(any()))
+        .thenThrow(new IllegalArgumentException("Angebot nicht gefunden"));
+
+    mockMvc
+        .perform(get("/api/angebote/{id}", "x").header("If-None-Match", "\"v1\""))
+        .andExpect(status().isBadRequest())
+        .andExpect(header().doesNotExist("ETag"));
+  }
+
+  @Test
+  void get_aenderungen_streamsDeltasAsServerSentEvents() throws Exception {
+    SseEmitter emitter = new SseEmitter();
+    when(aenderungsFeed.abonnieren()).thenReturn(emitter);
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/angebote/aenderungen").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    emitter.send(
+        SseEmitter.event()
+            .id("1")
+            .name("RESERVIERT")
+            .data(
+                new AngebotAenderung(1, AngebotAenderung.Typ.RESERVIERT, "a1"),
+                MediaType.APPLICATION_JSON));
+    emitter.complete();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(
+            content()
+                .string(
+                    org.hamcrest.Matchers.containsString(
+                        "event:RESERVIERT\ndata:{\"sequenz\":1,\"typ\":\"RESERVIERT\","
+                            + "\"angebotId\":\"a1\"}")));
+  }
+
   @Test
   void post_create_malformedJson_returns400() throws Exception {
     String json = "{ \"anbieterId\": \"x\", ";
@@ -129,4 +402,112 @@ class AngebotControllerWebMvcTest {
 
     verify(service, never()).erstelleAngebot(any());
   }
+
+  @Test
+  void post_batch_liestArrayElementweise_undLiefertErgebnisProElement() throws Exception {
+    when(service.erstelleAngebote(anyList()))
+        .thenReturn(
+            List.of(
+                new AngebotApplicationService.ErstellErgebnis(0, AngebotsId.of("a1"), null),
+                new AngebotApplicationService.ErstellErgebnis(
+                    1, null, "Titel darf nicht leer sein")));
+
+    String element =
+        """
+      {"anbieterId": "%s", "titel": "%s", "tags": ["Brot"],
+       "zeitfenster": { "von": "2025-12-14T10:00", "bis": "2025-12-14T12:00" }}
+      """;
+    String json =
+        "["
+            + element.formatted(UUID.randomUUID(), "Brötchen")
+            + ","
+            + element.formatted(UUID.randomUUID(), "")
+            + "]";
+
+    mockMvc
+        .perform(post("/api/angebote/batch").contentType(MediaType.APPLICATION_JSON).content(json))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.erstellt").value(1))
+        .andExpect(jsonPath("$.fehlerhaft").value(1))
+        .andExpect(jsonPath("$.ergebnisse[0].id").value("a1"))
+        .andExpect(jsonPath("$.ergebnisse[1].index").value(1))
+        .andExpect(jsonPath("$.ergebnisse[1].fehler").value("Titel darf nicht leer sein"));
+
+    verify(service).erstelleAngebote(commandCaptor.capture());
+    assertThat(commandCaptor.getValue())
+        .extracting(ErstelleAngebotCommand::getTitel, ErstelleAngebotCommand::getVon)
+        .containsExactly(tuple("Brötchen", "2025-12-14T10:00"), tuple("", "2025-12-14T10:00"));
+  }
+
+  @Test
+  void post_batch_keinArray_oderKaputt_returns400() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/angebote/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"titel\": \"x\"}"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            post("/api/angebote/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"titel\": \"x\"}, {\"titel\": "))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).erstelleAngebote(anyList());
+  }
+
+  @Test
+  void post_batch_zuGross_returns400() throws Exception {
+    String json =
+        "["
+            + String.join(
+                ",", java.util.Collections.nCopies(AngebotController.MAX_STAPELGROESSE + 1, "{}"))
+            + "]";
+
+    mockMvc
+        .perform(post("/api/angebote/batch").contentType(MediaType.APPLICATION_JSON).content(json))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).erstelleAngebote(anyList());
+  }
+
+  @Test
+  void post_anbieterVeroeffentlichen_delegiertMitFilter() throws Exception {
+    UUID anbieter = UUID.randomUUID();
+    when(service.veroeffentlicheAlle(eq(new UserId(anbieter)), notNull()))
+        .thenReturn(
+            new AngebotApplicationService.MassenErgebnis(
+                List.of(AngebotsId.of("a1"), AngebotsId.of("a2")), List.of(AngebotsId.of("a3"))));
+
+    mockMvc
+        .perform(
+            post("/api/angebote/anbieter/{id}/veroeffentlichen", anbieter)
+                .param("tag", "Brot")
+                .param("endeBis", "2025-12-14T20:00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.anzahl").value(2))
+        .andExpect(jsonPath("$.ids[1]").value("a2"))
+        .andExpect(jsonPath("$.konflikte[0]").value("a3"));
+  }
+
+  @Test
+  void post_anbieterEntfernen_ohneFilter_undUngueltigeEingaben() throws Exception {
+    UUID anbieter = UUID.randomUUID();
+    when(service.entferneAlle(new UserId(anbieter), null))
+        .thenReturn(new AngebotApplicationService.MassenErgebnis(List.of(), List.of()));
+
+    mockMvc
+        .perform(post("/api/angebote/anbieter/{id}/entfernen", anbieter))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.anzahl").value(0));
+
+    mockMvc
+        .perform(post("/api/angebote/anbieter/{id}/entfernen", anbieter).param("endeBis", "heute"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(post("/api/angebote/anbieter/{id}/entfernen", "kein-uuid"))
+        .andExpect(status().isBadRequest());
+    verify(service).entferneAlle(any(), any());
+  }
 }
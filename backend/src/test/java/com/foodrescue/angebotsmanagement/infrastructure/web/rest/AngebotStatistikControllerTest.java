@@ -0,0 +1,62 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.rest;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.foodrescue.angebotsmanagement.application.services.AngebotCollectionService;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.infrastructure.rangliste.AngebotRanglisten;
+import com.foodrescue.angebotsmanagement.infrastructure.rangliste.Platz;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = AngebotStatistikController.class)
+class AngebotStatistikControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private AngebotCollectionService collectionService;
+  @MockBean private AngebotRanglisten ranglisten;
+
+  @Test
+  void kennzahlenProStatusAnbieterUndTag() throws Exception {
+    given(collectionService.kennzahlen())
+        .willReturn(
+            new AngebotCollectionService.AngebotKennzahlen(
+                5,
+                Map.of(Angebot.Status.VERFUEGBAR, 3L, Angebot.Status.RESERVIERT, 2L),
+                Map.of("anbieter-1", 3L),
+                Map.of("Bio", 2L)));
+
+    mvc.perform(get("/api/angebote/statistik"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.gesamt").value(5))
+        .andExpect(jsonPath("$.proStatus.RESERVIERT").value(2))
+        .andExpect(jsonPath("$.verfuegbarProAnbieter['anbieter-1']").value(3))
+        .andExpect(jsonPath("$.verfuegbarProTag.Bio").value(2));
+  }
+
+  @Test
+  void ranglisteProZeitraum() throws Exception {
+    given(ranglisten.tags(AngebotRanglisten.Zeitraum.STUNDE, 3))
+        .willReturn(List.of(new Platz("Bio", 7), new Platz("Brot", 4)));
+
+    mvc.perform(get("/api/angebote/statistik/rangliste/tags?zeitraum=stunde&n=3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].schluessel").value("Bio"))
+        .andExpect(jsonPath("$[0].anzahl").value(7))
+        .andExpect(jsonPath("$[1].schluessel").value("Brot"));
+  }
+
+  @Test
+  void ranglisteMitUnbekanntemZeitraum_liefert400() throws Exception {
+    mvc.perform(get("/api/angebote/statistik/rangliste/anbieter?zeitraum=woche"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,136 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotSeite;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngeboteArchiviertEvent;
+import com.foodrescue.shared.rest.JsonFragmente;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class AngebotJsonCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AngebotMapper mapper = new AngebotMapper();
+  private final AngebotJsonCache cache = new AngebotJsonCache(mapper, objectMapper);
+
+  private static Angebot angebot(String id) {
+    AbholZeitfenster fenster =
+        new AbholZeitfenster(
+            LocalDateTime.of(2025, 12, 14, 10, 0), LocalDateTime.of(2025, 12, 14, 12, 0));
+    return Angebot.erstelle(
+        AngebotsId.of(id), new UserId(UUID.randomUUID()), "Titel", "Beschr", Set.of(), fenster);
+  }
+
+  private static String text(JsonFragmente fragmente) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    fragmente.schreibeNach(out);
+    assertEquals(out.size(), fragmente.laenge());
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void liste_isByteIdenticalToJacksonSerializationOfDtos() throws Exception {
+    List<Angebot> angebote = List.of(angebot("a1"), angebot("a2"));
+
+    String json = text(cache.liste(angebote, id -> OptionalLong.of(1)));
+
+    assertEquals(objectMapper.writeValueAsString(mapper.toResponseList(angebote)), json);
+    assertEquals("[]", text(cache.liste(List.of(), id -> OptionalLong.of(1))));
+  }
+
+  @Test
+  void json_sameVersion_reusesBytes_newVersion_reserializes() {
+    Angebot angebot = angebot("a1");
+
+    byte[] erstes = cache.json(angebot, OptionalLong.of(1));
+    assertSame(erstes, cache.json(angebot, OptionalLong.of(1)));
+
+    angebot.veroeffentlichen();
+    byte[] neu = cache.json(angebot, OptionalLong.of(2));
+
+    assertNotSame(erstes, neu);
+    assertTrue(new String(neu, StandardCharsets.UTF_8).contains("\"VERFUEGBAR\""));
+    assertEquals(1, cache.groesse());
+  }
+
+  @Test
+  void json_withoutVersion_isNotCached() {
+    cache.json(angebot("a1"), OptionalLong.empty());
+
+    assertEquals(0, cache.groesse());
+  }
+
+  @Test
+  void archiviertEvent_dropsEntriesOfArchivedOffers() {
+    cache.json(angebot("a1"), OptionalLong.of(1));
+    cache.json(angebot("a2"), OptionalLong.of(2));
+
+    cache.on(new AngeboteArchiviertEvent(List.of("a1", "fehlt")));
+
+    assertEquals(1, cache.groesse());
+  }
+
+  @Test
+  void json_sameSnapshot_reusesBytes_evenWithoutVersion() {
+    Angebot schnappschuss = angebot("a1").schnappschuss();
+
+    byte[] erstes = cache.json(schnappschuss, OptionalLong.of(1));
+
+    assertSame(erstes, cache.json(schnappschuss, OptionalLong.empty()));
+    Angebot geaendert = schnappschuss.kopie();
+    geaendert.veroeffentlichen();
+    assertNotSame(erstes, cache.json(geaendert.schnappschuss(), OptionalLong.empty()));
+  }
+
+  @Test
+  void seite_matchesSeiteResponseShape() throws Exception {
+    Angebot a1 = angebot("a1");
+    AngebotSeite letzte = new AngebotSeite(List.of(a1), null);
+    AngebotSeite mitWeiter =
+        new AngebotSeite(
+            List.of(a1), AngebotSeite.Position.von(AngebotSeite.Sortierung.BEGINN, a1));
+
+    assertEquals(
+        objectMapper.writeValueAsString(mapper.toSeiteResponse(letzte)),
+        text(cache.seite(letzte, id -> OptionalLong.empty())));
+    assertEquals(
+        objectMapper.writeValueAsString(mapper.toSeiteResponse(mitWeiter)),
+        text(cache.seite(mitWeiter, id -> OptionalLong.empty())));
+  }
+
+  @Test
+  void liste_saveBetweenReadAndVersionLookup_leavesNoStaleBytesForNewState() throws Exception {
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    Angebot angebot = angebot("a1");
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+    List<Angebot> gelesen = repo.findeAlleVerfuegbar();
+
+    // zwischen dem Lesen der Liste und der Versionsabfrage wird das Angebot neu gespeichert
+    Angebot geaendert = repo.findeMitId(AngebotsId.of("a1")).orElseThrow().kopie();
+    geaendert.entfernen();
+    repo.speichern(geaendert);
+
+    assertTrue(text(cache.liste(gelesen, repo.versionen())).contains("\"VERFUEGBAR\""));
+    assertEquals(0, cache.groesse());
+
+    List<Angebot> aktuell = List.of(repo.findeMitId(AngebotsId.of("a1")).orElseThrow());
+    String json = text(cache.liste(aktuell, repo.versionen()));
+    assertEquals(objectMapper.writeValueAsString(mapper.toResponseList(aktuell)), json);
+    assertEquals(json, text(cache.liste(aktuell, repo.versionen())));
+    assertEquals(1, cache.groesse());
+  }
+}
@@ -0,0 +1,144 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.rest.mapper;
+
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Vergleicht das Mappen einer Angebotsliste: bisheriger reflektiver Mapper, direkter Zugriff und
+ * DTO-Cache bei unveränderten Versionen; außerdem Jackson gegen den JSON-Byte-Cache beim
+ * Serialisieren der ganzen Liste.
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=AngebotMapperBenchmarkTest}, Listengröße über
+ * {@code -Dbenchmark.liste=...} (Default 10.000).
+ */
+@Tag("benchmark")
+class AngebotMapperBenchmarkTest {
+
+  @Test
+  void toResponseList_reflektivDirektGecacht() {
+    int anzahl = groesse("benchmark.liste", 10_000);
+    List<Angebot> angebote = angebote(anzahl);
+
+    AngebotMapper mapper = new AngebotMapper();
+    assertThat(mapper.toResponseList(angebote))
+        .isEqualTo(angebote.stream().map(ReflektiverMapper::toResponse).toList());
+
+    long reflektiv =
+        medianNanos(30, () -> angebote.stream().map(ReflektiverMapper::toResponse).toList().size());
+    long direkt = medianNanos(30, () -> mapper.toResponseList(angebote).size());
+    long gecacht =
+        medianNanos(30, () -> mapper.toResponseList(angebote, id -> OptionalLong.of(1)).size());
+
+    String parameter = "angebote=" + anzahl;
+    bericht("AngebotMapper reflektiv (bisher)", parameter, reflektiv);
+    bericht("AngebotMapper direkt", parameter, direkt);
+    bericht("AngebotMapper DTO-Cache (unverändert)", parameter, gecacht);
+  }
+
+  @Test
+  void serialisieren_jacksonGegenJsonCache() throws Exception {
+    int anzahl = groesse("benchmark.liste", 10_000);
+    List<Angebot> angebote = angebote(anzahl);
+    ObjectMapper objectMapper = new ObjectMapper();
+    AngebotMapper mapper = new AngebotMapper();
+    AngebotJsonCache cache = new AngebotJsonCache(mapper, objectMapper);
+
+    long jackson =
+        medianNanos(
+            200,
+            () -> {
+              try {
+                objectMapper.writeValue(
+                    OutputStream.nullOutputStream(), mapper.toResponseList(angebote));
+                return 1;
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    long gecacht =
+        medianNanos(
+            200,
+            () -> {
+              try {
+                cache
+                    .liste(angebote, id -> OptionalLong.of(1))
+                    .schreibeNach(OutputStream.nullOutputStream());
+                return 1;
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    String parameter = "angebote=" + anzahl;
+    bericht("Liste serialisieren: Jackson", parameter, jackson);
+    bericht("Liste serialisieren: JSON-Cache", parameter, gecacht);
+  }
+
+  private static List<Angebot> angebote(int anzahl) {
+    UserId anbieter = new UserId(UUID.randomUUID());
+    LocalDateTime von = LocalDateTime.of(2025, 12, 14, 10, 0);
+    List<Angebot> angebote = new ArrayList<>(anzahl);
+    for (int i = 0; i < anzahl; i++) {
+      angebote.add(
+          Angebot.erstelle(
+              AngebotsId.of("a" + i),
+              anbieter,
+              "Titel " + i,
+              "Beschreibung " + i,
+              Set.of("Bio"),
+              new AbholZeitfenster(von, von.plusHours(2))));
+    }
+    return angebote;
+  }
+
+  /** Der bisherige Mapper: Zeitfenster per getMethod()/invoke(), inkl. NoSuchMethodException. */
+  private static final class ReflektiverMapper {
+
+    static AngebotMapper.AngebotResponse toResponse(Angebot angebot) {
+      AbholZeitfenster z = angebot.getZeitfenster();
+      String von = extractZeitfensterPart(z, "getVon", "von");
+      String bis = extractZeitfensterPart(z, "getBis", "bis");
+      return new AngebotMapper.AngebotResponse(
+          angebot.getId(),
+          angebot.getAnbieterId().toString(),
+          angebot.getTitel(),
+          angebot.getBeschreibung(),
+          angebot.getTags(),
+          angebot.getStatus().name(),
+          new AngebotMapper.ZeitfensterDto(von, bis));
+    }
+
+    private static String extractZeitfensterPart(
+        AbholZeitfenster z, String getterName, String recordAccessorName) {
+      if (z == null) return null;
+      Object value = tryInvoke(z, getterName);
+      if (value == null) value = tryInvoke(z, recordAccessorName);
+      return value != null ? value.toString() : null;
+    }
+
+    private static Object tryInvoke(Object target, String methodName) {
+      try {
+        Method m = target.getClass().getMethod(methodName);
+        return m.invoke(target);
+      } catch (Exception ignored) {
+        return null;
+      }
+    }
+  }
+}
@@ -5,8 +5,11 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
 import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -75,4 +78,67 @@ class AngebotMapperTest {
     assertEquals("a1", list.get(0).id());
     assertEquals("a2", list.get(1).id());
   }
+
+  @Test
+  void toResponse_withSameVersion_returnsCachedDto() {
+    AngebotMapper mapper = new AngebotMapper();
+    Angebot angebot = angebotMitFenster();
+
+    AngebotMapper.AngebotResponse erstes = mapper.toResponse(angebot, OptionalLong.of(1));
+    AngebotMapper.AngebotResponse zweites = mapper.toResponse(angebot, OptionalLong.of(1));
+
+    assertSame(erstes, zweites);
+    assertEquals(mapper.toResponse(angebot), erstes);
+  }
+
+  @Test
+  void toResponse_withNewVersion_remapsAndReplacesEntry() {
+    AngebotMapper mapper = new AngebotMapper();
+    Angebot angebot = angebotMitFenster();
+    AngebotMapper.AngebotResponse alt = mapper.toResponse(angebot, OptionalLong.of(1));
+
+    angebot.veroeffentlichen();
+    AngebotMapper.AngebotResponse neu = mapper.toResponse(angebot, OptionalLong.of(2));
+
+    assertEquals("ENTWURF", alt.status());
+    assertEquals("VERFUEGBAR", neu.status());
+    assertSame(neu, mapper.toResponse(angebot, OptionalLong.of(2)));
+    // ein verspäteter Leser mit alter Version verdrängt den neueren Eintrag nicht
+    mapper.toResponse(angebot, OptionalLong.of(1));
+    assertSame(neu, mapper.toResponse(angebot, OptionalLong.of(2)));
+    assertEquals(1, mapper.cacheGroesse());
+  }
+
+  @Test
+  void toResponse_withoutVersion_doesNotCache() {
+    AngebotMapper mapper = new AngebotMapper();
+
+    mapper.toResponse(angebotMitFenster(), OptionalLong.empty());
+
+    assertEquals(0, mapper.cacheGroesse());
+  }
+
+  @Test
+  void toResponseList_saveBetweenReadAndVersionLookup_cachesNoStaleDto() {
+    AngebotMapper mapper = new AngebotMapper();
+    FunctionalAngebotRepository repo = new FunctionalAngebotRepository(event -> {});
+    Angebot angebot = angebotMitFenster();
+    angebot.veroeffentlichen();
+    repo.speichern(angebot);
+    List<Angebot> gelesen = repo.findeAlleVerfuegbar();
+
+    // zwischen dem Lesen der Liste und der Versionsabfrage wird das Angebot neu gespeichert
+    Angebot geaendert = repo.findeMitId(AngebotsId.of("a1")).orElseThrow().kopie();
+    geaendert.entfernen();
+    repo.speichern(geaendert);
+
+    assertEquals("VERFUEGBAR", mapper.toResponseList(gelesen, repo.versionen()).get(0).status());
+    assertEquals(0, mapper.cacheGroesse());
+
+    Angebot aktuell = repo.findeMitId(AngebotsId.of("a1")).orElseThrow();
+    AngebotMapper.AngebotResponse neu = mapper.toResponse(aktuell, repo.versionen().apply(aktuell));
+    assertEquals(mapper.toResponse(aktuell).status(), neu.status());
+    assertNotEquals("VERFUEGBAR", neu.status());
+    assertEquals(1, mapper.cacheGroesse());
+  }
 }
@@ -0,0 +1,143 @@
+package com.foodrescue.angebotsmanagement.infrastructure.web.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.foodrescue.angebotsmanagement.domain.events.AngebotAbgelaufenEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotReserviertEvent;
+import com.foodrescue.angebotsmanagement.domain.events.AngebotVeroeffentlichtEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AngebotAenderungsFeed - SSE-Fan-out")
+class AngebotAenderungsFeedTest {
+
+  private final AngebotAenderungsFeed feed = new AngebotAenderungsFeed(60_000);
+
+  @AfterEach
+  void tearDown() {
+    feed.stoppen();
+  }
+
+  @Test
+  @DisplayName("Domain Events werden als kompakte Deltas in Reihenfolge zugestellt")
+  void events_werdenAlsDeltasZugestellt() throws Exception {
+    SammelnderEmpfaenger empfaenger = new SammelnderEmpfaenger(3);
+    feed.abonnieren(empfaenger);
+
+    feed.on(new AngebotVeroeffentlichtEvent("a1"));
+    feed.on(new AngebotReserviertEvent("a1", "u1", "ABC123"));
+    feed.on(new AngebotAbgelaufenEvent("a2", LocalDateTime.now()));
+
+    assertThat(empfaenger.erhalten.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(empfaenger.deltas)
+        .extracting(AngebotAenderung::typ, AngebotAenderung::angebotId)
+        .containsExactly(
+            tuple(AngebotAenderung.Typ.VEROEFFENTLICHT, "a1"),
+            tuple(AngebotAenderung.Typ.RESERVIERT, "a1"),
+            tuple(AngebotAenderung.Typ.ABGELAUFEN, "a2"));
+    assertThat(empfaenger.deltas).extracting(AngebotAenderung::sequenz).isSorted();
+  }
+
+  @Test
+  @DisplayName("Ein hängender Client blockiert weder den Publisher noch andere Abonnenten")
+  void langsamerClient_wirdGetrennt_ohneDenPublisherAufzuhalten() throws Exception {
+    CountDownLatch freigabe = new CountDownLatch(1);
+    CountDownLatch geschlossen = new CountDownLatch(1);
+    feed.abonnieren(
+        new AngebotAenderungsFeed.Empfaenger() {
+          @Override
+          public void senden(AngebotAenderung aenderung) {
+            try {
+              freigabe.await(); // simuliert einen Client, der nicht mehr liest
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+
+          @Override
+          public void schliessen() {
+            geschlossen.countDown();
+          }
+        });
+    int anzahl = AngebotAenderungsFeed.PUFFER_PRO_ABONNENT + 10;
+    SammelnderEmpfaenger schnell = new SammelnderEmpfaenger(anzahl);
+    feed.abonnieren(schnell);
+
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(5),
+        () -> {
+          for (int i = 0; i < anzahl; i++) {
+            feed.verteilen(AngebotAenderung.Typ.VEROEFFENTLICHT, "a" + i);
+            if (i % 64 == 63) {
+              schnell.warteAuf(i + 1); // der schnelle Client liest mit, sein Puffer läuft nie voll
+            }
+          }
+        });
+
+    assertThat(geschlossen.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(schnell.erhalten.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(schnell.deltas).hasSize(anzahl);
+    assertThat(feed.anzahlAbonnenten()).isEqualTo(1);
+    freigabe.countDown();
+  }
+
+  @Test
+  @DisplayName("Abgebrochene Verbindungen werden beim nächsten Versand abgemeldet")
+  void fehlerBeimSenden_meldetAbonnentenAb() throws Exception {
+    CountDownLatch versucht = new CountDownLatch(1);
+    feed.abonnieren(
+        new AngebotAenderungsFeed.Empfaenger() {
+          @Override
+          public void senden(AngebotAenderung aenderung) throws IOException {
+            versucht.countDown();
+            throw new IOException("Broken pipe");
+          }
+
+          @Override
+          public void schliessen() {}
+        });
+
+    feed.verteilen(AngebotAenderung.Typ.ENTFERNT, "a1");
+
+    assertThat(versucht.await(5, TimeUnit.SECONDS)).isTrue();
+    long ende = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (feed.anzahlAbonnenten() > 0 && System.nanoTime() < ende) {
+      Thread.yield();
+    }
+    assertThat(feed.anzahlAbonnenten()).isZero();
+  }
+
+  private static final class SammelnderEmpfaenger implements AngebotAenderungsFeed.Empfaenger {
+    private final List<AngebotAenderung> deltas = new CopyOnWriteArrayList<>();
+    private final CountDownLatch erhalten;
+
+    private SammelnderEmpfaenger(int erwartet) {
+      this.erhalten = new CountDownLatch(erwartet);
+    }
+
+    @Override
+    public void senden(AngebotAenderung aenderung) {
+      deltas.add(aenderung);
+      erhalten.countDown();
+    }
+
+    private void warteAuf(int anzahl) {
+      while (deltas.size() < anzahl) {
+        Thread.yield();
+      }
+    }
+
+    @Override
+    public void schliessen() {}
+  }
+}
@@ -0,0 +1,127 @@
+package com.foodrescue.reservierungsmanagement.application.services;
+
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.reservierungsmanagement.application.commands.ReserviereAngebotCommand;
+import com.foodrescue.reservierungsmanagement.application.services.ReservierungsApplicationService.ReservierungsErgebnis;
+import com.foodrescue.reservierungsmanagement.infrastructure.persistence.InMemoryReservierungRepository;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 64 Abholer reservieren gleichzeitig dasselbe Angebot – optimistisches Compare-and-Set gegen eine
+ * globale Sperre um die ganze Reservierung. Gemessen wird eine Runde (alle 64 Versuche); jede Runde
+ * muss genau einen Gewinner haben.
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=ReservierungKonkurrenzBenchmarkTest}.
+ */
+@Tag("benchmark")
+class ReservierungKonkurrenzBenchmarkTest {
+
+  private static final int THREADS = 64;
+  private static final int RUNDEN = 200;
+
+  @Test
+  void vierundsechzigAbholer_genauEinGewinner() throws Exception {
+    FunctionalAngebotRepository repository = new FunctionalAngebotRepository(event -> {});
+    ReservierungsApplicationService service =
+        new ReservierungsApplicationService(new InMemoryReservierungRepository(), repository);
+    ReentrantLock globaleSperre = new ReentrantLock();
+    AtomicInteger runde = new AtomicInteger();
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    try {
+      long optimistisch =
+          medianNanos(
+              RUNDEN,
+              () ->
+                  runde(
+                      pool, repository, "o" + runde.incrementAndGet(), service::reserviereAngebot));
+      bericht("Reservierung 64 Threads", "compareAndSet", optimistisch);
+
+      long gesperrt =
+          medianNanos(
+              RUNDEN,
+              () ->
+                  runde(
+                      pool,
+                      repository,
+                      "s" + runde.incrementAndGet(),
+                      cmd -> {
+                        globaleSperre.lock();
+                        try {
+                          return service.reserviereAngebot(cmd);
+                        } finally {
+                          globaleSperre.unlock();
+                        }
+                      }));
+      bericht("Reservierung 64 Threads", "globale Sperre", gesperrt);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /** Eine Runde: neues Angebot, 64 gleichzeitige Versuche; liefert die Anzahl Gewinner (= 1). */
+  private static long runde(
+      ExecutorService pool,
+      FunctionalAngebotRepository repository,
+      String id,
+      Function<ReserviereAngebotCommand, ReservierungsErgebnis> reservieren) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of(id),
+            new UserId(UUID.randomUUID()),
+            "Angebot " + id,
+            "Beschreibung",
+            Set.of("Brot"),
+            new AbholZeitfenster(von, von.plusHours(2)));
+    angebot.veroeffentlichen();
+    repository.speichern(angebot);
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<ReservierungsErgebnis>> versuche = new ArrayList<>(THREADS);
+    for (int i = 0; i < THREADS; i++) {
+      ReserviereAngebotCommand cmd =
+          new ReserviereAngebotCommand(AngebotsId.of(id), new UserId(UUID.randomUUID()));
+      versuche.add(
+          pool.submit(
+              () -> {
+                start.await();
+                return reservieren.apply(cmd);
+              }));
+    }
+    start.countDown();
+
+    long gewinner = 0;
+    try {
+      for (Future<ReservierungsErgebnis> versuch : versuche) {
+        if (!versuch.get().istKonflikt()) {
+          gewinner++;
+        }
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    assertThat(gewinner).as("Gewinner in Runde %s", id).isEqualTo(1);
+    return gewinner;
+  }
+}
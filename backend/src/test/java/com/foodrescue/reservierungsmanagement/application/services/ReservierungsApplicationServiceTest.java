@@ -9,7 +9,9 @@ import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.angebotsmanagement.domain.model.Angebot;
 import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
 import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotStand;
 import com.foodrescue.reservierungsmanagement.application.commands.ReserviereAngebotCommand;
+import com.foodrescue.reservierungsmanagement.application.services.ReservierungsApplicationService.ReservierungsErgebnis;
 import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
 import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
 import com.foodrescue.reservierungsmanagement.infrastructure.repositories.ReservierungRepository;
@@ -66,30 +68,34 @@ class ReservierungsApplicationServiceTest {
     // Wichtig: Events clearen, damit wir nur neue Events sehen
     angebot.clearDomainEvents();
 
-    when(angebotRepository.findeMitId(eq(angebotsId))).thenReturn(Optional.of(angebot));
+    when(angebotRepository.ladeZumAendern(eq(angebotsId)))
+        .thenReturn(Optional.of(new AngebotStand(angebot.kopie(), 7)));
+    when(angebotRepository.speichernWennUnveraendert(any(), eq(7L))).thenReturn(true);
     when(reservierungRepository.findeFuerAbholer(anyString())).thenReturn(List.of());
 
     ReserviereAngebotCommand cmd = new ReserviereAngebotCommand(angebotsId, userId);
 
     // ACT
-    ReservierungsId rid = service.reserviereAngebot(cmd);
+    ReservierungsErgebnis ergebnis = service.reserviereAngebot(cmd);
 
     // ASSERT
     // 1. ReservierungsId wird zurückgegeben
-    assertNotNull(rid);
-    assertNotNull(rid.value());
+    assertFalse(ergebnis.istKonflikt());
+    assertNotNull(ergebnis.reservierungsId().value());
 
-    // 2. Angebot wurde gespeichert
-    verify(angebotRepository).speichern(angebotCaptor.capture());
+    // 2. Die Kopie wurde gegen die geladene Version gespeichert
+    verify(angebotRepository).speichernWennUnveraendert(angebotCaptor.capture(), eq(7L));
     Angebot gespeichertesAngebot = angebotCaptor.getValue();
-    assertSame(angebot, gespeichertesAngebot);
+    assertNotSame(angebot, gespeichertesAngebot);
+    verify(angebotRepository, never()).speichern(any());
 
-    // 3. Angebot hat Status RESERVIERT
-    assertEquals(Angebot.Status.RESERVIERT, angebot.getStatus());
+    // 3. Kopie hat Status RESERVIERT, das geteilte Original bleibt unberührt
+    assertEquals(Angebot.Status.RESERVIERT, gespeichertesAngebot.getStatus());
+    assertEquals(Angebot.Status.VERFUEGBAR, angebot.getStatus());
 
-    // 4. Angebot hat ein Event erzeugt (AngebotReserviertEvent)
+    // 4. Kopie hat ein Event erzeugt (AngebotReserviertEvent)
     assertFalse(
-        angebot.getDomainEvents().isEmpty(),
+        gespeichertesAngebot.getDomainEvents().isEmpty(),
         "Angebot sollte ein AngebotReserviertEvent erzeugt haben");
 
     // 5. WICHTIG: Reservierung wird NICHT direkt gespeichert!
@@ -103,7 +109,7 @@ class ReservierungsApplicationServiceTest {
     AngebotsId angebotsId = AngebotsId.of("missing");
     UserId userId = new UserId(UUID.randomUUID());
 
-    when(angebotRepository.findeMitId(eq(angebotsId))).thenReturn(Optional.empty());
+    when(angebotRepository.ladeZumAendern(eq(angebotsId))).thenReturn(Optional.empty());
 
     ReserviereAngebotCommand cmd = new ReserviereAngebotCommand(angebotsId, userId);
 
@@ -133,7 +139,8 @@ class ReservierungsApplicationServiceTest {
                 LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 1, 11, 0)));
     angebot.veroeffentlichen();
 
-    when(angebotRepository.findeMitId(eq(angebotsId))).thenReturn(Optional.of(angebot));
+    when(angebotRepository.ladeZumAendern(eq(angebotsId)))
+        .thenReturn(Optional.of(new AngebotStand(angebot, 1)));
     // 3 aktive Reservierungen simulieren (Max ist 3)
     when(reservierungRepository.findeFuerAbholer(anyString()))
         .thenReturn(
@@ -146,10 +153,88 @@ class ReservierungsApplicationServiceTest {
     assertEquals("Maximale Anzahl aktiver Reservierungen erreicht", ex.getMessage());
 
     verify(reservierungRepository, never()).speichern(any());
-    verify(angebotRepository, never()).speichern(any());
+    verify(angebotRepository, never()).speichernWennUnveraendert(any(), anyLong());
+    assertEquals(Angebot.Status.VERFUEGBAR, angebot.getStatus());
+  }
+
+  @Test
+  void reserviereAngebot_whenAlreadyReserved_returnsKonfliktWithoutException() {
+    AngebotsId angebotsId = AngebotsId.of("a1");
+    Angebot angebot = verfuegbaresAngebot(angebotsId);
+    angebot.reservieren(UUID.randomUUID().toString(), Abholcode.of("AB12"));
+    when(angebotRepository.ladeZumAendern(eq(angebotsId)))
+        .thenReturn(Optional.of(new AngebotStand(angebot, 3)));
+
+    ReservierungsErgebnis ergebnis =
+        service.reserviereAngebot(
+            new ReserviereAngebotCommand(angebotsId, new UserId(UUID.randomUUID())));
+
+    assertTrue(ergebnis.istKonflikt());
+    assertNull(ergebnis.reservierungsId());
+    verify(angebotRepository, never()).speichernWennUnveraendert(any(), anyLong());
+  }
+
+  @Test
+  void reserviereAngebot_whenCompareAndSetFails_reloadsAndReportsKonflikt() {
+    AngebotsId angebotsId = AngebotsId.of("a1");
+    Angebot verfuegbar = verfuegbaresAngebot(angebotsId);
+    Angebot inzwischenReserviert = verfuegbar.kopie();
+    inzwischenReserviert.reservieren(UUID.randomUUID().toString(), Abholcode.of("AB12"));
+    when(angebotRepository.ladeZumAendern(eq(angebotsId)))
+        .thenReturn(Optional.of(new AngebotStand(verfuegbar.kopie(), 1)))
+        .thenReturn(Optional.of(new AngebotStand(inzwischenReserviert, 2)));
+    when(angebotRepository.speichernWennUnveraendert(any(), eq(1L))).thenReturn(false);
+    when(reservierungRepository.findeFuerAbholer(anyString())).thenReturn(List.of());
+
+    ReservierungsErgebnis ergebnis =
+        service.reserviereAngebot(
+            new ReserviereAngebotCommand(angebotsId, new UserId(UUID.randomUUID())));
+
+    assertTrue(ergebnis.istKonflikt());
+    verify(angebotRepository, times(2)).ladeZumAendern(angebotsId);
+    verify(angebotRepository, times(1)).speichernWennUnveraendert(any(), anyLong());
+  }
+
+  @Test
+  void reserviereAngebot_mitEchtemRepository_genauEinGewinner() {
+    var repository =
+        new com.foodrescue.angebotsmanagement.infrastructure.persistence
+            .FunctionalAngebotRepository(event -> {});
+    Angebot angebot = verfuegbaresAngebot(AngebotsId.of("a1"));
+    repository.speichern(angebot);
+    when(reservierungRepository.findeFuerAbholer(anyString())).thenReturn(List.of());
+    service = new ReservierungsApplicationService(reservierungRepository, repository);
+
+    ReservierungsErgebnis erster =
+        service.reserviereAngebot(
+            new ReserviereAngebotCommand(AngebotsId.of("a1"), new UserId(UUID.randomUUID())));
+    ReservierungsErgebnis zweiter =
+        service.reserviereAngebot(
+            new ReserviereAngebotCommand(AngebotsId.of("a1"), new UserId(UUID.randomUUID())));
+
+    assertFalse(erster.istKonflikt());
+    assertTrue(zweiter.istKonflikt());
+    assertEquals(
+        Angebot.Status.RESERVIERT,
+        repository.findeMitId(AngebotsId.of("a1")).orElseThrow().getStatus());
     assertEquals(Angebot.Status.VERFUEGBAR, angebot.getStatus());
   }
 
+  private static Angebot verfuegbaresAngebot(AngebotsId id) {
+    LocalDateTime von = LocalDateTime.now().plusHours(1);
+    Angebot angebot =
+        Angebot.erstelle(
+            id,
+            new UserId(UUID.randomUUID()),
+            "Titel",
+            "Beschreibung",
+            java.util.Set.of(),
+            AbholZeitfenster.of(von, von.plusHours(1)));
+    angebot.veroeffentlichen();
+    angebot.clearDomainEvents();
+    return angebot;
+  }
+
   @Test
   void findeGeplanteAbholungenFuerUser_whenAngebotMissing_mapsNullFields() {
     // ARRANGE
@@ -204,4 +289,23 @@ class ReservierungsApplicationServiceTest {
     assertEquals("2025-01-01T10:00:00", dto.zeitfensterVon());
     assertEquals("2025-01-01T12:30:00", dto.zeitfensterBis());
   }
+
+  @Test
+  void streameGeplanteAbholungenFuerUser_mapsLazilyFromRepositoryStream() {
+    // ARRANGE
+    Reservierung r =
+        Reservierung.erstelle(new ReservierungsId("r1"), "a1", "u1", Abholcode.of("AB12"));
+    when(reservierungRepository.streameFuerAbholer("u1")).thenReturn(java.util.stream.Stream.of(r));
+    when(angebotRepository.findeMitId(eq(new AngebotsId("a1")))).thenReturn(Optional.empty());
+
+    // ACT
+    var res = service.streameGeplanteAbholungenFuerUser("u1");
+
+    // ASSERT
+    verify(angebotRepository, never()).findeMitId(any());
+    var liste = res.toList();
+    assertEquals(1, liste.size());
+    assertEquals("r1", liste.get(0).reservierungId());
+    assertEquals("AB12", liste.get(0).abholcode());
+  }
 }
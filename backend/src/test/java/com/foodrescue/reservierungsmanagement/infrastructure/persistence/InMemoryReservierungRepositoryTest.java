@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
 import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
 import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class InMemoryReservierungRepositoryTest {
@@ -63,4 +65,36 @@ class InMemoryReservierungRepositoryTest {
     assertEquals(2, list.size());
     assertTrue(list.stream().allMatch(r -> r.getAbholerId().equals("u1")));
   }
+
+  @Test
+  void archivieren_verschiebtAbgeschlosseneReservierungen() {
+    InMemoryReservierungRepository repo = new InMemoryReservierungRepository();
+    Reservierung aktiv =
+        Reservierung.erstelle(new ReservierungsId("r1"), "a1", "u1", Abholcode.of("AB12"));
+    Reservierung storniert =
+        Reservierung.erstelle(new ReservierungsId("r2"), "a2", "u1", Abholcode.of("CD34"));
+    storniert.stornieren();
+    Reservierung fremd =
+        Reservierung.erstelle(new ReservierungsId("r3"), "a3", "u2", Abholcode.of("EF56"));
+    fremd.stornieren();
+    repo.speichern(aktiv);
+    repo.speichern(storniert);
+    repo.speichern(fremd);
+
+    assertEquals(2, repo.archivieren());
+
+    Reservierung geladen = repo.findeMitId("r2").orElseThrow();
+    assertNotSame(storniert, geladen);
+    assertEquals(Reservierung.Status.STORNIERT, geladen.getStatus());
+    assertEquals("a2", geladen.getAngebotId());
+    assertEquals("CD34", geladen.getAbholcode().value());
+    assertEquals(storniert.getErstelltAm(), geladen.getErstelltAm());
+    assertEquals(storniert.getStorniertAm(), geladen.getStorniertAm());
+    assertNull(geladen.getAbgeholtAm());
+    assertSame(aktiv, repo.findeMitId("r1").orElseThrow());
+    assertEquals(
+        Set.of("r1", "r2"),
+        repo.findeFuerAbholer("u1").stream().map(Reservierung::getId).collect(Collectors.toSet()));
+    assertEquals(2, repo.archivStatistik().aggregate());
+  }
 }
@@ -0,0 +1,71 @@
+package com.foodrescue.reservierungsmanagement.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.shared.persistence.TestDatenbank;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+class JdbcReservierungRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private JdbcReservierungRepository repo;
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo = new JdbcReservierungRepository(new JdbcTemplate(datenbank));
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  @Test
+  void speichernUndFindeMitId_roundTripMitZeitpunkten() {
+    Reservierung r =
+        Reservierung.erstelle(ReservierungsId.of("r1"), "a1", "u1", Abholcode.of("AB12"));
+    r.bestaetigeAbholung(Abholcode.of("AB12"));
+
+    repo.speichern(r);
+
+    assertThat(repo.findeMitId("r1").orElseThrow())
+        .usingRecursiveComparison()
+        .ignoringFields("domainEvents")
+        .isEqualTo(r);
+    assertThat(repo.findeMitId("fehlt")).isEmpty();
+  }
+
+  @Test
+  void speichern_gleicheId_letzterGewinnt() {
+    Reservierung r =
+        Reservierung.erstelle(ReservierungsId.of("r1"), "a1", "u1", Abholcode.of("AB12"));
+    repo.speichern(r);
+    r.stornieren();
+    repo.speichern(r);
+
+    assertThat(repo.findeMitId("r1").orElseThrow().istStorniert()).isTrue();
+  }
+
+  @Test
+  void findeFuerAbholer_liefertNurEigene() {
+    repo.speichern(
+        Reservierung.erstelle(ReservierungsId.of("r1"), "a1", "u1", Abholcode.of("AB12")));
+    repo.speichern(
+        Reservierung.erstelle(ReservierungsId.of("r2"), "a2", "u1", Abholcode.of("CD34")));
+    repo.speichern(
+        Reservierung.erstelle(ReservierungsId.of("r3"), "a3", "u2", Abholcode.of("EF56")));
+
+    assertThat(repo.findeFuerAbholer("u1"))
+        .extracting(Reservierung::getId)
+        .containsExactlyInAnyOrder("r1", "r2");
+    assertThat(repo.streameFuerAbholer("u3")).isEmpty();
+  }
+}
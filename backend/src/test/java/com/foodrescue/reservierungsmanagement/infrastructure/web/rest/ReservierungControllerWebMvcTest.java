@@ -7,9 +7,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.foodrescue.reservierungsmanagement.application.commands.ReserviereAngebotCommand;
 import com.foodrescue.reservierungsmanagement.application.services.ReservierungsApplicationService;
+import com.foodrescue.reservierungsmanagement.application.services.ReservierungsApplicationService.ReservierungsErgebnis;
 import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = ReservierungController.class)
 class ReservierungControllerWebMvcTest {
@@ -27,7 +30,8 @@ class ReservierungControllerWebMvcTest {
 
   @Test
   void post_reserviere_happyPath_returns201_andDelegatesToService() throws Exception {
-    when(service.reserviereAngebot(any())).thenReturn(ReservierungsId.of("r1"));
+    when(service.reserviereAngebot(any()))
+        .thenReturn(ReservierungsErgebnis.reserviert(ReservierungsId.of("r1")));
 
     UUID uid = UUID.randomUUID();
     String json =
@@ -56,6 +60,20 @@ class ReservierungControllerWebMvcTest {
     assertEquals(uid.toString(), extractValue(cmd.getAbholerId()));
   }
 
+  @Test
+  void post_reserviere_konflikt_returns409() throws Exception {
+    when(service.reserviereAngebot(any())).thenReturn(ReservierungsErgebnis.konflikt());
+    String json =
+        """
+      { "angebotId": "a1", "abholerId": "%s" }
+      """
+            .formatted(UUID.randomUUID());
+
+    mockMvc
+        .perform(post("/api/reservierungen").contentType(MediaType.APPLICATION_JSON).content(json))
+        .andExpect(status().isConflict());
+  }
+
   @Test
   void post_reserviere_missingAngebotId_returns400_andDoesNotCallService() throws Exception {
     UUID uid = UUID.randomUUID();
@@ -127,6 +145,39 @@ class ReservierungControllerWebMvcTest {
     verify(service).findeGeplanteAbholungenFuerUser("u1");
   }
 
+  @Test
+  void get_pickups_ndjson_streamsOneLinePerPickup() throws Exception {
+    when(service.streameGeplanteAbholungenFuerUser("u1"))
+        .thenReturn(
+            Stream.of(
+                new ReservierungController.GeplanteAbholungResponse(
+                    "r1", "a1", "Titel", "Beschr", "AKTIV", "AB12", null, null),
+                new ReservierungController.GeplanteAbholungResponse(
+                    "r2", "a2", "Titel", "Beschr", "AKTIV", "CD34", null, null)));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/reservierungen/user/u1").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String body =
+        mockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] zeilen = body.split("\n");
+    assertEquals(2, zeilen.length);
+    assertTrue(zeilen[0].startsWith("{\"reservierungId\":\"r1\""));
+    assertTrue(zeilen[1].startsWith("{\"reservierungId\":\"r2\""));
+    assertTrue(body.endsWith("\n"));
+    verify(service, never()).findeGeplanteAbholungenFuerUser(any());
+  }
+
   private static String extractValue(Object valueObject) {
     if (valueObject == null) return null;
 
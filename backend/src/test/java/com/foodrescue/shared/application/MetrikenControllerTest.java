@@ -0,0 +1,68 @@
+package com.foodrescue.shared.application;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.foodrescue.shared.persistence.Archivierbar;
+import com.foodrescue.shared.persistence.GecachtesRepository;
+import com.foodrescue.shared.persistence.LeseCache;
+import com.foodrescue.shared.rest.KonditionalesGet;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = MetrikenController.class)
+class MetrikenControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private KonditionalesGet konditionalesGet;
+  @MockBean private GecachtesRepository gecachtesRepository;
+  @MockBean private Archivierbar archivierbaresRepository;
+
+  @Test
+  void etagMetrikenProBereich() throws Exception {
+    given(konditionalesGet.statistik())
+        .willReturn(Map.of("angebote.verfuegbar", new KonditionalesGet.Statistik(3, 1, 2)));
+
+    mvc.perform(get("/api/metriken/etag"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$['angebote.verfuegbar'].treffer").value(3))
+        .andExpect(jsonPath("$['angebote.verfuegbar'].fehlgriffe").value(1))
+        .andExpect(jsonPath("$['angebote.verfuegbar'].ohneEtag").value(2));
+  }
+
+  @Test
+  void cacheMetrikenProCache() throws Exception {
+    LeseCache<String, String> cache = LeseCache.mitEintraegen("angebote", 10);
+    cache.lade("a1", id -> "Brot");
+    cache.lade("a1", id -> "Brot");
+    given(gecachtesRepository.caches()).willReturn(List.of(cache));
+
+    mvc.perform(get("/api/metriken/cache"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.angebote.treffer").value(1))
+        .andExpect(jsonPath("$.angebote.fehlgriffe").value(1))
+        .andExpect(jsonPath("$.angebote.trefferquote").value(0.5))
+        .andExpect(jsonPath("$.angebote.verdraengungen").value(0))
+        .andExpect(jsonPath("$.angebote.eintraege").value(1));
+  }
+
+  @Test
+  void archivMetrikenProArchiv() throws Exception {
+    given(archivierbaresRepository.archivName()).willReturn("angebote");
+    given(archivierbaresRepository.archivStatistik())
+        .willReturn(new Archivierbar.Statistik(1200, 30, 1 << 20));
+
+    mvc.perform(get("/api/metriken/archiv"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.angebote.aggregate").value(1200))
+        .andExpect(jsonPath("$.angebote.toteZeilen").value(30))
+        .andExpect(jsonPath("$.angebote.belegteBytes").value(1 << 20));
+  }
+}
@@ -0,0 +1,57 @@
+package com.foodrescue.shared.benchmark;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Kleine Messhilfe für die Benchmarks (Tag "benchmark", Profil {@code -Pbenchmark}).
+ *
+ * <p>Misst eine Aktion mehrfach nach einer Aufwärmphase und liefert den Median in Nanosekunden. Das
+ * Ergebnis der Aktion wird in einem Feld aufsummiert, damit der JIT die Arbeit nicht wegoptimiert.
+ */
+public final class BenchmarkMessung {
+
+  private static final int AUFWAERMEN = 20;
+
+  @SuppressWarnings("unused")
+  private static volatile long senke;
+
+  private BenchmarkMessung() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Median der Laufzeit einer Aktion.
+   *
+   * @param wiederholungen Anzahl gemessener Durchläufe
+   * @param aktion Die Aktion; der Rückgabewert wird nur gegen Dead-Code-Elimination verwendet
+   * @return Median in Nanosekunden
+   */
+  public static long medianNanos(int wiederholungen, LongSupplier aktion) {
+    long summe = 0;
+    for (int i = 0; i < AUFWAERMEN; i++) {
+      summe += aktion.getAsLong();
+    }
+
+    long[] messungen = new long[wiederholungen];
+    for (int i = 0; i < wiederholungen; i++) {
+      long start = System.nanoTime();
+      summe += aktion.getAsLong();
+      messungen[i] = System.nanoTime() - start;
+    }
+    senke = summe;
+
+    Arrays.sort(messungen);
+    return messungen[wiederholungen / 2];
+  }
+
+  /** Liest eine ganzzahlige System-Property, z.B. {@code -Dbenchmark.historie=2000000}. */
+  public static int groesse(String property, int standard) {
+    return Integer.getInteger(property, standard);
+  }
+
+  /** Einheitliche Ausgabe einer Messzeile. */
+  public static void bericht(String benchmark, String parameter, long nanos) {
+    System.out.printf("[benchmark] %-45s %-25s %,12d ns%n", benchmark, parameter, nanos);
+  }
+}
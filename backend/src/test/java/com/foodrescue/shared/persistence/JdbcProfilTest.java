@@ -0,0 +1,72 @@
+package com.foodrescue.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.infrastructure.persistence.JdbcAbholungRepository;
+import com.foodrescue.abholungsmanagement.infrastructure.repositories.AbholungRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.CachendesAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.reservierungsmanagement.infrastructure.persistence.JdbcReservierungRepository;
+import com.foodrescue.reservierungsmanagement.infrastructure.repositories.ReservierungRepository;
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import com.foodrescue.userverwaltung.infrastructure.persistence.CachendesUserRepository;
+import com.foodrescue.userverwaltung.infrastructure.persistence.JdbcAnbieterProfilRepository;
+import com.foodrescue.userverwaltung.infrastructure.repositories.AnbieterProfilRepository;
+import com.foodrescue.userverwaltung.infrastructure.repositories.UserRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:jdbcprofil;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("jdbc")
+@DisplayName("Profil jdbc - Verdrahtung und Transaktionen")
+class JdbcProfilTest {
+
+  @Autowired AngebotRepository angebotRepository;
+  @Autowired ReservierungRepository reservierungRepository;
+  @Autowired AbholungRepository abholungRepository;
+  @Autowired UserRepository userRepository;
+  @Autowired AnbieterProfilRepository anbieterProfilRepository;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  @Test
+  @DisplayName("Alle Repositories sind JDBC-Implementierungen, Angebote und User mit Cache")
+  void jdbcProfil_verdrahtetJdbcRepositories() {
+    assertThat(AopUtils.getTargetClass(angebotRepository))
+        .isEqualTo(CachendesAngebotRepository.class);
+    assertThat(AopUtils.getTargetClass(reservierungRepository))
+        .isEqualTo(JdbcReservierungRepository.class);
+    assertThat(AopUtils.getTargetClass(abholungRepository)).isEqualTo(JdbcAbholungRepository.class);
+    assertThat(AopUtils.getTargetClass(userRepository)).isEqualTo(CachendesUserRepository.class);
+    assertThat(AopUtils.getTargetClass(anbieterProfilRepository))
+        .isEqualTo(JdbcAnbieterProfilRepository.class);
+  }
+
+  @Test
+  @DisplayName("Transaktionen sind echt: ein Rollback verwirft die Änderung")
+  void transaktion_rollback_verwirftAenderung() {
+    User user =
+        new User(
+            new UserId(UUID.randomUUID()),
+            new Name("Max"),
+            new EmailAdresse("max@example.org"),
+            Rolle.ABHOLER);
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              userRepository.speichern(user);
+              assertThat(userRepository.findeMitId(user.getId())).isPresent();
+              status.setRollbackOnly();
+            });
+
+    assertThat(userRepository.findeMitId(user.getId())).isEmpty();
+  }
+}
@@ -0,0 +1,255 @@
+package com.foodrescue.shared.persistence;
+
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.CachendesAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.JdbcAngebotRepository;
+import com.foodrescue.angebotsmanagement.infrastructure.repositories.AngebotRepository;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.reservierungsmanagement.infrastructure.persistence.InMemoryReservierungRepository;
+import com.foodrescue.reservierungsmanagement.infrastructure.persistence.JdbcReservierungRepository;
+import com.foodrescue.reservierungsmanagement.infrastructure.repositories.ReservierungRepository;
+import com.foodrescue.userverwaltung.domain.valueobjects.UserId;
+import com.zaxxer.hikari.HikariDataSource;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Vergleicht die JDBC-Repositories (H2-Datei hinter einem Hikari-Pool wie im Profil {@code jdbc})
+ * mit den In-Memory-Implementierungen: einzelnes Speichern, Speichern im Stapel (JDBC-Batch), Lesen
+ * per ID und die indexgestützten Abfragen pro Anbieter bzw. Abholer. Katalog mit {@code
+ * -Dbenchmark.jdbc} Angeboten und ebenso vielen Reservierungen (Standard 20.000).
+ *
+ * <p>Gemessen wird ohne Debug-Logging; sonst misst man vor allem die Log-Ausgabe von JdbcTemplate.
+ * Stapel werden einmal ohne Transaktion (Autocommit pro Zeile) und einmal in einer Transaktion wie
+ * unter den {@code @Transactional}-Services gespeichert.
+ *
+ * <p>Der Lesepfad wird zusätzlich mit {@link CachendesAngebotRepository} vor JDBC gemessen: 80 %
+ * der Zugriffe gehen auf 1.000 heiße Angebote, der Cache fasst 2.000 Angebote.
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=JdbcRepositoryBenchmarkTest}.
+ */
+@Tag("benchmark")
+class JdbcRepositoryBenchmarkTest {
+
+  private static final int STAPEL = 1_000;
+  private static final int ANBIETER = 100;
+  private static final int ABHOLER = 1_000;
+
+  @TempDir Path verzeichnis;
+
+  private HikariDataSource dataSource;
+  private JdbcTemplate jdbc;
+  private TransactionTemplate transaktion;
+  private Level logLevel;
+  private final List<UserId> anbieter = new ArrayList<>();
+  private final LocalDateTime von = LocalDateTime.now().plusDays(1);
+  private int naechsteId;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:file:" + verzeichnis.resolve("bench") + ";QUERY_CACHE_SIZE=64");
+    dataSource.setUsername("sa");
+    dataSource.setMaximumPoolSize(4);
+    new ResourceDatabasePopulator(new ClassPathResource("jdbc/schema.sql")).execute(dataSource);
+    jdbc = new JdbcTemplate(dataSource);
+    transaktion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    logLevel = root.getLevel();
+    root.setLevel(Level.INFO);
+    for (int i = 0; i < ANBIETER; i++) {
+      anbieter.add(new UserId(UUID.randomUUID()));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(logLevel);
+    dataSource.close();
+  }
+
+  @Test
+  void angebote_inMemoryGegenJdbc() {
+    int katalog = groesse("benchmark.jdbc", 20_000);
+    messeAngebote("in-memory", new FunctionalAngebotRepository(event -> {}), katalog);
+    messeAngebote("jdbc", new JdbcAngebotRepository(jdbc, event -> {}), katalog);
+  }
+
+  @Test
+  void lesepfad_inMemoryGegenJdbcMitCache() {
+    int katalog = groesse("benchmark.jdbc", 20_000);
+    messeLesepfad("in-memory", new FunctionalAngebotRepository(event -> {}), katalog);
+    messeLesepfad("jdbc", new JdbcAngebotRepository(jdbc, event -> {}), katalog);
+    jdbc.update("DELETE FROM angebot");
+    CachendesAngebotRepository mitCache =
+        new CachendesAngebotRepository(
+            new JdbcAngebotRepository(jdbc, event -> {}), 2_000, 2L * katalog);
+    messeLesepfad("jdbc+cache", mitCache, katalog);
+    mitCache
+        .caches()
+        .forEach(
+            cache -> System.out.println("[benchmark] " + cache.name() + ": " + cache.statistik()));
+  }
+
+  @Test
+  void reservierungen_inMemoryGegenJdbc() {
+    int anzahl = groesse("benchmark.jdbc", 20_000);
+    messeReservierungen("in-memory", new InMemoryReservierungRepository(), anzahl);
+    messeReservierungen("jdbc", new JdbcReservierungRepository(jdbc), anzahl);
+  }
+
+  private void messeAngebote(String art, AngebotRepository repo, int katalog) {
+    naechsteId = 0;
+    List<Angebot> stapel = new ArrayList<>(STAPEL);
+    for (int i = 0; i < katalog; i++) {
+      stapel.add(neuesAngebot());
+      if (stapel.size() == STAPEL) {
+        repo.speichernAlle(stapel);
+        stapel.clear();
+      }
+    }
+    repo.speichernAlle(stapel);
+
+    int[] zaehler = {0};
+    long lesen =
+        medianNanos(
+            20_000,
+            () ->
+                repo.findeMitId(AngebotsId.of("b" + (zaehler[0]++ * 7919L) % katalog))
+                    .orElseThrow()
+                    .getId()
+                    .length());
+    bericht("Angebot findeMitId", art + ", katalog=" + katalog, lesen);
+
+    long proAnbieter =
+        medianNanos(
+            2_000, () -> repo.findeFuerAnbieter(anbieter.get(zaehler[0]++ % ANBIETER)).size());
+    bericht("Angebot findeFuerAnbieter", art + ", " + katalog / ANBIETER + " Treffer", proAnbieter);
+    assertThat(repo.findeFuerAnbieter(anbieter.get(0))).hasSize(katalog / ANBIETER);
+
+    long einzeln = medianNanos(2_000, () -> repo.speichern(neuesAngebot()).getId().length());
+    bericht("Angebot speichern (einzeln)", art, einzeln);
+
+    long imStapel =
+        medianNanos(
+            20,
+            () -> {
+              List<Angebot> naechster = new ArrayList<>(STAPEL);
+              for (int i = 0; i < STAPEL; i++) {
+                naechster.add(neuesAngebot());
+              }
+              return repo.speichernAlle(naechster).size();
+            });
+    bericht("Angebot speichernAlle (pro Angebot)", art + ", Stapel " + STAPEL, imStapel / STAPEL);
+
+    long inTransaktion =
+        medianNanos(
+            20,
+            () -> {
+              List<Angebot> naechster = new ArrayList<>(STAPEL);
+              for (int i = 0; i < STAPEL; i++) {
+                naechster.add(neuesAngebot());
+              }
+              return transaktion.execute(status -> repo.speichernAlle(naechster)).size();
+            });
+    bericht(
+        "Angebot speichernAlle (pro Angebot)",
+        art + ", Stapel " + STAPEL + ", 1 Tx",
+        inTransaktion / STAPEL);
+  }
+
+  private void messeLesepfad(String art, AngebotRepository repo, int katalog) {
+    naechsteId = 0;
+    List<Angebot> stapel = new ArrayList<>(STAPEL);
+    for (int i = 0; i < katalog; i++) {
+      stapel.add(neuesAngebot());
+      if (stapel.size() == STAPEL) {
+        repo.speichernAlle(stapel);
+        stapel.clear();
+      }
+    }
+    repo.speichernAlle(stapel);
+
+    SplittableRandom zufall = new SplittableRandom(42);
+    long proId =
+        medianNanos(
+            50_000,
+            () -> {
+              int nummer = zufall.nextInt(10) < 8 ? zufall.nextInt(1_000) : zufall.nextInt(katalog);
+              return repo.findeMitId(AngebotsId.of("b" + nummer)).orElseThrow().getId().length();
+            });
+    bericht("Angebot findeMitId (80 % heiß)", art + ", katalog=" + katalog, proId);
+
+    long verfuegbar = medianNanos(50, () -> repo.findeAlleVerfuegbar().size());
+    bericht("Angebot findeAlleVerfuegbar", art + ", " + katalog + " Treffer", verfuegbar);
+    assertThat(repo.findeAlleVerfuegbar()).hasSize(katalog);
+  }
+
+  private void messeReservierungen(String art, ReservierungRepository repo, int anzahl) {
+    Abholcode code = Abholcode.of("ABC123");
+    for (int i = 0; i < anzahl; i++) {
+      repo.speichern(
+          Reservierung.erstelle(ReservierungsId.of("r" + i), "a" + i, "u" + i % ABHOLER, code));
+    }
+
+    int[] zaehler = {anzahl};
+    long speichern =
+        medianNanos(
+            2_000,
+            () ->
+                repo.speichern(
+                        Reservierung.erstelle(
+                            ReservierungsId.of("r" + zaehler[0]++), "a", "neu", code))
+                    .getId()
+                    .length());
+    bericht("Reservierung speichern", art, speichern);
+
+    long proAbholer =
+        medianNanos(2_000, () -> repo.findeFuerAbholer("u" + zaehler[0]++ % ABHOLER).size());
+    bericht(
+        "Reservierung findeFuerAbholer",
+        art + ", n=" + anzahl + ", ~" + anzahl / ABHOLER + " Treffer",
+        proAbholer);
+    assertThat(repo.findeFuerAbholer("u1")).hasSize(anzahl / ABHOLER);
+  }
+
+  private Angebot neuesAngebot() {
+    int i = naechsteId++;
+    Angebot angebot =
+        Angebot.erstelle(
+            AngebotsId.of("b" + i),
+            anbieter.get(i % ANBIETER),
+            "Gemüsekiste " + i,
+            "Karotten, Lauch und Kartoffeln vom Wochenmarkt",
+            Set.of("Gemüse", "Bio", "tag" + (i % 50)),
+            new AbholZeitfenster(von.plusMinutes(i % 600), von.plusMinutes(i % 600 + 90)));
+    angebot.veroeffentlichen();
+    return angebot;
+  }
+}
@@ -0,0 +1,122 @@
+package com.foodrescue.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@DisplayName("LeseCache - begrenzter Read-Through-Cache")
+class LeseCacheTest {
+
+  @Test
+  @DisplayName("Treffer werden nicht neu geladen, null wird nicht gecacht")
+  void lade_cachtTrefferAberKeinNull() {
+    LeseCache<String, String> cache = LeseCache.mitEintraegen("test", 10);
+    AtomicInteger geladen = new AtomicInteger();
+
+    assertThat(cache.lade("a", k -> k + geladen.incrementAndGet())).isEqualTo("a1");
+    assertThat(cache.lade("a", k -> k + geladen.incrementAndGet())).isEqualTo("a1");
+    assertThat(cache.lade("fehlt", k -> null)).isNull();
+    assertThat(cache.lade("fehlt", k -> "da")).isEqualTo("da");
+
+    cache.entferne("a");
+    assertThat(cache.lade("a", k -> k + geladen.incrementAndGet())).isEqualTo("a2");
+
+    LeseCache.Statistik statistik = cache.statistik();
+    assertThat(statistik.treffer()).isEqualTo(1);
+    assertThat(statistik.fehlgriffe()).isEqualTo(4);
+    assertThat(statistik.eintraege()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Gleichzeitige Fehlgriffe auf denselben Schlüssel laden nur einmal")
+  void lade_gleichzeitigeFehlgriffe_einLadevorgang() throws Exception {
+    LeseCache<String, String> cache = LeseCache.mitEintraegen("test", 10);
+    AtomicInteger geladen = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> ergebnisse = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        ergebnisse.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  return cache.lade(
+                      "heiss",
+                      k -> {
+                        geladen.incrementAndGet();
+                        try {
+                          Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                          Thread.currentThread().interrupt();
+                        }
+                        return "wert";
+                      });
+                }));
+      }
+      start.countDown();
+      for (Future<String> ergebnis : ergebnisse) {
+        assertThat(ergebnis.get(5, TimeUnit.SECONDS)).isEqualTo("wert");
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertThat(geladen).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Ein Scan über viele kalte Schlüssel verdrängt den heißen Bestand nicht")
+  void begrenzt_scanVerdraengtHeisseEintraegeNicht() {
+    LeseCache<Integer, Integer> cache = LeseCache.mitEintraegen("test", 100);
+    int kalt = 1_000;
+    for (int runde = 0; runde < 20; runde++) {
+      for (int heiss = 0; heiss < 50; heiss++) {
+        cache.lade(heiss, k -> k);
+      }
+      for (int i = 0; i < 250; i++) {
+        cache.lade(kalt++, k -> k);
+      }
+    }
+
+    LeseCache.Statistik vorher = cache.statistik();
+    for (int heiss = 0; heiss < 50; heiss++) {
+      cache.lade(heiss, k -> k);
+    }
+    LeseCache.Statistik nachher = cache.statistik();
+
+    assertThat(nachher.eintraege()).isLessThanOrEqualTo(100);
+    assertThat(nachher.verdraengungen()).isGreaterThan(4_000);
+    assertThat(nachher.treffer() - vorher.treffer()).isGreaterThanOrEqualTo(45);
+  }
+
+  @Test
+  @DisplayName("In einer Transaktion wird nach deren Ende nochmals entfernt")
+  void entferne_inTransaktion_entferntNachEndeErneut() {
+    LeseCache<String, String> cache = LeseCache.mitEintraegen("test", 10);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.entferne("a");
+      cache.lade("a", k -> "ungesichert");
+
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(cache.lade("a", k -> "gespeichert")).isEqualTo("gespeichert");
+  }
+}
@@ -0,0 +1,49 @@
+package com.foodrescue.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapTexteTest {
+
+  @Test
+  void anhaengen_liestTexteUeberBlockgrenzenZurueck() {
+    OffHeapTexte texte = OffHeapTexte.ohneVerzeichnis();
+    String lang = "ä".repeat(OffHeapSpalte.BLOCK); // zwei Bytes pro Zeichen, eigener Block
+
+    int kurz = texte.anhaengen("Brötchen vom Vortag");
+    int leer = texte.anhaengen("");
+    int gross = texte.anhaengen(lang);
+    int danach = texte.anhaengen("Kürbis");
+
+    assertThat(texte.lese(kurz)).isEqualTo("Brötchen vom Vortag");
+    assertThat(texte.lese(leer)).isEmpty();
+    assertThat(texte.lese(gross)).isEqualTo(lang);
+    assertThat(texte.lese(danach)).isEqualTo("Kürbis");
+    assertThat(texte.zeilen()).isEqualTo(4);
+    assertThat(texte.belegteBytes()).isGreaterThan(2L * lang.length());
+  }
+
+  @Test
+  void verzeichnis_zeigtAufNeuesteZeile_undUeberstehtWachsenUndEntfernen() {
+    OffHeapTexte ids = OffHeapTexte.mitVerzeichnis();
+    for (int i = 0; i < 10_000; i++) {
+      ids.anhaengen("id-" + i);
+    }
+    for (int i = 0; i < 10_000; i += 2) {
+      assertThat(ids.entferne("id-" + i)).isTrue();
+    }
+    int neu = ids.anhaengen("id-1");
+
+    assertThat(ids.eintraege()).isEqualTo(5_000);
+    assertThat(ids.zeileVon("id-1")).isEqualTo(neu);
+    assertThat(ids.zeileVon("id-3")).isEqualTo(3);
+    assertThat(ids.zeileVon("id-2")).isEqualTo(-1);
+    assertThat(ids.entferne("id-2")).isFalse();
+    assertThat(ids.lese(2)).isEqualTo("id-2"); // die Zeile selbst bleibt lesbar
+
+    ids.leeren();
+    assertThat(ids.zeileVon("id-3")).isEqualTo(-1);
+    assertThat(ids.belegteBytes()).isZero();
+  }
+}
@@ -0,0 +1,159 @@
+package com.foodrescue.shared.persistence;
+
+import static com.foodrescue.shared.benchmark.BenchmarkMessung.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.abholungsmanagement.domain.model.Abholung;
+import com.foodrescue.abholungsmanagement.infrastructure.persistence.InMemoryAbholungRepository;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.reservierungsmanagement.infrastructure.persistence.InMemoryReservierungRepository;
+import com.foodrescue.userverwaltung.domain.model.AnbieterProfil;
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import com.foodrescue.userverwaltung.infrastructure.persistence.InMemoryAnbieterProfilRepository;
+import com.foodrescue.userverwaltung.infrastructure.persistence.InMemoryUserRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Sichern und Kaltstart aller Repositories mit insgesamt {@code -Dbenchmark.snapshot} Aggregaten
+ * (Standard 200.000): je ein Viertel Angebote, Reservierungen und Abholungen, ein Fünftel User und
+ * der Rest Anbieterprofile. Ein Kaltstart passiert nur einmal, gemessen wird daher ein einzelner
+ * Durchlauf in frische Repositories.
+ *
+ * <p>Ausführen mit {@code mvn test -Pbenchmark -Dtest=SnapshotKaltstartBenchmarkTest
+ * -Dbenchmark.snapshot=1000000}.
+ */
+@Tag("benchmark")
+class SnapshotKaltstartBenchmarkTest {
+
+  @TempDir Path verzeichnis;
+
+  @Test
+  void sichernUndKaltstart() throws IOException {
+    int gesamt = groesse("benchmark.snapshot", 200_000);
+    int viertel = gesamt / 4;
+    int users = gesamt / 5;
+    int profile = gesamt - 3 * viertel - users;
+
+    Snapshotter befuellt = befuelle(viertel, users, profile);
+    long start = System.nanoTime();
+    Map<String, Integer> gesichert = befuellt.sichern();
+    long sichern = System.nanoTime() - start;
+    long bytes;
+    try (Stream<Path> dateien = Files.list(verzeichnis)) {
+      bytes = dateien.mapToLong(SnapshotKaltstartBenchmarkTest::dateigroesse).sum();
+    }
+    bericht("Snapshot sichern", gesamt + " Aggregate", sichern);
+    System.out.printf(
+        "[benchmark] %-45s %-25s %,12d KiB%n",
+        "Snapshot Dateigröße", gesamt + " Aggregate", bytes >> 10);
+    befuellt = null;
+    System.gc();
+
+    List<SnapshotFaehig> frisch = repositories();
+    start = System.nanoTime();
+    Map<String, Integer> geladen = new Snapshotter(frisch, verzeichnis).laden();
+    long kaltstart = System.nanoTime() - start;
+
+    assertThat(geladen).isEqualTo(gesichert);
+    bericht("Snapshot Kaltstart", gesamt + " Aggregate", kaltstart);
+    System.out.printf(
+        "[benchmark] %-45s %-25s %,12d /s%n",
+        "Snapshot Kaltstart", "Aggregate pro Sekunde", gesamt * 1_000_000_000L / kaltstart);
+  }
+
+  private Snapshotter befuelle(int viertel, int anzahlUsers, int anzahlProfile) {
+    List<SnapshotFaehig> quellen = repositories();
+    var angebote = (FunctionalAngebotRepository) quellen.get(0);
+    var reservierungen = (InMemoryReservierungRepository) quellen.get(1);
+    var abholungen = (InMemoryAbholungRepository) quellen.get(2);
+    var users = (InMemoryUserRepository) quellen.get(3);
+    var profile = (InMemoryAnbieterProfilRepository) quellen.get(4);
+
+    LocalDateTime von = LocalDateTime.now().plusDays(1);
+    List<UserId> anbieter = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      anbieter.add(new UserId(UUID.randomUUID()));
+    }
+    List<Angebot> stapel = new ArrayList<>(1_000);
+    for (int i = 0; i < viertel; i++) {
+      Angebot angebot =
+          Angebot.erstelle(
+              AngebotsId.of("s" + i),
+              anbieter.get(i % anbieter.size()),
+              "Gemüsekiste " + i,
+              "Karotten, Lauch und Kartoffeln vom Wochenmarkt",
+              Set.of("Gemüse", "Bio", "tag" + (i % 50)),
+              new AbholZeitfenster(von.plusMinutes(i % 600), von.plusMinutes(i % 600 + 90)));
+      angebot.veroeffentlichen();
+      stapel.add(angebot);
+      if (stapel.size() == 1_000) {
+        angebote.speichernAlle(stapel);
+        stapel.clear();
+      }
+    }
+    angebote.speichernAlle(stapel);
+
+    for (int i = 0; i < viertel; i++) {
+      Abholcode code = Abholcode.of("C" + (100_000 + i % 900_000));
+      reservierungen.speichern(
+          Reservierung.erstelle(ReservierungsId.of("r" + i), "s" + i, "abholer" + i % 1_000, code));
+      abholungen.speichern(new Abholung("h" + i, "r" + i, code));
+    }
+    for (int i = 0; i < anzahlUsers; i++) {
+      users.speichern(
+          new User(
+              new UserId(UUID.randomUUID()),
+              new Name("User " + i),
+              new EmailAdresse("user" + i + "@example.org"),
+              i % 10 == 0 ? Rolle.ANBIETER : Rolle.ABHOLER));
+    }
+    for (int i = 0; i < anzahlProfile; i++) {
+      profile.speichern(
+          AnbieterProfil.erstellenFuerAnbieter(
+              AnbieterProfilId.neu(),
+              new UserId(UUID.randomUUID()),
+              Rolle.ANBIETER,
+              new Geschaeftsname("Laden " + i),
+              Geschaeftstyp.SUPERMARKT,
+              new Adresse("Hauptstr. " + i, "12345", "Köln", "DE"),
+              new GeoStandort(50 + (i % 1_000) / 1_000.0, 6 + (i % 997) / 997.0)));
+    }
+    return new Snapshotter(quellen, verzeichnis);
+  }
+
+  private static List<SnapshotFaehig> repositories() {
+    return List.of(
+        new FunctionalAngebotRepository(event -> {}),
+        new InMemoryReservierungRepository(),
+        new InMemoryAbholungRepository(),
+        new InMemoryUserRepository(),
+        new InMemoryAnbieterProfilRepository(event -> {}));
+  }
+
+  private static long dateigroesse(Path datei) {
+    try {
+      return Files.size(datei);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.foodrescue.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.foodrescue.abholungsmanagement.domain.model.AbholZeitfenster;
+import com.foodrescue.abholungsmanagement.domain.model.Abholcode;
+import com.foodrescue.abholungsmanagement.domain.model.Abholung;
+import com.foodrescue.abholungsmanagement.infrastructure.persistence.InMemoryAbholungRepository;
+import com.foodrescue.angebotsmanagement.domain.model.Angebot;
+import com.foodrescue.angebotsmanagement.domain.valueobjects.AngebotsId;
+import com.foodrescue.angebotsmanagement.infrastructure.journal.AngebotJournal;
+import com.foodrescue.angebotsmanagement.infrastructure.persistence.FunctionalAngebotRepository;
+import com.foodrescue.reservierungsmanagement.domain.model.Reservierung;
+import com.foodrescue.reservierungsmanagement.domain.valueobjects.ReservierungsId;
+import com.foodrescue.reservierungsmanagement.infrastructure.persistence.InMemoryReservierungRepository;
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
+import com.foodrescue.userverwaltung.domain.model.AnbieterProfil;
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import com.foodrescue.userverwaltung.infrastructure.persistence.InMemoryAnbieterProfilRepository;
+import com.foodrescue.userverwaltung.infrastructure.persistence.InMemoryUserRepository;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Snapshotter - Binärabbilder der In-Memory-Repositories")
+class SnapshotterTest {
+
+  @TempDir Path verzeichnis;
+
+  private final List<Object> events = new ArrayList<>();
+
+  private Snapshotter snapshotter(SnapshotFaehig... quellen) {
+    return new Snapshotter(List.of(quellen), verzeichnis);
+  }
+
+  private static Angebot angebot(String id) {
+    LocalDateTime von = LocalDateTime.now().plusDays(1).withNano(123_456_789);
+    return Angebot.erstelle(
+        AngebotsId.of(id),
+        new UserId(UUID.randomUUID()),
+        "Brot " + id,
+        "vom Vortag",
+        Set.of("Bio"),
+        new AbholZeitfenster(von, von.plusHours(2)));
+  }
+
+  @Test
+  @DisplayName("Alle Repositories überstehen Sichern und Laden unverändert")
+  void sichernUndLaden_stelltAlleRepositoriesWiederHer() {
+    var angebote = new FunctionalAngebotRepository(events::add);
+    var reservierungen = new InMemoryReservierungRepository();
+    var abholungen = new InMemoryAbholungRepository();
+    var users = new InMemoryUserRepository();
+    var profile = new InMemoryAnbieterProfilRepository(events::add);
+
+    Angebot angebot = angebot("a1");
+    angebot.veroeffentlichen();
+    angebote.speichern(angebot);
+    Reservierung reservierung =
+        Reservierung.erstelle(ReservierungsId.of("r1"), "a1", "abholer", Abholcode.of("AB12"));
+    reservierung.bestaetigeAbholung(Abholcode.of("AB12"));
+    reservierungen.speichern(reservierung);
+    Abholung abholung = new Abholung("h1", "r1", Abholcode.of("AB12"));
+    abholungen.speichern(abholung);
+    User user =
+        new User(
+            new UserId(UUID.randomUUID()),
+            new Name("Erika Muster"),
+            new EmailAdresse("erika@example.org"),
+            Rolle.ANBIETER);
+    users.speichern(user);
+    AnbieterProfil profil =
+        AnbieterProfil.erstellenFuerAnbieter(
+            AnbieterProfilId.neu(),
+            user.getId(),
+            Rolle.ANBIETER,
+            new Geschaeftsname("Bäckerei Süß"),
+            Geschaeftstyp.BAECKEREI,
+            new Adresse("Hauptstr. 1", "12345", "Köln", "DE"),
+            new GeoStandort(50.94, 6.96));
+    profile.speichern(profil);
+
+    Map<String, Integer> gesichert =
+        snapshotter(angebote, reservierungen, abholungen, users, profile).sichern();
+    assertThat(gesichert.values()).containsOnly(1);
+
+    events.clear();
+    var angebote2 = new FunctionalAngebotRepository(events::add);
+    var reservierungen2 = new InMemoryReservierungRepository();
+    var abholungen2 = new InMemoryAbholungRepository();
+    var users2 = new InMemoryUserRepository();
+    var profile2 = new InMemoryAnbieterProfilRepository(events::add);
+    Map<String, Integer> geladen =
+        snapshotter(angebote2, reservierungen2, abholungen2, users2, profile2).laden();
+
+    assertThat(geladen).isEqualTo(gesichert);
+    assertThat(angebote2.findeMitId(angebot.getAngebotsId()).orElseThrow())
+        .usingRecursiveComparison()
+        .ignoringFields("domainEvents", "schnappschuss")
+        .isEqualTo(angebot);
+    assertThat(angebote2.findeAlleVerfuegbar()).hasSize(1);
+    assertThat(reservierungen2.findeMitId("r1").orElseThrow())
+        .usingRecursiveComparison()
+        .ignoringFields("domainEvents")
+        .isEqualTo(reservierung);
+    assertThat(abholungen2.findeMitId("h1").orElseThrow())
+        .usingRecursiveComparison()
+        .ignoringFields("domainEvents")
+        .isEqualTo(abholung);
+    assertThat(users2.findeMitEmail(new EmailAdresse("erika@example.org")))
+        .get()
+        .usingRecursiveComparison()
+        .isEqualTo(user);
+    assertThat(profile2.findeFuerUser(user.getId()))
+        .get()
+        .usingRecursiveComparison()
+        .isEqualTo(profil);
+    assertThat(events).hasOnlyElementsOfType(AnbieterStandortGeaendertEvent.class).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Ohne Abbild startet ein Repository leer")
+  void laden_ohneDatei_liefertNull() {
+    var users = new InMemoryUserRepository();
+
+    assertThat(snapshotter(users).laden()).containsEntry("users", 0);
+  }
+
+  @Test
+  @DisplayName("Ein beschädigtes Abbild lässt das Laden scheitern")
+  void laden_beschaedigteDatei_scheitert() throws Exception {
+    var users = new InMemoryUserRepository();
+    users.speichern(
+        new User(
+            new UserId(UUID.randomUUID()),
+            new Name("Max"),
+            new EmailAdresse("max@example.org"),
+            Rolle.ABHOLER));
+    snapshotter(users).sichern();
+
+    try (RandomAccessFile datei =
+        new RandomAccessFile(verzeichnis.resolve("users.snapshot").toFile(), "rw")) {
+      datei.seek(20);
+      datei.write(datei.read() ^ 0xFF);
+    }
+
+    assertThatThrownBy(() -> snapshotter(new InMemoryUserRepository()).laden())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Prüfsumme");
+  }
+
+  @Test
+  @DisplayName("Doppelte Snapshot-Namen werden abgelehnt")
+  void konstruktor_doppelterName_wirft() {
+    assertThatThrownBy(
+            () -> snapshotter(new InMemoryUserRepository(), new InMemoryUserRepository()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Neuere Stände und das Leeren aus dem Journal gewinnen gegen das Abbild")
+  void laden_mitJournal_neuererStandGewinnt() {
+    Path journalDatei = verzeichnis.resolve("angebote.journal");
+    Angebot entwurf = angebot("a1");
+    try (AngebotJournal journal = new AngebotJournal(journalDatei, false)) {
+      var angebote = new FunctionalAngebotRepository(events::add, Optional.of(journal));
+      angebote.speichern(entwurf);
+      angebote.speichern(angebot("a2"));
+      snapshotter(angebote).sichern();
+
+      Angebot verfuegbar = angebote.findeMitId(entwurf.getAngebotsId()).orElseThrow().kopie();
+      verfuegbar.veroeffentlichen();
+      angebote.speichern(verfuegbar);
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(journalDatei, false)) {
+      var angebote = new FunctionalAngebotRepository(events::add, Optional.of(journal));
+      // a2 steht nur noch im Abbild, das Journal wurde beim Sichern gekürzt
+      assertThat(snapshotter(angebote).laden()).containsEntry("angebote", 1);
+      assertThat(angebote.findeMitId(entwurf.getAngebotsId()).orElseThrow().getStatus())
+          .isEqualTo(Angebot.Status.VERFUEGBAR);
+      angebote.deleteAll();
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(journalDatei, false)) {
+      var angebote = new FunctionalAngebotRepository(events::add, Optional.of(journal));
+      assertThat(snapshotter(angebote).laden()).containsEntry("angebote", 0);
+      assertThat(angebote.count()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "Nach dem Sichern wird das Journal bis zum Abbild gekürzt, der Start liest nur den Rest")
+  void sichern_mitJournal_kuerztJournal() {
+    Path journalDatei = verzeichnis.resolve("angebote.journal");
+    try (AngebotJournal journal = new AngebotJournal(journalDatei, false)) {
+      var angebote = new FunctionalAngebotRepository(events::add, Optional.of(journal));
+      angebote.speichernAlle(List.of(angebot("a1"), angebot("a2")));
+      snapshotter(angebote).sichern();
+      angebote.speichern(angebot("a3"));
+
+      assertThat(journalDatei).doesNotExist();
+      assertThat(journal.segmente()).isEqualTo(1);
+    }
+
+    try (AngebotJournal journal = new AngebotJournal(journalDatei, false)) {
+      var angebote = new FunctionalAngebotRepository(events::add, Optional.of(journal));
+      assertThat(angebote.count()).isEqualTo(1);
+      assertThat(snapshotter(angebote).laden()).containsEntry("angebote", 2);
+      assertThat(angebote.count()).isEqualTo(3);
+      assertThat(angebote.versionVon(AngebotsId.of("a3"))).hasValue(3);
+      assertThat(angebote.katalogVersion()).hasValue(3);
+    }
+  }
+}
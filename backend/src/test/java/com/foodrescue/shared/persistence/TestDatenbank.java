@@ -0,0 +1,21 @@
+package com.foodrescue.shared.persistence;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/** Frische H2-In-Memory-Datenbank mit dem Schema der JDBC-Repositories, eine pro Aufruf. */
+public final class TestDatenbank {
+
+  private TestDatenbank() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  public static EmbeddedDatabase neu() {
+    return new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .addScript("classpath:jdbc/schema.sql")
+        .build();
+  }
+}
@@ -0,0 +1,67 @@
+package com.foodrescue.userverwaltung.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.shared.persistence.TestDatenbank;
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+class CachendesUserRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private CachendesUserRepository repo;
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo = new CachendesUserRepository(new JdbcUserRepository(new JdbcTemplate(datenbank)), 100);
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  private static User user(String email) {
+    return new User(
+        new UserId(UUID.randomUUID()), new Name("Erika"), new EmailAdresse(email), Rolle.ABHOLER);
+  }
+
+  @Test
+  void findeMitId_liefertJeweilsEigeneKopie() {
+    User user = user("erika@example.org");
+    repo.speichern(user);
+
+    User erste = repo.findeMitId(user.getId()).orElseThrow();
+    erste.aendereName(new Name("Ungespeichert"));
+    User zweite = repo.findeMitId(user.getId()).orElseThrow();
+
+    assertThat(zweite).isNotSameAs(erste);
+    assertThat(zweite.getName()).isEqualTo(new Name("Erika"));
+    assertThat(repo.caches().get(0).statistik().treffer()).isEqualTo(1);
+  }
+
+  @Test
+  void findeMitEmail_nachAdressaenderung_alteAdresseNichtMehrGefunden() {
+    User user = user("alt@example.org");
+    repo.speichern(user);
+    assertThat(repo.findeMitEmail(new EmailAdresse("ALT@example.org"))).isPresent();
+
+    User geaendert = repo.findeMitId(user.getId()).orElseThrow();
+    geaendert.aendereEmail(new EmailAdresse("neu@example.org"));
+    repo.speichern(geaendert);
+
+    assertThat(repo.findeMitEmail(new EmailAdresse("alt@example.org"))).isEmpty();
+    assertThat(repo.findeMitEmail(new EmailAdresse("neu@example.org")))
+        .get()
+        .extracting(User::getId)
+        .isEqualTo(user.getId());
+    assertThat(repo.findeMitEmail(new EmailAdresse("unbekannt@example.org"))).isEmpty();
+  }
+}
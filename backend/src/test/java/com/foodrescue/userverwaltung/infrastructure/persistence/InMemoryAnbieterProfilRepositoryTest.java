@@ -2,14 +2,23 @@ package com.foodrescue.userverwaltung.infrastructure.persistence;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
 import com.foodrescue.userverwaltung.domain.model.AnbieterProfil;
 import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 class InMemoryAnbieterProfilRepositoryTest {
 
+  private final List<Object> events = new ArrayList<>();
+
   private static AnbieterProfil profil(UserId uid, String name) {
+    return profil(uid, name, null);
+  }
+
+  private static AnbieterProfil profil(UserId uid, String name, GeoStandort standort) {
     return AnbieterProfil.erstellenFuerAnbieter(
         AnbieterProfilId.neu(),
         uid,
@@ -17,12 +26,12 @@ class InMemoryAnbieterProfilRepositoryTest {
         new Geschaeftsname(name),
         Geschaeftstyp.SUPERMARKT,
         new Adresse("Str. 1", "12345", "Ort", "DE"),
-        null);
+        standort);
   }
 
   @Test
   void speichernUndFindenMitId() {
-    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository();
+    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository(events::add);
     UserId uid = new UserId(UUID.randomUUID());
     AnbieterProfil p = profil(uid, "Shop");
 
@@ -34,13 +43,13 @@ class InMemoryAnbieterProfilRepositoryTest {
 
   @Test
   void findeFuerUser_returnsEmptyWhenMissing() {
-    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository();
+    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository(events::add);
     assertTrue(repo.findeFuerUser(new UserId(UUID.randomUUID())).isEmpty());
   }
 
   @Test
   void edgeCase_userIndexOnlyStoresLastProfilForUser() {
-    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository();
+    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository(events::add);
     UserId uid = new UserId(UUID.randomUUID());
 
     AnbieterProfil p1 = profil(uid, "Shop 1");
@@ -53,4 +62,24 @@ class InMemoryAnbieterProfilRepositoryTest {
     assertEquals(p2.getId(), found.getId());
     assertEquals("Shop 2", found.getGeschaeftsname().getValue());
   }
+
+  @Test
+  void speichern_publiziertStandortaenderungenNurBeiAenderung() {
+    InMemoryAnbieterProfilRepository repo = new InMemoryAnbieterProfilRepository(events::add);
+    UserId uid = new UserId(UUID.randomUUID());
+    AnbieterProfil p = profil(uid, "Shop", new GeoStandort(52.52, 13.40));
+
+    repo.speichern(p);
+    repo.speichern(p); // unverändert: kein zweites Event
+    p.setzeGeoStandort(new GeoStandort(48.14, 11.58));
+    repo.speichern(p);
+    p.entferneGeoStandort();
+    repo.speichern(p);
+
+    assertEquals(3, events.size());
+    AnbieterStandortGeaendertEvent verschoben = (AnbieterStandortGeaendertEvent) events.get(1);
+    assertEquals(uid, verschoben.getAnbieterId());
+    assertEquals(new GeoStandort(48.14, 11.58), verschoben.getStandort().orElseThrow());
+    assertTrue(((AnbieterStandortGeaendertEvent) events.get(2)).getStandort().isEmpty());
+  }
 }
@@ -0,0 +1,84 @@
+package com.foodrescue.userverwaltung.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.foodrescue.shared.persistence.TestDatenbank;
+import com.foodrescue.userverwaltung.domain.events.AnbieterStandortGeaendertEvent;
+import com.foodrescue.userverwaltung.domain.model.AnbieterProfil;
+import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+class JdbcAnbieterProfilRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private JdbcAnbieterProfilRepository repo;
+  private final List<Object> events = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo = new JdbcAnbieterProfilRepository(new JdbcTemplate(datenbank), events::add);
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  private static AnbieterProfil profil(AnbieterProfilId id, UserId uid, GeoStandort standort) {
+    return AnbieterProfil.erstellenFuerAnbieter(
+        id,
+        uid,
+        Rolle.ANBIETER,
+        new Geschaeftsname("Bäckerei"),
+        Geschaeftstyp.BAECKEREI,
+        new Adresse("Str. 1", "12345", "Ort", "DE"),
+        standort);
+  }
+
+  @Test
+  void speichernUndFinden_mitIdUndUser() {
+    UserId uid = new UserId(UUID.randomUUID());
+    AnbieterProfil p = profil(AnbieterProfilId.neu(), uid, new GeoStandort(50.94, 6.96));
+
+    repo.speichern(p);
+
+    assertThat(repo.findeMitId(p.getId())).get().usingRecursiveComparison().isEqualTo(p);
+    assertThat(repo.findeFuerUser(uid)).get().usingRecursiveComparison().isEqualTo(p);
+    assertThat(repo.findeFuerUser(new UserId(UUID.randomUUID()))).isEmpty();
+  }
+
+  @Test
+  void speichern_publiziertNurBeiStandortAenderung() {
+    UserId uid = new UserId(UUID.randomUUID());
+    AnbieterProfilId id = AnbieterProfilId.neu();
+
+    repo.speichern(profil(id, uid, new GeoStandort(50.94, 6.96)));
+    repo.speichern(profil(id, uid, new GeoStandort(50.94, 6.96)));
+    repo.speichern(profil(id, uid, null));
+
+    assertThat(events).hasSize(2).hasOnlyElementsOfType(AnbieterStandortGeaendertEvent.class);
+    assertThat(((AnbieterStandortGeaendertEvent) events.get(1)).getStandort()).isEmpty();
+    assertThat(repo.findeMitId(id).orElseThrow().getGeoStandort()).isEmpty();
+  }
+
+  @Test
+  void meldeGespeicherteStandorte_publiziertAlleVorhandenen() {
+    repo.speichern(
+        profil(AnbieterProfilId.neu(), new UserId(UUID.randomUUID()), new GeoStandort(50, 6)));
+    repo.speichern(profil(AnbieterProfilId.neu(), new UserId(UUID.randomUUID()), null));
+    events.clear();
+
+    repo.meldeGespeicherteStandorte();
+
+    assertThat(events).hasSize(1);
+    assertThat(((AnbieterStandortGeaendertEvent) events.get(0)).getStandort()).isPresent();
+  }
+}
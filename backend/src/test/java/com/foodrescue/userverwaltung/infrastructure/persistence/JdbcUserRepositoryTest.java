@@ -0,0 +1,72 @@
+package com.foodrescue.userverwaltung.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.foodrescue.shared.persistence.TestDatenbank;
+import com.foodrescue.userverwaltung.domain.model.User;
+import com.foodrescue.userverwaltung.domain.valueobjects.*;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+class JdbcUserRepositoryTest {
+
+  private EmbeddedDatabase datenbank;
+  private JdbcUserRepository repo;
+
+  @BeforeEach
+  void setUp() {
+    datenbank = TestDatenbank.neu();
+    repo = new JdbcUserRepository(new JdbcTemplate(datenbank));
+  }
+
+  @AfterEach
+  void tearDown() {
+    datenbank.shutdown();
+  }
+
+  private static User user(String email) {
+    return new User(
+        new UserId(UUID.randomUUID()), new Name("Erika"), new EmailAdresse(email), Rolle.ABHOLER);
+  }
+
+  @Test
+  void speichernUndFinden_mitIdUndEmail() {
+    User user = user("Erika@Example.org");
+
+    repo.speichern(user);
+
+    assertThat(repo.findeMitId(user.getId())).get().usingRecursiveComparison().isEqualTo(user);
+    assertThat(repo.findeMitEmail(new EmailAdresse("erika@example.ORG")))
+        .get()
+        .usingRecursiveComparison()
+        .isEqualTo(user);
+    assertThat(repo.findeMitId(new UserId(UUID.randomUUID()))).isEmpty();
+  }
+
+  @Test
+  void speichern_gleicheIdAendertEmail() {
+    User user = user("alt@example.org");
+    repo.speichern(user);
+    repo.speichern(
+        new User(
+            user.getId(), user.getName(), new EmailAdresse("neu@example.org"), Rolle.ANBIETER));
+
+    assertThat(repo.findeMitEmail(new EmailAdresse("alt@example.org"))).isEmpty();
+    assertThat(repo.findeMitEmail(new EmailAdresse("neu@example.org")).orElseThrow().getRolle())
+        .isEqualTo(Rolle.ANBIETER);
+  }
+
+  @Test
+  void speichern_emailEinesAnderenUsers_wirdAbgelehnt() {
+    repo.speichern(user("max@example.org"));
+
+    assertThatThrownBy(() -> repo.speichern(user("MAX@example.org")))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+}